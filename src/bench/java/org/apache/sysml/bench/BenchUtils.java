@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.Random;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Shared input generators and parameter parsers of the kernel microbenchmarks.
+ */
+public class BenchUtils
+{
+	/**
+	 * Parses a shape parameter of the form "rowsxcols".
+	 * 
+	 * @param shape shape string
+	 * @return array of number of rows and columns
+	 */
+	public static int[] parseShape(String shape) {
+		String[] parts = shape.split("x");
+		return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+	}
+	
+	/**
+	 * Creates a random matrix with uniform values in [-1,1] and the given
+	 * sparsity, in the memory-efficient representation (sparse or dense).
+	 * 
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param sparsity fraction of non-zeros
+	 * @param seed random seed
+	 * @return matrix block
+	 */
+	public static MatrixBlock createMatrix(int rows, int cols, double sparsity, long seed) {
+		MatrixBlock ret = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", seed);
+		ret.examSparsity();
+		return ret;
+	}
+	
+	/**
+	 * Creates a random matrix with few distinct integer values per column,
+	 * which is amenable to lossless column-group compression.
+	 * 
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param sparsity fraction of non-zeros
+	 * @param distinct number of distinct values
+	 * @param seed random seed
+	 * @return matrix block
+	 */
+	public static MatrixBlock createCompressibleMatrix(int rows, int cols, double sparsity, int distinct, long seed) {
+		Random rand = new Random(seed);
+		double[][] data = new double[rows][cols];
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				if( rand.nextDouble() < sparsity )
+					data[i][j] = 1 + rand.nextInt(distinct);
+		MatrixBlock ret = DataConverter.convertToMatrixBlock(data);
+		ret.examSparsity();
+		return ret;
+	}
+}
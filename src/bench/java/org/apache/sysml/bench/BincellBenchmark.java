@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the cell-wise binary kernels in {@link LibMatrixBincell},
+ * i.e., matrix-matrix, matrix-row vector, and matrix-scalar operations with
+ * sparse-safe (*) and sparse-unsafe (+) operators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BincellBenchmark
+{
+	@Param({"1000x1000", "10000x100"})
+	public String shape;
+	
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+	
+	@Param({"*", "+"})
+	public String opcode;
+	
+	private MatrixBlock X;
+	private MatrixBlock Y;
+	private MatrixBlock v;
+	private BinaryOperator bop;
+	private ScalarOperator sop;
+	
+	@Setup
+	public void setup() {
+		int[] dims = BenchUtils.parseShape(shape);
+		X = BenchUtils.createMatrix(dims[0], dims[1], sparsity, 7);
+		Y = BenchUtils.createMatrix(dims[0], dims[1], sparsity, 3);
+		v = BenchUtils.createMatrix(1, dims[1], 1.0, 5);
+		bop = InstructionUtils.parseBinaryOperator(opcode);
+		sop = InstructionUtils.parseScalarBinaryOperator(opcode, false, 7);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMatrix() {
+		return (MatrixBlock) X.binaryOperations(bop, Y, new MatrixBlock());
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixRowVector() {
+		return (MatrixBlock) X.binaryOperations(bop, v, new MatrixBlock());
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixScalar() {
+		return (MatrixBlock) X.scalarOperations(sop, new MatrixBlock());
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.lops.MapMultChain.ChainType;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of {@link CompressedMatrixBlock} operations, i.e., compression
+ * itself as well as aggregates, matrix-vector multiplications, mmchain, tsmm, and
+ * scalar operations over the compressed column groups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompressedBenchmark
+{
+	@Param({"100000x20"})
+	public String shape;
+	
+	@Param({"1.0", "0.1"})
+	public double sparsity;
+	
+	@Param({"4", "64"})
+	public int distinct;
+	
+	@Param({"1", "8"})
+	public int k;
+	
+	private MatrixBlock X;
+	private CompressedMatrixBlock C;
+	private MatrixBlock v;
+	private MatrixBlock w;
+	private AggregateUnaryOperator sum;
+	private AggregateBinaryOperator mult;
+	private ScalarOperator sop;
+	
+	@Setup
+	public void setup() {
+		int[] dims = BenchUtils.parseShape(shape);
+		X = BenchUtils.createCompressibleMatrix(dims[0], dims[1], sparsity, distinct, 7);
+		C = new CompressedMatrixBlock(X);
+		C.compress(k);
+		v = BenchUtils.createMatrix(dims[1], 1, 1.0, 5);
+		w = BenchUtils.createMatrix(dims[0], 1, 1.0, 9);
+		sum = InstructionUtils.parseBasicAggregateUnaryOperator("uak+", k);
+		mult = InstructionUtils.getMatMultOperator(k);
+		sop = InstructionUtils.parseScalarBinaryOperator("*", false, 7);
+	}
+	
+	@Benchmark
+	public MatrixBlock compress() {
+		return new CompressedMatrixBlock(X).compress(k);
+	}
+	
+	@Benchmark
+	public MatrixBlock aggregate() {
+		return (MatrixBlock) C.aggregateUnaryOperations(sum, new MatrixBlock(),
+			C.getNumRows(), C.getNumColumns(), null, true);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixVectorMult() {
+		return C.aggregateBinaryOperations(C, v, new MatrixBlock(), mult);
+	}
+	
+	@Benchmark
+	public MatrixBlock mmchain() {
+		return C.chainMatrixMultOperations(v, w, new MatrixBlock(), ChainType.XtwXv, k);
+	}
+	
+	@Benchmark
+	public MatrixBlock tsmm() {
+		return C.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, k);
+	}
+	
+	@Benchmark
+	public MatrixBlock scalar() {
+		return (MatrixBlock) C.scalarOperations(sop, new MatrixBlock());
+	}
+}
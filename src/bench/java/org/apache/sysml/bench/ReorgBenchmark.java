@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.functionobjects.SortIndex;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the reorg kernels in {@link LibMatrixReorg},
+ * i.e., transpose over sparsity, shape, and parallelism, as well
+ * as sort by a single column with value and index return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReorgBenchmark
+{
+	@Param({"1000x1000", "10000x100"})
+	public String shape;
+	
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int k;
+	
+	private MatrixBlock X;
+	private ReorgOperator sortValues;
+	private ReorgOperator sortIndexes;
+	
+	@Setup
+	public void setup() {
+		int[] dims = BenchUtils.parseShape(shape);
+		X = BenchUtils.createMatrix(dims[0], dims[1], sparsity, 7);
+		sortValues = new ReorgOperator(new SortIndex(1, false, false));
+		sortIndexes = new ReorgOperator(new SortIndex(1, true, true));
+	}
+	
+	@Benchmark
+	public MatrixBlock transpose() {
+		MatrixBlock ret = new MatrixBlock(X.getNumColumns(), X.getNumRows(), X.isInSparseFormat());
+		return LibMatrixReorg.transpose(X, ret, k);
+	}
+	
+	@Benchmark
+	public MatrixBlock sortValues() {
+		return (MatrixBlock) X.reorgOperations(sortValues, new MatrixBlock(), 0, 0, 0);
+	}
+	
+	@Benchmark
+	public MatrixBlock sortIndexes() {
+		return (MatrixBlock) X.reorgOperations(sortIndexes, new MatrixBlock(), 0, 0, 0);
+	}
+}
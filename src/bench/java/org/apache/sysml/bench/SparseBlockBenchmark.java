@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the access paths of the sparse block formats
+ * MCSR, CSR, and COO, i.e., row scans, random cell lookups, column
+ * range lookups, and construction via row-major appends. The sparsity
+ * parameters need to be below the sparse format threshold (0.4).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SparseBlockBenchmark
+{
+	private static final int NUM_LOOKUPS = 100000;
+	
+	@Param({"MCSR", "CSR", "COO"})
+	public SparseBlock.Type type;
+	
+	@Param({"10000x1000"})
+	public String shape;
+	
+	@Param({"0.1", "0.01", "0.001"})
+	public double sparsity;
+	
+	private SparseBlock sblock;
+	private int[] rix;
+	private int[] cix;
+	
+	@Setup
+	public void setup() {
+		int[] dims = BenchUtils.parseShape(shape);
+		MatrixBlock X = BenchUtils.createMatrix(dims[0], dims[1], sparsity, 7);
+		sblock = SparseBlockFactory.copySparseBlock(type, X.getSparseBlock(), true);
+		Random rand = new Random(3);
+		rix = new int[NUM_LOOKUPS];
+		cix = new int[NUM_LOOKUPS];
+		for( int i=0; i<NUM_LOOKUPS; i++ ) {
+			rix[i] = rand.nextInt(dims[0]);
+			cix[i] = rand.nextInt(dims[1]);
+		}
+	}
+	
+	@Benchmark
+	public double scanRows() {
+		double sum = 0;
+		for( int i=0; i<sblock.numRows(); i++ ) {
+			if( sblock.isEmpty(i) ) continue;
+			int apos = sblock.pos(i);
+			int alen = sblock.size(i);
+			int[] aix = sblock.indexes(i);
+			double[] avals = sblock.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				sum += aix[j] * avals[j];
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public double getCells() {
+		double sum = 0;
+		for( int i=0; i<NUM_LOOKUPS; i++ )
+			sum += sblock.get(rix[i], cix[i]);
+		return sum;
+	}
+	
+	@Benchmark
+	public long posFIndexGTE() {
+		long sum = 0;
+		for( int i=0; i<NUM_LOOKUPS; i++ )
+			sum += sblock.posFIndexGTE(rix[i], cix[i]);
+		return sum;
+	}
+	
+	@Benchmark
+	public SparseBlock appendRows() {
+		SparseBlock ret = SparseBlockFactory.createSparseBlock(type, sblock.numRows());
+		for( int i=0; i<sblock.numRows(); i++ ) {
+			if( sblock.isEmpty(i) ) continue;
+			int apos = sblock.pos(i);
+			int alen = sblock.size(i);
+			int[] aix = sblock.indexes(i);
+			double[] avals = sblock.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				ret.append(i, aix[j], avals[j]);
+		}
+		return ret;
+	}
+}
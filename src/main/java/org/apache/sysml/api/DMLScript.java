@@ -70,6 +70,7 @@ import org.apache.sysml.runtime.DMLScriptException;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
@@ -77,6 +78,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.IDHandler;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.lineage.LineageCache;
 import org.apache.sysml.runtime.matrix.CleanupMR;
 import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
@@ -439,6 +441,27 @@ public class DMLScript
 		CacheableData.CACHING_BUFFER_SIZE = dmlconf.getDoubleValue(DMLConfig.CACHING_BUFFER_SIZE);
 		if(CacheableData.CACHING_BUFFER_SIZE < 0 || CacheableData.CACHING_BUFFER_SIZE > 1) 
 			throw new RuntimeException("Incorrect value (" + CacheableData.CACHING_BUFFER_SIZE + ") for the configuration " + DMLConfig.CACHING_BUFFER_SIZE);
+		
+		double lineageCacheSize = dmlconf.getDoubleValue(DMLConfig.LINEAGE_CACHE_SIZE);
+		if(lineageCacheSize < 0 || lineageCacheSize + CacheableData.CACHING_BUFFER_SIZE > 1)
+			throw new RuntimeException("Incorrect value (" + lineageCacheSize + ") for the configuration " + DMLConfig.LINEAGE_CACHE_SIZE);
+		LineageCache.setCacheLimit(lineageCacheSize);
+		CacheableData.CACHING_PAGECACHE_SIZE = dmlconf.getDoubleValue(DMLConfig.CACHING_PAGECACHE_SIZE);
+		if(CacheableData.CACHING_PAGECACHE_SIZE < 0 || CacheableData.CACHING_PAGECACHE_SIZE > 1)
+			throw new RuntimeException("Incorrect value (" + CacheableData.CACHING_PAGECACHE_SIZE + ") for the configuration " + DMLConfig.CACHING_PAGECACHE_SIZE);
+		CacheableData.CACHING_PAGECACHE_OFFHEAP = dmlconf.getBooleanValue(DMLConfig.CACHING_PAGECACHE_OFFHEAP);
+		CacheableData.CACHING_ASYNC_EVICTION = dmlconf.getBooleanValue(DMLConfig.CACHING_EVICTION_ASYNC);
+		CacheableData.CACHING_EVICTION_MMAP = dmlconf.getBooleanValue(DMLConfig.CACHING_EVICTION_MMAP);
+		CacheableData.CACHING_EVICTION_COMPRESS = dmlconf.getBooleanValue(DMLConfig.CACHING_EVICTION_COMPRESS);
+		CacheableData.CACHING_DENSE_FP32 = dmlconf.getBooleanValue(DMLConfig.CACHING_DENSE_FP32);
+		try {
+			CacheableData.CACHING_BUFFER_POLICY = RPolicy.valueOf(
+				dmlconf.getTextValue(DMLConfig.CACHING_EVICTION_POLICY).trim().toUpperCase());
+		}
+		catch(IllegalArgumentException ex) {
+			throw new RuntimeException("Incorrect value (" + dmlconf.getTextValue(DMLConfig.CACHING_EVICTION_POLICY)
+				+ ") for the configuration " + DMLConfig.CACHING_EVICTION_POLICY);
+		}
 				
 		NativeHelper.initialize(dmlconf.getTextValue(DMLConfig.NATIVE_BLAS_DIR), dmlconf.getTextValue(DMLConfig.NATIVE_BLAS).trim());
 		
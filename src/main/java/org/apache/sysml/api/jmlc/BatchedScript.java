@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Streaming row-batch execution of a prepared scoring script. Callers submit
+ * single rows or micro-batches, which are coalesced into one input batch of
+ * up to a maximum number of rows or until a maximum delay elapsed, scored by
+ * a single execution of the script, and split back into per-request results.
+ * This amortizes the interpretation overhead over many small requests.
+ * 
+ * The script is expected to be row-wise, i.e., its output has the same number
+ * of rows as its input, where output row i corresponds to input row i. All
+ * other inputs (e.g., models) need to be bound with reuse before the batched
+ * script is created. The prepared script is exclusively used by the internal
+ * batch thread and must not be executed concurrently by the caller.
+ */
+public class BatchedScript implements AutoCloseable
+{
+	private static final Log LOG = LogFactory.getLog(BatchedScript.class.getName());
+	
+	private final PreparedScript _script;
+	private final String _inVarname;
+	private final String _outVarname;
+	private final int _maxBatchRows;
+	private final long _maxDelayNanos;
+	
+	private final LinkedBlockingQueue<Request> _queue;
+	private final Thread _worker;
+	private volatile boolean _closed = false;
+	private int _ncol = -1; //number of input columns (of first request)
+	private Request _pending = null; //request deferred to next batch
+	
+	/**
+	 * Creates a batched script and starts its batch thread.
+	 * 
+	 * @param script prepared script with reused model inputs
+	 * @param inVarname input variable of the row batch
+	 * @param outVarname output variable of the scored rows
+	 * @param maxBatchRows maximum number of rows per batch
+	 * @param maxDelayMs maximum delay of a request before its batch is executed
+	 */
+	public BatchedScript(PreparedScript script, String inVarname, String outVarname, int maxBatchRows, long maxDelayMs) {
+		if( maxBatchRows < 1 || maxDelayMs < 0 )
+			throw new DMLException("Invalid batch configuration: maxBatchRows="+maxBatchRows+", maxDelayMs="+maxDelayMs);
+		_script = script;
+		_inVarname = inVarname;
+		_outVarname = outVarname;
+		_maxBatchRows = maxBatchRows;
+		_maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+		_queue = new LinkedBlockingQueue<>();
+		_worker = new Thread(this::runBatches, "BatchedScript-"+inVarname);
+		_worker.setDaemon(true);
+		_worker.start();
+	}
+	
+	/**
+	 * Submits a single row for scoring.
+	 * 
+	 * @param row input row
+	 * @return future of the scored row (1 x m output matrix)
+	 */
+	public Future<MatrixBlock> submit(double[] row) {
+		return submit(DataConverter.convertToMatrixBlock(row, false));
+	}
+	
+	/**
+	 * Submits a micro-batch of rows for scoring. Requests with a number of
+	 * columns different from the first request are rejected, as are requests
+	 * submitted after the batched script has been closed.
+	 * 
+	 * @param rows input rows
+	 * @return future of the scored rows (one output row per input row)
+	 */
+	public Future<MatrixBlock> submit(MatrixBlock rows) {
+		if( rows.getNumRows() < 1 )
+			throw new DMLException("Empty scoring request.");
+		Request req = new Request(rows);
+		//enqueue under lock with close, which guarantees that all accepted
+		//requests precede the poison request and are executed on close
+		synchronized( this ) {
+			if( _closed )
+				throw new DMLException("Batched script already closed.");
+			if( _ncol >= 0 && rows.getNumColumns() != _ncol )
+				throw new DMLException("Incompatible number of columns: "
+					+ rows.getNumColumns() + " vs " + _ncol);
+			_ncol = rows.getNumColumns();
+			_queue.add(req);
+		}
+		return req._future;
+	}
+	
+	/**
+	 * Stops accepting requests, executes all pending requests,
+	 * and waits for the batch thread to terminate.
+	 */
+	@Override
+	public void close() {
+		synchronized( this ) {
+			if( _closed )
+				return;
+			_closed = true;
+			_queue.add(POISON);
+		}
+		try {
+			_worker.join();
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private void runBatches() {
+		List<Request> batch = new ArrayList<>();
+		try {
+			boolean done = false;
+			while( !done ) {
+				done = collectBatch(batch);
+				if( !batch.isEmpty() )
+					executeBatch(batch);
+				batch.clear();
+			}
+		}
+		catch(InterruptedException ex) {
+			for( Request req : batch )
+				req._future.completeExceptionally(ex);
+			if( _pending != null )
+				_pending._future.completeExceptionally(ex);
+			for( Request req : _queue )
+				if( req != POISON )
+					req._future.completeExceptionally(ex);
+		}
+	}
+	
+	private boolean collectBatch(List<Request> batch) throws InterruptedException {
+		//block for first request (or the request deferred from the last batch),
+		//then collect until size or delay bound, where a request that would
+		//exceed the row limit is deferred to the next batch (a single request
+		//larger than the row limit is executed as its own batch)
+		Request first = (_pending != null) ? _pending : _queue.take();
+		_pending = null;
+		if( first == POISON )
+			return true;
+		batch.add(first);
+		int rows = first._in.getNumRows();
+		long deadline = first._time + _maxDelayNanos;
+		while( rows < _maxBatchRows ) {
+			long remaining = deadline - System.nanoTime();
+			Request req = (remaining > 0 && !_closed) ?
+				_queue.poll(remaining, TimeUnit.NANOSECONDS) : _queue.poll();
+			if( req == null )
+				break;
+			if( req == POISON )
+				return true;
+			if( rows + req._in.getNumRows() > _maxBatchRows ) {
+				_pending = req;
+				break;
+			}
+			batch.add(req);
+			rows += req._in.getNumRows();
+		}
+		return false;
+	}
+	
+	private void executeBatch(List<Request> batch) {
+		try {
+			//coalesce requests into a single input batch
+			MatrixBlock in = batch.get(0)._in;
+			if( batch.size() > 1 ) {
+				int ncol = in.getNumColumns();
+				in = new MatrixBlock(countRows(batch), ncol, false);
+				in.allocateDenseBlock();
+				int rl = 0;
+				for( Request req : batch ) {
+					in.copy(rl, rl+req._in.getNumRows()-1, 0, ncol-1, req._in, false);
+					rl += req._in.getNumRows();
+				}
+				in.recomputeNonZeros();
+				in.examSparsity();
+			}
+			
+			//execute script once for the entire batch
+			_script.setMatrix(_inVarname, in, false);
+			MatrixBlock out = _script.executeScript().getMatrixBlock(_outVarname);
+			if( out.getNumRows() != in.getNumRows() )
+				throw new DMLException("Non row-wise scoring script: "
+					+ out.getNumRows() + " output rows for " + in.getNumRows() + " input rows.");
+			
+			//split output rows into per-request results
+			if( batch.size() == 1 ) {
+				batch.get(0)._future.complete(out);
+				return;
+			}
+			int rl = 0;
+			for( Request req : batch ) {
+				int ru = rl + req._in.getNumRows() - 1;
+				req._future.complete(out.slice(rl, ru));
+				rl = ru + 1;
+			}
+		}
+		catch(Throwable ex) {
+			LOG.error("Failed to execute batch of "+batch.size()+" requests.", ex);
+			for( Request req : batch )
+				req._future.completeExceptionally(ex);
+		}
+	}
+	
+	private static int countRows(List<Request> batch) {
+		int rows = 0;
+		for( Request req : batch )
+			rows += req._in.getNumRows();
+		return rows;
+	}
+	
+	private static final Request POISON = new Request(null);
+	
+	private static class Request {
+		private final MatrixBlock _in;
+		private final long _time;
+		private final CompletableFuture<MatrixBlock> _future;
+		
+		public Request(MatrixBlock in) {
+			_in = in;
+			_time = System.nanoTime();
+			_future = new CompletableFuture<>();
+		}
+	}
+}
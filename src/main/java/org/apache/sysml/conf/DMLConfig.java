@@ -73,6 +73,7 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE        = "sysml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_OPS      = "sysml.cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "sysml.cp.parallel.io";
+	public static final String IO_COMPRESSION_CODEC = "sysml.io.compression.codec"; //none, deflate, or hadoop codec class
 	public static final String COMPRESSED_LINALG    = "sysml.compressed.linalg"; //auto, true, false
 	public static final String NATIVE_BLAS          = "sysml.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysml.native.blas.directory";
@@ -82,6 +83,15 @@ public class DMLConfig
 	public static final String CODEGEN_PLANCACHE    = "sysml.codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "sysml.codegen.literals"; //1..heuristic, 2..always
 	public static final String CACHING_BUFFER_SIZE 	= "sysml.caching.bufferSize"; //double: default:0.15
+	public static final String LINEAGE_CACHE_SIZE   = "sysml.lineage.cache.size"; //double: default:0.0 (disabled)
+	public static final String CACHING_PAGECACHE_SIZE = "sysml.caching.pagecache.size"; //double: default:0.0 (disabled)
+	public static final String CACHING_PAGECACHE_OFFHEAP = "sysml.caching.pagecache.offheap"; //boolean: default:false
+	public static final String CACHING_EVICTION_ASYNC = "sysml.caching.eviction.async"; //boolean: default:false
+	public static final String CACHING_EVICTION_POLICY = "sysml.caching.eviction.policy"; //String: FIFO, LRU, REUSE
+	public static final String CACHING_EVICTION_MMAP = "sysml.caching.eviction.mmap"; //boolean: default:false
+	public static final String CACHING_EVICTION_COMPRESS = "sysml.caching.eviction.compress"; //boolean: default:false
+	public static final String CACHING_DENSE_FP32 = "sysml.caching.dense.fp32"; //boolean: default:false
+	public static final String COST_PROFILE         = "sysml.cost.profile"; //String: calibrated cost profile (default: none)
 	public static final String EXTRA_FINEGRAINED_STATS = "sysml.stats.finegrained"; //boolean
 	public static final String STATS_MAX_WRAP_LEN   = "sysml.stats.maxWrapLength"; //int
 	public static final String AVAILABLE_GPUS       = "sysml.gpu.availableGPUs"; // String to specify which GPUs to use (a range, all GPUs, comma separated list or a specific GPU)
@@ -129,6 +139,7 @@ public class DMLConfig
 		_defaultVals.put(YARN_APPQUEUE,    	     "default" );
 		_defaultVals.put(CP_PARALLEL_OPS,        "true" );
 		_defaultVals.put(CP_PARALLEL_IO,         "true" );
+		_defaultVals.put(IO_COMPRESSION_CODEC,   "none" );
 		_defaultVals.put(COMPRESSED_LINALG,      Compression.CompressConfig.AUTO.name() );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_COMPILER,       CompilerType.AUTO.name() );
@@ -147,6 +158,15 @@ public class DMLConfig
 		_defaultVals.put(GPU_EVICTION_POLICY,    "min_evict");
 		_defaultVals.put(SYNCHRONIZE_GPU,        "false" );
 		_defaultVals.put(CACHING_BUFFER_SIZE,    "0.15" );
+		_defaultVals.put(LINEAGE_CACHE_SIZE,     "0.0" );
+		_defaultVals.put(CACHING_PAGECACHE_SIZE, "0.0" );
+		_defaultVals.put(CACHING_PAGECACHE_OFFHEAP, "false" );
+		_defaultVals.put(CACHING_EVICTION_ASYNC, "false" );
+		_defaultVals.put(CACHING_EVICTION_POLICY, "FIFO" );
+		_defaultVals.put(CACHING_EVICTION_MMAP, "false" );
+		_defaultVals.put(CACHING_EVICTION_COMPRESS, "false" );
+		_defaultVals.put(CACHING_DENSE_FP32,     "false" );
+		_defaultVals.put(COST_PROFILE,           "" );
 		_defaultVals.put(EAGER_CUDA_FREE,        "false" );
 		_defaultVals.put(GPU_RECOMPUTE_ACTIVATIONS, "false" );
 		_defaultVals.put(FLOATING_POINT_PRECISION,        	 "double" );
@@ -427,10 +447,12 @@ public class DMLConfig
 				LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL,
 				NUM_REDUCERS, DEFAULT_BLOCK_SIZE,
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
-				CP_PARALLEL_OPS, CP_PARALLEL_IO, NATIVE_BLAS, NATIVE_BLAS_DIR,
+				CP_PARALLEL_OPS, CP_PARALLEL_IO, IO_COMPRESSION_CODEC, NATIVE_BLAS, NATIVE_BLAS_DIR,
 				COMPRESSED_LINALG, 
 				CODEGEN, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
-				EXTRA_FINEGRAINED_STATS, STATS_MAX_WRAP_LEN, PRINT_GPU_MEMORY_INFO, CACHING_BUFFER_SIZE,
+				EXTRA_FINEGRAINED_STATS, STATS_MAX_WRAP_LEN, PRINT_GPU_MEMORY_INFO, CACHING_BUFFER_SIZE, LINEAGE_CACHE_SIZE,
+				CACHING_PAGECACHE_SIZE, CACHING_PAGECACHE_OFFHEAP, CACHING_EVICTION_ASYNC, CACHING_EVICTION_POLICY,
+				CACHING_EVICTION_MMAP, CACHING_EVICTION_COMPRESS, CACHING_DENSE_FP32, COST_PROFILE,
 				AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, EVICTION_SHADOW_BUFFERSIZE,
 				GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR, GPU_RECOMPUTE_ACTIVATIONS
 		}; 
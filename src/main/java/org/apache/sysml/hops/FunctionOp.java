@@ -39,7 +39,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimatorHops;
  * Note: Currently, we support expressions in function arguments along with function calls
  * in expressions with single outputs, leaving multiple outputs handling as it is.
  */
-public class FunctionOp extends Hop
+public class FunctionOp extends MultiThreadedHop
 {
 	public enum FunctionType{
 		DML,
@@ -252,9 +252,11 @@ public class FunctionOp extends Hop
 		for( Hop in : getInput() )
 			tmp.add( in.constructLops() );
 		
-		//construct function call
+		//construct function call (w/ degree of parallelism for multi-threaded builtins)
+		int k = (isBuiltinFunction() && et == ExecType.CP && getFunctionName().equalsIgnoreCase("transformencode")) ?
+			OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : -1;
 		Lop fcall = _singleOutFun ? new FunctionCallCPSingle( tmp, _fnamespace, _fname, et ) :
-			new FunctionCallCP(tmp, _fnamespace, _fname, _inputNames, _outputNames, _outputHops, et);
+			new FunctionCallCP(tmp, _fnamespace, _fname, _inputNames, _outputNames, _outputHops, et, k);
 		setLineNumbers(fcall);
 		setLops(fcall);
 		
@@ -328,6 +330,7 @@ public class FunctionOp extends Hop
 		ret._outputNames = _outputNames.clone();
 		if( _outputHops != null )
 			ret._outputHops = (ArrayList<Hop>) _outputHops.clone();
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
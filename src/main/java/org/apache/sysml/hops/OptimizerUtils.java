@@ -44,6 +44,7 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.ForProgramBlock;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
@@ -674,6 +675,10 @@ public class OptimizerUtils
 	 */
 	public static long estimateSizeExactSparsity(long nrows, long ncols, double sp) 
 	{
+		//dense matrices in single precision (if enabled)
+		if( CacheableData.CACHING_DENSE_FP32
+			&& !MatrixBlock.evalSparseFormatInMemory(nrows, ncols, (long)(sp*nrows*ncols)) )
+			return MatrixBlock.estimateSizeDenseInMemoryFP32(nrows, ncols);
 		return MatrixBlock.estimateSizeInMemory(nrows,ncols,sp);
 	}
 	
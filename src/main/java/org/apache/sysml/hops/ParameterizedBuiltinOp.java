@@ -170,12 +170,21 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop
 				constructLopsRExpand(inputlops, et);
 				break;
 			} 
+			case TRANSFORMAPPLY: {
+				ExecType et = optFindExecType();
+				int k = OptimizerUtils.getConstrainedNumThreads( _maxNumThreads );
+				ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops,
+					HopsParameterizedBuiltinLops.get(_op), getDataType(), getValueType(), et, k);
+				setOutputDimensions(pbilop);
+				setLineNumbers(pbilop);
+				setLops(pbilop);
+				break;
+			}
 			case CDF:
 			case INVCDF: 
 			case REPLACE:
 			case LOWER_TRI:
 			case UPPER_TRI:
-			case TRANSFORMAPPLY:
 			case TRANSFORMDECODE:
 			case TRANSFORMCOLMAP:
 			case TRANSFORMMETA:
@@ -68,8 +68,8 @@ import org.apache.sysml.yarn.ropt.YarnClusterAnalyzer;
 public class CostEstimatorStaticRuntime extends CostEstimator
 {
 	
-	//time-conversion
-	private static final long DEFAULT_FLOPS = 2L * 1024 * 1024 * 1024; //2GFLOPS
+	//time-conversion and binary block IO throughput: see CostProfile 
+	//(static defaults or calibrated profile of the local machine)
 	//private static final long UNKNOWN_TIME = -1;
 	
 	//floating point operations
@@ -84,16 +84,7 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 	private static final double DEFAULT_MR_TASK_LATENCY_LOCAL = 0.001;
 	private static final double DEFAULT_MR_TASK_LATENCY_REMOTE = 1.5;
 	
-	//IO READ throughput
-	private static final double DEFAULT_MBS_FSREAD_BINARYBLOCK_DENSE = 200;
-	private static final double DEFAULT_MBS_FSREAD_BINARYBLOCK_SPARSE = 100;
-	private static final double DEFAULT_MBS_HDFSREAD_BINARYBLOCK_DENSE = 150;
-	private static final double DEFAULT_MBS_HDFSREAD_BINARYBLOCK_SPARSE = 75;
-	//IO WRITE throughput
-	private static final double DEFAULT_MBS_FSWRITE_BINARYBLOCK_DENSE = 150;
-	private static final double DEFAULT_MBS_FSWRITE_BINARYBLOCK_SPARSE = 75;
-	private static final double DEFAULT_MBS_HDFSWRITE_BINARYBLOCK_DENSE = 120;
-	private static final double DEFAULT_MBS_HDFSWRITE_BINARYBLOCK_SPARSE = 60;
+	//IO WRITE throughput (text)
 	private static final double DEFAULT_MBS_HDFSWRITE_TEXT_DENSE = 40;
 	private static final double DEFAULT_MBS_HDFSWRITE_TEXT_SPARSE = 30;
 	
@@ -641,10 +632,7 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 		boolean sparse = MatrixBlock.evalSparseFormatOnDisk(dm, dn, (long)(ds*dm*dn));
 		double ret = ((double)MatrixBlock.estimateSizeOnDisk((long)dm, (long)dn, (long)(ds*dm*dn))) / (1024*1024);  		
 		
-		if( sparse )
-			ret /= DEFAULT_MBS_HDFSREAD_BINARYBLOCK_SPARSE;
-		else //dense
-			ret /= DEFAULT_MBS_HDFSREAD_BINARYBLOCK_DENSE;
+		ret /= CostProfile.get().getHDFSReadThroughput(sparse);
 		
 		return ret;
 	}
@@ -656,11 +644,7 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 		double bytes = (double)MatrixBlock.estimateSizeOnDisk(dm, dn, (long)(ds*dm*dn));
 		double mbytes = bytes / (1024*1024);
 		
-		double ret = -1;
-		if( sparse )
-			ret = mbytes / DEFAULT_MBS_HDFSWRITE_BINARYBLOCK_SPARSE;
-		else //dense
-			ret = mbytes / DEFAULT_MBS_HDFSWRITE_BINARYBLOCK_DENSE;
+		double ret = mbytes / CostProfile.get().getHDFSWriteThroughput(sparse);
 		
 		//if( LOG.isDebugEnabled() )
 		//	LOG.debug("Costs[export] = "+ret+"s, "+mbytes+" MB ("+dm+","+dn+","+ds+").");
@@ -688,10 +672,7 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 		}
 		else
 		{
-			if( sparse )
-				ret = mbytes / DEFAULT_MBS_HDFSWRITE_BINARYBLOCK_SPARSE;
-			else //dense
-				ret = mbytes / DEFAULT_MBS_HDFSWRITE_BINARYBLOCK_DENSE;
+			ret = mbytes / CostProfile.get().getHDFSWriteThroughput(sparse);
 		}
 		//if( LOG.isDebugEnabled() )
 		//	LOG.debug("Costs[export] = "+ret+"s, "+mbytes+" MB ("+dm+","+dn+","+ds+").");
@@ -714,10 +695,7 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 		boolean sparse = MatrixBlock.evalSparseFormatOnDisk(dm, dn, (long)(ds*dm*dn));
 		
 		double ret = ((double)MatrixBlock.estimateSizeOnDisk(dm, dn, (long)(ds*dm*dn))) / (1024*1024);
-		if( sparse )
-			ret /= DEFAULT_MBS_FSREAD_BINARYBLOCK_SPARSE;
-		else //dense
-			ret /= DEFAULT_MBS_FSREAD_BINARYBLOCK_DENSE;
+		ret /= CostProfile.get().getFSReadThroughput(sparse);
 		
 		return ret;
 	}
@@ -728,10 +706,7 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 		
 		double ret = ((double)MatrixBlock.estimateSizeOnDisk(dm, dn, (long)(ds*dm*dn))) / (1024*1024);
 		
-		if( sparse )
-			ret /= DEFAULT_MBS_FSWRITE_BINARYBLOCK_SPARSE;
-		else //dense
-			ret /= DEFAULT_MBS_FSWRITE_BINARYBLOCK_DENSE;
+		ret /= CostProfile.get().getFSWriteThroughput(sparse);
 		
 		return ret;
 	}
@@ -773,7 +748,7 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 	private static double getInstTimeEstimate( String opcode, boolean inMR, long d1m, long d1n, double d1s, long d2m, long d2n, double d2s, long d3m, long d3n, double d3s, String[] args )
 	{
 		double nflops = getNFLOP(opcode, inMR, d1m, d1n, d1s, d2m, d2n, d2s, d3m, d3n, d3s, args);
-		double time = nflops / DEFAULT_FLOPS;
+		double time = nflops / CostProfile.get().getFlops();
 		
 		if( LOG.isDebugEnabled() )
 			LOG.debug("Cost["+opcode+"] = "+time+"s, "+nflops+" flops ("+d1m+","+d1n+","+d1s+","+d2m+","+d2n+","+d2s+","+d3m+","+d3n+","+d3s+").");
@@ -1073,7 +1048,7 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 				case Partition:
 					return d1m * d1n * d1s + //partitioning costs
 						   (inMR ? 0 : //include write cost if in CP
-							getHDFSWriteTime(d1m, d1n, d1s)* DEFAULT_FLOPS);
+							getHDFSWriteTime(d1m, d1n, d1s)* CostProfile.get().getFlops());
 				
 				default: 
 					throw new DMLRuntimeException("CostEstimator: unsupported instruction type: "+optype);
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.cost;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+
+/**
+ * Machine-specific cost profile of FLOP and I/O rates, which is used by the
+ * static cost model (see {@link CostEstimatorStaticRuntime}) and the parfor
+ * optimizers. By default, the profile holds the static constants of the cost
+ * model. A calibrated profile is created by running microbenchmarks of core
+ * operations on the local machine (see {@link #calibrate()} and {@link #main(String[])}),
+ * persisted as properties file (by default conf/cost-profile.properties), and
+ * loaded via the configuration property sysml.cost.profile.
+ *
+ * Note that the FLOP rate refers to the FLOP counts of the cost model, which
+ * e.g., accounts m*n*k FLOPs for a dense matrix multiplication. The FLOP rate
+ * and effective parallelism (speedup of multi-threaded over single-threaded
+ * matrix multiplication) are also used by the rule-based parfor optimizer to
+ * decide between local and remote parfor, but do not bound the degree of
+ * parallelism of operations or parfor workers.
+ */
+public class CostProfile
+{
+	private static final Log LOG = LogFactory.getLog(CostProfile.class.getName());
+
+	public static final String DEFAULT_PROFILE_FILEPATH = "conf/cost-profile.properties";
+
+	//property names
+	private static final String FLOPS = "flops";
+	private static final String PARALLELISM = "parallelism";
+	private static final String MBS_FSREAD_DENSE = "fsread.dense";
+	private static final String MBS_FSREAD_SPARSE = "fsread.sparse";
+	private static final String MBS_FSWRITE_DENSE = "fswrite.dense";
+	private static final String MBS_FSWRITE_SPARSE = "fswrite.sparse";
+	private static final String MBS_HDFSREAD_DENSE = "hdfsread.dense";
+	private static final String MBS_HDFSREAD_SPARSE = "hdfsread.sparse";
+	private static final String MBS_HDFSWRITE_DENSE = "hdfswrite.dense";
+	private static final String MBS_HDFSWRITE_SPARSE = "hdfswrite.sparse";
+
+	//microbenchmark configuration
+	private static final int CALIB_MM_DIM = 1024;
+	private static final int CALIB_IO_DENSE_DIM = 2048;
+	private static final int CALIB_IO_SPARSE_DIM = 8192;
+	private static final double CALIB_IO_SPARSITY = 0.01;
+	private static final int CALIB_REPS = 3;
+
+	private static final CostProfile DEFAULT_PROFILE = new CostProfile();
+	private static String _fname = null;
+	private static CostProfile _profile = DEFAULT_PROFILE;
+
+	//time-conversion (in FLOP/s, and effective local parallelism)
+	private double _flops = 2L * 1024 * 1024 * 1024; //2GFLOPS
+	private int _parallelism = -1; //unknown
+	//IO throughput (in MB/s)
+	private double _mbsFSReadDense = 200;
+	private double _mbsFSReadSparse = 100;
+	private double _mbsFSWriteDense = 150;
+	private double _mbsFSWriteSparse = 75;
+	private double _mbsHDFSReadDense = 150;
+	private double _mbsHDFSReadSparse = 75;
+	private double _mbsHDFSWriteDense = 120;
+	private double _mbsHDFSWriteSparse = 60;
+
+	/**
+	 * Obtains the cost profile according to the current configuration, i.e.,
+	 * the calibrated profile if sysml.cost.profile is set, and the default
+	 * profile otherwise. Loaded profiles are reused until the configured
+	 * file path changes.
+	 *
+	 * @return cost profile
+	 */
+	public static CostProfile get() {
+		String fname = ConfigurationManager.getDMLConfig()
+			.getTextValue(DMLConfig.COST_PROFILE);
+		if( fname == null || fname.trim().isEmpty() )
+			return DEFAULT_PROFILE;
+		synchronized( CostProfile.class ) {
+			if( !fname.equals(_fname) ) {
+				try {
+					_profile = read(fname);
+				}
+				catch(IOException ex) {
+					LOG.warn("Failed to read cost profile '"+fname+"', using default profile.", ex);
+					_profile = DEFAULT_PROFILE;
+				}
+				_fname = fname;
+			}
+			return _profile;
+		}
+	}
+
+	public static CostProfile getDefault() {
+		return DEFAULT_PROFILE;
+	}
+
+	public boolean isCalibrated() {
+		return this != DEFAULT_PROFILE;
+	}
+
+	public double getFlops() {
+		return _flops;
+	}
+
+	public int getParallelism() {
+		return _parallelism;
+	}
+
+	public double getFSReadThroughput(boolean sparse) {
+		return sparse ? _mbsFSReadSparse : _mbsFSReadDense;
+	}
+
+	public double getFSWriteThroughput(boolean sparse) {
+		return sparse ? _mbsFSWriteSparse : _mbsFSWriteDense;
+	}
+
+	public double getHDFSReadThroughput(boolean sparse) {
+		return sparse ? _mbsHDFSReadSparse : _mbsHDFSReadDense;
+	}
+
+	public double getHDFSWriteThroughput(boolean sparse) {
+		return sparse ? _mbsHDFSWriteSparse : _mbsHDFSWriteDense;
+	}
+
+	/**
+	 * Reads a cost profile from the given local properties file, where
+	 * missing properties are initialized with the default values.
+	 *
+	 * @param fname file name
+	 * @return cost profile
+	 * @throws IOException if IOException occurs
+	 */
+	public static CostProfile read(String fname) throws IOException {
+		Properties prop = new Properties();
+		InputStream in = new FileInputStream(fname);
+		try {
+			prop.load(in);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+		CostProfile p = new CostProfile();
+		p._flops = getValue(prop, FLOPS, p._flops);
+		p._parallelism = (int) getValue(prop, PARALLELISM, p._parallelism);
+		p._mbsFSReadDense = getValue(prop, MBS_FSREAD_DENSE, p._mbsFSReadDense);
+		p._mbsFSReadSparse = getValue(prop, MBS_FSREAD_SPARSE, p._mbsFSReadSparse);
+		p._mbsFSWriteDense = getValue(prop, MBS_FSWRITE_DENSE, p._mbsFSWriteDense);
+		p._mbsFSWriteSparse = getValue(prop, MBS_FSWRITE_SPARSE, p._mbsFSWriteSparse);
+		p._mbsHDFSReadDense = getValue(prop, MBS_HDFSREAD_DENSE, p._mbsHDFSReadDense);
+		p._mbsHDFSReadSparse = getValue(prop, MBS_HDFSREAD_SPARSE, p._mbsHDFSReadSparse);
+		p._mbsHDFSWriteDense = getValue(prop, MBS_HDFSWRITE_DENSE, p._mbsHDFSWriteDense);
+		p._mbsHDFSWriteSparse = getValue(prop, MBS_HDFSWRITE_SPARSE, p._mbsHDFSWriteSparse);
+		return p;
+	}
+
+	/**
+	 * Writes the cost profile to the given local properties file.
+	 *
+	 * @param fname file name
+	 * @throws IOException if IOException occurs
+	 */
+	public void write(String fname) throws IOException {
+		Properties prop = new Properties();
+		prop.setProperty(FLOPS, String.valueOf(_flops));
+		prop.setProperty(PARALLELISM, String.valueOf(_parallelism));
+		prop.setProperty(MBS_FSREAD_DENSE, String.valueOf(_mbsFSReadDense));
+		prop.setProperty(MBS_FSREAD_SPARSE, String.valueOf(_mbsFSReadSparse));
+		prop.setProperty(MBS_FSWRITE_DENSE, String.valueOf(_mbsFSWriteDense));
+		prop.setProperty(MBS_FSWRITE_SPARSE, String.valueOf(_mbsFSWriteSparse));
+		prop.setProperty(MBS_HDFSREAD_DENSE, String.valueOf(_mbsHDFSReadDense));
+		prop.setProperty(MBS_HDFSREAD_SPARSE, String.valueOf(_mbsHDFSReadSparse));
+		prop.setProperty(MBS_HDFSWRITE_DENSE, String.valueOf(_mbsHDFSWriteDense));
+		prop.setProperty(MBS_HDFSWRITE_SPARSE, String.valueOf(_mbsHDFSWriteSparse));
+		File file = new File(fname);
+		if( file.getParentFile() != null )
+			file.getParentFile().mkdirs();
+		OutputStream out = new FileOutputStream(file);
+		try {
+			prop.store(out, "SystemML cost profile (FLOP/s, MB/s)");
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+
+	/**
+	 * Creates a calibrated cost profile by running microbenchmarks on the
+	 * local machine: single- and multi-threaded dense matrix multiplication
+	 * for the FLOP rate and effective parallelism, as well as local binary-block
+	 * writes and reads of dense and sparse matrices for the I/O throughput.
+	 * HDFS throughput is not measured and retains the default values.
+	 *
+	 * @return calibrated cost profile
+	 */
+	public static CostProfile calibrate() {
+		CostProfile p = new CostProfile();
+
+		//compute: dense matrix multiplication (m*n*k flops in cost model)
+		int n = CALIB_MM_DIM;
+		int k = InfrastructureAnalyzer.getLocalParallelism();
+		MatrixBlock a = MatrixBlock.randOperations(n, n, 1.0, 0, 1, "uniform", 7);
+		MatrixBlock b = MatrixBlock.randOperations(n, n, 1.0, 0, 1, "uniform", 3);
+		double t1 = Double.MAX_VALUE, tk = Double.MAX_VALUE;
+		for( int i=0; i<CALIB_REPS; i++ ) {
+			Timing time = new Timing(true);
+			LibMatrixMult.matrixMult(a, b, new MatrixBlock(n, n, false));
+			t1 = Math.min(t1, time.stop());
+			LibMatrixMult.matrixMult(a, b, new MatrixBlock(n, n, false), k);
+			tk = Math.min(tk, time.stop());
+		}
+		p._flops = (double) n * n * n / (t1 / 1000);
+		p._parallelism = (int) Math.max(Math.round(t1 / tk), 1);
+
+		//io: local binary block write and read
+		try {
+			double[] dense = calibrateLocalIO(MatrixBlock.randOperations(
+				CALIB_IO_DENSE_DIM, CALIB_IO_DENSE_DIM, 1.0, 0, 1, "uniform", 7));
+			double[] sparse = calibrateLocalIO(MatrixBlock.randOperations(
+				CALIB_IO_SPARSE_DIM, CALIB_IO_SPARSE_DIM, CALIB_IO_SPARSITY, 0, 1, "uniform", 7));
+			p._mbsFSWriteDense = dense[0];
+			p._mbsFSReadDense = dense[1];
+			p._mbsFSWriteSparse = sparse[0];
+			p._mbsFSReadSparse = sparse[1];
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to calibrate local I/O throughput.", ex);
+		}
+
+		if( LOG.isDebugEnabled() )
+			LOG.debug("Calibrated cost profile: "+p.toString());
+
+		return p;
+	}
+
+	private static double[] calibrateLocalIO(MatrixBlock mb) throws IOException {
+		File file = File.createTempFile("sysml_calib", ".bin");
+		file.deleteOnExit();
+		String fname = file.getAbsolutePath();
+		double mbytes = (double) MatrixBlock.estimateSizeOnDisk(
+			mb.getNumRows(), mb.getNumColumns(), mb.getNonZeros()) / (1024*1024);
+		double tw = Double.MAX_VALUE, tr = Double.MAX_VALUE;
+		try {
+			for( int i=0; i<CALIB_REPS; i++ ) {
+				Timing time = new Timing(true);
+				LocalFileUtils.writeMatrixBlockToLocal(fname, mb);
+				tw = Math.min(tw, time.stop());
+				LocalFileUtils.readMatrixBlockFromLocal(fname);
+				tr = Math.min(tr, time.stop());
+			}
+		}
+		finally {
+			file.delete();
+		}
+		return new double[]{ mbytes / (tw / 1000), mbytes / (tr / 1000) };
+	}
+
+	private static double getValue(Properties prop, String name, double defaultVal) {
+		String val = prop.getProperty(name);
+		return (val != null) ? Double.parseDouble(val.trim()) : defaultVal;
+	}
+
+	@Override
+	public String toString() {
+		return "flops="+_flops+", parallelism="+_parallelism
+			+", fsread="+_mbsFSReadDense+"/"+_mbsFSReadSparse
+			+", fswrite="+_mbsFSWriteDense+"/"+_mbsFSWriteSparse
+			+", hdfsread="+_mbsHDFSReadDense+"/"+_mbsHDFSReadSparse
+			+", hdfswrite="+_mbsHDFSWriteDense+"/"+_mbsHDFSWriteSparse;
+	}
+
+	/**
+	 * Calibrates the cost profile of the local machine and writes it to
+	 * the given file (by default conf/cost-profile.properties).
+	 *
+	 * @param args optional output file name
+	 * @throws IOException if IOException occurs
+	 */
+	public static void main(String[] args) throws IOException {
+		String fname = (args.length > 0) ? args[0] : DEFAULT_PROFILE_FILEPATH;
+		CostProfile p = calibrate();
+		p.write(fname);
+		System.out.println("Calibrated cost profile ("+fname+"): "+p.toString());
+	}
+}
@@ -84,7 +84,11 @@ public abstract class Statement implements ParseInfo
 		public boolean isASP() {
 			return this == ASP;
 		}
+		public boolean isSSP() {
+			return this == SSP;
+		}
 	}
+	public static final String PS_STALENESS = "staleness";
 	public static final String PS_FREQUENCY = "freq";
 	public enum PSFrequency {
 		BATCH, EPOCH
@@ -96,6 +100,10 @@ public abstract class Statement implements ParseInfo
 	public enum PSScheme {
 		DISJOINT_CONTIGUOUS, DISJOINT_ROUND_ROBIN, DISJOINT_RANDOM, OVERLAP_RESHUFFLE
 	}
+	public static final String PS_COMPRESSION = "compression";
+	public enum PSCompression {
+		NONE, TOPK, QUANTIZE
+	}
 	public static final String PS_HYPER_PARAMS = "hyperparams";
 	public static final String PS_CHECKPOINTING = "checkpointing";
 	public enum PSCheckpointing {
@@ -55,6 +55,7 @@ import org.apache.sysml.parser.ParForStatementBlock.ResultVar;
 import org.apache.sysml.parser.StatementBlock;
 import org.apache.sysml.parser.VariableSet;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
@@ -64,6 +65,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteMR;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalWorkStealingTaskQueue;
 import org.apache.sysml.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysml.runtime.util.ProgramConverter;
 import org.apache.sysml.runtime.controlprogram.parfor.RemoteDPParForMR;
@@ -79,6 +81,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeRemoteMR;
 import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeRemoteSpark;
 import org.apache.sysml.runtime.controlprogram.parfor.Task;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitioner;
+import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerAdaptive;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFactoring;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFactoringCmax;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFactoringCmin;
@@ -146,6 +149,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,      //factoring task partitioner  
 		FACTORING_CMIN, //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX, //constrained factoring task partitioner, uses tasksize as max constraint
+		ADAPTIVE,       //adaptive task partitioner, sizes tasks from measured task times (local only)
 		UNSPECIFIED
 	}
 	
@@ -300,7 +304,6 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static final boolean ALLOW_NESTED_PARALLELISM	= true; // if not, transparently change parfor to for on program conversions (local,remote)
 	public static       boolean ALLOW_REUSE_MR_JVMS         = true; // potential benefits: less setup costs per task, NOTE> cannot be used MR4490 in Hadoop 1.0.3, still not fixed in 1.1.1
 	public static       boolean ALLOW_REUSE_MR_PAR_WORKER   = ALLOW_REUSE_MR_JVMS; //potential benefits: less initialization, reuse in-memory objects and result consolidation!
-	public static final boolean USE_PARALLEL_RESULT_MERGE   = false; // if result merge is run in parallel or serial 
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
@@ -335,6 +338,9 @@ public class ParForProgramBlock extends ForProgramBlock
 	protected PResultMerge _resultMerge = null;
 	protected PExecMode _execMode = null;
 	protected POptMode _optMode = null;
+	protected boolean _workStealing = false; //per-worker task deques with stealing instead of a shared task queue
+	protected boolean _parallelMerge = false; //parallel in-memory result merge (always for empty outputs)
+	protected Set<String> _pinnedResultVars = null; //result vars pinned by calling scopes
 	
 	//specifics used for optimization
 	protected long _numIterations = -1;
@@ -532,6 +538,15 @@ public class ParForProgramBlock extends ForProgramBlock
 		_jvmReuse = false;
 	}
 	
+	public void setWorkStealing(boolean flag) {
+		//only called from optimizer
+		_workStealing = flag;
+	}
+	
+	public boolean isWorkStealing() {
+		return _workStealing;
+	}
+	
 	public void disableMonitorReport() {
 		_monitorReport = false;
 	}
@@ -541,6 +556,11 @@ public class ParForProgramBlock extends ForProgramBlock
 		_params.put(ParForStatementBlock.RESULT_MERGE, String.valueOf(_resultMerge)); //kept up-to-date for copies
 	}
 	
+	public void setParallelResultMerge(boolean flag) {
+		//only called from optimizer
+		_parallelMerge = flag;
+	}
+	
 	public void setRecompileMemoryBudget( double localMem ) {
 		_recompileMemoryBudget = localMem;
 	}
@@ -633,7 +653,12 @@ public class ParForProgramBlock extends ForProgramBlock
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_EXECMODE,        _execMode.ordinal());
 		}
 		
-		//preserve shared input/result variables of cleanup
+		//preserve shared input/result variables of cleanup, where results 
+		//already pinned by calling scopes are excluded from in-place result merge
+		_pinnedResultVars = _resultVars.stream().map(v -> v._name)
+			.filter(v -> ec.getVariable(v) instanceof CacheableData
+				&& !((CacheableData<?>)ec.getVariable(v)).isCleanupEnabled())
+			.collect(Collectors.toSet());
 		ArrayList<String> varList = ec.getVarList();
 		boolean[] varState = ec.pinVariables(varList);
 		
@@ -753,11 +778,15 @@ public class ParForProgramBlock extends ForProgramBlock
 		{
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			LocalTaskQueue<Task> queue = (_workStealing && _numThreads > 1) ?
+				new LocalWorkStealingTaskQueue<>(_numThreads) : new LocalTaskQueue<>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
+			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
 			IntStream.range(0, _numThreads).parallel().forEach(i -> {
 				workers[i] = createParallelWorker( _pwIDs[i], queue, ec, i);
+				if( partitioner instanceof TaskPartitionerAdaptive )
+					workers[i].setTaskFeedback((TaskPartitionerAdaptive)partitioner);
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY);
 			});
@@ -774,7 +803,6 @@ public class ParForProgramBlock extends ForProgramBlock
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, tinit);
 			
 			// Step 2) create tasks 
-			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
 			long numIterations = partitioner.getNumIterations();
 			long numCreatedTasks = -1;
 			if( USE_STREAMING_TASK_CREATION )
@@ -1377,7 +1405,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			
 			//create the actual parallel worker
 			ParForBody body = new ParForBody( cpChildBlocks, _resultVars, cpEc );
-			pw = new LocalParWorker( pwID, queue, body, cconf, MAX_RETRYS_ON_ERROR, _monitor );
+			pw = new LocalParWorker( pwID, index, queue, body, cconf, MAX_RETRYS_ON_ERROR, _monitor );
 			pw.setFunctionNames(fnNames);
 		}
 		catch(Exception ex) {
@@ -1427,6 +1455,11 @@ public class ParForProgramBlock extends ForProgramBlock
 				tp = new TaskPartitionerFactoringCmax(_taskSize,_numThreads, 
 					_taskSize, _iterPredVar, from, to, incr);
 				break;	
+			case ADAPTIVE:
+				//for adaptive partitioning the tasksize is used as the minimum task size
+				tp = new TaskPartitionerAdaptive(
+					_taskSize, _numThreads, _iterPredVar, from, to, incr);
+				break;
 			default:
 				throw new DMLRuntimeException("Undefined task partitioner: '"+_taskPartitioner+"'.");
 		}
@@ -1477,6 +1510,44 @@ public class ParForProgramBlock extends ForProgramBlock
 		return dp;
 	}
 
+	/**
+	 * Indicates if the result merge of the given output should run in parallel, 
+	 * which applies to local in-memory result merge if chosen by the optimizer or 
+	 * if the output is empty, where worker results are guaranteed to be disjoint, 
+	 * and all worker results fit in memory. 
+	 * 
+	 * @param out output matrix object
+	 * @return true if parallel result merge
+	 */
+	private boolean isParallelResultMerge( MatrixObject out ) {
+		return (_resultMerge == PResultMerge.LOCAL_MEM || _resultMerge == PResultMerge.LOCAL_AUTOMATIC)
+			&& _numThreads > 1 && (_parallelMerge || (out.getNnz() == 0 
+			&& OptimizerRuleBased.isInMemoryResultMerge(_numThreads * out.getNumRows(),
+				out.getNumColumns(), OptimizerUtils.getLocalMemBudget())));
+	}
+	
+	/**
+	 * Indicates if disjoint worker results can be merged into the existing output,
+	 * i.e., if the output is not referenced by other variables of this or any 
+	 * calling scope (e.g., function inputs or shared variables of outer parfor).
+	 * 
+	 * @param ec execution context
+	 * @param varname result variable name
+	 * @param out output matrix object
+	 * @return true if the output can be updated in place
+	 */
+	private boolean isInPlaceResultMerge( ExecutionContext ec, String varname, MatrixObject out ) {
+		if( _pinnedResultVars == null || _pinnedResultVars.contains(varname) )
+			return false;
+		for( String name : ec.getVariables().keySet() ) {
+			Data dat = ec.getVariable(name);
+			if( !name.equals(varname) && (dat == out || (dat instanceof ListObject
+				&& ((ListObject)dat).getData().contains(out))) )
+				return false;
+		}
+		return true;
+	}
+	
 	private ResultMerge createResultMerge( PResultMerge prm, MatrixObject out, MatrixObject[] in, String fname, boolean accum, ExecutionContext ec ) 
 	{
 		ResultMerge rm = null;
@@ -1678,8 +1749,9 @@ public class ParForProgramBlock extends ForProgramBlock
 						vars.get(var._name)).toArray(MatrixObject[]::new);
 					String fname = constructResultMergeFileName();
 					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, var._isAccum, ec);
-					MatrixObject outNew = USE_PARALLEL_RESULT_MERGE ?
-						rm.executeParallelMerge(_numThreads) :
+					MatrixObject outNew = isParallelResultMerge(out) ?
+						rm.setInPlace(isInPlaceResultMerge(ec, var._name, out))
+							.executeParallelMerge(_numThreads) :
 						rm.executeSerialMerge();
 					
 					//cleanup existing var
@@ -1949,8 +2021,13 @@ public class ParForProgramBlock extends ForProgramBlock
 				
 					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, var._isAccum, _ec);
 					MatrixObject outNew = null;
-					if( USE_PARALLEL_RESULT_MERGE )
-						outNew = rm.executeParallelMerge( _numThreads );
+					if( isParallelResultMerge(out) ) {
+						boolean inplace = false;
+						synchronized( _ec.getVariables() ){
+							inplace = isInPlaceResultMerge(_ec, var._name, out);
+						}
+						outNew = rm.setInPlace(inplace).executeParallelMerge( _numThreads );
+					}
 					else
 						outNew = rm.executeSerialMerge();
 					
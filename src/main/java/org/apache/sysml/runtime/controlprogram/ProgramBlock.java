@@ -35,8 +35,11 @@ import org.apache.sysml.parser.ParseInfo;
 import org.apache.sysml.parser.StatementBlock;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.controlprogram.caching.ReuseDistance;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
@@ -45,6 +48,7 @@ import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.IntObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
+import org.apache.sysml.runtime.lineage.LineageCache;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.DMLAppMasterUtils;
@@ -63,6 +67,9 @@ public class ProgramBlock implements ParseInfo
 	//additional attributes for recompile
 	protected StatementBlock _sb = null;
 	protected long _tid = 0; //by default _t0
+	//reuse distances of last executed instructions (volatile for safe publication
+	//to concurrent parfor workers executing shared program blocks)
+	private volatile ReuseDistance _rdist = null;
 
 	public ProgramBlock(Program prog) {
 		_prog = prog;
@@ -202,14 +209,27 @@ public class ProgramBlock implements ParseInfo
 	}
 
 	protected void executeInstructions(ArrayList<Instruction> inst, ExecutionContext ec) {
+		ReuseDistance rdist = (CacheableData.CACHING_BUFFER_POLICY == RPolicy.REUSE) ?
+			getReuseDistance(inst) : null;
 		for (int i = 0; i < inst.size(); i++) {
 			//indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
 			//execute instruction
 			ec.updateDebugState(i);
 			executeSingleInstruction(currInst, ec);
+			//maintain reuse distances for buffer pool eviction
+			if( rdist != null )
+				rdist.update(i, ec);
 		}
 	}
+	
+	private ReuseDistance getReuseDistance(ArrayList<Instruction> inst) {
+		//reuse analysis result unless instructions were recompiled
+		ReuseDistance ret = _rdist;
+		if( ret == null || ret.getInstructions() != inst )
+			_rdist = ret = new ReuseDistance(inst);
+		return ret;
+	}
 
 	protected ScalarObject executePredicateInstructions(ArrayList<Instruction> inst, ValueType retType, ExecutionContext ec) {
 		//execute all instructions (indexed access required due to debug mode)
@@ -248,8 +268,11 @@ public class ProgramBlock implements ParseInfo
 			// pre-process instruction (debug state, inst patching, listeners)
 			Instruction tmp = currInst.preprocessInstruction( ec );
 
-			// process actual instruction
-			tmp.processInstruction( ec );
+			// process actual instruction (w/ optional lineage-based reuse)
+			if( LineageCache.isEnabled() )
+				LineageCache.processInstruction( tmp, ec );
+			else
+				tmp.processInstruction( ec );
 
 			// post-process instruction (debug)
 			tmp.postprocessInstruction( ec );
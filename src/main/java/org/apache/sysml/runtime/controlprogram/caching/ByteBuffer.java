@@ -27,12 +27,18 @@ import java.io.IOException;
 
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.ByteBufferDataInput;
+import org.apache.sysml.runtime.util.ByteBufferDataOutput;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 /**
  * Wrapper for WriteBuffer byte array per matrix/frame in order to
  * support matrix/frame serialization outside global lock.
  * 
+ * Deep-serialized blocks are written into pages of the {@link PageCache}
+ * (heap or off-heap). Since pages are reused after being freed, readers
+ * pin the buffer during deserialization, which defers the release of the
+ * page until all concurrent readers are done.
  */
 public class ByteBuffer
 {
@@ -42,8 +48,13 @@ public class ByteBuffer
 	private final long _size;
 	
 	protected byte[]     _bdata = null; //sparse matrix
+	protected java.nio.ByteBuffer _ddata = null; //sparse matrix (off-heap)
 	protected CacheBlock _cdata = null; //dense matrix/frame
 	
+	private int _pins = 0; //number of active readers
+	private boolean _free = false; //pending free on unpin
+	private volatile long _nextUse = Long.MAX_VALUE; //logical time of next use
+	
 	public ByteBuffer( long size ) {
 		_size = size;
 		_serialized = false;
@@ -60,11 +71,15 @@ public class ByteBuffer
 			if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
 				//deep serialize (for compression)
-				if( CacheableData.CACHING_BUFFER_PAGECACHE )
+				DataOutput dout = null;
+				if( PageCache.isOffHeap() ) {
+					_ddata = PageCache.getDirectPage((int)_size);
+					dout = new ByteBufferDataOutput(_ddata.duplicate());
+				}
+				else {
 					_bdata = PageCache.getPage((int)_size);
-				if( _bdata==null )
-					_bdata = new byte[(int)_size];
-				DataOutput dout = new CacheDataOutput(_bdata);
+					dout = new CacheDataOutput(_bdata);
+				}
 				cb.write(dout);
 			}
 			else //SPARSE/DENSE -> DENSE
@@ -90,7 +105,8 @@ public class ByteBuffer
 		CacheBlock ret = null;
 		
 		if( !_shallow ) { //sparse matrix / string frame
-			DataInput din = _matrix ? new CacheDataInput(_bdata) :
+			DataInput din = (_ddata != null) ? new ByteBufferDataInput(_ddata.duplicate()) :
+				_matrix ? new CacheDataInput(_bdata) :
 				new DataInputStream(new ByteArrayInputStream(_bdata));
 			ret = _matrix ? new MatrixBlock() : new FrameBlock();
 			ret.readFields(din);
@@ -106,12 +122,18 @@ public class ByteBuffer
 		throws IOException
 	{
 		if( !_shallow ) {
-			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			//write out byte serialized array (w/o unused tail of page),
+			//compressed if enabled since sparse blocks and frames compress well
+			java.nio.ByteBuffer data = (_ddata != null) ? _ddata.duplicate() :
+				java.nio.ByteBuffer.wrap(_bdata, 0, (int)_size);
+			if( CacheableData.CACHING_EVICTION_COMPRESS )
+				LocalFileUtils.writeByteBufferToCompressedLocal(fname, data);
+			else
+				LocalFileUtils.writeByteBufferToLocal(fname, data);
 		}
 		else {
-			//serialize cache block to output stream
-			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata);
+			//serialize cache block to output stream (or mapped file)
+			LazyWriteBuffer.writeToLocal(fname, _cdata);
 		}
 	}
 	
@@ -124,17 +146,43 @@ public class ByteBuffer
 		return _size;
 	}
 
+	public long getNextUse() {
+		return _nextUse;
+	}
+	
+	public void setNextUse(long nextUse) {
+		_nextUse = nextUse;
+	}
+	
 	public boolean isShallow() {
 		return _shallow;
 	}
 	
-	public void freeMemory()
+	public synchronized void pin() {
+		_pins++;
+	}
+	
+	public synchronized void unpin() {
+		if( --_pins == 0 && _free )
+			freeMemory();
+	}
+	
+	public synchronized void freeMemory()
 	{
+		//defer free until concurrent readers are done
+		_free = true;
+		if( _pins > 0 )
+			return;
+		
 		//clear strong references to buffer/matrix
+		//(and return serialization pages to the pool)
 		if( !_shallow ) {
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
+			if( _ddata != null )
+				PageCache.putDirectPage(_ddata);
+			else if( _bdata != null )
 				PageCache.putPage(_bdata);
 			_bdata = null;
+			_ddata = null;
 		}
 		else {
 			_cdata = null;
@@ -26,6 +26,7 @@ import java.io.IOException;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
 
 public class CacheDataInput implements DataInput, MatrixBlockDataInput
 {
@@ -39,12 +40,13 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 
 	@Override
 	public void readFully(byte[] b) throws IOException {
-		throw new IOException("Not supported.");
+		readFully(b, 0, b.length);
 	}
 
 	@Override
 	public void readFully(byte[] b, int off, int len) throws IOException {
-		throw new IOException("Not supported.");
+		System.arraycopy(_buff, _count, b, off, len);
+		_count += len;
 	}
 
 	@Override
@@ -135,20 +137,9 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 	public long readDoubleArray(int len, double[] varr) 
 		throws IOException 
 	{
-		//counter for non-zero elements
-		long nnz = 0;
-		
-		int off = _count;
-		for( int i=0; i<len; i++ ) 
-		{
-			//core deserialization
-			long tmp = baToLong(_buff, off+i*8);
-			varr[i] = Double.longBitsToDouble( tmp );
-			
-			//nnz maintenance
-			nnz += (varr[i]!=0) ? 1 : 0; 
-		}
-		_count = off + len*8;
+		//core deserialization (bulk copy via double view) and nnz maintenance
+		long nnz = IOUtilFunctions.baToDoubleArray(_buff, _count, varr, 0, len);
+		_count += len*8;
 		
 		return nnz;
 	}
@@ -157,6 +148,12 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 	public long readSparseRows(int rlen, long nnz, SparseBlock rows) 
 		throws IOException 
 	{
+		//check for CSR quick-path
+		if( rows instanceof SparseBlockCSR ) {
+			((SparseBlockCSR) rows).initSparse(rlen, (int)nnz, this);
+			return nnz;
+		}
+		
 		//counter for non-zero elements
 		long gnnz = 0;
 		
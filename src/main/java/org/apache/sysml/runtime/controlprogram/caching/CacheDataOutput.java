@@ -152,17 +152,11 @@ public class CacheDataOutput implements DataOutput, MatrixBlockDataOutput
 	public void writeDoubleArray(int len, double[] varr) 
 		throws IOException
 	{
-		//original buffer offset
-		int off = _count;
-		
-		//serialize entire array into buffer
-		for( int i=0; i<len; i++ ) {
-			long tmp = Double.doubleToRawLongBits(varr[i]);
-			longToBa(tmp, _buff, off+i*8);
-		}
+		//serialize entire array into buffer (bulk copy via double view)
+		IOUtilFunctions.doubleArrayToBa(varr, 0, _buff, _count, len);
 		
 		//update buffer offset
-		_count = off + len*8;
+		_count += len*8;
 	}
 	
 	@Override
@@ -182,14 +176,8 @@ public class CacheDataOutput implements DataOutput, MatrixBlockDataOutput
 				double[] avals = rows.values(i);
 				
 				writeInt( alen );
-
-				for( int j=apos; j<apos+alen; j++ )
-				{
-					intToBa(aix[j], _buff, _count);
-					long tmp2 = Double.doubleToRawLongBits(avals[j]);
-					longToBa(tmp2, _buff, _count+4);
-					_count += 12;
-				}	
+				IOUtilFunctions.sparsePairsToBa(aix, avals, apos, _buff, _count, alen);
+				_count += alen*12;
 			}
 			else 
 				writeInt( 0 );
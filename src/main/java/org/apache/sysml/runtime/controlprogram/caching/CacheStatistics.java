@@ -25,6 +25,7 @@ import java.util.concurrent.atomic.LongAdder;
  * This singleton provides basic caching statistics in CP.
  * 
  * 1) Hit statistics for caching (mem, fs, hdfs, total)
+ * 2) Hit statistics for the page pool of the write buffer
  * 
  * NOTE: In order to provide accurate statistics in multi-threaded
  * synchronized increments are required. Since those functions are 
@@ -60,6 +61,10 @@ public class CacheStatistics
 	private static final LongAdder _numWritesFS     = new LongAdder();
 	private static final LongAdder _numWritesHDFS   = new LongAdder();
 	
+	//hit statistics page cache (for write buffer serialization)
+	private static final LongAdder _numPageHits     = new LongAdder();
+	private static final LongAdder _numPageMisses   = new LongAdder();
+	
 	//time statistics caching
 	private static final LongAdder _ctimeAcquireR   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
@@ -76,6 +81,9 @@ public class CacheStatistics
 		_numWritesFS.reset();
 		_numWritesHDFS.reset();
 		
+		_numPageHits.reset();
+		_numPageMisses.reset();
+		
 		_ctimeAcquireR.reset();
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
@@ -166,6 +174,22 @@ public class CacheStatistics
 		return _numWritesHDFS.longValue();
 	}
 	
+	public static void incrementPageHits() {
+		_numPageHits.increment();
+	}
+	
+	public static long getPageHits() {
+		return _numPageHits.longValue();
+	}
+	
+	public static void incrementPageMisses() {
+		_numPageMisses.increment();
+	}
+	
+	public static long getPageMisses() {
+		return _numPageMisses.longValue();
+	}
+	
 	public static void incrementAcquireRTime(long delta) {
 		_ctimeAcquireR.add(delta);
 	}
@@ -222,6 +246,15 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayPageHits() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPageHits.longValue());
+		sb.append("/");
+		sb.append(_numPageMisses.longValue());
+		
+		return sb.toString();
+	}
+	
 	public static String displayTime() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeAcquireR.longValue())/1000000000)); //in sec
@@ -47,11 +47,14 @@ import org.apache.sysml.runtime.instructions.spark.data.BroadcastObject;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.io.FileFormatProperties;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.lineage.LineageCache;
+import org.apache.sysml.runtime.lineage.LineageItem;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.MetaDataNumItemsByEachReducer;
 import org.apache.sysml.runtime.matrix.MetaData;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.runtime.util.MapReduceTool;
@@ -79,8 +82,14 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final long    CACHING_THRESHOLD = (long)Math.max(4*1024, //obj not s.t. caching
 		1e-5 * InfrastructureAnalyzer.getLocalMaxMemory());       //if below threshold [in bytes]
 	public static double CACHING_BUFFER_SIZE = 0.15; 
-	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
-	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
+	public static RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
+	public static boolean CACHING_ASYNC_EVICTION = false; //background eviction
+	public static boolean CACHING_EVICTION_MMAP = false; //mapped dense evictions
+	public static final long CACHING_EVICTION_MMAP_THRESHOLD = 1024*1024; //1MB
+	public static boolean CACHING_EVICTION_COMPRESS = false; //deflated evictions
+	public static boolean CACHING_DENSE_FP32 = false; //single-precision dense blocks
+	public static double CACHING_PAGECACHE_SIZE = 0.0; //pool of serialization pages
+	public static boolean CACHING_PAGECACHE_OFFHEAP = false; 
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;	
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
@@ -189,6 +198,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private String  _cacheFileName = null; //local eviction file name
 	private boolean _requiresLocalWrite = false; //flag if local write for read obj
 	private boolean _isAcquireFromEmpty = false; //flag if read from status empty 
+	private transient LineageItem _lineage = null; //lineage of cache block, if traced
 	
 	//spark-specific handles
 	//note: we use the abstraction of LineageObjects for two reasons: (1) to keep track of cleanup
@@ -248,6 +258,22 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public CacheStatus getStatus() {
 		return _cacheStatus;
 	}
+	
+	/**
+	 * Obtains the lineage of the cache block, where data objects of
+	 * unknown origin are assigned a new, unique leaf item.
+	 * 
+	 * @return lineage item
+	 */
+	public synchronized LineageItem getLineageItem() {
+		if( _lineage == null )
+			_lineage = LineageItem.createLeaf();
+		return _lineage;
+	}
+	
+	public synchronized void setLineageItem(LineageItem item) {
+		_lineage = item;
+	}
 
 	public boolean isHDFSFileExists() {
 		return _hdfsFileExists;
@@ -519,6 +545,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		setDirty(true);
 		_isAcquireFromEmpty = false;
+		_lineage = null;
 		
 		//set references to new data
 		if (newData == null)
@@ -571,6 +598,11 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		//cache status maintenance (pass cacheNoWrite flag)
 		release(_isAcquireFromEmpty && !_requiresLocalWrite);
 		
+		//compact dense blocks into single precision once unpinned
+		//(incl. blocks widened into double precision by readers)
+		if( CACHING_DENSE_FP32 && _data instanceof MatrixBlock && isCached(true) )
+			((MatrixBlock)_data).compactDenseBlockFP32();
+		
 		if( isCachingActive() //only if caching is enabled (otherwise keep everything in mem)
 			&& isCached(true) //not empty and not read/modify
 			&& !isBelowCachingThreshold() ) //min size for caching
@@ -964,6 +996,18 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	
 	// ------------- IMPLEMENTED CACHE LOGIC METHODS --------------	
 	
+	/**
+	 * Sets the estimated number of instructions until the next use of
+	 * this data object, which guides the victim selection of the write
+	 * buffer under the REUSE eviction policy.
+	 * 
+	 * @param distance reuse distance, or Long.MAX_VALUE if unknown
+	 */
+	public void setReuseDistance(long distance) {
+		if( isCachingActive() && _uniqueID >= 0 )
+			LazyWriteBuffer.setReuseDistance(getCacheFilePathAndName(), distance);
+	}
+	
 	protected String getCacheFilePathAndName () {
 		if( _cacheFileName==null ) {
 			StringBuilder sb = new StringBuilder();
@@ -1186,6 +1230,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	// --------- STATIC CACHE INIT/CLEANUP OPERATIONS ----------
 
 	public synchronized static void cleanupCacheDir() {
+		//cleanup spilled lineage cache entries
+		LineageCache.resetCache();
+		
 		//cleanup remaining cached writes
 		LazyWriteBuffer.cleanup();
 		
@@ -20,40 +20,69 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.io.BlockCodec;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 public class LazyWriteBuffer 
 {
+	private static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
+	
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		LRU,  //least recently used eviction
+		REUSE //largest reuse distance first (w/ FIFO for unknown distances)
 	}
 	
+	//watermarks of asynchronous eviction (fraction of the global limit): if the 
+	//buffer size exceeds the high watermark, entries are evicted in the background
+	//until the size of non-evicting entries is below the low watermark
+	private static final double ASYNC_EVICTION_HIGH_WATERMARK = 0.9;
+	private static final double ASYNC_EVICTION_LOW_WATERMARK = 0.7;
+	private static final int ASYNC_EVICTION_NUM_THREADS = 2;
+	
 	//global size limit in bytes
-	private static final long _limit;
+	private static long _limit;
 	
-	//current size in bytes
+	//current size in bytes (incl pending asynchronous evictions)
 	private static long _size;
 	
 	//eviction queue of <filename,buffer> pairs (implemented via linked hash map
 	//for (1) queue semantics and (2) constant time get/insert/delete operations)
 	private static EvictionQueue _mQueue;
 	
+	//pending asynchronous evictions of <filename,future> pairs, which are no
+	//longer in the eviction queue but still accounted in the buffer size
+	private static HashMap<String, Future<?>> _mEvict;
+	private static long _evictSize;
+	private static ExecutorService _evictPool;
+	
+	//logical clock of executed instructions (for reuse distances)
+	private static final AtomicLong _clock = new AtomicLong(0);
+	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
 	static {
-		//obtain the logical buffer size in bytes
-		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
-		_limit = (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
+		_limit = computeWriteBufferLimit();
 	}
 	
 	public static int writeBlock(String fname, CacheBlock cb)
@@ -71,33 +100,44 @@ public class LazyWriteBuffer
 			//create byte buffer handle (no block allocation yet)
 			ByteBuffer bbuff = new ByteBuffer( lSize );
 			
-			//modify buffer pool
-			synchronized( _mQueue )
-			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize > _limit && !_mQueue.isEmpty() )
+			//modify buffer pool (after pending eviction of a previous version)
+			Future<?> pending = null;
+			do {
+				waitForEviction(fname, pending);
+				synchronized( _mQueue )
 				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
+					if( (pending = _mEvict.get(fname)) != null )
+						continue;
 					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
+					//evict matrices to make room (by default FIFO)
+					while( _size+lSize > _limit && !_mQueue.isEmpty() )
+					{
+						//remove victim entry from eviction queue
+						Entry<String, ByteBuffer> entry = _mQueue.removeVictim();
+						String ftmp = entry.getKey();
+						ByteBuffer tmp = entry.getValue();
 						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size -= tmp.getSize();
-						numEvicted++;
+						if( tmp != null ) {
+							//wait for pending serialization
+							tmp.checkSerialized();
+							
+							//evict matrix
+							tmp.evictBuffer(ftmp);
+							tmp.freeMemory();
+							_size -= tmp.getSize();
+							numEvicted++;
+						}
 					}
+					
+					//put placeholder into buffer pool (reserve mem)
+					_mQueue.addLast(fname, bbuff);
+					_size += lSize;
+					
+					//evict ahead of time in the background
+					if( _evictPool != null )
+						evictAsync();
 				}
-				
-				//put placeholder into buffer pool (reserve mem)
-				_mQueue.addLast(fname, bbuff);
-				_size += lSize;
-			}
+			} while( pending != null );
 			
 			//serialize matrix (outside synchronized critical path)
 			bbuff.serializeBlock(cb);
@@ -110,7 +150,7 @@ public class LazyWriteBuffer
 		else
 		{
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			writeToLocal(fname, cb);
 			if( ConfigurationManager.isStatistics() ) {
 				CacheStatistics.incrementFSWrites();
 			}
@@ -124,16 +164,23 @@ public class LazyWriteBuffer
 	{
 		boolean requiresDelete = true;
 		
-		synchronized( _mQueue )
-		{
-			//remove queue entry 
-			ByteBuffer ldata = _mQueue.remove(fname);
-			if( ldata != null ) {
-				_size -= ldata.getSize();
-				requiresDelete = false;
-				ldata.freeMemory(); //cleanup
+		//remove queue entry (after pending eviction of this file, where
+		//the queue and pending evictions are probed under the same lock)
+		Future<?> pending = null;
+		do {
+			waitForEviction(fname, pending);
+			synchronized( _mQueue )
+			{
+				if( (pending = _mEvict.get(fname)) != null )
+					continue;
+				ByteBuffer ldata = _mQueue.remove(fname);
+				if( ldata != null ) {
+					_size -= ldata.getSize();
+					requiresDelete = false;
+					ldata.freeMemory(); //cleanup
+				}
 			}
-		}
+		} while( pending != null );
 		
 		//delete from FS if required
 		if( requiresDelete )
@@ -146,25 +193,41 @@ public class LazyWriteBuffer
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
 		
-		//probe write buffer
-		synchronized( _mQueue )
-		{
-			ldata = _mQueue.get(fname);
-			
-			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
-				&& ldata != null )
+		//probe write buffer (after pending eviction of this file, where
+		//the queue and pending evictions are probed under the same lock)
+		Future<?> pending = null;
+		do {
+			waitForEviction(fname, pending);
+			synchronized( _mQueue )
 			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
+				if( (pending = _mEvict.get(fname)) != null )
+					continue;
+				ldata = _mQueue.get(fname);
+				
+				//pin buffer to prevent concurrent page reuse
+				if( ldata != null )
+					ldata.pin();
+				
+				//modify eviction order (accordingly to access)
+				if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
+					&& ldata != null )
+				{
+					//reinsert entry at end of eviction queue
+					_mQueue.remove( fname );
+					_mQueue.addLast( fname, ldata );
+				}
 			}
-		}
+		} while( pending != null );
 		
 		//deserialize or read from FS if required
 		if( ldata != null )
 		{
-			cb = ldata.deserializeBlock();
+			try {
+				cb = ldata.deserializeBlock();
+			}
+			finally {
+				ldata.unpin();
+			}
 			if( ConfigurationManager.isStatistics() )
 				CacheStatistics.incrementFSBuffHits();
 		}
@@ -181,18 +244,39 @@ public class LazyWriteBuffer
 	public static void init() {
 		_mQueue = new EvictionQueue();
 		_fClean = new FileCleaner();
+		_limit = computeWriteBufferLimit(); //updated buffer size config
 		_size = 0;
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.init();
+		_mEvict = new HashMap<>();
+		_evictSize = 0;
+		if( CacheableData.CACHING_ASYNC_EVICTION ) {
+			BasicThreadFactory factory = new BasicThreadFactory.Builder()
+				.namingPattern("eviction-pool-thread-%d").daemon(true).build();
+			_evictPool = Executors.newFixedThreadPool(ASYNC_EVICTION_NUM_THREADS, factory);
+		}
+		if( CacheableData.CACHING_PAGECACHE_SIZE > 0 )
+			PageCache.init((long)(CacheableData.CACHING_PAGECACHE_SIZE
+				* InfrastructureAnalyzer.getLocalMaxMemory()), CacheableData.CACHING_PAGECACHE_OFFHEAP);
 	}
 
 	public static void cleanup() {
+		//abort pending evictions (files are deleted anyway)
+		if( _evictPool != null ) {
+			_evictPool.shutdownNow();
+			try {
+				_evictPool.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+			}
+			catch(InterruptedException ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			_evictPool = null;
+		}
+		if( _mEvict != null )
+			_mEvict.clear();
 		if( _mQueue != null )
 			_mQueue.clear();
 		if( _fClean != null )
 			_fClean.close();
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.clear();
+		PageCache.clear();
 	}
 
 	public static long getWriteBufferLimit() {
@@ -201,6 +285,12 @@ public class LazyWriteBuffer
 		return _limit;
 	}
 	
+	private static long computeWriteBufferLimit() {
+		//obtain the logical buffer size in bytes
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
+	}
+	
 	public static long getWriteBufferSize() {
 		synchronized( _mQueue ) {
 			return _size; }
@@ -211,6 +301,63 @@ public class LazyWriteBuffer
 			return _limit - _size; }
 	}
 	
+	/**
+	 * Sets the estimated reuse distance of a buffered block, i.e., the
+	 * number of executed instructions until its next use, which guides
+	 * victim selection under the REUSE eviction policy.
+	 * 
+	 * @param fname file name of the buffered block
+	 * @param distance reuse distance, or Long.MAX_VALUE if unknown
+	 */
+	public static void setReuseDistance(String fname, long distance) {
+		//avoid queue synchronization unless used for victim selection
+		if( _mQueue == null || CacheableData.CACHING_BUFFER_POLICY != RPolicy.REUSE )
+			return;
+		long nextUse = (distance == Long.MAX_VALUE) ?
+			Long.MAX_VALUE : _clock.get() + distance;
+		synchronized( _mQueue ) {
+			ByteBuffer ldata = _mQueue.get(fname);
+			if( ldata != null )
+				ldata.setNextUse(nextUse);
+		}
+	}
+	
+	/**
+	 * Advances the logical clock of reuse distances by one instruction.
+	 */
+	public static void tick() {
+		_clock.incrementAndGet();
+	}
+	
+	/**
+	 * Writes the given cache block to local file system, where large
+	 * dense matrix blocks are optionally written in memory-mapped format,
+	 * and compressible blocks are optionally written in compressed format.
+	 * 
+	 * @param fname file name
+	 * @param cb cache block
+	 * @throws IOException if IOException occurs
+	 */
+	static void writeToLocal(String fname, CacheBlock cb)
+		throws IOException
+	{
+		if( isMappedEviction(cb) )
+			LocalFileUtils.writeMatrixBlockToMappedLocal(fname, (MatrixBlock)cb);
+		else if( CacheableData.CACHING_EVICTION_COMPRESS && BlockCodec.isCompressible(cb) )
+			LocalFileUtils.writeCacheBlockToCompressedLocal(fname, cb);
+		else
+			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+	}
+	
+	private static boolean isMappedEviction(CacheBlock cb) {
+		if( !CacheableData.CACHING_EVICTION_MMAP || !(cb instanceof MatrixBlock) )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		return !mb.isInSparseFormat() && mb.getDenseBlock() != null
+			&& mb.getInMemorySize() >= CacheableData.CACHING_EVICTION_MMAP_THRESHOLD
+			&& !mb.evalSparseFormatOnDisk();
+	}
+	
 	public static long getCacheBlockSize(CacheBlock cb) {
 		return cb.isShallowSerialize() ?
 			cb.getInMemorySize() : cb.getExactSerializedSize();
@@ -270,6 +417,69 @@ public class LazyWriteBuffer
 				tmp.freeMemory();
 			}
 		}
+		
+		//wait for pending asynchronous evictions
+		Future<?>[] futures = null;
+		synchronized( _mQueue ) {
+			futures = _mEvict.values().toArray(new Future<?>[0]); }
+		for( Future<?> future : futures )
+			waitForEviction(null, future);
+	}
+	
+	private static void evictAsync() {
+		//check high watermark on non-evicting entries (called w/ lock)
+		long size = _size - _evictSize;
+		if( size <= ASYNC_EVICTION_HIGH_WATERMARK * _limit )
+			return;
+		
+		//submit victims until below low watermark
+		while( size > ASYNC_EVICTION_LOW_WATERMARK * _limit && !_mQueue.isEmpty() ) {
+			Entry<String, ByteBuffer> entry = _mQueue.removeVictim();
+			String fname = entry.getKey();
+			ByteBuffer tmp = entry.getValue();
+			_mEvict.put(fname, _evictPool.submit(() -> evictBuffer(fname, tmp)));
+			_evictSize += tmp.getSize();
+			size -= tmp.getSize();
+		}
+	}
+	
+	private static void evictBuffer(String fname, ByteBuffer bbuff) {
+		boolean evicted = false;
+		try {
+			//wait for pending serialization and evict matrix
+			bbuff.checkSerialized();
+			bbuff.evictBuffer(fname);
+			evicted = true;
+		}
+		catch(IOException ex) {
+			LOG.warn("Asynchronous eviction of "+fname+" failed, keeping it in memory.", ex);
+		}
+		
+		synchronized( _mQueue ) {
+			_mEvict.remove(fname);
+			_evictSize -= bbuff.getSize();
+			if( evicted )
+				_size -= bbuff.getSize();
+			else //keep in buffer pool
+				_mQueue.addLast(fname, bbuff);
+		}
+		if( evicted ) {
+			bbuff.freeMemory();
+			if( ConfigurationManager.isStatistics() )
+				CacheStatistics.incrementFSWrites();
+		}
+	}
+	
+	private static void waitForEviction(String fname, Future<?> future) {
+		//wait outside the lock, because the eviction task acquires it on completion
+		if( future == null )
+			return;
+		try {
+			future.get();
+		}
+		catch(InterruptedException | ExecutionException ex) {
+			throw new DMLRuntimeException("Failed to wait for eviction of "+fname+".", ex);
+		}
 	}
 	
 	public static ExecutorService getUtilThreadPool() {
@@ -290,6 +500,24 @@ public class LazyWriteBuffer
 			put(fname, bbuff);
 		}
 		
+		public Entry<String, ByteBuffer> removeVictim()
+		{
+			if( CacheableData.CACHING_BUFFER_POLICY != RPolicy.REUSE )
+				return removeFirst();
+			
+			//scan for entry with largest reuse distance (first on ties)
+			Entry<String, ByteBuffer> victim = null;
+			for( Entry<String, ByteBuffer> entry : entrySet() )
+				if( victim == null || entry.getValue().getNextUse() 
+					> victim.getValue().getNextUse() ) {
+					victim = entry;
+					if( victim.getValue().getNextUse() == Long.MAX_VALUE )
+						break;
+				}
+			remove(victim.getKey());
+			return new SimpleEntry<>(victim);
+		}
+		
 		public Entry<String, ByteBuffer> removeFirst()
 		{
 			//move iterator to first entry
@@ -438,6 +438,10 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		if( newData == null )
 			throw new IOException("Unable to load matrix from file: "+fname);
 		
+		//compact dense blocks into single precision (if enabled)
+		if( CACHING_DENSE_FP32 )
+			newData.compactDenseBlockFP32();
+		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Reading Completed: " + (System.currentTimeMillis()-begin) + " msec.");
 		
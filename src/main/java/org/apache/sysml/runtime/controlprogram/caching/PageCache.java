@@ -19,49 +19,171 @@
 
 package org.apache.sysml.runtime.controlprogram.caching;
 
-import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.sysml.conf.ConfigurationManager;
+
+/**
+ * Thread-safe pool of serialization pages for the lazy write buffer, in order
+ * to reduce allocation churn and GC pressure on repeated eviction and restore.
+ * Pages are organized in power-of-two size classes with one lock per class,
+ * and the total size of pooled (i.e., currently unused) pages is bounded by
+ * a byte budget. Optionally, pages are allocated as direct byte buffers
+ * outside the Java heap. If the pool is disabled, pages are simply allocated
+ * on request and left to garbage collection on release.
+ */
 public class PageCache 
 {
-	private static final int CLEANUP_THRESHOLD = 128;
-	private static HashMap<Integer, LinkedList<SoftReference<byte[]>>> _pool;
-
-	public static void init() {
-		_pool = new HashMap<>();
+	//pages smaller than the min class are rounded up, pages larger
+	//than the max class are allocated with exact size and never pooled
+	private static final int MIN_SIZE_CLASS = 10; //1KB
+	private static final int MAX_SIZE_CLASS = 30; //1GB
+	
+	private static SizeClass[] _pool = null;
+	private static boolean _offHeap = false;
+	private static long _limit = 0;
+	private static final AtomicLong _size = new AtomicLong(0);
+	
+	/**
+	 * Initializes the page pool with the given byte budget.
+	 * 
+	 * @param limit maximum size of pooled pages in bytes
+	 * @param offHeap if true, pages are direct byte buffers
+	 */
+	public static synchronized void init(long limit, boolean offHeap) {
+		SizeClass[] pool = new SizeClass[MAX_SIZE_CLASS+1];
+		for( int i=MIN_SIZE_CLASS; i<=MAX_SIZE_CLASS; i++ )
+			pool[i] = new SizeClass();
+		_limit = limit;
+		_offHeap = offHeap;
+		_size.set(0);
+		_pool = pool;
 	}
 
-	public static void clear()
-	{
+	public static synchronized void clear() {
 		_pool = null;
+		_offHeap = false;
+		_limit = 0;
+		_size.set(0);
 	}
-
-	public static void putPage( byte[] data )
-	{
-		//cleanup if too many different size lists
-		if( _pool.size()>CLEANUP_THRESHOLD )
-			_pool.clear();
+	
+	public static boolean isEnabled() {
+		return _pool != null;
+	}
+	
+	public static boolean isOffHeap() {
+		return _pool != null && _offHeap;
+	}
+	
+	/**
+	 * Returns the current size of pooled pages in bytes.
+	 * 
+	 * @return size in bytes
+	 */
+	public static long getSize() {
+		return _size.get();
+	}
+	
+	/**
+	 * Obtains a heap page of at least the given size, either from
+	 * the pool or by allocating a new page.
+	 * 
+	 * @param size requested size in bytes
+	 * @return byte array of at least the requested size
+	 */
+	public static byte[] getPage(int size) {
+		return (byte[]) getPage(size, false);
+	}
+	
+	/**
+	 * Obtains a direct page of at least the given size, either from the pool
+	 * or by allocating a new page. The returned buffer has position 0 and a
+	 * limit equal to the requested size.
+	 * 
+	 * @param size requested size in bytes
+	 * @return direct byte buffer of at least the requested size
+	 */
+	public static java.nio.ByteBuffer getDirectPage(int size) {
+		java.nio.ByteBuffer ret = (java.nio.ByteBuffer) getPage(size, true);
+		ret.clear().limit(size);
+		return ret;
+	}
+	
+	/**
+	 * Returns a heap page to the pool, which is ignored if the pool
+	 * is disabled, its budget is exceeded, or the page has no valid size.
+	 * The caller must not access the page afterwards.
+	 * 
+	 * @param page byte array
+	 */
+	public static void putPage(byte[] page) {
+		putPage(page, page.length);
+	}
+	
+	/**
+	 * Returns a direct page to the pool, see {@link #putPage(byte[])}.
+	 * 
+	 * @param page direct byte buffer
+	 */
+	public static void putDirectPage(java.nio.ByteBuffer page) {
+		putPage(page, page.capacity());
+	}
+	
+	private static Object getPage(int size, boolean direct) {
+		SizeClass[] pool = _pool;
+		int cls = getSizeClass(size);
+		if( pool == null || cls > MAX_SIZE_CLASS )
+			return allocPage(size, direct);
 		
-		LinkedList<SoftReference<byte[]>> list = _pool.get( data.length );
-		if( list==null ){
-			list = new LinkedList<>();
-			_pool.put(data.length, list);
+		//probe size class and allocate on miss
+		Object ret = pool[cls].poll();
+		if( ret != null ) {
+			_size.addAndGet(-(1L << cls));
+			if( ConfigurationManager.isStatistics() )
+				CacheStatistics.incrementPageHits();
+			return ret;
 		}
-		list.addLast(new SoftReference<>(data));	
+		if( ConfigurationManager.isStatistics() )
+			CacheStatistics.incrementPageMisses();
+		return allocPage(1 << cls, direct);
 	}
-
-	public static byte[] getPage( int size )
+	
+	private static void putPage(Object page, int len) {
+		SizeClass[] pool = _pool;
+		int cls = getSizeClass(len);
+		if( pool == null || cls > MAX_SIZE_CLASS || len != (1 << cls) )
+			return;
+		
+		//reserve budget before pooling (drop page if exceeded)
+		if( _size.addAndGet(len) > _limit ) {
+			_size.addAndGet(-len);
+			return;
+		}
+		pool[cls].push(page);
+	}
+	
+	private static Object allocPage(int size, boolean direct) {
+		return direct ? java.nio.ByteBuffer.allocateDirect(size) : new byte[size];
+	}
+	
+	private static int getSizeClass(int size) {
+		//smallest k with 2^k >= size
+		return Math.max(MIN_SIZE_CLASS,
+			32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1));
+	}
+	
+	private static class SizeClass
 	{
-		LinkedList<SoftReference<byte[]>> list = _pool.get( size );
-		if( list!=null ) {
-			while( !list.isEmpty() ){
-				SoftReference<byte[]> ref = list.removeFirst();
-				byte[] tmp = ref.get();
-				if( tmp!=null )
-					return tmp;
-			}
+		private final ArrayDeque<Object> _pages = new ArrayDeque<>();
+		
+		public synchronized Object poll() {
+			//LIFO to reuse recently touched pages
+			return _pages.pollLast();
+		}
+		
+		public synchronized void push(Object page) {
+			_pages.addLast(page);
 		}
-		return null;
 	}
 }
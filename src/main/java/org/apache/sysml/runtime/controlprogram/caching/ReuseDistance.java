@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+
+/**
+ * Reuse distances of matrix and frame variables within a sequence of
+ * instructions, which are obtained by a single backwards pass over the
+ * instructions. After executing an instruction, the distance to the next 
+ * reference of its variables is passed to the write buffer, where 
+ * variables without further references in this sequence are marked 
+ * with unknown (i.e., largest) reuse distance.
+ */
+public class ReuseDistance 
+{
+	private final ArrayList<Instruction> _inst;
+	private final String[][] _vars; //referenced variables per instruction
+	private final int[][] _dists;   //distance to next reference (-1 if none)
+	
+	public ReuseDistance(ArrayList<Instruction> inst) {
+		_inst = inst;
+		_vars = new String[inst.size()][];
+		_dists = new int[inst.size()][];
+		
+		//backwards pass w/ position of next reference per variable
+		HashMap<String, Integer> next = new HashMap<>();
+		for( int i=inst.size()-1; i>=0; i-- ) {
+			ArrayList<String> vars = getReferencedVariables(inst.get(i));
+			_vars[i] = vars.toArray(new String[0]);
+			_dists[i] = new int[vars.size()];
+			for( int j=0; j<vars.size(); j++ ) {
+				Integer pos = next.get(vars.get(j));
+				_dists[i][j] = (pos != null) ? pos - i : -1;
+			}
+			for( String var : vars )
+				next.put(var, i);
+		}
+	}
+	
+	public ArrayList<Instruction> getInstructions() {
+		return _inst;
+	}
+	
+	/**
+	 * Advances the logical clock of the write buffer and updates the reuse
+	 * distances of all variables referenced by the given instruction.
+	 * 
+	 * @param pos position of the executed instruction
+	 * @param ec execution context
+	 */
+	public void update(int pos, ExecutionContext ec) {
+		LazyWriteBuffer.tick();
+		if( pos >= _vars.length ) //dynamically added instructions
+			return;
+		for( int j=0; j<_vars[pos].length; j++ ) {
+			Data dat = ec.getVariables().get(_vars[pos][j]);
+			if( dat instanceof CacheableData )
+				((CacheableData<?>)dat).setReuseDistance(
+					(_dists[pos][j] >= 0) ? _dists[pos][j] : Long.MAX_VALUE);
+		}
+	}
+	
+	private static ArrayList<String> getReferencedVariables(Instruction inst) {
+		ArrayList<String> ret = new ArrayList<>();
+		if( inst instanceof ComputationCPInstruction ) {
+			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+			for( CPOperand op : new CPOperand[]{cinst.input1, cinst.input2, cinst.input3, cinst.output} )
+				if( op != null && (op.isMatrix() || op.getDataType().isFrame())
+					&& !ret.contains(op.getName()) )
+					ret.add(op.getName());
+		}
+		return ret;
+	}
+}
@@ -50,6 +50,7 @@ import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObjectFactory;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUObject;
+import org.apache.sysml.runtime.lineage.LineageItem;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.MetaData;
@@ -667,6 +668,39 @@ public class ExecutionContext {
 	}
 	
 	
+	/* -------------------------------------------------------
+	 * Methods to handle lineage tracing of data objects
+	 * -------------------------------------------------------
+	 */
+	
+	/**
+	 * Obtains the lineage of the given operand, where scalars are traced
+	 * by value and matrices and frames by their producing operations.
+	 * 
+	 * @param input input operand
+	 * @return lineage item, or null if the data object is not traceable
+	 */
+	public LineageItem getLineageItem(CPOperand input) {
+		if( input.getDataType().isScalar() )
+			return LineageItem.createLiteral(getScalarInput(input));
+		Data dat = getVariable(input.getName());
+		return (dat instanceof CacheableData) ?
+			((CacheableData<?>)dat).getLineageItem() : null;
+	}
+	
+	public LineageItem[] getLineageItems(CPOperand... inputs) {
+		return Arrays.stream(inputs).filter(in -> in != null)
+			.map(in -> getLineageItem(in)).toArray(LineageItem[]::new);
+	}
+	
+	public void setLineageItem(CPOperand output, LineageItem item) {
+		if( output.getDataType().isScalar() )
+			return; //scalars traced by value
+		Data dat = getVariable(output.getName());
+		if( dat instanceof CacheableData )
+			((CacheableData<?>)dat).setLineageItem(item);
+	}
+	
 	///////////////////////////////
 	// Debug State Functionality
 	///////////////////////////////
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.paramserv;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysml.parser.Statement.PSCompression;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Lossy compression of pushed gradients with local error feedback, i.e., the
+ * part of the gradients that was not transferred (dropped or rounded away) is
+ * kept as residual and added to the gradients of the next push.
+ * 
+ * TOPK keeps only the entries with the largest magnitude (which are then
+ * serialized in sparse format), while QUANTIZE rounds all entries to 256
+ * equi-distant levels between min and max. The 8-bit codes of the last
+ * quantized push are kept, and serialized as is via {@link #writeQuantized}.
+ */
+public class GradientCompressor 
+{
+	public static final double TOPK_RATIO = 0.01;
+	public static final int QUANTIZE_LEVELS = 255;
+	
+	private final PSCompression _type;
+	private MatrixBlock[] _residuals = null;
+	
+	//8-bit codes (and their min and scale) of last quantized push
+	private byte[][] _codes = null;
+	private double[] _min = null;
+	private double[] _scale = null;
+	
+	public GradientCompressor(PSCompression type) {
+		_type = type;
+	}
+	
+	public PSCompression getType() {
+		return _type;
+	}
+	
+	/**
+	 * Compress the given gradients, update the local residuals,
+	 * and clean up the given gradients list object.
+	 * 
+	 * @param gradients list object of gradients
+	 * @return list object of compressed gradients
+	 */
+	public ListObject compress(ListObject gradients) {
+		if( _residuals == null ) {
+			_residuals = new MatrixBlock[gradients.getLength()];
+			_codes = new byte[gradients.getLength()][];
+			_min = new double[gradients.getLength()];
+			_scale = new double[gradients.getLength()];
+		}
+		List<Data> data = new ArrayList<>(gradients.getLength());
+		for( int i=0; i<gradients.getLength(); i++ ) {
+			MatrixBlock g = toDense(((MatrixObject) gradients.getData().get(i)).acquireReadAndRelease());
+			double[] a = g.getDenseBlockValues();
+			
+			//add residual of previous push (error feedback)
+			if( _residuals[i] != null ) {
+				double[] r = _residuals[i].getDenseBlockValues();
+				for( int j=0; j<a.length; j++ )
+					a[j] += r[j];
+			}
+			
+			MatrixBlock out = null;
+			switch( _type ) {
+				case TOPK:     out = sparsify(g, a); break;
+				case QUANTIZE: out = quantize(g, a, i); break;
+				default:
+					throw new DMLRuntimeException("Unsupported gradient compression: "+_type);
+			}
+			_residuals[i] = g; //remaining values are the new residual
+			data.add(ParamservUtils.newMatrixObject(out, false));
+		}
+		ParamservUtils.cleanupListObject(gradients);
+		return new ListObject(data, gradients.getNames());
+	}
+	
+	/**
+	 * Write the 8-bit codes of the given entry of the last quantized push
+	 * (scheme: rows|cols|min|scale|bytes), which avoids a second quantization
+	 * of the compressed gradients during serialization.
+	 * 
+	 * @param ix index of list entry
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param output output data to write to
+	 * @throws IOException if IOException occurs
+	 */
+	public void writeQuantized(int ix, int rows, int cols, DataOutput output) throws IOException {
+		if( _codes == null || _codes[ix] == null || _codes[ix].length != rows * cols )
+			throw new DMLRuntimeException("No quantized gradients of size "+rows+"x"+cols+" for list entry "+ix+".");
+		output.writeInt(rows);
+		output.writeInt(cols);
+		output.writeDouble(_min[ix]);
+		output.writeDouble(_scale[ix]);
+		output.write(_codes[ix]);
+	}
+	
+	private static MatrixBlock sparsify(MatrixBlock g, double[] a) {
+		//determine magnitude threshold of top-k entries (via selection)
+		int k = (int) Math.max(Math.ceil(TOPK_RATIO * a.length), 1);
+		double[] tmp = new double[a.length];
+		for( int j=0; j<a.length; j++ )
+			tmp[j] = Math.abs(a[j]);
+		double threshold = Math.max(select(tmp, a.length-k), Double.MIN_VALUE);
+		
+		//extract top-k entries, and keep others as residual
+		int n = g.getNumColumns();
+		MatrixBlock out = new MatrixBlock(g.getNumRows(), n, true);
+		for( int j=0; j<a.length; j++ )
+			if( Math.abs(a[j]) >= threshold ) {
+				out.appendValue(j / n, j % n, a[j]);
+				a[j] = 0;
+			}
+		return out;
+	}
+	
+	private MatrixBlock quantize(MatrixBlock g, double[] a, int ix) {
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		for( double v : a ) {
+			min = Math.min(min, v);
+			max = Math.max(max, v);
+		}
+		double scale = (max - min) / QUANTIZE_LEVELS;
+		
+		//round to quantization levels, keep the 8-bit codes for serialization,
+		//and keep rounding errors as residual
+		MatrixBlock out = new MatrixBlock(g.getNumRows(), g.getNumColumns(), false);
+		double[] c = out.allocateDenseBlock().getDenseBlockValues();
+		byte[] codes = new byte[a.length];
+		for( int j=0; j<a.length; j++ ) {
+			int code = (scale > 0) ? (int) Math.round((a[j] - min) / scale) : 0;
+			codes[j] = (byte) code;
+			c[j] = min + code * scale;
+			a[j] -= c[j];
+		}
+		_codes[ix] = codes;
+		_min[ix] = min;
+		_scale[ix] = scale;
+		out.recomputeNonZeros();
+		return out;
+	}
+	
+	private static double select(double[] a, int k) {
+		//in-place quickselect of the k-th smallest value (expected linear time),
+		//with median-of-three pivots to avoid degeneration on sorted inputs
+		int lo = 0, hi = a.length - 1;
+		while( lo < hi ) {
+			int mid = (lo + hi) >>> 1;
+			double pivot = Math.max(Math.min(a[lo], a[hi]),
+				Math.min(Math.max(a[lo], a[hi]), a[mid]));
+			int i = lo, j = hi;
+			while( i <= j ) {
+				while( a[i] < pivot ) i++;
+				while( a[j] > pivot ) j--;
+				if( i <= j ) {
+					double tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+					i++; j--;
+				}
+			}
+			if( k <= j )
+				hi = j;
+			else if( k >= i )
+				lo = i;
+			else
+				break;
+		}
+		return a[k];
+	}
+	
+	private static MatrixBlock toDense(MatrixBlock mb) {
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+		ret.allocateDenseBlock();
+		ret.copy(0, mb.getNumRows()-1, 0, mb.getNumColumns()-1, mb, false);
+		return ret;
+	}
+}
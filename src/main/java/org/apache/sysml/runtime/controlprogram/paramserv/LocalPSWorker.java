@@ -20,7 +20,13 @@
 package org.apache.sysml.runtime.controlprogram.paramserv;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.conf.ConfigurationManager;
@@ -36,6 +42,11 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 
 	protected static final Log LOG = LogFactory.getLog(LocalPSWorker.class.getName());
 	private static final long serialVersionUID = 5195390748495357295L;
+	
+	// slice the next mini-batch while computing the gradients of the current one
+	protected static final boolean PREFETCH_BATCHES = true;
+	
+	private transient ExecutorService _prefetcher = null;
 
 	protected LocalPSWorker() {}
 
@@ -51,6 +62,10 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 	@Override
 	public Void call() throws Exception {
 		incWorkerNumber();
+		if (PREFETCH_BATCHES) {
+			_prefetcher = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+				.namingPattern("ps-prefetch-thread-%d").daemon(true).build());
+		}
 		try {
 			long dataSize = _features.getNumRows();
 			int batchIter = (int) Math.ceil((double) dataSize / _batchSize);
@@ -66,23 +81,33 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 					throw new DMLRuntimeException(String.format("%s not support update frequency %s", getWorkerName(), _freq));
 			}
 
+			// Notify the ps that no further gradients will be pushed
+			_ps.finish(_workerID);
+
 			if (LOG.isDebugEnabled()) {
 				LOG.debug(String.format("%s: job finished.", getWorkerName()));
 			}
 		} catch (Exception e) {
 			throw new DMLRuntimeException(String.format("%s failed", getWorkerName()), e);
+		} finally {
+			if (_prefetcher != null)
+				_prefetcher.shutdownNow();
+			_prefetcher = null;
 		}
 		return null;
 	}
 
 	private void computeEpoch(long dataSize, int batchIter) {
+		Future<MatrixObject[]> batch = prefetchBatch(dataSize, batchIter, 0, 0);
 		for (int i = 0; i < _epochs; i++) {
 			// Pull the global parameters from ps
 			ListObject params = pullModel();
 			ListObject accGradients = null;
 			
 			for (int j = 0; j < batchIter; j++) {
-				ListObject gradients = computeGradients(params, dataSize, batchIter, i, j);
+				MatrixObject[] data = getBatch(batch);
+				batch = prefetchBatch(dataSize, batchIter, i, j + 1);
+				ListObject gradients = computeGradients(params, data, dataSize, batchIter, i, j);
 
 				boolean localUpdate = j < batchIter - 1;
 				// Accumulate the intermediate gradients
@@ -99,6 +124,8 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 			pushGradients(accGradients);
 			ParamservUtils.cleanupListObject(_ec, Statement.PS_MODEL);
 
+			// Notify the ps about the finished epoch (for checkpointing)
+			_ps.finishEpoch(_workerID);
 			accNumEpochs(1);
 			if (LOG.isDebugEnabled()) {
 				LOG.debug(String.format("%s: finished %d epoch.", getWorkerName(), i + 1));
@@ -122,11 +149,14 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 	}
 
 	private void computeBatch(long dataSize, int totalIter) {
+		Future<MatrixObject[]> batch = prefetchBatch(dataSize, totalIter, 0, 0);
 		for (int i = 0; i < _epochs; i++) {
 			for (int j = 0; j < totalIter; j++) {
 				ListObject globalParams = pullModel();
 
-				ListObject gradients = computeGradients(globalParams, dataSize, totalIter, i, j);
+				MatrixObject[] data = getBatch(batch);
+				batch = prefetchBatch(dataSize, totalIter, i, j + 1);
+				ListObject gradients = computeGradients(globalParams, data, dataSize, totalIter, i, j);
 
 				// Push the gradients to ps
 				pushGradients(gradients);
@@ -135,6 +165,8 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 				accNumBatches(1);
 			}
 			
+			// Notify the ps about the finished epoch (for checkpointing)
+			_ps.finishEpoch(_workerID);
 			accNumEpochs(1);
 			if (LOG.isDebugEnabled()) {
 				LOG.debug(String.format("%s: finished %d epoch.", getWorkerName(), i + 1));
@@ -161,16 +193,53 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 		}
 	}
 
-	private ListObject computeGradients(ListObject params, long dataSize, int batchIter, int i, int j) {
-		_ec.setVariable(Statement.PS_MODEL, params);
+	/**
+	 * Slice the given mini-batch, asynchronously if prefetching is enabled.
+	 * Batch indexes beyond the last batch wrap around to the next epoch.
+	 *
+	 * @param dataSize number of rows
+	 * @param batchIter number of batches per epoch
+	 * @param i epoch
+	 * @param j batch index within the epoch
+	 * @return future of batch features and labels, or null after the last batch
+	 */
+	private Future<MatrixObject[]> prefetchBatch(long dataSize, int batchIter, int i, int j) {
+		if (j >= batchIter) {
+			i++;
+			j = 0;
+		}
+		if (i >= _epochs || batchIter == 0)
+			return null;
 		long begin = j * _batchSize + 1;
 		long end = Math.min((j + 1) * _batchSize, dataSize);
+		FutureTask<MatrixObject[]> task = new FutureTask<>(() -> new MatrixObject[] {
+			ParamservUtils.sliceMatrix(_features, begin, end),
+			ParamservUtils.sliceMatrix(_labels, begin, end)});
+		if (_prefetcher != null)
+			_prefetcher.execute(task);
+		else
+			task.run();
+		return task;
+	}
 
-		// Get batch features and labels
+	private MatrixObject[] getBatch(Future<MatrixObject[]> batch) {
+		// Get batch features and labels (only waiting time if prefetched)
 		Timing tSlic = ConfigurationManager.isStatistics() ? new Timing(true) : null;
-		MatrixObject bFeatures = ParamservUtils.sliceMatrix(_features, begin, end);
-		MatrixObject bLabels = ParamservUtils.sliceMatrix(_labels, begin, end);
-		accBatchIndexingTime(tSlic);
+		try {
+			MatrixObject[] ret = batch.get();
+			accBatchIndexingTime(tSlic);
+			return ret;
+		} catch (InterruptedException | ExecutionException e) {
+			throw new DMLRuntimeException(String.format("%s: failed to slice the mini-batch.", getWorkerName()), e);
+		}
+	}
+
+	private ListObject computeGradients(ListObject params, MatrixObject[] data, long dataSize, int batchIter, int i, int j) {
+		_ec.setVariable(Statement.PS_MODEL, params);
+		long begin = j * _batchSize + 1;
+		long end = Math.min((j + 1) * _batchSize, dataSize);
+		MatrixObject bFeatures = data[0];
+		MatrixObject bLabels = data[1];
 
 		_ec.setVariable(Statement.PS_FEATURES, bFeatures);
 		_ec.setVariable(Statement.PS_LABELS, bLabels);
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.paramserv;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+
+/**
+ * Delta encoding of pulled models against the last model version of a
+ * worker. Both the server and the worker keep a private copy of the last
+ * transferred model, where the first pull transfers the full model and any
+ * subsequent pull only the element-wise difference. If only few parameters
+ * changed (e.g., with sparsified gradients), the delta is serialized in
+ * sparse format. The server keeps the model as reconstructed by the worker
+ * (last plus delta), which might differ from the current model by rounding
+ * errors of the difference; hence, both copies stay identical and rounding
+ * errors are corrected by the next delta instead of accumulating.
+ */
+public class ModelDeltaEncoder 
+{
+	private static final BinaryOperator MINUS = new BinaryOperator(Minus.getMinusFnObject());
+	private static final BinaryOperator PLUS = new BinaryOperator(Plus.getPlusFnObject());
+	
+	private MatrixBlock[] _last = null;
+	
+	/**
+	 * Encode the given model as delta to the last encoded model
+	 * (server side), and clean up the given model list object.
+	 * 
+	 * @param model list object of the current model
+	 * @return list object of the model delta
+	 */
+	public ListObject encode(ListObject model) {
+		MatrixBlock[] current = getBlocks(model);
+		MatrixBlock[] recon = new MatrixBlock[current.length];
+		List<Data> data = new ArrayList<>(current.length);
+		for( int i=0; i<current.length; i++ ) {
+			MatrixBlock delta = current[i];
+			if( _last != null ) {
+				delta = (MatrixBlock) current[i].binaryOperations(MINUS, _last[i], new MatrixBlock());
+				delta.examSparsity();
+			}
+			//reconstruction of the worker (see decode)
+			recon[i] = (_last == null) ? new MatrixBlock(delta) :
+				(MatrixBlock) _last[i].binaryOperations(PLUS, delta, new MatrixBlock());
+			data.add(ParamservUtils.newMatrixObject(delta, false));
+		}
+		ListObject ret = new ListObject(data, model.getNames());
+		_last = recon;
+		ParamservUtils.cleanupListObject(model);
+		return ret;
+	}
+	
+	/**
+	 * Decode the given delta against the last decoded model (worker side).
+	 * 
+	 * @param delta list object of the model delta
+	 * @return list object of the current model
+	 */
+	public ListObject decode(ListObject delta) {
+		MatrixBlock[] blocks = getBlocks(delta);
+		List<Data> data = new ArrayList<>(blocks.length);
+		for( int i=0; i<blocks.length; i++ ) {
+			MatrixBlock mb = (_last == null) ? blocks[i] :
+				(MatrixBlock) _last[i].binaryOperations(PLUS, blocks[i], new MatrixBlock());
+			blocks[i] = mb;
+			data.add(ParamservUtils.newMatrixObject(mb, false));
+		}
+		_last = copy(blocks);
+		return new ListObject(data, delta.getNames());
+	}
+	
+	private static MatrixBlock[] getBlocks(ListObject lo) {
+		MatrixBlock[] ret = new MatrixBlock[lo.getLength()];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = ((MatrixObject) lo.getData().get(i)).acquireReadAndRelease();
+		return ret;
+	}
+	
+	private static MatrixBlock[] copy(MatrixBlock[] blocks) {
+		MatrixBlock[] ret = new MatrixBlock[blocks.length];
+		for( int i=0; i<blocks.length; i++ )
+			ret[i] = new MatrixBlock(blocks[i]);
+		return ret;
+	}
+}
@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.paramserv;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.parser.Statement.PSCheckpointing;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.instructions.cp.ScalarObjectFactory;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
+import org.apache.wink.json4j.OrderedJSONObject;
+
+/**
+ * Asynchronous checkpointing of the global model of a parameter server to
+ * local disk, where each matrix of the model list is written as binary block
+ * and scalars are kept in a small json meta data file. Since optimizer state such as
+ * momentum is part of the model list, it is checkpointed along with the model.
+ * 
+ * Checkpoints are copy-on-write: a snapshot only pins the current matrix blocks,
+ * which are never modified in place because every model update creates a new
+ * list, and the actual writes happen in a background thread. Taking a checkpoint
+ * never waits for a pending write; instead, the snapshot is queued and replaces
+ * any older queued snapshot. Every checkpoint is written into a temporary
+ * directory and renamed on completion, so that a crash during a write leaves
+ * the previous checkpoint intact.
+ */
+public class PSCheckpointer 
+{
+	protected static final Log LOG = LogFactory.getLog(PSCheckpointer.class.getName());
+	
+	private static final String CHECKPOINT_DIR = "paramserv_checkpoints";
+	private static final String EPOCH_PREFIX = "epoch_";
+	private static final String TMP_SUFFIX = ".tmp";
+	private static final String META_FILE = "_meta.json";
+	
+	private final String _dir;
+	private final PSCheckpointing _freq;
+	private final ExecutorService _writer;
+	private Future<?> _pending = null;
+	private boolean _running = false; //write task active
+	private Snapshot _queued = null;  //next snapshot to write
+	private volatile int _lastEpoch = -1;
+	
+	public PSCheckpointer(String key, PSCheckpointing freq) {
+		_dir = getCheckpointDir(key);
+		_freq = freq;
+		_writer = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+			.namingPattern("ps-checkpoint-thread-%d").daemon(true).build());
+	}
+	
+	public String getDirectory() {
+		return _dir;
+	}
+	
+	/**
+	 * Indicates if the given number of completed epochs requires a checkpoint.
+	 * 
+	 * @param epoch number of completed epochs
+	 * @return true if a checkpoint should be taken
+	 */
+	public boolean isCheckpointEpoch(int epoch) {
+		switch( _freq ) {
+			case EPOCH:   return epoch > 0;
+			case EPOCH10: return epoch > 0 && epoch % 10 == 0;
+			default:      return false;
+		}
+	}
+	
+	/**
+	 * Takes a snapshot of the given model and writes it asynchronously.
+	 * 
+	 * @param epoch number of completed epochs
+	 * @param model global model
+	 */
+	public void checkpoint(int epoch, ListObject model) {
+		checkpoint(snapshot(epoch, model));
+	}
+	
+	/**
+	 * Takes a snapshot of the given model, which only pins the current matrix
+	 * blocks. Callers that guard model updates with a monitor should take the
+	 * snapshot under this monitor but write it via {@link #checkpoint(Snapshot)}
+	 * outside of it.
+	 * 
+	 * @param epoch number of completed epochs
+	 * @param model global model
+	 * @return snapshot of the model
+	 */
+	public Snapshot snapshot(int epoch, ListObject model) {
+		//pin the current blocks (no deep copy required)
+		List<Object> entries = new ArrayList<>(model.getLength());
+		for( Data dat : model.getData() ) {
+			if( dat instanceof MatrixObject )
+				entries.add(((MatrixObject)dat).acquireReadAndRelease());
+			else if( dat instanceof ScalarObject )
+				entries.add(dat);
+			else
+				throw new DMLRuntimeException("Paramserv checkpoint: does not support "
+					+ "model entries of type "+dat.getDataType()+".");
+		}
+		List<String> names = model.isNamedList() ? model.getNames() : null;
+		return new Snapshot(epoch, entries, names);
+	}
+	
+	/**
+	 * Writes the given snapshot asynchronously. If a write is still in progress,
+	 * the snapshot is queued instead of waiting, and an older queued snapshot is
+	 * dropped, which bounds the number of pinned models to two.
+	 * 
+	 * @param snap snapshot of the model
+	 */
+	public synchronized void checkpoint(Snapshot snap) {
+		if( _running ) {
+			if( _queued != null && LOG.isDebugEnabled() )
+				LOG.debug("Skipped paramserv checkpoint of epoch "+_queued.epoch+" due to pending write.");
+			_queued = snap;
+			return;
+		}
+		//obtain errors of the completed write task, if any
+		waitForPending();
+		_running = true;
+		_pending = _writer.submit(() -> writeQueued(snap));
+	}
+	
+	/**
+	 * Reads the latest complete checkpoint, if available.
+	 * 
+	 * @return checkpoint or null if there is none
+	 */
+	public synchronized Checkpoint readLatest() {
+		File dir = new File(_dir);
+		File[] files = dir.listFiles((d, name) -> 
+			name.startsWith(EPOCH_PREFIX) && !name.endsWith(TMP_SUFFIX));
+		if( files == null || files.length == 0 )
+			return null;
+		
+		int epoch = -1;
+		for( File f : files )
+			epoch = Math.max(epoch, Integer.parseInt(f.getName().substring(EPOCH_PREFIX.length())));
+		String edir = _dir + Lop.FILE_SEPARATOR + EPOCH_PREFIX + epoch;
+		try {
+			JSONArray meta = new JSONObject(new String(Files.readAllBytes(
+				new File(edir, META_FILE).toPath()), StandardCharsets.UTF_8)).getJSONArray("entries");
+			List<Data> data = new ArrayList<>(meta.size());
+			List<String> names = new ArrayList<>(meta.size());
+			boolean named = false;
+			for( int i=0; i<meta.size(); i++ ) {
+				JSONObject entry = meta.getJSONObject(i);
+				names.add(entry.optString("name", null));
+				named |= entry.has("name");
+				if( entry.getString("type").equals(DataType.MATRIX.name()) ) {
+					MatrixBlock mb = LocalFileUtils.readMatrixBlockFromLocal(
+						edir + Lop.FILE_SEPARATOR + entry.getString("file"));
+					data.add(ParamservUtils.newMatrixObject(mb));
+				}
+				else {
+					data.add(ScalarObjectFactory.createScalarObject(
+						ValueType.valueOf(entry.getString("vtype")), entry.getString("value")));
+				}
+			}
+			_lastEpoch = epoch;
+			return new Checkpoint(epoch, named ?
+				new ListObject(data, names) : new ListObject(data));
+		}
+		catch(IOException | JSONException | RuntimeException ex) {
+			throw new DMLRuntimeException("Paramserv checkpoint: failed to read checkpoint "+edir+".", ex);
+		}
+	}
+	
+	/**
+	 * Waits for pending writes and, on successful completion
+	 * of the paramserv call, deletes all checkpoints.
+	 * 
+	 * @param success true if training completed successfully
+	 */
+	public void close(boolean success) {
+		try {
+			waitForPending();
+		}
+		finally {
+			_writer.shutdownNow();
+			if( success )
+				clear();
+		}
+	}
+	
+	/**
+	 * Deletes all checkpoints.
+	 */
+	public synchronized void clear() {
+		LocalFileUtils.deleteFileIfExists(_dir);
+		_lastEpoch = -1;
+	}
+	
+	private void waitForPending() {
+		//wait w/o monitor, as the write task obtains queued snapshots
+		Future<?> pending;
+		synchronized( this ) {
+			pending = _pending;
+			_pending = null;
+		}
+		try {
+			if( pending != null )
+				pending.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Paramserv checkpoint: failed to write checkpoint.", ex);
+		}
+	}
+	
+	private void writeQueued(Snapshot snap) {
+		try {
+			while( snap != null ) {
+				write(snap.epoch, snap.entries, snap.names);
+				snap = nextQueued();
+			}
+		}
+		catch(RuntimeException ex) {
+			synchronized( this ) {
+				_queued = null;
+				_running = false;
+			}
+			throw ex;
+		}
+	}
+	
+	private synchronized Snapshot nextQueued() {
+		Snapshot ret = _queued;
+		_queued = null;
+		_running = (ret != null);
+		return ret;
+	}
+	
+	private void write(int epoch, List<Object> entries, List<String> names) {
+		String edir = _dir + Lop.FILE_SEPARATOR + EPOCH_PREFIX + epoch;
+		String tdir = edir + TMP_SUFFIX;
+		try {
+			LocalFileUtils.deleteFileIfExists(tdir);
+			if( !LocalFileUtils.createLocalFileIfNotExist(tdir) )
+				throw new IOException("Failed to create directory "+tdir+".");
+			
+			//write matrices as binary blocks and meta data
+			JSONArray meta = new JSONArray();
+			for( int i=0; i<entries.size(); i++ ) {
+				Object entry = entries.get(i);
+				OrderedJSONObject jentry = new OrderedJSONObject();
+				if( names != null )
+					jentry.put("name", names.get(i));
+				if( entry instanceof MatrixBlock ) {
+					LocalFileUtils.writeMatrixBlockToLocal(
+						tdir + Lop.FILE_SEPARATOR + i, (MatrixBlock)entry);
+					jentry.put("type", DataType.MATRIX.name());
+					jentry.put("file", String.valueOf(i));
+				}
+				else {
+					ScalarObject so = (ScalarObject) entry;
+					jentry.put("type", DataType.SCALAR.name());
+					jentry.put("vtype", so.getValueType().name());
+					jentry.put("value", so.getStringValue());
+				}
+				meta.add(jentry);
+			}
+			OrderedJSONObject jmeta = new OrderedJSONObject();
+			jmeta.put("epoch", epoch);
+			jmeta.put("entries", meta);
+			LocalFileUtils.writeTextFile(new File(tdir, META_FILE), jmeta.toString(4));
+			
+			//publish checkpoint and remove older checkpoints
+			LocalFileUtils.deleteFileIfExists(edir);
+			if( !new File(tdir).renameTo(new File(edir)) )
+				throw new IOException("Failed to rename "+tdir+" to "+edir+".");
+			if( _lastEpoch >= 0 && _lastEpoch != epoch )
+				LocalFileUtils.deleteFileIfExists(_dir + Lop.FILE_SEPARATOR + EPOCH_PREFIX + _lastEpoch);
+			_lastEpoch = epoch;
+			
+			if( LOG.isDebugEnabled() )
+				LOG.debug(String.format("Wrote paramserv checkpoint of epoch %d to %s.", epoch, edir));
+		}
+		catch(IOException | JSONException ex) {
+			throw new DMLRuntimeException("Paramserv checkpoint: failed to write "+edir+".", ex);
+		}
+	}
+	
+	private static String getCheckpointDir(String key) {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		String root = (conf != null) ? conf.getTextValue(DMLConfig.LOCAL_TMP_DIR) :
+			DMLConfig.getDefaultTextValue(DMLConfig.LOCAL_TMP_DIR);
+		return root + Lop.FILE_SEPARATOR + CHECKPOINT_DIR + Lop.FILE_SEPARATOR + key;
+	}
+	
+	public static class Snapshot {
+		private final int epoch;
+		private final List<Object> entries;
+		private final List<String> names;
+		
+		private Snapshot(int epoch, List<Object> entries, List<String> names) {
+			this.epoch = epoch;
+			this.entries = entries;
+			this.names = names;
+		}
+	}
+	
+	public static class Checkpoint {
+		public final int epoch;
+		public final ListObject model;
+		
+		public Checkpoint(int epoch, ListObject model) {
+			this.epoch = epoch;
+			this.model = model;
+		}
+	}
+}
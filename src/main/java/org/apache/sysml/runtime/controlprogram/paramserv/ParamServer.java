@@ -61,11 +61,19 @@ public abstract class ParamServer
 	private FunctionCallCPInstruction _inst;
 	private String _outputName;
 	private boolean[] _finishedStates;  // Workers' finished states
-	private ListObject _accGradients = null;
+	private int _staleness;             // SSP staleness threshold
+	private int[] _clocks;              // SSP workers' clocks (number of pushes)
+	private boolean[] _blocked;         // SSP workers waiting for the model
+	private boolean[] _terminated;      // SSP workers without further pushes
+	private final ShardedGradientAccumulator _accGradients = new ShardedGradientAccumulator();
+	private PSCheckpointer _checkpointer; // optional model checkpointing
+	private int[] _epochs;                // workers' number of finished epochs
+	private int _startEpoch;              // number of epochs finished before resume
+	private int _globalEpoch;             // number of epochs finished by all workers
 
 	protected ParamServer() {}
 
-	protected ParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum) {
+	protected ParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, int staleness, ExecutionContext ec, int workerNum) {
 		// init worker queues and global model
 		_modelMap = new HashMap<>(workerNum);
 		IntStream.range(0, workerNum).forEach(i -> {
@@ -78,6 +86,11 @@ public abstract class ParamServer
 		_ec = ec;
 		_updateType = updateType;
 		_finishedStates = new boolean[workerNum];
+		_staleness = staleness;
+		_clocks = new int[workerNum];
+		_blocked = new boolean[workerNum];
+		_terminated = new boolean[workerNum];
+		_epochs = new int[workerNum];
 		setupAggFunc(_ec, aggFunc);
 		
 		// broadcast initial model
@@ -116,13 +129,42 @@ public abstract class ParamServer
 
 	public abstract ListObject pull(int workerID);
 
+	/**
+	 * Notify the server that the given worker terminated,
+	 * i.e., that it will not push any further gradients.
+	 *
+	 * @param workerID worker id
+	 */
+	public abstract void finish(int workerID);
+
+	/**
+	 * Notify the server that the given worker finished an epoch.
+	 *
+	 * @param workerID worker id
+	 */
+	public abstract void finishEpoch(int workerID);
+
+	/**
+	 * Enable checkpointing of the global model at epoch boundaries.
+	 *
+	 * @param checkpointer model checkpointer
+	 * @param startEpoch number of epochs finished before (on resume)
+	 */
+	public synchronized void setCheckpointer(PSCheckpointer checkpointer, int startEpoch) {
+		_checkpointer = checkpointer;
+		_startEpoch = startEpoch;
+		_globalEpoch = startEpoch;
+	}
+
 	public ListObject getResult() {
+		if (ConfigurationManager.isStatistics())
+			_accGradients.reportStatistics();
 		// All the model updating work has terminated,
 		// so we could return directly the result model
 		return _model;
 	}
 	
-	protected synchronized void updateGlobalModel(int workerID, ListObject gradients) {
+	protected void updateGlobalModel(int workerID, ListObject gradients) {
 		try {
 			if (LOG.isDebugEnabled()) {
 				LOG.debug(String.format("Successfully pulled the gradients [size:%d kb] of worker_%d.",
@@ -131,32 +173,46 @@ public abstract class ParamServer
 
 			switch(_updateType) {
 				case BSP: {
-					setFinishedState(workerID);
-
-					// Accumulate the intermediate gradients
+					// Accumulate the intermediate gradients (outside the critical
+					// section, with concurrent pushes synchronized per shard)
 					if( ACCRUE_BSP_GRADIENTS )
-						_accGradients = ParamservUtils.accrueGradients(_accGradients, gradients, true);
-					else
-						updateGlobalModel(gradients);
-
-					if (allFinished()) {
-						// Update the global model with accrued gradients
-						if( ACCRUE_BSP_GRADIENTS ) {
-							updateGlobalModel(_accGradients);
-							_accGradients = null;
-						}
+						_accGradients.accrue(workerID, gradients);
+					
+					synchronized( this ) {
+						if( !ACCRUE_BSP_GRADIENTS )
+							updateGlobalModel(gradients);
+						setFinishedState(workerID);
 						
-						// Broadcast the updated model
-						resetFinishedStates();
-						broadcastModel(true);
-						if (LOG.isDebugEnabled())
-							LOG.debug("Global parameter is broadcasted successfully.");
+						if (allFinished()) {
+							// Update the global model with accrued gradients
+							if( ACCRUE_BSP_GRADIENTS )
+								updateGlobalModel(_accGradients.drain());
+							
+							// Broadcast the updated model
+							resetFinishedStates();
+							broadcastModel(true);
+							if (LOG.isDebugEnabled())
+								LOG.debug("Global parameter is broadcasted successfully.");
+						}
 					}
 					break;
 				}
 				case ASP: {
-					updateGlobalModel(gradients);
-					broadcastModel(workerID);
+					synchronized( this ) {
+						updateGlobalModel(gradients);
+						broadcastModel(workerID);
+					}
+					break;
+				}
+				case SSP: {
+					synchronized( this ) {
+						// Update the global model and advance the worker's clock,
+						// but hold back the model if it is too far ahead
+						updateGlobalModel(gradients);
+						_clocks[workerID]++;
+						_blocked[workerID] = true;
+						releaseBlockedWorkers();
+					}
 					break;
 				}
 				default:
@@ -200,6 +256,63 @@ public abstract class ParamServer
 		return newModel;
 	}
 	
+	protected synchronized void finishWorker(int workerID) {
+		if( !_updateType.isSSP() )
+			return;
+		_terminated[workerID] = true;
+		_blocked[workerID] = false;
+		try {
+			// terminated workers no longer bound the slowest clock
+			releaseBlockedWorkers();
+		}
+		catch (InterruptedException e) {
+			throw new DMLRuntimeException("Paramserv func: some error occurred when broadcasting model", e);
+		}
+	}
+
+	protected void finishWorkerEpoch(int workerID) {
+		PSCheckpointer ckpt = null;
+		PSCheckpointer.Snapshot snap = null;
+		synchronized( this ) {
+			_epochs[workerID]++;
+			if( _checkpointer == null )
+				return;
+			// checkpoint once all workers finished the epoch, i.e., when the
+			// model contains the gradients of all their batches of that epoch
+			int epoch = _startEpoch + Arrays.stream(_epochs).min().getAsInt();
+			if( epoch > _globalEpoch ) {
+				_globalEpoch = epoch;
+				if( _checkpointer.isCheckpointEpoch(epoch) ) {
+					ckpt = _checkpointer;
+					snap = ckpt.snapshot(epoch, _model);
+				}
+			}
+		}
+		// hand off the pinned model outside the monitor to not block pushes
+		if( snap != null )
+			ckpt.checkpoint(snap);
+	}
+
+	/**
+	 * Broadcast the model to all blocked workers whose clock is
+	 * at most the staleness threshold ahead of the slowest active worker.
+	 */
+	private void releaseBlockedWorkers() throws InterruptedException {
+		int minClock = Integer.MAX_VALUE;
+		for (int i = 0; i < _clocks.length; i++)
+			if (!_terminated[i])
+				minClock = Math.min(minClock, _clocks[i]);
+		for (int i = 0; i < _clocks.length; i++) {
+			if (_blocked[i] && _clocks[i] - minClock <= _staleness) {
+				_blocked[i] = false;
+				broadcastModel(i);
+			}
+			else if (_blocked[i] && LOG.isDebugEnabled()) {
+				LOG.debug(String.format("Worker_%d blocked at clock %d (slowest clock %d).", i, _clocks[i], minClock));
+			}
+		}
+	}
+
 	private boolean allFinished() {
 		return !ArrayUtils.contains(_finishedStates, false);
 	}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.paramserv;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Accumulator of gradients that is sharded by list entry, where each shard
+ * is guarded by its own lock. Concurrent pushes of different workers are
+ * accrued in parallel as long as they access different shards, and every
+ * worker starts at a different shard to spread the contention.
+ */
+public class ShardedGradientAccumulator 
+{
+	private static final BinaryOperator PLUS = new BinaryOperator(Plus.getPlusFnObject());
+	
+	private volatile Shard[] _shards = null;
+	private List<String> _names = null;
+	
+	/**
+	 * Accumulate the given gradients into the shards, and
+	 * clean up the given gradients list object.
+	 * 
+	 * @param workerID worker id
+	 * @param gradients given gradients list object
+	 */
+	public void accrue(int workerID, ListObject gradients) {
+		Shard[] shards = getShards(gradients);
+		boolean stats = ConfigurationManager.isStatistics();
+		int n = shards.length;
+		for( int j=0; j<n; j++ ) {
+			int i = (workerID + j) % n;
+			Shard shard = shards[i];
+			MatrixObject mo = (MatrixObject) gradients.getData().get(i);
+			
+			//acquire shard lock, and keep track of contention
+			if( !shard._lock.tryLock() ) {
+				long t0 = System.nanoTime();
+				shard._lock.lock();
+				shard._contended.increment();
+				if( stats )
+					Statistics.accPSShardWaitTime(System.nanoTime()-t0);
+			}
+			try {
+				if( shard._acc == null )
+					shard._acc = ParamservUtils.createShallowCopy(mo);
+				else {
+					MatrixBlock mb1 = shard._acc.acquireReadAndRelease();
+					MatrixBlock mb2 = mo.acquireReadAndRelease();
+					mb1.binaryOperationsInPlace(PLUS, mb2);
+				}
+				shard._accesses.increment();
+			}
+			finally {
+				shard._lock.unlock();
+			}
+		}
+		ParamservUtils.cleanupListObject(gradients);
+	}
+	
+	/**
+	 * Obtain the accrued gradients and reset all shards. This method
+	 * must only be called once all pushes of the current round finished.
+	 * 
+	 * @return accrued gradients list object, or null if nothing accrued
+	 */
+	public ListObject drain() {
+		Shard[] shards = _shards;
+		if( shards == null || shards[0]._acc == null )
+			return null;
+		List<Data> data = new ArrayList<>(shards.length);
+		for( Shard shard : shards ) {
+			shard._lock.lock();
+			try {
+				data.add(shard._acc);
+				shard._acc = null;
+			}
+			finally {
+				shard._lock.unlock();
+			}
+		}
+		return new ListObject(data, _names);
+	}
+	
+	/**
+	 * Get the number of contended shard accesses per shard.
+	 * 
+	 * @return array of contention counts
+	 */
+	public long[] getContentionCounts() {
+		Shard[] shards = _shards;
+		long[] ret = new long[(shards != null) ? shards.length : 0];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = shards[i]._contended.longValue();
+		return ret;
+	}
+	
+	/**
+	 * Get the total number of shard accesses per shard.
+	 * 
+	 * @return array of access counts
+	 */
+	public long[] getAccessCounts() {
+		Shard[] shards = _shards;
+		long[] ret = new long[(shards != null) ? shards.length : 0];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = shards[i]._accesses.longValue();
+		return ret;
+	}
+	
+	/**
+	 * Report the per-shard contention metrics to the statistics.
+	 */
+	public void reportStatistics() {
+		long[] contended = getContentionCounts();
+		long[] accesses = getAccessCounts();
+		for( int i=0; i<contended.length; i++ )
+			Statistics.accPSShardAccesses(accesses[i], contended[i]);
+	}
+	
+	private Shard[] getShards(ListObject gradients) {
+		Shard[] shards = _shards;
+		if( shards == null ) {
+			synchronized( this ) {
+				shards = _shards;
+				if( shards == null ) {
+					shards = new Shard[gradients.getLength()];
+					for( int i=0; i<shards.length; i++ )
+						shards[i] = new Shard();
+					_names = gradients.getNames();
+					_shards = shards;
+				}
+			}
+		}
+		return shards;
+	}
+	
+	private static class Shard {
+		private final ReentrantLock _lock = new ReentrantLock();
+		private final LongAdder _accesses = new LongAdder();
+		private final LongAdder _contended = new LongAdder();
+		private MatrixObject _acc = null;
+	}
+}
@@ -19,6 +19,8 @@
 
 package org.apache.sysml.runtime.controlprogram.paramserv;
 
+import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcObject.EPOCH;
+import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcObject.FINISH;
 import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcObject.PULL;
 import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcObject.PUSH;
 
@@ -27,6 +29,7 @@ import java.io.IOException;
 import org.apache.spark.network.client.TransportClient;
 import org.apache.spark.util.LongAccumulator;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Statement.PSCompression;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcCall;
 import org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcResponse;
@@ -38,12 +41,20 @@ public class SparkPSProxy extends ParamServer {
 	private final TransportClient _client;
 	private final long _rpcTimeout;
 	private final LongAccumulator _aRPC;
+	private final GradientCompressor _compressor;
+	private final ModelDeltaEncoder _decoder;
 
 	public SparkPSProxy(TransportClient client, long rpcTimeout, LongAccumulator aRPC) {
+		this(client, rpcTimeout, PSCompression.NONE, aRPC);
+	}
+
+	public SparkPSProxy(TransportClient client, long rpcTimeout, PSCompression compression, LongAccumulator aRPC) {
 		super();
 		_client = client;
 		_rpcTimeout = rpcTimeout;
 		_aRPC = aRPC;
+		_compressor = (compression != PSCompression.NONE) ? new GradientCompressor(compression) : null;
+		_decoder = (compression != PSCompression.NONE) ? new ModelDeltaEncoder() : null;
 	}
 
 	private void accRpcRequestTime(Timing tRpc) {
@@ -56,7 +67,10 @@ public class SparkPSProxy extends ParamServer {
 		Timing tRpc = ConfigurationManager.isStatistics() ? new Timing(true) : null;
 		PSRpcResponse response;
 		try {
-			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(PUSH, workerID, value).serialize(), _rpcTimeout));
+			PSRpcCall call = (_compressor != null) ?
+				new PSRpcCall(PUSH, workerID, _compressor.compress(value), _compressor) :
+				new PSRpcCall(PUSH, workerID, value);
+			response = new PSRpcResponse(_client.sendRpcSync(call.serialize(), _rpcTimeout));
 		} catch (IOException e) {
 			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to push gradients.", workerID), e);
 		}
@@ -66,6 +80,36 @@ public class SparkPSProxy extends ParamServer {
 		}
 	}
 
+	@Override
+	public void finish(int workerID) {
+		Timing tRpc = ConfigurationManager.isStatistics() ? new Timing(true) : null;
+		PSRpcResponse response;
+		try {
+			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(FINISH, workerID, null).serialize(), _rpcTimeout));
+		} catch (IOException e) {
+			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to finish.", workerID), e);
+		}
+		accRpcRequestTime(tRpc);
+		if (!response.isSuccessful()) {
+			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to finish. \n%s", workerID, response.getErrorMessage()));
+		}
+	}
+
+	@Override
+	public void finishEpoch(int workerID) {
+		Timing tRpc = ConfigurationManager.isStatistics() ? new Timing(true) : null;
+		PSRpcResponse response;
+		try {
+			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(EPOCH, workerID, null).serialize(), _rpcTimeout));
+		} catch (IOException e) {
+			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to finish epoch.", workerID), e);
+		}
+		accRpcRequestTime(tRpc);
+		if (!response.isSuccessful()) {
+			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to finish epoch. \n%s", workerID, response.getErrorMessage()));
+		}
+	}
+
 	@Override
 	public ListObject pull(int workerID) {
 		Timing tRpc = ConfigurationManager.isStatistics() ? new Timing(true) : null;
@@ -79,6 +123,8 @@ public class SparkPSProxy extends ParamServer {
 		if (!response.isSuccessful()) {
 			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to pull models. \n%s", workerID, response.getErrorMessage()));
 		}
-		return response.getResultModel();
+		return (_decoder != null) ?
+			_decoder.decode(response.getResultModel()) :
+			response.getResultModel();
 	}
 }
@@ -44,6 +44,7 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 	private final HashMap<String, byte[]> _clsMap;
 	private final SparkConf _conf;
 	private final int _port; // rpc port
+	private final Statement.PSCompression _compression; // rpc compression
 	private final String _aggFunc;
 	private final LongAccumulator _aSetup; // accumulator for setup time
 	private final LongAccumulator _aWorker; // accumulator for worker number
@@ -54,7 +55,7 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 	private final LongAccumulator _nBatches; //number of executed batches
 	private final LongAccumulator _nEpochs; //number of executed epoches
 	
-	public SparkPSWorker(String updFunc, String aggFunc, Statement.PSFrequency freq, int epochs, long batchSize, String program, HashMap<String, byte[]> clsMap, SparkConf conf, int port, LongAccumulator aSetup, LongAccumulator aWorker, LongAccumulator aUpdate, LongAccumulator aIndex, LongAccumulator aGrad, LongAccumulator aRPC, LongAccumulator aBatches, LongAccumulator aEpochs) {
+	public SparkPSWorker(String updFunc, String aggFunc, Statement.PSFrequency freq, int epochs, long batchSize, String program, HashMap<String, byte[]> clsMap, SparkConf conf, int port, Statement.PSCompression compression, LongAccumulator aSetup, LongAccumulator aWorker, LongAccumulator aUpdate, LongAccumulator aIndex, LongAccumulator aGrad, LongAccumulator aRPC, LongAccumulator aBatches, LongAccumulator aEpochs) {
 		_updFunc = updFunc;
 		_aggFunc = aggFunc;
 		_freq = freq;
@@ -64,6 +65,7 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 		_clsMap = clsMap;
 		_conf = conf;
 		_port = port;
+		_compression = compression;
 		_aSetup = aSetup;
 		_aWorker = aWorker;
 		_aUpdate = aUpdate;
@@ -104,7 +106,7 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 		RemoteParForUtils.setupBufferPool(_workerID);
 
 		// Create the ps proxy
-		_ps = PSRpcFactory.createSparkPSProxy(_conf, _port, _aRPC);
+		_ps = PSRpcFactory.createSparkPSProxy(_conf, _port, _compression, _aRPC);
 
 		// Initialize the update function
 		setupUpdateFunction(_updFunc, _ec);
@@ -22,8 +22,10 @@ package org.apache.sysml.runtime.controlprogram.paramserv.rpc;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
+import org.apache.sysml.parser.Statement.PSCompression;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysml.runtime.controlprogram.paramserv.GradientCompressor;
 import org.apache.sysml.runtime.instructions.cp.ListObject;
 import org.apache.sysml.runtime.util.ByteBufferDataInput;
 
@@ -34,9 +36,15 @@ public class PSRpcCall extends PSRpcObject {
 	private ListObject _data;
 
 	public PSRpcCall(int method, int workerID, ListObject data) {
+		this(method, workerID, data, null);
+	}
+
+	public PSRpcCall(int method, int workerID, ListObject data, GradientCompressor compressor) {
 		_method = method;
 		_workerID = workerID;
 		_data = data;
+		_compressor = compressor;
+		_quantized = compressor != null && compressor.getType() == PSCompression.QUANTIZE;
 	}
 
 	public PSRpcCall(ByteBuffer buffer) throws IOException {
@@ -78,9 +86,11 @@ public class PSRpcCall extends PSRpcObject {
 		switch (method) {
 			case PUSH:
 			case PULL:
+			case FINISH:
+			case EPOCH:
 				break;
 			default:
-				throw new DMLRuntimeException("PSRpcCall: only support rpc method 'push' or 'pull'");
+				throw new DMLRuntimeException("PSRpcCall: only support rpc method 'push', 'pull', 'finish', or 'epoch'");
 		}
 	}
 }
@@ -28,6 +28,7 @@ import org.apache.spark.network.netty.SparkTransportConf;
 import org.apache.spark.network.server.TransportServer;
 import org.apache.spark.network.util.TransportConf;
 import org.apache.spark.util.LongAccumulator;
+import org.apache.sysml.parser.Statement.PSCompression;
 import org.apache.sysml.runtime.controlprogram.paramserv.LocalParamServer;
 import org.apache.sysml.runtime.controlprogram.paramserv.SparkPSProxy;
 
@@ -35,9 +36,9 @@ public class PSRpcFactory {
 
 	private static final String MODULE_NAME = "ps";
 
-	private static TransportContext createTransportContext(SparkConf conf, LocalParamServer ps) {
+	private static TransportContext createTransportContext(SparkConf conf, LocalParamServer ps, PSCompression compression) {
 		TransportConf tc = SparkTransportConf.fromSparkConf(conf, MODULE_NAME, 0);
-		PSRpcHandler handler = new PSRpcHandler(ps);
+		PSRpcHandler handler = new PSRpcHandler(ps, compression);
 		return new TransportContext(tc, handler);
 	}
 
@@ -45,17 +46,17 @@ public class PSRpcFactory {
 	 * Create and start the server
 	 * @return server
 	 */
-	public static TransportServer createServer(SparkConf conf, LocalParamServer ps, String host) {
-		TransportContext context = createTransportContext(conf, ps);
+	public static TransportServer createServer(SparkConf conf, LocalParamServer ps, String host, PSCompression compression) {
+		TransportContext context = createTransportContext(conf, ps, compression);
 		return context.createServer(host, 0, Collections.emptyList());	// bind rpc to an ephemeral port
 	}
 
-	public static SparkPSProxy createSparkPSProxy(SparkConf conf, int port, LongAccumulator aRPC) throws IOException {
+	public static SparkPSProxy createSparkPSProxy(SparkConf conf, int port, PSCompression compression, LongAccumulator aRPC) throws IOException {
 		long rpcTimeout = conf.contains("spark.rpc.askTimeout") ?
 			conf.getTimeAsMs("spark.rpc.askTimeout") :
 			conf.getTimeAsMs("spark.network.timeout", "120s");
 		String host = conf.get("spark.driver.host");
-		TransportContext context = createTransportContext(conf, new LocalParamServer());
-		return new SparkPSProxy(context.createClientFactory().createClient(host, port), rpcTimeout, aRPC);
+		TransportContext context = createTransportContext(conf, new LocalParamServer(), compression);
+		return new SparkPSProxy(context.createClientFactory().createClient(host, port), rpcTimeout, compression, aRPC);
 	}
 }
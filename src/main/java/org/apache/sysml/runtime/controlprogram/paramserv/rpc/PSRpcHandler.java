@@ -19,11 +19,14 @@
 
 package org.apache.sysml.runtime.controlprogram.paramserv.rpc;
 
+import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcCall.EPOCH;
+import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcCall.FINISH;
 import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcCall.PULL;
 import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcCall.PUSH;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.spark.network.client.RpcResponseCallback;
@@ -32,16 +35,20 @@ import org.apache.spark.network.server.OneForOneStreamManager;
 import org.apache.spark.network.server.RpcHandler;
 import org.apache.spark.network.server.StreamManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.parser.Statement.PSCompression;
 import org.apache.sysml.runtime.controlprogram.paramserv.LocalParamServer;
+import org.apache.sysml.runtime.controlprogram.paramserv.ModelDeltaEncoder;
 import org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcResponse.Type;
 import org.apache.sysml.runtime.instructions.cp.ListObject;
 
 public final class PSRpcHandler extends RpcHandler {
 
 	private LocalParamServer _server;
+	private ConcurrentHashMap<Integer, ModelDeltaEncoder> _encoders;
 
-	protected PSRpcHandler(LocalParamServer server) {
+	protected PSRpcHandler(LocalParamServer server, PSCompression compression) {
 		_server = server;
+		_encoders = (compression != PSCompression.NONE) ? new ConcurrentHashMap<>() : null;
 	}
 
 	@Override
@@ -72,6 +79,9 @@ public final class PSRpcHandler extends RpcHandler {
 				ListObject data;
 				try {
 					data = _server.pull(call.getWorkerID());
+					if (_encoders != null) //delta to the worker's last model
+						data = _encoders.computeIfAbsent(call.getWorkerID(),
+							k -> new ModelDeltaEncoder()).encode(data);
 					response = new PSRpcResponse(Type.SUCCESS, data);
 				} catch (DMLRuntimeException exception) {
 					response = new PSRpcResponse(Type.ERROR, ExceptionUtils.getFullStackTrace(exception));
@@ -83,6 +93,34 @@ public final class PSRpcHandler extends RpcHandler {
 					}
 				}
 				break;
+			case FINISH:
+				try {
+					_server.finish(call.getWorkerID());
+					response = new PSRpcResponse(Type.SUCCESS_EMPTY);
+				} catch (DMLRuntimeException exception) {
+					response = new PSRpcResponse(Type.ERROR, ExceptionUtils.getFullStackTrace(exception));
+				} finally {
+					try {
+						callback.onSuccess(response.serialize());
+					} catch (IOException e) {
+						throw new DMLRuntimeException("PSRpcHandler: some error occrred when wrapping the rpc response.", e);
+					}
+				}
+				break;
+			case EPOCH:
+				try {
+					_server.finishEpoch(call.getWorkerID());
+					response = new PSRpcResponse(Type.SUCCESS_EMPTY);
+				} catch (DMLRuntimeException exception) {
+					response = new PSRpcResponse(Type.ERROR, ExceptionUtils.getFullStackTrace(exception));
+				} finally {
+					try {
+						callback.onSuccess(response.serialize());
+					} catch (IOException e) {
+						throw new DMLRuntimeException("PSRpcHandler: some error occrred when wrapping the rpc response.", e);
+					}
+				}
+				break;
 			default:
 				throw new DMLRuntimeException(String.format("Does not support the rpc call for method %s", call.getMethod()));
 		}
@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.paramserv.GradientCompressor;
 import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.ListObject;
@@ -38,6 +39,12 @@ public abstract class PSRpcObject {
 
 	public static final int PUSH = 1;
 	public static final int PULL = 2;
+	public static final int FINISH = 3;
+	public static final int EPOCH = 4;
+
+	//8-bit quantized transfer of list entries (codes of the compressor)
+	protected boolean _quantized = false;
+	protected GradientCompressor _compressor = null;
 
 	public abstract void deserialize(ByteBuffer buffer) throws IOException;
 
@@ -52,11 +59,15 @@ public abstract class PSRpcObject {
 		validateListObject(lo);
 		output.writeInt(lo.getLength()); //write list length
 		output.writeBoolean(lo.isNamedList()); //write list named
+		output.writeBoolean(_quantized); //write list quantized
 		for (int i = 0; i < lo.getLength(); i++) {
 			if (lo.isNamedList())
 				output.writeUTF(lo.getName(i)); //write name
-			((MatrixObject) lo.getData().get(i))
-				.acquireReadAndRelease().write(output); //write matrix
+			MatrixBlock mb = ((MatrixObject) lo.getData().get(i)).acquireReadAndRelease();
+			if (_quantized) //write 8-bit codes
+				_compressor.writeQuantized(i, mb.getNumRows(), mb.getNumColumns(), output);
+			else
+				mb.write(output); //write matrix
 		}
 		// Cleanup the list object
 		// because it is transferred to remote worker in binary format
@@ -68,16 +79,41 @@ public abstract class PSRpcObject {
 		List<Data> data = new ArrayList<>();
 		List<String> names = input.readBoolean() ?
 			new ArrayList<>() : null;
+		_quantized = input.readBoolean();
 		for(int i=0; i<listLen; i++) {
 			if( names != null )
 				names.add(input.readUTF());
-			MatrixBlock mb = new MatrixBlock();
-			mb.readFields(input);
+			MatrixBlock mb = _quantized ?
+				readQuantizedMatrix(input) : new MatrixBlock();
+			if( !_quantized )
+				mb.readFields(input);
 			data.add(ParamservUtils.newMatrixObject(mb, false));
 		}
 		return new ListObject(data, names);
 	}
 
+	/**
+	 * Read a matrix from a dense array of 8-bit codes
+	 * (scheme: rows|cols|min|scale|bytes, see GradientCompressor)
+	 * @param input input data to read from
+	 * @return matrix block
+	 */
+	private static MatrixBlock readQuantizedMatrix(DataInput input) throws IOException {
+		int rlen = input.readInt();
+		int clen = input.readInt();
+		double min = input.readDouble();
+		double scale = input.readDouble();
+		byte[] buff = new byte[rlen * clen];
+		input.readFully(buff);
+		MatrixBlock mb = new MatrixBlock(rlen, clen, false);
+		double[] c = mb.allocateDenseBlock().getDenseBlockValues();
+		for (int i = 0; i < buff.length; i++)
+			c[i] = min + (buff[i] & 0xFF) * scale;
+		mb.recomputeNonZeros();
+		mb.examSparsity();
+		return mb;
+	}
+
 	/**
 	 * Get serialization size of a list object
 	 * (scheme: size|name|size|matrix)
@@ -86,11 +122,13 @@ public abstract class PSRpcObject {
 	 */
 	protected int getExactSerializedSize(ListObject lo) {
 		if( lo == null ) return 0;
-		long result = 4 + 1; // list length and of named
+		long result = 4 + 1 + 1; // list length, named, and quantized
 		if (lo.isNamedList()) //size for names incl length
 			result += lo.getNames().stream().mapToLong(s -> IOUtilFunctions.getUTFSize(s)).sum();
-		result += lo.getData().stream().mapToLong(d ->
-			((MatrixObject)d).acquireReadAndRelease().getExactSizeOnDisk()).sum();
+		result += lo.getData().stream().mapToLong(d -> {
+			MatrixBlock mb = ((MatrixObject)d).acquireReadAndRelease();
+			return _quantized ? 24 + (long) mb.getNumRows() * mb.getNumColumns() :
+				mb.getExactSizeOnDisk(); }).sum();
 		if( result > Integer.MAX_VALUE )
 			throw new DMLRuntimeException("Serialized size ("+result+") larger than Integer.MAX_VALUE.");
 		return (int) result;
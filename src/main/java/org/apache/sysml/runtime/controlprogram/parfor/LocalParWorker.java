@@ -41,13 +41,20 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
 public class LocalParWorker extends ParWorker implements Runnable
 {
 	protected final LocalTaskQueue<Task> _taskQueue;
+	protected final int _workerIx;
 	protected final CompilerConfig _cconf;
 	protected final boolean _stopped;
 	protected final int _max_retry;
 	protected Collection<String> _fnNames = null;
+	protected TaskPartitionerAdaptive _feedback = null;
 	
 	public LocalParWorker( long ID, LocalTaskQueue<Task> q, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor ) {
+		this(ID, 0, q, body, cconf, max_retry, monitor);
+	}
+	
+	public LocalParWorker( long ID, int workerIx, LocalTaskQueue<Task> q, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor ) {
 		super(ID, body, monitor);
+		_workerIx = workerIx;
 		_taskQueue = q;
 		_cconf = cconf;
 		_stopped   = false;
@@ -62,6 +69,10 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	public void setTaskFeedback(TaskPartitionerAdaptive feedback) {
+		_feedback = feedback;
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -97,7 +108,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			while( !_stopped ) {
 				//dequeue the next task (abort on NO_MORE_TASKS or error)
 				try {
-					lTask = _taskQueue.dequeueTask();
+					lTask = _taskQueue.dequeueTask(_workerIx);
 					
 					if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 						break; //normal end of parallel worker
@@ -112,27 +123,36 @@ public class LocalParWorker extends ParWorker implements Runnable
 				//execute the task sequentially (re-try on error)
 				boolean success = false;
 				int retrys = _max_retry;
+				long t0 = (_feedback != null) ? System.nanoTime() : 0;
 				
-				while( !success ) {
-					try {
-						///////
-						//core execution (see ParWorker)
-						executeTask( lTask );
-						success = true;
-					} 
-					catch (Exception ex)  {
-						LOG.error("Failed to execute "+lTask.toString()+", retry:"+retrys, ex);
-						
-						if( retrys > 0 )
-							retrys--; //retry on task error
-						else {
-							// abort on no remaining retrys
-							LOG.error("Error executing task: ",ex);
-							LOG.error("Stopping LocalParWorker.");
-							break; //no exception thrown to prevent blocking on join 
+				try {
+					while( !success ) {
+						try {
+							///////
+							//core execution (see ParWorker)
+							executeTask( lTask );
+							success = true;
+						} 
+						catch (Exception ex)  {
+							LOG.error("Failed to execute "+lTask.toString()+", retry:"+retrys, ex);
+							
+							if( retrys > 0 )
+								retrys--; //retry on task error
+							else {
+								// abort on no remaining retrys
+								LOG.error("Error executing task: ",ex);
+								LOG.error("Stopping LocalParWorker.");
+								break; //no exception thrown to prevent blocking on join 
+							}
 						}
 					}
 				}
+				finally {
+					//report task execution time to adaptive task partitioner, where
+					//failed tasks only release their slot (no update of estimates)
+					if( _feedback != null )
+						_feedback.reportTask(success ? lTask.getNumIterations() : 0, System.nanoTime()-t0);
+				}
 			}
 		}
 		finally {
@@ -147,6 +167,11 @@ public class LocalParWorker extends ParWorker implements Runnable
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMTASKS, _numTasks);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMITERS, _numIters);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_EXEC_T, time1.stop());
+			if( _taskQueue instanceof LocalWorkStealingTaskQueue ) {
+				LocalWorkStealingTaskQueue<Task> q = (LocalWorkStealingTaskQueue<Task>) _taskQueue;
+				StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMSTEALS, q.getNumSteals(_workerIx));
+				StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMIDLES, q.getNumIdles(_workerIx));
+			}
 		}
 	}
 }
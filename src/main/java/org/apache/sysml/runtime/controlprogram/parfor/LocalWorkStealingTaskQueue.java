@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Work-stealing variant of the local task queue with one lock-free deque per worker.
+ * Created tasks are distributed round-robin over the worker deques, which retains the
+ * order of the task partitioner (e.g., decreasing task sizes for factoring) per worker.
+ * Workers take tasks from the head of their own deque and, if empty, steal from the 
+ * tail of a randomly chosen other deque, i.e., the smallest remaining tasks.
+ * 
+ * Blocking of idle readers and writers (on MAX_SIZE) relies on semaphores, where
+ * the number of task permits always equals the number of enqueued tasks until the
+ * input is closed, at which point every worker receives an additional permit.
+ */
+public class LocalWorkStealingTaskQueue<T> extends LocalTaskQueue<T>
+{
+	private static final Log LOG = LogFactory.getLog(LocalWorkStealingTaskQueue.class.getName());
+	
+	private final ConcurrentLinkedDeque<T>[] _deques;
+	private final Semaphore _tasks = new Semaphore(0);
+	private final Semaphore _capacity = new Semaphore(MAX_SIZE);
+	private final AtomicInteger _next = new AtomicInteger(0);
+	private final AtomicInteger _size = new AtomicInteger(0);
+	private volatile boolean _closedInput = false;
+	
+	//per-worker statistics (only written by the owning worker)
+	private final long[] _steals;
+	private final long[] _idles;
+	
+	@SuppressWarnings("unchecked")
+	public LocalWorkStealingTaskQueue(int numWorkers) {
+		_deques = new ConcurrentLinkedDeque[numWorkers];
+		for( int i=0; i<numWorkers; i++ )
+			_deques[i] = new ConcurrentLinkedDeque<>();
+		_steals = new long[numWorkers];
+		_idles = new long[numWorkers];
+	}
+	
+	@Override
+	public void enqueueTask( T t ) 
+		throws InterruptedException
+	{
+		if( !_capacity.tryAcquire() ) {
+			LOG.warn("MAX_SIZE of task queue reached.");
+			_capacity.acquire(); //max constraint reached, wait for read
+		}
+		int pos = (_next.getAndIncrement() & Integer.MAX_VALUE) % _deques.length;
+		_deques[pos].addLast(t);
+		_size.incrementAndGet();
+		_tasks.release(); //notify waiting readers
+	}
+	
+	@Override
+	public T dequeueTask() 
+		throws InterruptedException
+	{
+		return dequeueTask(0);
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public T dequeueTask( int workerIx ) 
+		throws InterruptedException
+	{
+		//wait for a task or the end of the task input stream
+		if( !_tasks.tryAcquire() ) {
+			_idles[workerIx]++;
+			_tasks.acquire();
+		}
+		
+		while( true ) {
+			//probe local deque and steal from other workers
+			T t = _deques[workerIx].pollFirst();
+			if( t == null && (t = steal(workerIx)) != null )
+				_steals[workerIx]++;
+			if( t != null ) {
+				_size.decrementAndGet();
+				_capacity.release(); //notify waiting writers
+				return t;
+			}
+			if( _closedInput && _size.get() == 0 ) {
+				_tasks.release(); //pass on end-of-stream permit
+				return (T)NO_MORE_TASKS;
+			}
+			//task concurrently moved past the scan position
+			Thread.yield();
+		}
+	}
+	
+	@Override
+	public void closeInput() {
+		_closedInput = true;
+		_tasks.release(_deques.length); //notify all waiting readers
+	}
+	
+	public long getNumSteals(int workerIx) {
+		return _steals[workerIx];
+	}
+	
+	public long getNumIdles(int workerIx) {
+		return _idles[workerIx];
+	}
+	
+	private T steal(int workerIx) {
+		int len = _deques.length;
+		int off = ThreadLocalRandom.current().nextInt(len);
+		for( int i=0; i<len; i++ ) {
+			int pos = (off + i) % len;
+			if( pos == workerIx )
+				continue;
+			T t = _deques[pos].pollLast();
+			if( t != null )
+				return t;
+		}
+		return null;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (size=");
+		sb.append(_size.get());
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(")\n");
+		for( int i=0; i<_deques.length; i++ ) {
+			sb.append("  WORKER #");
+			sb.append(i);
+			sb.append(": ");
+			sb.append(_deques[i].size());
+			sb.append(" tasks\n");
+		}
+		return sb.toString();
+	}
+}
@@ -52,6 +52,7 @@ public abstract class ResultMerge implements Serializable
 	protected MatrixObject[] _inputs      = null; 
 	protected String         _outputFName = null;
 	protected boolean        _isAccum     = false;
+	protected boolean        _inplace     = false;
 	
 	protected ResultMerge( ) {
 		//do nothing
@@ -83,6 +84,19 @@ public abstract class ResultMerge implements Serializable
 	 */
 	public abstract MatrixObject executeParallelMerge( int par );
 	
+	/**
+	 * Allows merging disjoint worker results directly into the existing output
+	 * matrix instead of a new output matrix. This requires that the output matrix
+	 * is not referenced by any other variable.
+	 * 
+	 * @param flag true if the output matrix can be updated in place
+	 * @return this result merge
+	 */
+	public ResultMerge setInPlace( boolean flag ) {
+		_inplace = flag;
+		return this;
+	}
+	
 	protected void mergeWithoutComp( MatrixBlock out, MatrixBlock in, boolean appendOnly ) {
 		mergeWithoutComp(out, in, appendOnly, false);
 	}
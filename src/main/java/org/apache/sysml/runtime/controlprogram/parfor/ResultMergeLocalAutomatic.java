@@ -67,6 +67,6 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName, _isAccum );
 		
-		return _rm.executeParallelMerge(par);
+		return _rm.setInPlace(_inplace).executeParallelMerge(par);
 	}
 }
@@ -20,6 +20,10 @@
 package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -31,12 +35,16 @@ import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
  * small enough to fit into the JVM memory, this class can be used for efficient 
- * serial or multi-threaded merge.
+ * serial or multi-threaded merge. The multi-threaded merge partitions the output
+ * by rows and merges all inputs per partition directly into the new output, or
+ * for disjoint results and if allowed, into the existing output.
  * 
  * 
  */
@@ -152,60 +160,89 @@ public class ResultMergeLocalMemory extends ResultMerge
 		{
 			//get matrix blocks through caching 
 			MatrixBlock outMB = _output.acquireRead();
-			ArrayList<MatrixObject> inMO = new ArrayList<>();
-			for( MatrixObject in : _inputs ) {
-				//check for empty inputs (no iterations executed)
-				if( in !=null && in != _output ) 
-					inMO.add( in );
-			}
-			
-			if( !inMO.isEmpty() ) //if there exist something to merge
-			{
-				//get old output matrix from cache for compare
-				//NOTE: always in dense representation in order to allow for parallel unsynchronized access 
-				long rows = outMB.getNumRows();
-				long cols = outMB.getNumColumns();
-				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, false);
-				outMBNew.allocateDenseBlockUnsafe((int)rows, (int)cols);
-				
-				//create compare matrix if required (existing data in result)
-				_compare = getCompareMatrix(outMB);
-				if( _compare != null )
-					outMBNew.copy(outMB);
+			boolean inplace = false;
+			try {
+				ArrayList<MatrixObject> inMO = new ArrayList<>();
+				for( MatrixObject in : _inputs ) {
+					//check for empty inputs (no iterations executed)
+					if( in !=null && in != _output ) 
+						inMO.add( in );
+				}
 				
-				//parallel merge of all inputs
-
-				int numThreads = Math.min(par, inMO.size()); //number of inputs can be lower than par
-				numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
-				Thread[] threads = new Thread[ numThreads ];
-				for( int k=0; k<inMO.size(); k+=numThreads ) //multiple waves if necessary
+				if( !inMO.isEmpty() ) //if there exist something to merge
 				{
-					//create and start threads
-					for( int i=0; i<threads.length; i++ )
-					{
-						ResultMergeWorker rmw = new ResultMergeWorker(inMO.get(k+i), outMBNew);
-						threads[i] = new Thread(rmw);
-						threads[i].setPriority(Thread.MAX_PRIORITY);
-						threads[i].start(); // start execution
-					}	
-					//wait for all workers to finish
-					for( int i=0; i<threads.length; i++ )
-					{
-						threads[i].join();
+					MatrixBlock[] inMB = new MatrixBlock[inMO.size()];
+					MatrixBlock outMBNew = null;
+					ExecutorService pool = null;
+					int pinned = 0;
+					try {
+						//read/pin all inputs (incl. implicit read from HDFS)
+						for( ; pinned<inMB.length; pinned++ )
+							inMB[pinned] = inMO.get(pinned).acquireRead();
+						
+						//worker results are guaranteed to be disjoint if the output has no
+						//existing data, which allows merging without compare (original values)
+						//and, if allowed, directly into the existing (empty) output block
+						int rows = outMB.getNumRows();
+						int cols = outMB.getNumColumns();
+						boolean disjoint = outMB.isEmptyBlock(false);
+						boolean sparse = disjoint && MatrixBlock.isThreadSafe(true)
+							&& MatrixBlock.evalSparseFormatInMemory(rows, cols, getOutputNnzEstimate());
+						inplace = disjoint && _inplace;
+						if( inplace ) {
+							outMB.reset(rows, cols, sparse);
+							outMBNew = outMB.allocateBlock();
+						}
+						else
+							outMBNew = new MatrixBlock(rows, cols, sparse).allocateBlock();
+						
+						//parallel merge of all inputs over disjoint row partitions, where each
+						//partition directly merges worker results into the new output block
+						int numThreads = Math.min(par, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
+						numThreads = Math.max(Math.min(numThreads, rows), 1);
+						pool = CommonThreadPool.get(numThreads);
+						ArrayList<MergePartitionTask> tasks = new ArrayList<>();
+						int blklen = (int)(Math.ceil((double)rows/numThreads));
+						for( int i=0; i<numThreads & i*blklen<rows; i++ )
+							tasks.add(new MergePartitionTask(outMB, inMB, outMBNew,
+								disjoint, i*blklen, Math.min((i+1)*blklen, rows)));
+						long nnz = 0;
+						for( Future<Long> task : pool.invokeAll(tasks) )
+							nnz += task.get();
+						outMBNew.setNonZeros(nnz);
 					}
+					finally {
+						if( pool != null )
+							pool.shutdown();
+						//unpin and clear in-memory inputs (also on errors)
+						for( int i=0; i<pinned; i++ ) {
+							inMO.get(i).release();
+							inMO.get(i).clearData();
+						}
+					}
+					
+					//create new output matrix, unless merged into the existing output
+					//(e.g., to prevent potential export<->read file access conflict in specific cases of 
+					// local-remote nested parfor))
+					if( !inplace )
+						moNew = createNewMatrixObject( outMBNew );
+				}
+				else {
+					moNew = _output; //return old matrix, to prevent copy
 				}
-				
-				//create new output matrix 
-				//(e.g., to prevent potential export<->read file access conflict in specific cases of 
-				// local-remote nested parfor))
-				moNew = createNewMatrixObject( outMBNew );
 			}
-			else {
-				moNew = _output; //return old matrix, to prevent copy
+			finally {
+				//release old output
+				_output.release();
 			}
 			
-			//release old output, and all inputs
-			_output.release();
+			//update existing output (after release of the read pin)
+			if( inplace ) {
+				outMB.examSparsity();
+				_output.acquireModify(outMB);
+				_output.release();
+				moNew = _output;
+			}
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
@@ -287,37 +324,119 @@ public class ResultMergeLocalMemory extends ResultMerge
 	
 	
 	/**
-	 * NOTE: only used if matrix in dense
+	 * Merges all inputs for a range of rows into the new output block. Without
+	 * existing data, all non-zeros of the inputs are directly written (or added
+	 * for accumulation) into the output, for sparse outputs via row-wise appends
+	 * into the (thread-safe) MCSR rows of this partition. Otherwise, the output
+	 * rows are initialized with the original rows, which also serve as compare
+	 * rows, avoiding a full compare copy of the original output.
 	 */
-	private class ResultMergeWorker implements Runnable
+	private class MergePartitionTask implements Callable<Long>
 	{
-		private MatrixObject _inMO  = null;
-		private MatrixBlock  _outMB = null;
+		private final MatrixBlock _outMB;
+		private final MatrixBlock[] _inMB;
+		private final MatrixBlock _outMBNew;
+		private final boolean _disjoint;
+		private final int _rl;
+		private final int _ru;
 		
-		public ResultMergeWorker(MatrixObject inMO, MatrixBlock outMB)
-		{
-			_inMO  = inMO;
+		protected MergePartitionTask(MatrixBlock outMB, MatrixBlock[] inMB, MatrixBlock outMBNew, boolean disjoint, int rl, int ru) {
 			_outMB = outMB;
+			_inMB = inMB;
+			_outMBNew = outMBNew;
+			_disjoint = disjoint;
+			_rl = rl;
+			_ru = ru;
 		}
 
 		@Override
-		public void run() 
-		{
-			//read each input if required
-			try
-			{
-				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.hashCode()+" (fname="+_inMO.getFileName()+")");
-				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
+		public Long call() {
+			int cols = _outMBNew.getNumColumns();
+			double[] rowIn = new double[cols];
+			if( _outMBNew.isInSparseFormat() ) {
+				SparseBlock c = _outMBNew.getSparseBlock();
+				for( int i=_rl; i<_ru; i++ ) {
+					for( MatrixBlock in : _inMB ) {
+						if( in.isEmptyBlock(false) )
+							continue;
+						if( in.isInSparseFormat() ) {
+							SparseBlock a = in.getSparseBlock();
+							if( a.isEmpty(i) ) continue;
+							int apos = a.pos(i);
+							int alen = a.size(i);
+							int[] aix = a.indexes(i);
+							double[] avals = a.values(i);
+							for( int j=apos; j<apos+alen; j++ )
+								appendValue(c, i, aix[j], avals[j]);
+						}
+						else {
+							in.getDenseBlock().get(i, rowIn, 0);
+							for( int j=0; j<cols; j++ )
+								appendValue(c, i, j, rowIn[j]);
+						}
+					}
+					if( !_isAccum && !c.isEmpty(i) )
+						c.sort(i);
+				}
+				return c.size(_rl, _ru);
 			}
-			catch(Exception ex)
-			{
-				throw new RuntimeException("Failed to parallel merge result.", ex);
+			else {
+				DenseBlock c = _outMBNew.getDenseBlock();
+				double[] rowCmp = _disjoint ? null : new double[cols];
+				for( int i=_rl; i<_ru; i++ ) {
+					if( !_disjoint ) {
+						getRow(_outMB, i, rowCmp);
+						c.set(i, rowCmp);
+					}
+					for( MatrixBlock in : _inMB ) {
+						if( _disjoint && in.isEmptyBlock(false) )
+							continue;
+						getRow(in, i, rowIn);
+						for( int j=0; j<cols; j++ ) {
+							double valNew = rowIn[j];
+							if( _disjoint ) {
+								if( valNew == 0 ) continue;
+								if( _isAccum ) c.incr(i, j, valNew);
+								else c.set(i, j, valNew);
+							}
+							else { //see mergeWithComp
+								double valOld = rowCmp[j];
+								if( (valNew != valOld && !Double.isNaN(valNew) )      //for changed values 
+									|| Double.isNaN(valNew) != Double.isNaN(valOld) ) //NaN awareness 
+								{
+									if( _isAccum ) c.incr(i, j, valNew - valOld);
+									else c.set(i, j, valNew);
+								}
+							}
+						}
+					}
+				}
+				return c.countNonZeros(_rl, _ru, 0, cols);
 			}
 		}
 		
+		private void appendValue(SparseBlock c, int i, int j, double v) {
+			if( v == 0 ) return;
+			if( _isAccum ) c.add(i, j, v);
+			else c.append(i, j, v);
+		}
+		
+		private void getRow(MatrixBlock mb, int i, double[] row) {
+			if( mb.isEmptyBlock(false) )
+				Arrays.fill(row, 0);
+			else if( mb.isInSparseFormat() ) {
+				Arrays.fill(row, 0);
+				SparseBlock a = mb.getSparseBlock();
+				if( a.isEmpty(i) ) return;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					row[aix[j]] = avals[j];
+			}
+			else
+				mb.getDenseBlock().get(i, row, 0);
+		}
 	}
 }
@@ -84,6 +84,22 @@ public class Task implements Serializable
 	public int size() {
 		return _iterations.size();
 	}
+	
+	/**
+	 * Get the number of iterations of this task, which for range
+	 * tasks (from, to, incr) differs from the size of the task.
+	 * 
+	 * @return number of iterations
+	 */
+	public long getNumIterations() {
+		if( _type == TaskType.RANGE && size() == 3 ) {
+			long from = _iterations.get(0).getLongValue();
+			long to = _iterations.get(1).getLongValue();
+			long incr = _iterations.get(2).getLongValue();
+			return Math.max((to - from) / incr + 1, 0);
+		}
+		return size();
+	}
 
 	@Override
 	public String toString() {
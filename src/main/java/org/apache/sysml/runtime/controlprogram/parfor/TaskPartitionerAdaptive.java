@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.concurrent.Semaphore;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock;
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+
+/**
+ * Adaptive task partitioner for local parfor (guided self-scheduling with online
+ * cost estimates). Instead of fixing all task sizes upfront, the tasks are created
+ * on demand with at most 2*k outstanding tasks, and each task size is derived from
+ * the measured execution times of already completed tasks. The estimated remaining
+ * work (remaining iterations times the average iteration time) is split similar to
+ * factoring into tasks of R/(2*k) iterations, but scaled by the ratio of average
+ * and most recent iteration times. Hence, regions of expensive iterations get smaller
+ * tasks and regions of cheap iterations get larger tasks, which are additionally
+ * bounded from below to amortize the per-task overhead.
+ *
+ * Task execution times are reported by the local parfor workers via
+ * {@link #reportTask(long, long)}. For remote parfor, where no feedback is available,
+ * the task creation falls back to plain factoring.
+ */
+public class TaskPartitionerAdaptive extends TaskPartitionerFactoring
+{
+	//minimum task execution time to amortize task overheads
+	private static final long MIN_TASK_TIME_NS = 2L * 1000 * 1000; //2ms
+	//weight of most recent task for exponential smoothing of iteration times
+	private static final double RECENT_WEIGHT = 0.5;
+
+	private final int _numThreads;
+	private final long _minTaskSize;
+	private final Semaphore _slots;
+
+	//online estimates (guarded by this)
+	private long _doneIters = 0;
+	private long _doneTime = 0;
+	private double _recentIterTime = -1;
+
+	public TaskPartitionerAdaptive( long taskSize, int numThreads, String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal )
+	{
+		super(taskSize, numThreads, iterVarName, fromVal, toVal, incrVal);
+
+		_numThreads = numThreads;
+		_minTaskSize = Math.max(taskSize, 1);
+		_slots = new Semaphore(2 * numThreads);
+	}
+
+	/**
+	 * Reports the execution time of a completed task, which updates the
+	 * cost estimates and allows the creation of the next task. Failed tasks
+	 * are reported with zero iterations, which only releases their slot.
+	 *
+	 * @param numIters number of iterations of the task (0 if failed)
+	 * @param timeNs execution time in nanoseconds
+	 */
+	public void reportTask( long numIters, long timeNs )
+	{
+		if( numIters > 0 ) {
+			synchronized( this ) {
+				double iterTime = (double)timeNs / numIters;
+				_recentIterTime = (_recentIterTime < 0) ? iterTime :
+					RECENT_WEIGHT * iterTime + (1-RECENT_WEIGHT) * _recentIterTime;
+				_doneIters += numIters;
+				_doneTime += timeNs;
+			}
+		}
+		_slots.release();
+	}
+
+	@Override
+	public long createTasks(LocalTaskQueue<Task> queue)
+	{
+		long numCreatedTasks = 0;
+
+		long lFrom  = _fromVal.getLongValue();
+		long lTo    = _toVal.getLongValue();
+		long lIncr  = _incrVal.getLongValue();
+		long R = _numIter; // remaining number of iterations
+
+		try
+		{
+			for( long i = lFrom; i<=lTo;  )
+			{
+				//wait for free slot (completed task, incl. updated estimates)
+				_slots.acquire();
+
+				long K = Math.min(determineNextTaskSize(R), R);
+				TaskType type = (ParForProgramBlock.USE_RANGE_TASKS_IF_USEFUL && K>3 ) ?
+					TaskType.RANGE : TaskType.SET;
+
+				//create new task and add iterations
+				Task lTask = new Task(_iterVarName, type);
+				if( type == TaskType.SET ) {
+					//value based tasks
+					for( long k=0; k<K && i<=lTo; k++, i+=lIncr )
+						lTask.addIteration(new IntObject(i));
+				}
+				else {
+					//determine end of task
+					long to = Math.min( i+(K-1)*lIncr, lTo );
+
+					//range based tasks
+					lTask.addIteration(new IntObject(i));     //from
+					lTask.addIteration(new IntObject(to));    //to
+					lTask.addIteration(new IntObject(lIncr)); //increment
+					i = to + lIncr;
+				}
+				R -= K;
+
+				//add task to queue (after all iteration added for preventing raise conditions)
+				queue.enqueueTask( lTask );
+				numCreatedTasks++;
+			}
+
+			// mark end of task input stream
+			queue.closeInput();
+		}
+		catch(Exception ex)
+		{
+			throw new DMLRuntimeException(ex);
+		}
+
+		return numCreatedTasks;
+	}
+
+	/**
+	 * Computes the size of the next task given the number of remaining
+	 * iterations R and the current estimates of iteration times.
+	 *
+	 * @param R number of remaining iterations
+	 * @return next task size
+	 */
+	protected synchronized long determineNextTaskSize(long R)
+	{
+		//probe with minimum task size until first feedback
+		if( _doneIters == 0 )
+			return _minTaskSize;
+
+		//guided self-scheduling over estimated remaining work
+		double avgIterTime = (double)_doneTime / _doneIters;
+		double K = (double)R / (2 * _numThreads);
+		if( _recentIterTime > 0 ) {
+			K *= avgIterTime / _recentIterTime;
+			K = Math.max(K, MIN_TASK_TIME_NS / _recentIterTime);
+		}
+
+		return Math.max((long)Math.ceil(K), _minTaskSize);
+	}
+}
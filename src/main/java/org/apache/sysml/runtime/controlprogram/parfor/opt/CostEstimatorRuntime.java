@@ -32,6 +32,8 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
  * Cost estimator for runtime programs. Previously this estimator used an offline created
  * performance profile. Since SystemML 1.0, this estimator uses a time-based cost model
  * that relies on floating operations and I/O, which does not require explicit profiling.
+ * If configured, the FLOP and I/O rates are taken from a calibrated cost profile of the
+ * local machine (see CostProfile).
  * 
  */
 public class CostEstimatorRuntime extends CostEstimator
@@ -179,6 +179,9 @@ public class OptimizerConstrained extends OptimizerRuleBased
 			// rewrite 11: task partitioning
 			rewriteSetTaskPartitioner( pn, false, false ); //flagLIX always false 
 
+			// rewrite 11b: work stealing for fine-grained tasks
+			super.rewriteSetWorkStealing( pn );
+
 			// rewrite 14: set in-place result indexing
 			HashSet<ResultVar> inplaceResultVars = new HashSet<>();
 			super.rewriteSetInPlaceResultIndexing(pn, _cost, ec.getVariables(), inplaceResultVars, ec);
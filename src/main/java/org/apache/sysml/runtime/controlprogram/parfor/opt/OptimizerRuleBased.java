@@ -49,6 +49,7 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.ParameterizedBuiltinOp;
 import org.apache.sysml.hops.ReorgOp;
 import org.apache.sysml.hops.UnaryOp;
+import org.apache.sysml.hops.cost.CostProfile;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.hops.rewrite.ProgramRewriteStatus;
 import org.apache.sysml.hops.rewrite.ProgramRewriter;
@@ -161,6 +162,8 @@ public class OptimizerRuleBased extends Optimizer
 	protected int _lk   = -1; //local par
 	protected int _lkmaxCP = -1; //local max par (if only CP inst)
 	protected int _lkmaxMR = -1; //local max par (if also MR inst)
+	protected double _lkeff = -1; //local effective par (wrt compute throughput)
+	protected double _lcf = -1; //local compute factor (wrt default cost profile)
 	protected int _rnk  = -1; //remote num nodes
 	protected int _rk   = -1; //remote par (mappers)
 	protected int _rk2  = -1; //remote par (reducers)
@@ -300,6 +303,9 @@ public class OptimizerRuleBased extends Optimizer
 			// rewrite 11: task partitioning
 			rewriteSetTaskPartitioner( pn, false, false ); //flagLIX always false 
 			
+			// rewrite 11b: work stealing for fine-grained tasks
+			rewriteSetWorkStealing( pn );
+			
 			// rewrite 14: set in-place result indexing
 			HashSet<ResultVar> inplaceResultVars = new HashSet<>();
 			rewriteSetInPlaceResultIndexing(pn, _cost, ec.getVariables(), inplaceResultVars, ec);
@@ -349,6 +355,11 @@ public class OptimizerRuleBased extends Optimizer
 		_lkmaxMR = (int) Math.ceil( PAR_K_MR_FACTOR * _lk );
 		_lm      = OptimizerUtils.getLocalMemBudget();
 		
+		//local compute characteristics (calibrated if configured)
+		CostProfile prof = CostProfile.get();
+		_lkeff   = getEffectiveLocalParallelism(prof, _lk);
+		_lcf     = getLocalComputeFactor(prof);
+		
 		//spark-specific cluster characteristics
 		if( OptimizerUtils.isSparkExecutionMode() ) {
 			//we get all required cluster characteristics from spark's configuration
@@ -385,6 +396,33 @@ public class OptimizerRuleBased extends Optimizer
 		_rkmax2  = (int) Math.ceil( PAR_K_FACTOR * _rk2 ); 
 	}
 	
+	/**
+	 * Obtains the effective local parallelism, i.e., the calibrated speedup
+	 * of multi-threaded operations, or half the number of virtual cores
+	 * (to account for hyper-threading) if no calibrated parallelism exists.
+	 * 
+	 * @param prof cost profile
+	 * @param k local number of virtual cores
+	 * @return effective local parallelism
+	 */
+	public static double getEffectiveLocalParallelism(CostProfile prof, int k) {
+		return (prof.getParallelism() > 0) ?
+			Math.min(prof.getParallelism(), k) : (double)k/2;
+	}
+	
+	/**
+	 * Obtains the compute throughput of the local machine relative to the
+	 * default cost profile, which scales the minimum size of problems that
+	 * benefit from remote parfor (i.e., faster local machines require
+	 * larger problems to amortize the remote execution overhead).
+	 * 
+	 * @param prof cost profile
+	 * @return relative local compute throughput
+	 */
+	public static double getLocalComputeFactor(CostProfile prof) {
+		return prof.getFlops() / CostProfile.getDefault().getFlops();
+	}
+	
 	protected ExecType getRemoteExecType() {
 		return OptimizerUtils.isSparkExecutionMode() ? ExecType.SPARK : ExecType.MR;
 	}
@@ -816,8 +854,8 @@ public class OptimizerRuleBased extends Optimizer
 			int cpk = (int) Math.min( _lk, Math.floor( _lm / M ) ); //estimated local exploited par  
 			
 			//MR if local par cannot be exploited due to mem constraints (this implies that we work on large data)
-			//(the factor of 2 is to account for hyper-threading and in order prevent too eager remote parfor)
-			if( 2*cpk < _lk && 2*cpk < _N && 2*cpk < _rk ) //incl conditional partitioning
+			//(the effective local par accounts for hyper-threading and the factor of 2 prevents too eager remote parfor)
+			if( cpk < _lkeff && 2*cpk < _N && 2*cpk < _rk ) //incl conditional partitioning
 			{
 				n.setExecType( REMOTE ); //remote parfor
 			}
@@ -876,11 +914,13 @@ public class OptimizerRuleBased extends Optimizer
 		
 		//rule-based decision based on number of outer iterations or maximum number of
 		//inner iterations (w/ appropriately scaled minimum data size threshold); 
+		//the threshold is scaled by the relative local compute throughput
 		boolean isCtxCreated = OptimizerUtils.isSparkExecutionMode()
 				&& SparkExecutionContext.isSparkContextCreated();
-		return (_N >= PROB_SIZE_THRESHOLD_REMOTE && M > PROB_SIZE_THRESHOLD_MB)
+		double thresh = PROB_SIZE_THRESHOLD_MB * _lcf;
+		return (_N >= PROB_SIZE_THRESHOLD_REMOTE && M > thresh)
 			|| (_Nmax >= 10 * PROB_SIZE_THRESHOLD_REMOTE
-				&& M > PROB_SIZE_THRESHOLD_MB/(isCtxCreated?10:1));
+				&& M > thresh/(isCtxCreated?10:1));
 	}
 
 	protected boolean isCPOnlyPossible( OptNode n, double memBudget ) {
@@ -1411,6 +1451,14 @@ public class OptimizerRuleBased extends Optimizer
 			//preaggregate results (less write / less read by result merge)
 			setTaskPartitioner( pn, PTaskPartitioner.STATIC );
 		}
+		else if( pn.getExecType()==ExecType.CP && pn.getK() > 1 
+			&& _N/4 >= pn.getK() && hasVariableIterationCosts(pn) )
+		{
+			//for unknown or varying iteration costs, factoring's assumption of uniform
+			//costs may create too large tasks toward the end; hence we size the tasks 
+			//adaptively from measured task times (local parfor only)
+			setTaskPartitioner( pn, PTaskPartitioner.ADAPTIVE );
+		}
 		else if( _N/4 >= pn.getK() ) //to prevent imbalance due to ceiling
 		{
 			setTaskPartitioner( pn, PTaskPartitioner.FACTORING );
@@ -1420,6 +1468,29 @@ public class OptimizerRuleBased extends Optimizer
 			setTaskPartitioner( pn, PTaskPartitioner.NAIVE );
 		}
 	}
+	
+	/**
+	 * Indicates if the iteration costs of the parfor body are unknown or
+	 * potentially varying, i.e., if the body contains function calls, while
+	 * loops, or matrix operations of unknown size.
+	 * 
+	 * @param pn internal representation of a plan alternative for program blocks and instructions
+	 * @return true if iteration costs are unknown or varying
+	 */
+	protected static boolean hasVariableIterationCosts( OptNode pn ) {
+		for( OptNode n : pn.getNodeList() ) {
+			if( n == pn )
+				continue;
+			if( n.isNodeType(NodeType.FUNCCALL, NodeType.WHILE) )
+				return true;
+			if( n.getNodeType() == NodeType.HOP ) {
+				Hop h = OptTreeConverter.getAbstractPlanMapping().getMappedHop(n.getID());
+				if( h != null && h.getDataType().isMatrix() && !h.dimsKnown() )
+					return true;
+			}
+		}
+		return false;
+	}
 
 	protected void setTaskPartitioner( OptNode n, PTaskPartitioner partitioner )
 	{
@@ -1447,6 +1518,29 @@ public class OptimizerRuleBased extends Optimizer
 		LOG.debug(getOptMode()+" OPT: rewrite 'set task partitioner' - result="+partitioner+((flagLIX) ? ","+n.getParam(ParamType.TASK_SIZE) : "") );	
 	}
 	
+	///////
+	//REWRITE set work stealing
+	///
+
+	protected void rewriteSetWorkStealing(OptNode pn) 
+	{
+		ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
+			.getAbstractPlanMapping().getMappedProg(pn.getID())[1];
+		
+		//factoring creates many small tasks toward the end of the loop, which causes
+		//contention on the shared task queue and, for variable iteration costs, load
+		//imbalance; per-worker deques reduce contention and idle workers steal the
+		//smallest remaining tasks of others (local parfor only)
+		String tp = pn.getParam(ParamType.TASK_PARTITIONER);
+		boolean apply = pn.getExecType() == ExecType.CP && pn.getK() > 1
+			&& (PTaskPartitioner.FACTORING.name().equals(tp)
+				|| PTaskPartitioner.ADAPTIVE.name().equals(tp));
+		pfpb.setWorkStealing(apply);
+		
+		_numEvaluatedPlans++;
+		LOG.debug(getOptMode()+" OPT: rewrite 'set work stealing' - result="+apply );
+	}
+	
 	///////
 	//REWRITE set fused data partitioning / execution
 	///
@@ -2183,8 +2277,15 @@ public class OptimizerRuleBased extends Optimizer
 			ret = PResultMerge.LOCAL_AUTOMATIC;
 		}
 		
+		//parallel in-memory result merge of local parfor, if all worker results
+		//fit in memory (for empty outputs, parallel merge is always used at runtime)
+		boolean flagParallelMerge = !flagRemoteParFOR && n.getK() > 1
+			&& (ret == PResultMerge.LOCAL_MEM || ret == PResultMerge.LOCAL_AUTOMATIC)
+			&& hasOnlyInMemoryParallelResults(pfpb.getResultVariables(), vars, n.getK());
+		
 		// modify rtprog	
 		pfpb.setResultMerge(ret);
+		pfpb.setParallelResultMerge(flagParallelMerge);
 			
 		// modify plan
 		n.addParam(ParamType.RESULT_MERGE, ret.toString());
@@ -2194,7 +2295,20 @@ public class OptimizerRuleBased extends Optimizer
 			rInvokeSetResultMerge(n.getChilds(), vars, inLocal && !flagRemoteParFOR);
 		
 		_numEvaluatedPlans++;
-		LOG.debug(getOptMode()+" OPT: rewrite 'set result merge' - result="+ret );
+		LOG.debug(getOptMode()+" OPT: rewrite 'set result merge' - result="+ret+", parallel="+flagParallelMerge );
+	}
+	
+	protected boolean hasOnlyInMemoryParallelResults( ArrayList<ResultVar> resultVars, LocalVariableMap vars, int k ) {
+		//parallel merge pins all k worker results at once
+		for( ResultVar rVar : resultVars ) {
+			Data dat = vars.get(rVar._name);
+			if( !(dat instanceof MatrixObject) )
+				return false;
+			MatrixObject mo = (MatrixObject) dat;
+			if( !isInMemoryResultMerge(k * mo.getNumRows(), mo.getNumColumns(), OptimizerUtils.getLocalMemBudget()) )
+				return false;
+		}
+		return !resultVars.isEmpty();
 	}
 
 	protected boolean determineFlagCellFormatWoCompare( ArrayList<ResultVar> resultVars, LocalVariableMap vars  )
@@ -2319,7 +2433,8 @@ public class OptimizerRuleBased extends Optimizer
 			case STATIC:           W = N / k; break;
 			case FACTORING:
 			case FACTORING_CMIN:
-			case FACTORING_CMAX:   W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
+			case FACTORING_CMAX:
+			case ADAPTIVE:         W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
 			default:               W = N; break; //N as worst case estimate
 		}
 		
@@ -2376,13 +2491,8 @@ public class OptimizerRuleBased extends Optimizer
 
 	public static boolean isInMemoryResultMerge( long rows, long cols, double memBudget )
 	{
-		if( !ParForProgramBlock.USE_PARALLEL_RESULT_MERGE )
-		{
-			//1/4 mem budget because: 2xout (incl sparse-dense change), 1xin, 1xcompare  
-			return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/4 );
-		}
-		else
-			return ( rows>=0 && cols>=0 && rows*cols < Math.pow(Hop.CPThreshold, 2) );
+		//1/4 mem budget because: 2xout (incl sparse-dense change), 1xin, 1xcompare  
+		return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/4 );
 	}
 
 	
@@ -54,7 +54,9 @@ public enum Stat
 	PARWRK_TASKSIZE,
 	PARWRK_ITER_T,
 	PARWRK_TASK_T,
-	PARWRK_EXEC_T;
+	PARWRK_EXEC_T,
+	PARWRK_NUMSTEALS,
+	PARWRK_NUMIDLES;
 	
 
 }
@@ -199,6 +199,10 @@ public class StatisticMonitor
 						sb.append("       Num Tasks = "+ntasks+"\n");
 						sb.append("       Num Iters = "+niters+"\n");
 						sb.append("       Time EXEC = "+stats2.get(Stat.PARWRK_EXEC_T).get(0)+"ms\n");
+						if( stats2.containsKey(Stat.PARWRK_NUMSTEALS) ) {
+							sb.append("       Num Steals = "+(int)(double)stats2.get(Stat.PARWRK_NUMSTEALS).get(0)+"\n");
+							sb.append("       Num Idles = "+(int)(double)stats2.get(Stat.PARWRK_NUMIDLES).get(0)+"\n");
+						}
 						
 						LinkedList<Double> taskexec = stats2.get(Stat.PARWRK_TASK_T);
 						LinkedList<Double> tasksize = stats2.get(Stat.PARWRK_TASKSIZE);
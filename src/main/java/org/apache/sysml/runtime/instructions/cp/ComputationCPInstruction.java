@@ -23,6 +23,8 @@ import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.lineage.LineageItem;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 
@@ -52,6 +54,18 @@ public abstract class ComputationCPInstruction extends CPInstruction {
 	public String getOutputVariableName() {
 		return output.getName();
 	}
+	
+	/**
+	 * Obtains the lineage of the output, which is by default defined by the
+	 * opcode and the lineage of all inputs. Instructions with additional
+	 * parameters that affect the output need to override this method.
+	 * 
+	 * @param ec execution context
+	 * @return lineage item, or null if any input is not traceable
+	 */
+	public LineageItem getLineageItem(ExecutionContext ec) {
+		return LineageItem.create(getOpcode(), ec.getLineageItems(input1, input2, input3));
+	}
 
 	protected boolean checkGuardedRepresentationChange( MatrixBlock in1, MatrixBlock out ) {
 		return checkGuardedRepresentationChange(in1, null, out);
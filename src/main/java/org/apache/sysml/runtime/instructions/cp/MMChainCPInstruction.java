@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.instructions.cp;
 import org.apache.sysml.lops.MapMultChain.ChainType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.lineage.LineageItem;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 
@@ -82,6 +83,12 @@ public class MMChainCPInstruction extends UnaryCPInstruction {
 			ec.releaseMatrixInput(input3.getName(), getExtendedOpcode());
 	}
 	
+	@Override
+	public LineageItem getLineageItem(ExecutionContext ec) {
+		return LineageItem.create(getOpcode()+"_"+_type.name(),
+			ec.getLineageItems(input1, input2, input3));
+	}
+	
 	public ChainType getMMChainType()
 	{
 		return _type;
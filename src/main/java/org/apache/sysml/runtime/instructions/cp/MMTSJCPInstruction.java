@@ -23,6 +23,7 @@ import org.apache.sysml.lops.MMTSJ.MMTSJType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.lineage.LineageItem;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 
@@ -66,6 +67,11 @@ public class MMTSJCPInstruction extends UnaryCPInstruction {
 		ec.releaseMatrixInput(input1.getName(), getExtendedOpcode());
 	}
 	
+	@Override
+	public LineageItem getLineageItem(ExecutionContext ec) {
+		return LineageItem.create(getOpcode()+"_"+_type.name(), ec.getLineageItems(input1));
+	}
+	
 	public MMTSJType getMMTSJType()
 	{
 		return _type;
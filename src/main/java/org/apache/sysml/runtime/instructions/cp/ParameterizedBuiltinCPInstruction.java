@@ -19,6 +19,7 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -26,6 +27,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.ParameterizedBuiltinFunctionExpression;
 import org.apache.sysml.parser.Statement;
@@ -39,10 +41,15 @@ import org.apache.sysml.runtime.functionobjects.ParameterizedBuiltin;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.mr.GroupedAggregateInstruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
+import org.apache.sysml.runtime.transform.TfStreamingApply;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.decode.Decoder;
 import org.apache.sysml.runtime.transform.decode.DecoderFactory;
@@ -245,6 +252,31 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			ec.setMatrixOutput(output.getName(), ret, getExtendedOpcode());
 			ec.releaseMatrixInput(params.get("target"), getExtendedOpcode());
 		}
+		else if ( opcode.equalsIgnoreCase("transformapply")
+			&& TfStreamingApply.isStreamingApplicable(ec.getFrameObject(params.get("target"))) ) {
+			//streaming transformapply over large csv inputs (chunk-wise read,
+			//apply, and binary block write, w/o in-memory input and output)
+			FrameObject fo = ec.getFrameObject(params.get("target"));
+			FrameBlock meta = ec.getFrameInput(params.get("meta"));
+			MatrixObject mo = ec.getMatrixObject(output.getName());
+			int k = params.containsKey("k") ? Integer.parseInt(params.get("k")) : 1;
+			int brlen = (mo.getNumRowsPerBlock() > 0) ?
+				(int)mo.getNumRowsPerBlock() : ConfigurationManager.getBlocksize();
+			int bclen = (mo.getNumColumnsPerBlock() > 0) ?
+				(int)mo.getNumColumnsPerBlock() : ConfigurationManager.getBlocksize();
+			try {
+				MatrixCharacteristics mc = TfStreamingApply.transformApply(fo,
+					params.get("spec"), meta, mo.getFileName(), brlen, bclen, k);
+				mo.setMetaData(new MetaDataFormat(mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+				mo.setHDFSFileExists(true);
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException("Failed to execute streaming transformapply.", ex);
+			}
+			
+			//release locks
+			ec.releaseFrameInput(params.get("meta"));
+		}
 		else if ( opcode.equalsIgnoreCase("transformapply")) {
 			//acquire locks
 			FrameBlock data = ec.getFrameInput(params.get("target"));
@@ -252,8 +284,9 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			String[] colNames = data.getColumnNames();
 			
 			//compute transformapply
+			int k = params.containsKey("k") ? Integer.parseInt(params.get("k")) : 1;
 			Encoder encoder = EncoderFactory.createEncoder(params.get("spec"), colNames, data.getNumColumns(), meta);
-			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false));
+			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false), k);
 			
 			//release locks
 			ec.setMatrixOutput(output.getName(), mbout, getExtendedOpcode());
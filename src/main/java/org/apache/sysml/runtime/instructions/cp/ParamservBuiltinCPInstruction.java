@@ -19,12 +19,16 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import static org.apache.sysml.parser.Statement.PSCheckpointing;
 import static org.apache.sysml.parser.Statement.PSFrequency;
 import static org.apache.sysml.parser.Statement.PSModeType;
 import static org.apache.sysml.parser.Statement.PSScheme;
 import static org.apache.sysml.parser.Statement.PSUpdateType;
 import static org.apache.sysml.parser.Statement.PS_AGGREGATION_FUN;
+import static org.apache.sysml.parser.Statement.PSCompression;
 import static org.apache.sysml.parser.Statement.PS_BATCH_SIZE;
+import static org.apache.sysml.parser.Statement.PS_CHECKPOINTING;
+import static org.apache.sysml.parser.Statement.PS_COMPRESSION;
 import static org.apache.sysml.parser.Statement.PS_EPOCHS;
 import static org.apache.sysml.parser.Statement.PS_FEATURES;
 import static org.apache.sysml.parser.Statement.PS_FREQUENCY;
@@ -34,13 +38,17 @@ import static org.apache.sysml.parser.Statement.PS_MODE;
 import static org.apache.sysml.parser.Statement.PS_MODEL;
 import static org.apache.sysml.parser.Statement.PS_PARALLELISM;
 import static org.apache.sysml.parser.Statement.PS_SCHEME;
+import static org.apache.sysml.parser.Statement.PS_STALENESS;
 import static org.apache.sysml.parser.Statement.PS_UPDATE_FUN;
 import static org.apache.sysml.parser.Statement.PS_UPDATE_TYPE;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -65,6 +73,7 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.paramserv.LocalPSWorker;
 import org.apache.sysml.runtime.controlprogram.paramserv.LocalParamServer;
+import org.apache.sysml.runtime.controlprogram.paramserv.PSCheckpointer;
 import org.apache.sysml.runtime.controlprogram.paramserv.ParamServer;
 import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
 import org.apache.sysml.runtime.controlprogram.paramserv.SparkPSBody;
@@ -74,6 +83,7 @@ import org.apache.sysml.runtime.controlprogram.paramserv.dp.LocalDataPartitioner
 import org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcFactory;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.util.ProgramConverter;
 import org.apache.sysml.utils.Statistics;
@@ -85,6 +95,9 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	private static final PSScheme DEFAULT_SCHEME = PSScheme.DISJOINT_CONTIGUOUS;
 	private static final PSModeType DEFAULT_MODE = PSModeType.LOCAL;
 	private static final PSUpdateType DEFAULT_TYPE = PSUpdateType.ASP;
+	private static final int DEFAULT_STALENESS = 3;
+	private static final PSCompression DEFAULT_COMPRESSION = PSCompression.NONE;
+	private static final PSCheckpointing DEFAULT_CHECKPOINTING = PSCheckpointing.NONE;
 
 	//internal local debug level
 	private static final boolean LDEBUG = false;
@@ -133,15 +146,22 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		// Create the agg service's execution context
 		ExecutionContext aggServiceEC = ParamservUtils.copyExecutionContext(newEC, 1).get(0);
 
-		// Create the parameter server
+		// Create the parameter server (resumed from the latest checkpoint, if any)
 		ListObject model = sec.getListObject(getParam(PS_MODEL));
-		ParamServer ps = createPS(mode, aggFunc, getUpdateType(), workerNum, model, aggServiceEC);
+		PSCheckpointer ckpt = createCheckpointer(sec, model);
+		PSCheckpointer.Checkpoint resume = readCheckpoint(ckpt, model);
+		int startEpoch = (resume != null) ? resume.epoch : 0;
+		ParamServer ps = createPS(mode, aggFunc, getUpdateType(), workerNum,
+			(resume != null) ? resume.model : model, aggServiceEC);
+		if (ckpt != null)
+			ps.setCheckpointer(ckpt, startEpoch);
 
 		// Get driver host
 		String host = sec.getSparkContext().getConf().get("spark.driver.host");
 
 		// Create the netty server for ps
-		TransportServer server = PSRpcFactory.createServer(sec.getSparkContext().getConf(),(LocalParamServer) ps, host); // Start the server
+		PSCompression compression = getCompression();
+		TransportServer server = PSRpcFactory.createServer(sec.getSparkContext().getConf(),(LocalParamServer) ps, host, compression); // Start the server
 
 		// Force all the instructions to CP type
 		Recompiler.recompileProgramBlockHierarchy2Forced(
@@ -164,21 +184,25 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		
 		// Create remote workers
 		SparkPSWorker worker = new SparkPSWorker(getParam(PS_UPDATE_FUN), getParam(PS_AGGREGATION_FUN), 
-			getFrequency(), getEpochs(), getBatchSize(), program, clsMap, sec.getSparkContext().getConf(),
-			server.getPort(), aSetup, aWorker, aUpdate, aIndex, aGrad, aRPC, aBatch, aEpoch);
+			getFrequency(), Math.max(getEpochs() - startEpoch, 0), getBatchSize(), program, clsMap, sec.getSparkContext().getConf(),
+			server.getPort(), compression, aSetup, aWorker, aUpdate, aIndex, aGrad, aRPC, aBatch, aEpoch);
 
 		if (ConfigurationManager.isStatistics())
 			Statistics.accPSSetupTime((long) tSetup.stop());
 
 		MatrixObject features = sec.getMatrixObject(getParam(PS_FEATURES));
 		MatrixObject labels = sec.getMatrixObject(getParam(PS_LABELS));
+		boolean success = false;
 		try {
 			ParamservUtils.doPartitionOnSpark(sec, features, labels, getScheme(), workerNum) // Do data partitioning
 				.foreach(worker); // Run remote workers
+			success = true;
 		} catch (Exception e) {
 			throw new DMLRuntimeException("Paramserv function failed: ", e);
 		} finally {
 			server.close(); // Stop the netty server
+			if (ckpt != null)
+				ckpt.close(success); // Keep checkpoints only on failure
 		}
 
 		// Accumulate the statistics for remote workers
@@ -217,13 +241,19 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		PSFrequency freq = getFrequency();
 		PSUpdateType updateType = getUpdateType();
 
-		// Create the parameter server
+		// Create the parameter server (resumed from the latest checkpoint, if any)
 		ListObject model = ec.getListObject(getParam(PS_MODEL));
-		ParamServer ps = createPS(mode, aggFunc, updateType, workerNum, model, aggServiceEC);
+		PSCheckpointer ckpt = createCheckpointer(ec, model);
+		PSCheckpointer.Checkpoint resume = readCheckpoint(ckpt, model);
+		int epochs = Math.max(getEpochs() - ((resume != null) ? resume.epoch : 0), 0);
+		ParamServer ps = createPS(mode, aggFunc, updateType, workerNum,
+			(resume != null) ? resume.model : model, aggServiceEC);
+		if (ckpt != null)
+			ps.setCheckpointer(ckpt, (resume != null) ? resume.epoch : 0);
 
 		// Create the local workers
 		List<LocalPSWorker> workers = IntStream.range(0, workerNum)
-			.mapToObj(i -> new LocalPSWorker(i, updFunc, freq, getEpochs(), getBatchSize(), workerECs.get(i), ps))
+			.mapToObj(i -> new LocalPSWorker(i, updFunc, freq, epochs, getBatchSize(), workerECs.get(i), ps))
 			.collect(Collectors.toList());
 
 		// Do data partition
@@ -240,16 +270,20 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 				mode, workerNum, freq, updateType, scheme));
 		}
 
+		boolean success = false;
 		try {
 			// Launch the worker threads and wait for completion
 			for (Future<Void> ret : es.invokeAll(workers))
 				ret.get(); //error handling
 			// Fetch the final model from ps
 			ec.setVariable(output.getName(), ps.getResult());
+			success = true;
 		} catch (InterruptedException | ExecutionException e) {
 			throw new DMLRuntimeException("ParamservBuiltinCPInstruction: some error occurred: ", e);
 		} finally {
 			es.shutdownNow();
+			if (ckpt != null)
+				ckpt.close(success); // Keep checkpoints only on failure
 		}
 	}
 
@@ -299,11 +333,134 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		} catch (IllegalArgumentException e) {
 			throw new DMLRuntimeException(String.format("Paramserv function: not support update type '%s'.", getParam(PS_UPDATE_TYPE)));
 		}
-		if (updType == PSUpdateType.SSP)
-			throw new DMLRuntimeException("Paramserv function: Not support update type SSP.");
 		return updType;
 	}
 
+	private int getStaleness() {
+		if (!getParameterMap().containsKey(PS_STALENESS)) {
+			return DEFAULT_STALENESS;
+		}
+		int staleness = Integer.valueOf(getParam(PS_STALENESS));
+		if (staleness < 0) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "The argument '%s' could not be less than 0.", PS_STALENESS));
+		}
+		return staleness;
+	}
+
+	private PSCompression getCompression() {
+		if (!getParameterMap().containsKey(PS_COMPRESSION)) {
+			return DEFAULT_COMPRESSION;
+		}
+		try {
+			return PSCompression.valueOf(getParam(PS_COMPRESSION));
+		} catch (IllegalArgumentException e) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "not support '%s' compression.", getParam(PS_COMPRESSION)));
+		}
+	}
+
+	private PSCheckpointing getCheckpointing() {
+		if (!getParameterMap().containsKey(PS_CHECKPOINTING)) {
+			return DEFAULT_CHECKPOINTING;
+		}
+		try {
+			return PSCheckpointing.valueOf(getParam(PS_CHECKPOINTING));
+		} catch (IllegalArgumentException e) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "not support '%s' checkpointing.", getParam(PS_CHECKPOINTING)));
+		}
+	}
+
+	/**
+	 * Create the model checkpointer, where checkpoints are identified by the
+	 * output variable and a fingerprint of the paramserv call, i.e., of its
+	 * parameters (except the number of epochs, which allows resuming with more
+	 * epochs), the initial model, the hyperparameters, and the training data.
+	 * Hence, a checkpoint is only resumed by an identical call.
+	 *
+	 * @param ec execution context
+	 * @param model initial model
+	 * @return checkpointer or null if checkpointing is disabled
+	 */
+	private PSCheckpointer createCheckpointer(ExecutionContext ec, ListObject model) {
+		PSCheckpointing checkpointing = getCheckpointing();
+		if (checkpointing == PSCheckpointing.NONE)
+			return null;
+		StringBuilder sb = new StringBuilder();
+		new TreeMap<>(getParameterMap()).forEach((k, v) -> {
+			if (!k.equals(PS_EPOCHS) && !k.equals(PS_CHECKPOINTING))
+				sb.append(k).append('=').append(v).append(';');
+		});
+		appendFingerprint(sb, model);
+		if (getParameterMap().containsKey(PS_HYPER_PARAMS))
+			appendFingerprint(sb, ec.getListObject(getParam(PS_HYPER_PARAMS)));
+		appendFingerprint(sb, ec.getMatrixObject(getParam(PS_FEATURES)));
+		appendFingerprint(sb, ec.getMatrixObject(getParam(PS_LABELS)));
+		String key = output.getName().replaceAll("[^A-Za-z0-9_]", "_") + "_"
+			+ UUID.nameUUIDFromBytes(sb.toString().getBytes(StandardCharsets.UTF_8)).toString().replace("-", "");
+		return new PSCheckpointer(key, checkpointing);
+	}
+
+	private static void appendFingerprint(StringBuilder sb, Data dat) {
+		if (dat instanceof MatrixObject) {
+			//dimensions and aggregates as inexpensive content identity
+			MatrixBlock mb = ((MatrixObject) dat).acquireReadAndRelease();
+			sb.append(mb.getNumRows()).append('x').append(mb.getNumColumns()).append(',')
+				.append(mb.getNonZeros()).append(',').append(mb.sum()).append(',').append(mb.sumSq());
+		}
+		else if (dat instanceof ScalarObject) {
+			sb.append(((ScalarObject) dat).getStringValue());
+		}
+		else if (dat instanceof ListObject) {
+			ListObject lo = (ListObject) dat;
+			sb.append('[');
+			for (int i = 0; i < lo.getLength(); i++) {
+				if (lo.isNamedList())
+					sb.append(lo.getName(i)).append('=');
+				appendFingerprint(sb, lo.slice(i));
+				sb.append(';');
+			}
+			sb.append(']');
+		}
+		else {
+			sb.append(dat.getDataType());
+		}
+		sb.append(';');
+	}
+
+	/**
+	 * Read the latest checkpoint if it matches the shape of the given model.
+	 *
+	 * @param ckpt checkpointer (optional)
+	 * @param model initial model
+	 * @return checkpoint or null if there is no valid checkpoint
+	 */
+	private PSCheckpointer.Checkpoint readCheckpoint(PSCheckpointer ckpt, ListObject model) {
+		PSCheckpointer.Checkpoint ret = (ckpt != null) ? ckpt.readLatest() : null;
+		if (ret == null)
+			return null;
+		boolean valid = ret.model.getLength() == model.getLength();
+		for (int i = 0; valid && i < model.getLength(); i++) {
+			Data d1 = model.slice(i), d2 = ret.model.slice(i);
+			valid = d1.getDataType() == d2.getDataType();
+			if (valid && d1 instanceof MatrixObject) {
+				MatrixBlock mb1 = ((MatrixObject) d1).acquireReadAndRelease();
+				MatrixBlock mb2 = ((MatrixObject) d2).acquireReadAndRelease();
+				valid = mb1.getNumRows() == mb2.getNumRows() && mb1.getNumColumns() == mb2.getNumColumns();
+			}
+		}
+		if (!valid) {
+			LOG.warn(String.format("Paramserv function: ignored checkpoint in %s "
+				+ "that does not match the given model.", ckpt.getDirectory()));
+			ckpt.clear();
+			return null;
+		}
+		LOG.warn(String.format("Paramserv function: RESUMING from checkpoint in %s after %d completed epochs "
+			+ "(delete this directory to start training from the given model).", ckpt.getDirectory(), ret.epoch));
+		return ret;
+	}
+
 	private PSFrequency getFrequency() {
 		if (!getParameterMap().containsKey(PS_FREQUENCY)) {
 			return DEFAULT_UPDATE_FREQUENCY;
@@ -348,7 +505,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		switch (mode) {
 			case LOCAL:
 			case REMOTE_SPARK:
-				return LocalParamServer.create(model, aggFunc, updateType, ec, workerNum);
+				return LocalParamServer.create(model, aggFunc, updateType, getStaleness(), ec, workerNum);
 			default:
 				throw new DMLRuntimeException("Unsupported parameter server: "+mode.name());
 		}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Lightweight compression of binary blocks, used for binary-block files and
+ * local evictions. Binary-block files are written as record-compressed
+ * sequence files with a configurable Hadoop codec, which keeps them readable
+ * by all existing readers via the sequence file header. Local eviction files
+ * are deflated at best speed behind a magic number header. In both cases,
+ * compression is only applied if sparsity and sampled value statistics
+ * indicate a worthwhile compression ratio. This decision is made once per
+ * file, i.e., per matrix for binary-block files (whose codec is part of the
+ * sequence file header), and per block for local evictions.
+ */
+public class BlockCodec 
+{
+	public static final String CODEC_NONE = "none";
+	public static final String CODEC_DEFLATE = "deflate";
+	
+	//header of compressed local files (negative, i.e., never a valid number of rows)
+	public static final int COMPRESSED_MAGIC = 0xDEC0DE5A;
+	
+	//sample size and thresholds of the compressibility check
+	private static final int SAMPLE_SIZE = 4096;
+	private static final double MIN_ZERO_RATIO = 0.3;
+	private static final double MAX_DISTINCT_RATIO = 0.25;
+	
+	/**
+	 * Indicates if the given block is expected to compress well. Frames
+	 * (strings and meta data) and blocks that are sparse on disk (redundant
+	 * column indexes) are always compressible, while dense blocks are only
+	 * compressible if a sample of cells contains many zeros or few distinct
+	 * values. Dense blocks of random doubles are hence written uncompressed.
+	 * 
+	 * @param cb cache block
+	 * @return true if the block should be compressed
+	 */
+	public static boolean isCompressible(CacheBlock cb) {
+		if( cb instanceof FrameBlock )
+			return true;
+		MatrixBlock mb = (MatrixBlock) cb;
+		if( mb.isEmptyBlock(false) )
+			return false; //header only
+		if( mb.evalSparseFormatOnDisk() )
+			return true;
+		
+		//sample cells w/ fixed seed for ratios of zeros and distinct values
+		int clen = mb.getNumColumns();
+		long len = (long)mb.getNumRows() * clen;
+		int n = (int)Math.min(len, SAMPLE_SIZE);
+		Random rand = new Random(7);
+		HashSet<Double> distinct = new HashSet<>();
+		int zeros = 0;
+		for( int i=0; i<n; i++ ) {
+			long ix = (n < len) ? (long)(rand.nextDouble() * len) : i;
+			double val = mb.quickGetValue((int)(ix / clen), (int)(ix % clen));
+			zeros += (val == 0) ? 1 : 0;
+			distinct.add(val);
+		}
+		return zeros >= MIN_ZERO_RATIO * n
+			|| distinct.size() <= MAX_DISTINCT_RATIO * n;
+	}
+	
+	/**
+	 * Creates the configured codec for binary-block writes of the given
+	 * matrix, if compression is enabled and the matrix is compressible.
+	 * Since the codec applies to the entire sequence file, the decision
+	 * is made once for the entire matrix, not per block.
+	 * 
+	 * @param conf hadoop configuration
+	 * @param src matrix block to write
+	 * @return compression codec, or null if written uncompressed
+	 */
+	public static CompressionCodec createCodec(Configuration conf, MatrixBlock src) {
+		String name = ConfigurationManager.getDMLConfig()
+			.getTextValue(DMLConfig.IO_COMPRESSION_CODEC).trim();
+		if( name.equalsIgnoreCase(CODEC_NONE) || !isCompressible(src) )
+			return null;
+		if( name.equalsIgnoreCase(CODEC_DEFLATE) )
+			return ReflectionUtils.newInstance(DefaultCodec.class, conf);
+		try {
+			Class<?> clazz = Class.forName(name);
+			return (CompressionCodec) ReflectionUtils.newInstance(clazz, conf);
+		}
+		catch(ClassNotFoundException | ClassCastException ex) {
+			throw new DMLRuntimeException("Invalid value ("+name+") for the configuration "
+				+ DMLConfig.IO_COMPRESSION_CODEC + ".", ex);
+		}
+	}
+}
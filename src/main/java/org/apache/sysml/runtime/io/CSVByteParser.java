@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte-level tokenizer and number parser for numeric delimited lines, which
+ * operates directly on the (reused) byte buffer of a line and hence avoids the
+ * creation of intermediate strings per line and cell. The tokenization follows
+ * the semantics of {@link IOUtilFunctions#split(String, String)} over the trimmed
+ * line, i.e., splits by whole (potentially multi-character) delimiters and
+ * preserves empty tokens. Cell values are trimmed as well.
+ *
+ * Doubles whose decimal mantissa (all significant digits without the decimal
+ * point and trailing zeros) is at most 2^53, and whose resulting decimal exponent
+ * is in [-22,22], are parsed exactly via a single floating point multiplication
+ * or division of two exactly representable doubles. All other inputs (e.g., NaN,
+ * Infinity, mantissas of more than 15-16 significant digits) fall back to
+ * {@link Double#parseDouble(String)}.
+ *
+ * NOTE: This parser is not thread-safe and meant to be used per read task.
+ */
+public class CSVByteParser
+{
+	private static final double[] POW10 = new double[] {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+	//mantissas up to 2^53 (16 digits) are exactly representable as doubles
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+	private static final int MAX_DIGITS = 16;
+
+	private final byte[] _delim;
+
+	//current line and cell positions
+	private byte[] _buf = null;
+	private int _end = 0;   //end of trimmed line
+	private int _pos = 0;   //start of next cell
+	private int _cbeg = 0;  //start of current (trimmed) cell
+	private int _cend = 0;  //end of current (trimmed) cell
+	private boolean _done = true;
+
+	public CSVByteParser(String delim) {
+		_delim = delim.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Resets the parser to the given line, which is trimmed
+	 * similar to {@link String#trim()}.
+	 *
+	 * @param buf byte buffer of UTF-8 encoded line
+	 * @param len length of line in the buffer
+	 */
+	public void reset(byte[] buf, int len) {
+		int beg = 0;
+		while( beg < len && isWhitespace(buf[beg]) )
+			beg++;
+		while( len > beg && isWhitespace(buf[len-1]) )
+			len--;
+		_buf = buf;
+		_pos = beg;
+		_end = len;
+		_done = (beg == len); //no tokens for empty lines
+	}
+
+	/**
+	 * Advances to the next cell of the current line.
+	 *
+	 * @return true if a next cell exists
+	 */
+	public boolean next() {
+		if( _done )
+			return false;
+
+		//find next delimiter or end of line
+		int dpos = indexOfDelim(_pos);
+		int cend = (dpos >= 0) ? dpos : _end;
+
+		//trim cell
+		int cbeg = _pos;
+		while( cbeg < cend && isWhitespace(_buf[cbeg]) )
+			cbeg++;
+		while( cend > cbeg && isWhitespace(_buf[cend-1]) )
+			cend--;
+		_cbeg = cbeg;
+		_cend = cend;
+
+		//advance position (incl trailing empty token)
+		if( dpos >= 0 )
+			_pos = dpos + _delim.length;
+		else
+			_done = true;
+		return true;
+	}
+
+	public boolean isEmptyCell() {
+		return _cbeg == _cend;
+	}
+
+	/**
+	 * Parses the current cell as double.
+	 *
+	 * @return double value
+	 */
+	public double parseDouble() {
+		return parseDouble(_buf, _cbeg, _cend);
+	}
+
+	@Override
+	public String toString() {
+		return (_buf != null) ? new String(_buf, 0, _end, StandardCharsets.UTF_8) : "";
+	}
+
+	/**
+	 * Parses a double from the given byte range without intermediate strings
+	 * if the value can be represented exactly, otherwise via a fallback to
+	 * {@link Double#parseDouble(String)}.
+	 *
+	 * @param b byte buffer
+	 * @param beg begin position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return double value
+	 */
+	public static double parseDouble(byte[] b, int beg, int end) {
+		int i = beg;
+		boolean neg = false;
+		if( i < end && (b[i] == '-' || b[i] == '+') )
+			neg = (b[i++] == '-');
+
+		long mant = 0;
+		int ndigits = 0;
+		int exp10 = 0;
+		boolean digits = false;
+		boolean exact = true;
+
+		//integer part
+		for( ; i < end && isDigit(b[i]); i++ ) {
+			digits = true;
+			if( ndigits < MAX_DIGITS ) {
+				mant = mant * 10 + (b[i] - '0');
+				ndigits += (mant != 0) ? 1 : 0;
+			}
+			else {
+				exact &= (b[i] == '0');
+				exp10++;
+			}
+		}
+		//fractional part
+		if( i < end && b[i] == '.' ) {
+			for( i++; i < end && isDigit(b[i]); i++ ) {
+				digits = true;
+				if( ndigits < MAX_DIGITS ) {
+					mant = mant * 10 + (b[i] - '0');
+					ndigits += (mant != 0) ? 1 : 0;
+					exp10--;
+				}
+				else
+					exact &= (b[i] == '0');
+			}
+		}
+		//exponent
+		if( digits && i < end && (b[i] == 'e' || b[i] == 'E') ) {
+			i++;
+			boolean eneg = false;
+			if( i < end && (b[i] == '-' || b[i] == '+') )
+				eneg = (b[i++] == '-');
+			int exp = 0;
+			boolean edigits = false;
+			for( ; i < end && isDigit(b[i]); i++ ) {
+				edigits = true;
+				exp = Math.min(exp * 10 + (b[i] - '0'), 10000);
+			}
+			exact &= edigits;
+			exp10 += eneg ? -exp : exp;
+		}
+
+		//fast path for exactly representable mantissa and power of ten
+		//(non-zero digits beyond MAX_DIGITS already disabled the fast path)
+		if( digits && exact && i == end && mant <= MAX_EXACT_MANTISSA
+			&& exp10 >= -22 && exp10 <= 22 ) {
+			double ret = (exp10 >= 0) ? mant * POW10[exp10] : mant / POW10[-exp10];
+			return neg ? -ret : ret;
+		}
+
+		//fallback for special values, long mantissas, and large exponents
+		return IOUtilFunctions.parseDoubleParallel(
+			new String(b, beg, end-beg, StandardCharsets.UTF_8));
+	}
+
+	private int indexOfDelim(int from) {
+		byte[] buf = _buf;
+		byte[] delim = _delim;
+		byte d0 = delim[0];
+		int last = _end - delim.length;
+		for( int i = from; i <= last; i++ ) {
+			if( buf[i] != d0 )
+				continue;
+			int j = 1;
+			while( j < delim.length && buf[i+j] == delim[j] )
+				j++;
+			if( j == delim.length )
+				return i;
+		}
+		return -1;
+	}
+
+	private static boolean isDigit(byte c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isWhitespace(byte c) {
+		//consistent with String.trim (non-ASCII bytes are negative)
+		return c >= 0 && c <= ' ';
+	}
+}
@@ -21,6 +21,8 @@ package org.apache.sysml.runtime.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -40,6 +42,7 @@ import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.util.InputStreamInputFormat;
+import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
@@ -83,6 +86,9 @@ public class FrameReaderTextCSV extends FrameReader
 		//core read (sequential/parallel) 
 		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 		
+		//dictionary-encode string columns of low cardinality
+		ret.dictionaryEncodeStringColumns();
+		
 		return ret;
 	}
 	
@@ -101,9 +107,54 @@ public class FrameReaderTextCSV extends FrameReader
 		InputSplit split = informat.getSplits(null, 1)[0];
 		readCSVFrameFromInputSplit(split, informat, null, ret, schema, names, rlen, clen, 0, true);
 		
+		//dictionary-encode string columns of low cardinality
+		ret.dictionaryEncodeStringColumns();
+		
 		return ret;
 	}
 
+	/**
+	 * Reads the given csv file in chunks of input splits of at most the given
+	 * size, where each chunk is read on demand into a separate frame block. 
+	 * Hence, the memory requirements are bounded by the chunk size instead of 
+	 * the size of the entire file. The header, if existing, is only available
+	 * as column names of the first chunk.
+	 * 
+	 * @param fname file name
+	 * @param schema value types of columns
+	 * @param names column names
+	 * @param clen number of columns, or -1 if unknown
+	 * @param chunkSize maximum chunk size in bytes
+	 * @return iterator over frame blocks in order of splits
+	 * @throws IOException if IOException occurs
+	 */
+	public Iterator<FrameBlock> readFrameChunksFromHDFS(String fname, ValueType[] schema, 
+			String[] names, long clen, long chunkSize)
+		throws IOException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		checkValidInputFile(fs, path);
+		
+		//create splits of at most the chunk size 
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		long fsize = MapReduceTool.getFilesizeOnHDFS(path);
+		int numChunks = (int)Math.max(Math.ceil((double)fsize/chunkSize), 1);
+		InputSplit[] splits = informat.getSplits(job, numChunks);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+		
+		//compute number of columns if necessary
+		if( clen <= 0 )
+			clen = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
+		
+		return new ChunkIterator(splits, informat, job, 
+			createOutputSchema(schema, clen), createOutputNames(names, clen), clen);
+	}
+	
 	protected void readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
 			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen) 
 		throws IOException
@@ -202,28 +253,79 @@ public class FrameReaderTextCSV extends FrameReader
 		//compute number of rows
 		int nrow = 0;
 		for( int i=0; i<splits.length; i++ ) 
+			nrow += countRows(splits[i], informat, job, i==0);
+		return new Pair<>(nrow, ncol);
+	}
+	
+	protected final int countRows( InputSplit split, InputFormat<LongWritable,Text> informat, JobConf job, boolean first) 
+		throws IOException 
+	{
+		RecordReader<LongWritable, Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
+		LongWritable key = new LongWritable();
+		Text value = new Text();
+		int nrow = 0;
+		
+		try
 		{
-			RecordReader<LongWritable, Text> reader = informat.getRecordReader(splits[i], job, Reporter.NULL);
-			LongWritable key = new LongWritable();
-			Text value = new Text();
+			//ignore header of first split
+			if( first && _props.hasHeader() )
+				reader.next(key, value);
 			
-			try
-			{
-				//ignore header of first split
-				if( i==0 && _props.hasHeader() )
-					reader.next(key, value);
-				
-				//count remaining number of rows, ignore meta data
-				while ( reader.next(key, value) ) {
-					String val = value.toString();
-					nrow += ( val.startsWith(TfUtils.TXMTD_MVPREFIX)
-						|| val.startsWith(TfUtils.TXMTD_NDPREFIX)) ? 0 : 1; 
-				}
+			//count remaining number of rows, ignore meta data
+			while ( reader.next(key, value) ) {
+				String val = value.toString();
+				nrow += ( val.startsWith(TfUtils.TXMTD_MVPREFIX)
+					|| val.startsWith(TfUtils.TXMTD_NDPREFIX)) ? 0 : 1; 
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		return nrow;
+	}
+	
+	private class ChunkIterator implements Iterator<FrameBlock>
+	{
+		private final InputSplit[] _splits;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final ValueType[] _schema;
+		private final String[] _names;
+		private final long _clen;
+		private int _pos = 0;
+		
+		public ChunkIterator(InputSplit[] splits, TextInputFormat informat, JobConf job, 
+				ValueType[] schema, String[] names, long clen) {
+			_splits = splits;
+			_informat = informat;
+			_job = job;
+			_schema = schema;
+			_names = names;
+			_clen = clen;
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return _pos < _splits.length;
+		}
+
+		@Override
+		public FrameBlock next() {
+			if( !hasNext() )
+				throw new NoSuchElementException();
+			try {
+				//count and read rows of the next split
+				boolean first = (_pos == 0);
+				int nrow = countRows(_splits[_pos], _informat, _job, first);
+				FrameBlock ret = createOutputFrameBlock(_schema, _names, nrow);
+				readCSVFrameFromInputSplit(_splits[_pos], _informat, _job, 
+					ret, _schema, _names, nrow, _clen, 0, first);
+				_pos++;
+				return ret;
 			}
-			finally {
-				IOUtilFunctions.closeSilently(reader);
+			catch(IOException ex) {
+				throw new DMLRuntimeException("Failed to read csv chunk "+(_pos+1)+".", ex);
 			}
 		}
-		return new Pair<>(nrow, ncol);
 	}
 }
@@ -67,6 +67,9 @@ public class FrameReaderTextCell extends FrameReader
 		//core read (sequential/parallel)
 		readTextCellFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 		
+		//dictionary-encode string columns of low cardinality
+		ret.dictionaryEncodeStringColumns();
+		
 		return ret;
 	}
 
@@ -82,6 +85,9 @@ public class FrameReaderTextCell extends FrameReader
 		//core read 
 		readRawTextCellFrameFromInputStream(is, ret, lschema, lnames, rlen, clen);
 		
+		//dictionary-encode string columns of low cardinality
+		ret.dictionaryEncodeStringColumns();
+		
 		return ret;
 	}
 
@@ -150,8 +150,12 @@ public class IOUtilFunctions
 	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, String[] parts, long ncol) 
 		throws IOException
 	{
-		int realncol = parts.length;
-		
+		checkAndRaiseErrorCSVNumColumns(fname, line, parts.length, ncol);
+	}
+	
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, int realncol, long ncol) 
+		throws IOException
+	{
 		if( realncol != ncol ) {
 			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
 					+ "found in delimited file (" + fname + ") for line: " + line);
@@ -617,6 +621,78 @@ public class IOUtilFunctions
 		ba[ off+7 ] = (byte)((val >>>  0) & 0xFF);
 	}
 	
+	/**
+	 * Bulk conversion of a range of doubles into bytes of big-endian order
+	 * (i.e., equivalent to DataOutput.writeDouble), via a double view over
+	 * the byte array instead of per-value shifts.
+	 * 
+	 * @param src source array
+	 * @param spos source position
+	 * @param ba target byte array
+	 * @param off target offset in bytes
+	 * @param len number of values
+	 */
+	public static void doubleArrayToBa( double[] src, final int spos, byte[] ba, final int off, final int len ) {
+		ByteBuffer.wrap(ba, off, len*8).asDoubleBuffer().put(src, spos, len);
+	}
+	
+	/**
+	 * Bulk conversion of bytes of big-endian order into a range of doubles
+	 * (i.e., equivalent to DataInput.readDouble), via a double view over
+	 * the byte array instead of per-value shifts.
+	 * 
+	 * @param ba source byte array
+	 * @param off source offset in bytes
+	 * @param dst target array
+	 * @param dpos target position
+	 * @param len number of values
+	 * @return number of non-zeros in the target range
+	 */
+	public static int baToDoubleArray( byte[] ba, final int off, double[] dst, final int dpos, final int len ) {
+		ByteBuffer.wrap(ba, off, len*8).asDoubleBuffer().get(dst, dpos, len);
+		return UtilFunctions.computeNnz(dst, dpos, len);
+	}
+	
+	/**
+	 * Bulk conversion of a range of column index / value pairs into
+	 * interleaved bytes of big-endian order (i.e., the sparse row format
+	 * of DataOutput.writeInt, DataOutput.writeDouble).
+	 * 
+	 * @param aix source column indexes
+	 * @param avals source values
+	 * @param apos source position
+	 * @param ba target byte array
+	 * @param off target offset in bytes
+	 * @param len number of pairs
+	 */
+	public static void sparsePairsToBa( int[] aix, double[] avals, final int apos, byte[] ba, final int off, final int len ) {
+		ByteBuffer buff = ByteBuffer.wrap(ba, off, len*12);
+		for( int j=apos; j<apos+len; j++ ) {
+			buff.putInt(aix[j]);
+			buff.putDouble(avals[j]);
+		}
+	}
+	
+	/**
+	 * Bulk conversion of interleaved bytes of big-endian order into a range
+	 * of column index / value pairs (i.e., the sparse row format of
+	 * DataInput.readInt, DataInput.readDouble).
+	 * 
+	 * @param ba source byte array
+	 * @param off source offset in bytes
+	 * @param aix target column indexes
+	 * @param avals target values
+	 * @param apos target position
+	 * @param len number of pairs
+	 */
+	public static void baToSparsePairs( byte[] ba, final int off, int[] aix, double[] avals, final int apos, final int len ) {
+		ByteBuffer buff = ByteBuffer.wrap(ba, off, len*12);
+		for( int j=apos; j<apos+len; j++ ) {
+			aix[j] = buff.getInt();
+			avals[j] = buff.getDouble();
+		}
+	}
+	
 	public static byte[] getBytes(ByteBuffer buff) {
 		int len = buff.limit();
 		if( buff.hasArray() )
@@ -42,6 +42,8 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
@@ -52,11 +54,14 @@ import org.apache.sysml.runtime.util.CommonThreadPool;
  * textcell parallel read, we also do lock-free inserts. If the matrix is
  * sparse, because splits contain row partitioned lines and hence there is no
  * danger of lost updates. Note, there is also no sorting of sparse rows
- * required because data comes in sorted order per row.
+ * required because data comes in sorted order per row. Lines are parsed on
+ * byte level (see CSVByteParser) without intermediate strings per line or cell.
  * 
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
+	private static final int READ_BUFFER_SIZE = 1024 * 1024; //1MB
+	
 	private FileFormatPropertiesCSV _props = null;
 	private int _numThreads = 1;
 
@@ -72,8 +77,10 @@ public class ReaderTextCSVParallel extends MatrixReader
 			int brlen, int bclen, long estnnz) 
 		throws IOException, DMLRuntimeException 
 	{
-		// prepare file access
+		// prepare file access (w/ large read buffers for line reading)
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		job.setInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, Math.max(READ_BUFFER_SIZE,
+			job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096)));
 		Path path = new Path(fname);
 		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
 		
@@ -401,68 +408,52 @@ public class ReaderTextCSVParallel extends MatrixReader
 				row = _splitoffsets.getOffsetPerSplit(_splitCount);
 
 				try {
-					if (_sparse) // SPARSE<-value
+					//parse lines directly from the reused line buffer (no string
+					//per line or cell) into a row buffer, and copy or append the 
+					//row into the dense or sparse block (w/ exact row allocation)
+					CSVByteParser parser = new CSVByteParser(_delim);
+					double[] rowVals = new double[(int)_clen];
+					DenseBlock a = _sparse ? null : _dest.getDenseBlock();
+					SparseBlock sb = _sparse ? _dest.getSparseBlock() : null;
+					while (reader.next(key, value)) // foreach line
 					{
-						while (reader.next(key, value)) // foreach line
+						parser.reset(value.getBytes(), value.getLength());
+						int rnnz = 0;
+						col = 0;
+						while( parser.next() ) // foreach cell
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-
-								if( cellValue != 0 ) {
-									_dest.appendValue(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
+							if( parser.isEmptyCell() ) {
+								noFillEmpty |= !_fill;
+								cellValue = _fillValue;
+							} 
+							else {
+								cellValue = parser.parseDouble();
 							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
-						}
-					} 
-					else // DENSE<-value
-					{
-						DenseBlock a = _dest.getDenseBlock();
-						while (reader.next(key, value)) { // foreach line
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-							for (String part : parts) { // foreach cell
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-								if( cellValue != 0 ) {
-									a.set(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
+							if( col < _clen ) {
+								rowVals[col] = cellValue;
+								rnnz += (cellValue != 0) ? 1 : 0;
 							}
+							col++;
+						}
 
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
+						// sanity checks (number of columns, fill values)
+						if( !_fill && noFillEmpty )
+							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(parser.toString(), _fill, noFillEmpty);
+						if( col != _clen )
+							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), parser.toString(), col, _clen);
+						
+						if( rnnz > 0 ) {
+							if( _sparse ) { // SPARSE<-value
+								sb.allocate(row, rnnz);
+								for( int j=0; j<_clen; j++ )
+									if( rowVals[j] != 0 )
+										sb.append(row, j, rowVals[j]);
+							}
+							else // DENSE<-value
+								a.set(row, rowVals);
 						}
+						lnnz += rnnz;
+						row++;
 					}
 
 					// sanity checks (number of rows)
@@ -25,6 +25,8 @@ import java.io.IOException;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.SequenceFile.CompressionType;
+import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -102,26 +104,39 @@ public class WriterBinaryBlock extends MatrixWriter
 	}
 
 	@SuppressWarnings("deprecation")
-	protected final void writeBinaryBlockMatrixToSequenceFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int brlen, int bclen, int rl, int ru ) 
+	private SequenceFile.Writer createSequenceFileWriter( Path path, JobConf job, FileSystem fs, MatrixBlock src ) 
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
-		int rlen = src.getNumRows();
-		int clen = src.getNumColumns();
-		
-		// 1) create sequence file writer, with right replication factor 
 		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
-		SequenceFile.Writer writer = null;
-		if( _replication > 0 ) //if replication specified (otherwise default)
+		CompressionCodec codec = BlockCodec.createCodec(job, src);
+		if( codec != null ) //record-compressed blocks (codec in file header)
+		{
+			short replication = (_replication > 0) ? (short)_replication : fs.getDefaultReplication();
+			return SequenceFile.createWriter(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
+				replication, fs.getDefaultBlockSize(), CompressionType.RECORD, codec, null, new SequenceFile.Metadata());
+		}
+		else if( _replication > 0 ) //if replication specified (otherwise default)
 		{
 			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
-					                         (short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
+			return new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
+				(short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());
 		}
-		else	
+		else
 		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
+			return new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
 		}
+	}
+
+	@SuppressWarnings("deprecation")
+	protected final void writeBinaryBlockMatrixToSequenceFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int brlen, int bclen, int rl, int ru ) 
+		throws IOException
+	{
+		boolean sparse = src.isInSparseFormat();
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		
+		// 1) create sequence file writer, with right replication factor and codec
+		SequenceFile.Writer writer = createSequenceFileWriter(path, job, fs, src);
 		
 		try
 		{
@@ -183,19 +198,8 @@ public class WriterBinaryBlock extends MatrixWriter
 	{
 		boolean sparse = src.isInSparseFormat();
 		
-		// 1) create sequence file writer, with right replication factor 
-		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
-		SequenceFile.Writer writer = null;
-		if( _replication > 0 ) //if replication specified (otherwise default)
-		{
-			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
-					                         (short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
-		}
-		else	
-		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
-		}
+		// 1) create sequence file writer, with right replication factor and codec
+		SequenceFile.Writer writer = createSequenceFileWriter(path, job, fs, src);
 		
 		try
 		{
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.TreeSet;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Bounded reuse cache of instruction outputs keyed by their lineage. On a hit,
+ * the output of a computation CP instruction is taken from the cache instead
+ * of executing the instruction. If the cache exceeds its size limit, entries
+ * with the smallest compute time per byte are evicted first, where expensive
+ * matrices are spilled through the {@link LazyWriteBuffer} instead of dropped.
+ *
+ * Since the buffer pool and update-in-place may modify matrix blocks that are
+ * bound to live variables, the cache keeps private copies of all matrix blocks.
+ */
+public class LineageCache
+{
+	//deterministic, compute-intensive operations eligible for reuse
+	private static final HashSet<String> REUSE_OPCODES = new HashSet<>(Arrays.asList(
+		"tsmm", "ba+*", "mmchain", "solve",
+		"uak+", "uark+", "uack+", "uasqk+", "uarsqk+", "uacsqk+",
+		"uamean", "uarmean", "uacmean", "uavar"));
+
+	//max height of traced lineage DAGs (deeper loop-carried lineage is not reused)
+	public static final int MAX_LINEAGE_HEIGHT = 256;
+
+	//estimated local write/read bandwidth of spilled matrices [MB/s]
+	private static final double SPILL_MBS_WRITE = 150;
+	private static final double SPILL_MBS_READ = 200;
+	private static final long SCALAR_SIZE = 64;
+
+	//global size limit in bytes (0 if disabled)
+	private static long _limit = 0;
+
+	//current size of in-memory entries in bytes
+	private static long _size = 0;
+
+	//cache entries and in-memory entries in eviction order (lowest score first)
+	private static final HashMap<LineageItem, Entry> _cache = new HashMap<>();
+	private static final TreeSet<Entry> _evictQueue = new TreeSet<>();
+	private static final IDSequence _seq = new IDSequence();
+
+	/**
+	 * Sets the cache size as fraction of the local max memory,
+	 * where a fraction of 0 disables lineage tracing and reuse.
+	 *
+	 * @param fraction fraction of local max memory
+	 */
+	public static synchronized void setCacheLimit(double fraction) {
+		_limit = (long)(fraction * InfrastructureAnalyzer.getLocalMaxMemory());
+		makeSpace();
+	}
+
+	public static synchronized long getCacheLimit() {
+		return _limit;
+	}
+
+	public static synchronized long getCacheSize() {
+		return _size;
+	}
+
+	public static boolean isEnabled() {
+		return _limit > 0;
+	}
+
+	/**
+	 * Executes the given instruction, unless its output is available in
+	 * the lineage cache, and traces the lineage of its output.
+	 *
+	 * @param inst instruction
+	 * @param ec execution context
+	 */
+	public static void processInstruction(Instruction inst, ExecutionContext ec) {
+		if( !(inst instanceof ComputationCPInstruction) ) {
+			inst.processInstruction(ec);
+			return;
+		}
+
+		ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+		LineageItem item = isReusable(cinst) ? cinst.getLineageItem(ec) : null;
+		if( item != null && item.getHeight() > MAX_LINEAGE_HEIGHT )
+			item = null;
+
+		//reuse cached output on hit, otherwise execute and cache output
+		if( item == null || !reuse(cinst, item, ec) ) {
+			long t0 = System.nanoTime();
+			cinst.processInstruction(ec);
+			if( item != null )
+				put(item, ec.getVariable(cinst.output), System.nanoTime()-t0);
+		}
+
+		//trace output lineage (null: unknown origin)
+		ec.setLineageItem(cinst.output, item);
+	}
+
+	public static synchronized void resetCache() {
+		for( Entry e : _cache.values() )
+			if( e.isSpilled() )
+				LazyWriteBuffer.deleteBlock(e._fname);
+		_cache.clear();
+		_evictQueue.clear();
+		_size = 0;
+	}
+
+	private static boolean isReusable(ComputationCPInstruction inst) {
+		if( inst.output == null || !REUSE_OPCODES.contains(inst.getOpcode())
+			|| !(inst.output.getDataType().isMatrix() || inst.output.getDataType().isScalar()) )
+			return false;
+		//exclude scalar operations to avoid polluting the cache
+		for( CPOperand in : new CPOperand[]{inst.input1, inst.input2, inst.input3} )
+			if( in != null && in.getDataType().isMatrix() )
+				return true;
+		return false;
+	}
+
+	private static boolean reuse(ComputationCPInstruction inst, LineageItem item, ExecutionContext ec) {
+		Object value = probe(item);
+		if( value == null )
+			return false;
+		if( value instanceof MatrixBlock )
+			ec.setMatrixOutput(inst.output.getName(), (MatrixBlock)value, inst.getExtendedOpcode());
+		else
+			ec.setScalarOutput(inst.output.getName(), (ScalarObject)value);
+		return true;
+	}
+
+	private static synchronized Object probe(LineageItem item) {
+		Entry e = _cache.get(item);
+		if( e == null ) {
+			if( ConfigurationManager.isStatistics() )
+				Statistics.incrementLineageCacheMisses();
+			return null;
+		}
+
+		if( e.isSpilled() ) {
+			//restore spilled entry from write buffer or local FS
+			try {
+				e._value = LazyWriteBuffer.readBlock(e._fname, true);
+				LazyWriteBuffer.deleteBlock(e._fname);
+				e._fname = null;
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException("Failed to restore lineage cache entry "+e._fname+".", ex);
+			}
+			_size += e._size;
+			if( ConfigurationManager.isStatistics() )
+				Statistics.incrementLineageCacheHitsFS();
+		}
+		else {
+			_evictQueue.remove(e);
+			if( ConfigurationManager.isStatistics() )
+				Statistics.incrementLineageCacheHitsMem();
+		}
+		if( ConfigurationManager.isStatistics() )
+			Statistics.incrementLineageCacheSavedTime(e._computeTime);
+
+		//reinsert with updated score and make room for restored entries
+		e._hits++;
+		_evictQueue.add(e);
+		Object ret = (e._value instanceof MatrixBlock) ?
+			new MatrixBlock((MatrixBlock)e._value) : e._value;
+		makeSpace();
+		return ret;
+	}
+
+	private static void put(LineageItem item, Data data, long computeTime) {
+		synchronized( LineageCache.class ) {
+			if( _cache.containsKey(item) ) //concurrent parfor workers
+				return;
+		}
+
+		//create private copy outside of critical section
+		Object value = null;
+		long size = -1;
+		if( data instanceof MatrixObject ) {
+			MatrixObject mo = (MatrixObject) data;
+			MatrixBlock mb = mo.acquireRead();
+			size = mb.getInMemorySize();
+			if( size <= _limit )
+				value = new MatrixBlock(mb);
+			mo.release();
+		}
+		else if( data instanceof ScalarObject ) {
+			value = data;
+			size = SCALAR_SIZE;
+		}
+		if( value == null )
+			return;
+
+		synchronized( LineageCache.class ) {
+			if( _cache.containsKey(item) )
+				return;
+			Entry e = new Entry(item, value, size, computeTime);
+			_cache.put(item, e);
+			_evictQueue.add(e);
+			_size += size;
+			makeSpace();
+		}
+	}
+
+	private static void makeSpace() {
+		while( _size > _limit && !_evictQueue.isEmpty() ) {
+			Entry e = _evictQueue.pollFirst();
+			_size -= e._size;
+			if( isSpillable(e) ) {
+				spill(e);
+				if( ConfigurationManager.isStatistics() )
+					Statistics.incrementLineageCacheSpills();
+			}
+			else {
+				_cache.remove(e._key);
+				if( ConfigurationManager.isStatistics() )
+					Statistics.incrementLineageCacheDrops();
+			}
+		}
+	}
+
+	private static boolean isSpillable(Entry e) {
+		//spill only if recomputation is more expensive than write and read
+		double mbytes = (double)e._size / (1024*1024);
+		double ioTime = mbytes / SPILL_MBS_WRITE + mbytes / SPILL_MBS_READ;
+		return e._value instanceof MatrixBlock
+			&& CacheableData.isCachingActive()
+			&& e._computeTime * 1e-9 > ioTime;
+	}
+
+	private static void spill(Entry e) {
+		String fname = CacheableData.cacheEvictionLocalFilePath
+			+ CacheableData.cacheEvictionLocalFilePrefix + "_lineage"
+			+ String.format("%09d", e._id) + CacheableData.CACHING_EVICTION_FILEEXTENSION;
+		try {
+			LazyWriteBuffer.writeBlock(fname, (MatrixBlock)e._value);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to spill lineage cache entry to "+fname+".", ex);
+		}
+		e._value = null;
+		e._fname = fname;
+	}
+
+	private static class Entry implements Comparable<Entry>
+	{
+		private final long _id;
+		private final LineageItem _key;
+		private final long _size;
+		private final long _computeTime;
+		private Object _value;
+		private String _fname = null;
+		private int _hits = 0;
+
+		public Entry(LineageItem key, Object value, long size, long computeTime) {
+			_id = _seq.getNextID();
+			_key = key;
+			_value = value;
+			_size = Math.max(size, 1);
+			_computeTime = computeTime;
+		}
+
+		public boolean isSpilled() {
+			return _fname != null;
+		}
+
+		public double getScore() {
+			//saved compute time per byte, weighted by number of hits
+			return (double)_computeTime * (_hits+1) / _size;
+		}
+
+		@Override
+		public int compareTo(Entry that) {
+			int ret = Double.compare(getScore(), that.getScore());
+			return (ret != 0) ? ret : Long.compare(_id, that._id);
+		}
+	}
+}
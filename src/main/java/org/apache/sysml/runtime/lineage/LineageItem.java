@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+
+/**
+ * Immutable node of a lineage DAG, which describes how an intermediate was
+ * produced. Leaf items are either literals (identified by value) or opaque
+ * data objects (identified by a unique id), while inner items are identified
+ * by their opcode and the lineage of their inputs. Two items are equal if
+ * they describe the same computation, which allows probing the lineage cache
+ * across loop iterations, function calls, and parfor workers.
+ */
+public class LineageItem
+{
+	private static final IDSequence _seq = new IDSequence();
+
+	private static final String LITERAL_OPCODE = "lit";
+	private static final String LEAF_OPCODE = "leaf";
+
+	private final String _opcode;
+	private final String _data;
+	private final LineageItem[] _inputs;
+	private final int _height;
+	private final int _hash;
+
+	private LineageItem(String opcode, String data, LineageItem[] inputs) {
+		_opcode = opcode;
+		_data = data;
+		_inputs = inputs;
+
+		//compute height and hash once (bottom-up) in order to
+		//avoid recursive traversals of deep lineage DAGs
+		int height = 0;
+		int hash = 31 * opcode.hashCode() + ((data != null) ? data.hashCode() : 0);
+		if( inputs != null )
+			for( LineageItem in : inputs ) {
+				height = Math.max(height, in._height+1);
+				hash = 31 * hash + in._hash;
+			}
+		_height = height;
+		_hash = hash;
+	}
+
+	/**
+	 * Creates a new leaf item that is unequal to all other items,
+	 * used for data objects of unknown origin.
+	 *
+	 * @return lineage item
+	 */
+	public static LineageItem createLeaf() {
+		return new LineageItem(LEAF_OPCODE, String.valueOf(_seq.getNextID()), null);
+	}
+
+	/**
+	 * Creates a leaf item for a scalar, identified by its value type and value.
+	 *
+	 * @param so scalar object
+	 * @return lineage item
+	 */
+	public static LineageItem createLiteral(ScalarObject so) {
+		return new LineageItem(LITERAL_OPCODE,
+			so.getValueType().name()+":"+so.getStringValue(), null);
+	}
+
+	/**
+	 * Creates an inner item for the given opcode and inputs.
+	 *
+	 * @param opcode operation code (including any semantic parameters)
+	 * @param inputs lineage items of all inputs
+	 * @return lineage item, or null if any input is untraceable
+	 */
+	public static LineageItem create(String opcode, LineageItem... inputs) {
+		for( LineageItem in : inputs )
+			if( in == null )
+				return null;
+		return new LineageItem(opcode, null, inputs);
+	}
+
+	public String getOpcode() {
+		return _opcode;
+	}
+
+	public LineageItem[] getInputs() {
+		return _inputs;
+	}
+
+	public int getHeight() {
+		return _height;
+	}
+
+	@Override
+	public int hashCode() {
+		return _hash;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if( !(o instanceof LineageItem) )
+			return false;
+
+		//iterative comparison of both DAGs (w/ shortcuts for shared
+		//sub-DAGs) to avoid stack overflows for long loop-carried lineage
+		Deque<LineageItem[]> stack = new ArrayDeque<>();
+		stack.push(new LineageItem[]{this, (LineageItem)o});
+		while( !stack.isEmpty() ) {
+			LineageItem[] pair = stack.pop();
+			LineageItem a = pair[0], b = pair[1];
+			if( a == b )
+				continue;
+			if( a._hash != b._hash || a._height != b._height
+				|| !a._opcode.equals(b._opcode) )
+				return false;
+			if( (a._data != null) ? !a._data.equals(b._data) : b._data != null )
+				return false;
+			int len = (a._inputs != null) ? a._inputs.length : 0;
+			if( len != ((b._inputs != null) ? b._inputs.length : 0) )
+				return false;
+			for( int i=0; i<len; i++ )
+				stack.push(new LineageItem[]{a._inputs[i], b._inputs[i]});
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return (_inputs == null) ? _opcode+"("+_data+")" :
+			_opcode+Arrays.toString(_inputs);
+	}
+}
@@ -38,6 +38,7 @@ public abstract class DenseBlock implements Serializable
 	public enum Type {
 		DRB, //dense row block
 		LDRB, //large dense row block
+		FP32, //single-precision dense row blocks
 	}
 	
 	/**
@@ -169,6 +170,16 @@ public abstract class DenseBlock implements Serializable
 	public abstract long countNonZeros(int rl, int ru, int cl, int cu);
 	
 	
+	/**
+	 * Indicates if the values are stored in double arrays, which
+	 * are exposed via values and valuesAt for array-based kernels.
+	 * 
+	 * @return true if the values are accessible as double arrays
+	 */
+	public boolean isArrayBacked() {
+		return true;
+	}
+	
 	/**
 	 * Get the allocated blocks.
 	 * 
@@ -337,6 +348,15 @@ public abstract class DenseBlock implements Serializable
 	 */
 	public abstract double get(int r, int c);
 	
+	/**
+	 * Copy the values of the given row into a double array.
+	 * 
+	 * @param r row index
+	 * @param dst destination array
+	 * @param off offset in destination array
+	 */
+	public abstract void get(int r, double[] dst, int off);
+	
 	@Override 
 	public abstract String toString();
 }
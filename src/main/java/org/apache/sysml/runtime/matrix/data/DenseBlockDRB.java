@@ -199,12 +199,19 @@ public class DenseBlockDRB extends DenseBlock
 	
 	@Override
 	public DenseBlock set(DenseBlock db) {
+		if( !db.isArrayBacked() )
+			return set(0, rlen, 0, clen, db);
 		System.arraycopy(db.valuesAt(0), 0, data, 0, rlen*clen);
 		return this;
 	}
 	
 	@Override
 	public DenseBlock set(int rl, int ru, int cl, int cu, DenseBlock db) {
+		if( !db.isArrayBacked() ) {
+			for(int i=rl; i<ru; i++)
+				db.get(i-rl, data, pos(i, cl));
+			return this;
+		}
 		double[] a = db.valuesAt(0);
 		if( cl == 0 && cu == clen)
 			System.arraycopy(a, 0, data, rl*clen+cl, (int)db.size());
@@ -227,6 +234,11 @@ public class DenseBlockDRB extends DenseBlock
 		return data[pos(r, c)];
 	}
 	
+	@Override
+	public void get(int r, double[] dst, int off) {
+		System.arraycopy(data, pos(r), dst, off, clen);
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Dense block with values in single precision, partitioned into row blocks
+ * of float arrays (with the row block layout of double-precision blocks).
+ * Compared to double-precision dense blocks, this halves the memory footprint
+ * and bandwidth requirements, at the cost of rounding all values to single
+ * precision on set.
+ *
+ * Element, row, and range accessors operate on the float arrays in place,
+ * and specialized kernels access them via {@link #valuesFP32()}. The
+ * array-based accessors (values, valuesAt) widen the block into double
+ * precision, which is converted back via {@link #compact()}.
+ */
+public class DenseBlockFP32 extends DenseBlockLazy
+{
+	private static final long serialVersionUID = -4012376952006079198L;
+
+	private volatile float[][] data;
+
+	public DenseBlockFP32(int rlen, int clen) {
+		super(rlen, clen);
+		allocate(rlen, clen, 0);
+	}
+
+	/**
+	 * Creates a single-precision dense block with the values of
+	 * the given dense block (rounded to single precision).
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param db dense block
+	 */
+	public DenseBlockFP32(int rlen, int clen, DenseBlock db) {
+		this(rlen, clen);
+		copyFrom(db, data);
+	}
+
+	/**
+	 * Indicates if the given dense block is a single-precision
+	 * dense block that has not been widened.
+	 *
+	 * @param db dense block
+	 * @return true if single-precision float arrays are available
+	 */
+	public static boolean isCompact(DenseBlock db) {
+		return db instanceof DenseBlockFP32
+			&& ((DenseBlockFP32)db).data != null;
+	}
+
+	/**
+	 * Get the single-precision row blocks, which allows specialized
+	 * kernels to operate on float arrays (row blocks and positions
+	 * given by index and pos). Kernels should obtain this reference
+	 * once, because concurrent widening releases the float arrays.
+	 *
+	 * @return row blocks, or null if widened
+	 */
+	public float[][] valuesFP32() {
+		return data;
+	}
+
+	/**
+	 * Converts the values of a widened block back into single precision,
+	 * and releases the double-precision block. This is a no-op for blocks
+	 * that have not been widened.
+	 */
+	public void compact() {
+		DenseBlock w = getWidened();
+		if( w == null )
+			return;
+		synchronized( this ) {
+			if( (w = getWidened()) == null )
+				return;
+			float[][] tmp = allocate(rlen, clen);
+			copyFrom(w, tmp);
+			data = tmp;
+			setWidened(null);
+		}
+	}
+
+	private void allocate(int rlen, int clen, double v) {
+		float[][] tmp = allocate(rlen, clen);
+		if( v != 0 )
+			for( float[] a : tmp )
+				Arrays.fill(a, (float)v);
+		data = tmp;
+	}
+
+	private float[][] allocate(int rlen, int clen) {
+		int numPart = Math.max((int)Math.ceil((double)rlen / blen), 1);
+		float[][] tmp = new float[numPart][];
+		for( int i=0; i<numPart; i++ ) {
+			int lrlen = Math.max(Math.min((i+1)*blen, rlen) - i*blen, 0);
+			tmp[i] = new float[lrlen*clen];
+		}
+		return tmp;
+	}
+
+	private void copyFrom(DenseBlock db, float[][] dst) {
+		double[] tmp = db.isArrayBacked() ? null : new double[clen];
+		for( int i=0; i<rlen; i++ ) {
+			float[] c = dst[index(i)];
+			int cix = pos(i);
+			double[] a = tmp;
+			int aix = 0;
+			if( tmp == null ) {
+				a = db.values(i);
+				aix = db.pos(i);
+			}
+			else
+				db.get(i, tmp, 0);
+			for( int j=0; j<clen; j++ )
+				c[cix+j] = (float)a[aix+j];
+		}
+	}
+
+	@Override
+	protected void releaseCompact() {
+		data = null;
+	}
+
+	@Override
+	protected long capacityCompact() {
+		long len = 0;
+		for( float[] a : data )
+			len += a.length;
+		return len;
+	}
+
+	@Override
+	protected double getCompact(int r, int c) {
+		float[][] a = data;
+		return (a != null) ? a[index(r)][pos(r, c)] : widen().get(r, c);
+	}
+
+	@Override
+	protected void getCompact(int r, double[] dst, int off) {
+		float[][] a = data;
+		if( a == null ) {
+			widen().get(r, dst, off);
+			return;
+		}
+		float[] avals = a[index(r)];
+		int aix = pos(r);
+		for( int j=0; j<clen; j++ )
+			dst[off+j] = avals[aix+j];
+	}
+
+	@Override
+	protected long countNonZerosCompact(int rl, int ru, int cl, int cu) {
+		float[][] tmp = data;
+		if( tmp == null )
+			return widen().countNonZeros(rl, ru, cl, cu);
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			float[] a = tmp[index(i)];
+			for( int j=pos(i, cl); j<pos(i, cu); j++ )
+				nnz += (a[j] != 0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	protected void resetCompact(int rlen, int clen, double v) {
+		setDimensions(rlen, clen);
+		allocate(rlen, clen, v);
+	}
+
+	@Override
+	protected void setCompact(int r, int c, double v) {
+		data[index(r)][pos(r, c)] = (float)v;
+	}
+
+	@Override
+	protected void setCompact(int rl, int ru, int cl, int cu, double v) {
+		for( int i=rl; i<ru; i++ )
+			Arrays.fill(data[index(i)], pos(i, cl), pos(i, cu), (float)v);
+	}
+
+	@Override
+	protected void setCompact(int r, double[] v) {
+		float[] a = data[index(r)];
+		int apos = pos(r);
+		for( int j=0; j<clen; j++ )
+			a[apos+j] = (float)v[j];
+	}
+
+	@Override
+	protected void setCompact(int rl, int ru, int cl, int cu, DenseBlock db) {
+		int len = cu - cl;
+		double[] tmp = db.isArrayBacked() ? null : new double[len];
+		for( int i=rl; i<ru; i++ ) {
+			float[] a = data[index(i)];
+			int apos = pos(i, cl);
+			double[] b = tmp;
+			int bpos = 0;
+			if( tmp == null ) {
+				b = db.values(i-rl);
+				bpos = db.pos(i-rl);
+			}
+			else
+				db.get(i-rl, tmp, 0);
+			for( int j=0; j<len; j++ )
+				a[apos+j] = (float)b[bpos+j];
+		}
+	}
+
+	@Override
+	protected void incrCompact(int r, int c, double delta) {
+		data[index(r)][pos(r, c)] += delta;
+	}
+}
@@ -20,6 +20,14 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+/**
+ * Factory for heap-resident dense blocks (DRB, LDRB, FP32). There is no
+ * off-heap dense block type because the dense kernels and the JNI calls
+ * of native BLAS operate on double[] row blocks, which an off-heap block
+ * could only provide via copies. Off-heap storage is instead used for
+ * evicted blocks (see PageCache) and memory-mapped restores (see
+ * DenseBlockMapped).
+ */
 public abstract class DenseBlockFactory
 {
 	public static DenseBlock createDenseBlock(int rlen, int clen) {
@@ -36,6 +44,7 @@ public abstract class DenseBlockFactory
 		switch( type ) {
 			case DRB: return new DenseBlockDRB(rlen, clen);
 			case LDRB: return new DenseBlockLDRB(rlen, clen);
+			case FP32: return new DenseBlockFP32(rlen, clen);
 			default:
 				throw new RuntimeException("Unexpected dense block type: "+type.name());
 		}
@@ -47,6 +56,7 @@ public abstract class DenseBlockFactory
 
 	public static DenseBlock.Type getDenseBlockType(DenseBlock dblock) {
 		return (dblock instanceof DenseBlockDRB) ? DenseBlock.Type.DRB :
-			(dblock instanceof DenseBlockLDRB) ? DenseBlock.Type.LDRB : null;
+			(dblock instanceof DenseBlockLDRB) ? DenseBlock.Type.LDRB :
+			(dblock instanceof DenseBlockFP32) ? DenseBlock.Type.FP32 : null;
 	}
 }
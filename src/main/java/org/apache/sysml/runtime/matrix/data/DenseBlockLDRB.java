@@ -247,6 +247,8 @@ public class DenseBlockLDRB extends DenseBlock
 	
 	@Override
 	public DenseBlock set(DenseBlock db) {
+		if( !db.isArrayBacked() )
+			return set(0, rlen, 0, clen, db);
 		for(int bi=0; bi<numBlocks(); bi++)
 			System.arraycopy(db.valuesAt(bi), 0, data[bi], 0, size(bi));
 		return this;
@@ -255,6 +257,10 @@ public class DenseBlockLDRB extends DenseBlock
 	@Override
 	public DenseBlock set(int rl, int ru, int cl, int cu, DenseBlock db) {
 		for(int i=rl; i<ru; i++) {
+			if( !db.isArrayBacked() ) {
+				db.get(i-rl, values(i), pos(i, cl));
+				continue;
+			}
 			System.arraycopy(db.values(i-rl),
 				db.pos(i-rl), values(i), pos(i, cl), cu-cl);
 		}
@@ -266,6 +272,11 @@ public class DenseBlockLDRB extends DenseBlock
 		return data[index(r)][pos(r, c)];
 	}
 	
+	@Override
+	public void get(int r, double[] dst, int off) {
+		System.arraycopy(values(r), pos(r), dst, off, clen);
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -281,7 +292,7 @@ public class DenseBlockLDRB extends DenseBlock
 		return sb.toString();
 	}
 
-	private static int blocksize(int rlen, int clen) {
+	static int blocksize(int rlen, int clen) {
 		return Math.min(rlen, Integer.MAX_VALUE / clen);
 	}
 }
@@ -0,0 +1,377 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+/**
+ * Dense block whose values are kept in a representation other than double
+ * arrays (e.g., a memory-mapped file or single-precision arrays). Element
+ * and row accessors operate on this compact representation in place, while
+ * the first array access (values, valuesAt) widens the values into a regular
+ * double-precision dense block, to which all subsequent operations are
+ * delegated. Hence, all array-based kernels work unchanged on these blocks,
+ * while read-only consumers and specialized kernels avoid the widening.
+ *
+ * The row block layout (index, pos, blockSize) equals the layout of the
+ * widened block, which allows kernels to mix array and element accesses.
+ * Widening is thread-safe for concurrent readers, but must not race with
+ * concurrent updates of the compact representation.
+ */
+public abstract class DenseBlockLazy extends DenseBlock
+{
+	private static final long serialVersionUID = -3547164306216358893L;
+
+	protected int rlen;
+	protected int clen;
+	protected int blen;
+
+	//double-precision block after widening (all operations delegated)
+	private volatile DenseBlock _widened = null;
+
+	protected DenseBlockLazy(int rlen, int clen) {
+		setDimensions(rlen, clen);
+	}
+
+	protected void setDimensions(int rlen, int clen) {
+		//row block layout of DenseBlockFactory.createDenseBlock
+		this.rlen = rlen;
+		this.clen = clen;
+		this.blen = ((long)rlen * clen < Integer.MAX_VALUE) ?
+			Math.max(rlen, 1) : DenseBlockLDRB.blocksize(rlen, clen);
+	}
+
+	/**
+	 * Indicates if the values have been widened into a
+	 * double-precision dense block.
+	 *
+	 * @return true if widened
+	 */
+	public boolean isWidened() {
+		return _widened != null;
+	}
+
+	/**
+	 * Widens the compact representation into a double-precision dense
+	 * block (if not done yet), and releases the compact representation.
+	 *
+	 * @return double-precision dense block
+	 */
+	protected DenseBlock widen() {
+		DenseBlock w = _widened;
+		if( w == null ) {
+			synchronized( this ) {
+				if( (w = _widened) == null ) {
+					w = DenseBlockFactory.createDenseBlock(rlen, clen);
+					for( int i=0; i<rlen; i++ )
+						getCompact(i, w.values(i), w.pos(i));
+					_widened = w;
+					releaseCompact();
+				}
+			}
+		}
+		return w;
+	}
+
+	/**
+	 * Replaces the widened double-precision dense block, e.g., after
+	 * converting it back to the compact representation.
+	 *
+	 * @param w double-precision dense block or null
+	 */
+	protected void setWidened(DenseBlock w) {
+		_widened = w;
+	}
+
+	protected DenseBlock getWidened() {
+		return _widened;
+	}
+
+	//////////////////////////////////////
+	// compact representation (defaults: widen and delegate)
+
+	protected abstract void releaseCompact();
+
+	protected abstract long capacityCompact();
+
+	protected abstract double getCompact(int r, int c);
+
+	protected abstract void getCompact(int r, double[] dst, int off);
+
+	protected long countNonZerosCompact(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		double[] tmp = new double[clen];
+		for( int i=rl; i<ru; i++ ) {
+			getCompact(i, tmp, 0);
+			for( int j=cl; j<cu; j++ )
+				nnz += (tmp[j] != 0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	protected void resetCompact(int rlen, int clen, double v) {
+		DenseBlock w = DenseBlockFactory.createDenseBlock(rlen, clen);
+		if( v != 0 )
+			w.set(v);
+		synchronized( this ) {
+			_widened = w;
+			releaseCompact();
+		}
+	}
+
+	protected void setCompact(int r, int c, double v) {
+		widen().set(r, c, v);
+	}
+
+	protected void setCompact(int rl, int ru, int cl, int cu, double v) {
+		widen().set(rl, ru, cl, cu, v);
+	}
+
+	protected void setCompact(int r, double[] v) {
+		widen().set(r, v);
+	}
+
+	protected void setCompact(int rl, int ru, int cl, int cu, DenseBlock db) {
+		widen().set(rl, ru, cl, cu, db);
+	}
+
+	protected void incrCompact(int r, int c, double delta) {
+		widen().incr(r, c, delta);
+	}
+
+	//////////////////////////////////////
+	// dense block API
+
+	@Override
+	public void reset() {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		DenseBlock w = _widened;
+		if( w != null )
+			w.reset(rlen, clen, v);
+		else
+			resetCompact(rlen, clen, v);
+		setDimensions(rlen, clen);
+	}
+
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+
+	@Override
+	public int numBlocks() {
+		DenseBlock w = _widened;
+		return (w != null) ? w.numBlocks() :
+			Math.max((int)Math.ceil((double)rlen / blen), 1);
+	}
+
+	@Override
+	public int blockSize() {
+		DenseBlock w = _widened;
+		return (w != null) ? w.blockSize() : blen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		DenseBlock w = _widened;
+		return (w != null) ? w.blockSize(bix) : Math.min(blen, rlen-bix*blen);
+	}
+
+	@Override
+	public boolean isContiguous() {
+		DenseBlock w = _widened;
+		return (w != null) ? w.isContiguous() : rlen <= blen;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return isContiguous() || index(rl)==index(ru);
+	}
+
+	@Override
+	public long size() {
+		return (long)rlen * clen;
+	}
+
+	@Override
+	public int size(int bix) {
+		return blockSize(bix) * clen;
+	}
+
+	@Override
+	public long capacity() {
+		DenseBlock w = _widened;
+		return (w != null) ? w.capacity() : capacityCompact();
+	}
+
+	@Override
+	public long countNonZeros() {
+		return countNonZeros(0, rlen, 0, clen);
+	}
+
+	@Override
+	public int countNonZeros(int r) {
+		return (int) countNonZeros(r, r+1, 0, clen);
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		DenseBlock w = _widened;
+		return (w != null) ? w.countNonZeros(rl, ru, cl, cu) :
+			countNonZerosCompact(rl, ru, cl, cu);
+	}
+
+	@Override
+	public boolean isArrayBacked() {
+		return _widened != null;
+	}
+
+	@Override
+	public double[][] values() {
+		return widen().values();
+	}
+
+	@Override
+	public double[] values(int r) {
+		return widen().values(r);
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return widen().valuesAt(bix);
+	}
+
+	@Override
+	public int index(int r) {
+		DenseBlock w = _widened;
+		return (w != null) ? w.index(r) : r / blen;
+	}
+
+	@Override
+	public int pos(int r) {
+		DenseBlock w = _widened;
+		return (w != null) ? w.pos(r) : (r % blen) * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		DenseBlock w = _widened;
+		return (w != null) ? w.pos(r, c) : (r % blen) * clen + c;
+	}
+
+	@Override
+	public void incr(int r, int c) {
+		incr(r, c, 1);
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		DenseBlock w = _widened;
+		if( w != null )
+			w.incr(r, c, delta);
+		else
+			incrCompact(r, c, delta);
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		return set(0, rlen, 0, clen, v);
+	}
+
+	@Override
+	public DenseBlock set(int rl, int ru, int cl, int cu, double v) {
+		DenseBlock w = _widened;
+		if( w != null )
+			w.set(rl, ru, cl, cu, v);
+		else
+			setCompact(rl, ru, cl, cu, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		DenseBlock w = _widened;
+		if( w != null )
+			w.set(r, c, v);
+		else
+			setCompact(r, c, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		DenseBlock w = _widened;
+		if( w != null )
+			w.set(r, v);
+		else
+			setCompact(r, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		return set(0, rlen, 0, clen, db);
+	}
+
+	@Override
+	public DenseBlock set(int rl, int ru, int cl, int cu, DenseBlock db) {
+		DenseBlock w = _widened;
+		if( w != null )
+			w.set(rl, ru, cl, cu, db);
+		else
+			setCompact(rl, ru, cl, cu, db);
+		return this;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		DenseBlock w = _widened;
+		return (w != null) ? w.get(r, c) : getCompact(r, c);
+	}
+
+	@Override
+	public void get(int r, double[] dst, int off) {
+		DenseBlock w = _widened;
+		if( w != null )
+			w.get(r, dst, off);
+		else
+			getCompact(r, dst, off);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for(int i=0; i<rlen; i++) {
+			for(int j=0; j<clen; j++) {
+				sb.append(get(i, j));
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+}
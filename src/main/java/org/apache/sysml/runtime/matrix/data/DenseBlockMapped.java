@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * Read-only dense block over the values of a memory-mapped local file
+ * (see LocalFileUtils.writeMatrixBlockToMappedLocal), which enables zero-copy
+ * restores of evicted dense matrix blocks. Element and row accesses read the
+ * mapped regions in place, while the first array access or update copies
+ * the values into a double-precision dense block and drops the mappings.
+ */
+public class DenseBlockMapped extends DenseBlockLazy
+{
+	private static final long serialVersionUID = 2466011587815227457L;
+
+	private final String _fname;
+	private final int _chunkSize;
+	private transient volatile DoubleBuffer[] _chunks;
+
+	/**
+	 * Creates a dense block over the given mapped regions, where all
+	 * regions except the last one have exactly chunkSize values.
+	 *
+	 * @param fname file name of mapped file
+	 * @param chunks mapped regions of values in row-major order
+	 * @param chunkSize number of values per region
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 */
+	public DenseBlockMapped(String fname, DoubleBuffer[] chunks, int chunkSize, int rlen, int clen) {
+		super(rlen, clen);
+		_fname = fname;
+		_chunkSize = chunkSize;
+		_chunks = chunks;
+	}
+
+	/**
+	 * Indicates if the values are still read from the mapped file
+	 * of the given name, i.e., if the file content equals the block.
+	 *
+	 * @param fname file name
+	 * @return true if mapped from the given file
+	 */
+	public boolean isMappedFrom(String fname) {
+		return _chunks != null && _fname.equals(fname);
+	}
+
+	@Override
+	protected void releaseCompact() {
+		//drop mappings, which are unmapped once unreachable (an explicit
+		//unmap is unsafe here because concurrent readers might still
+		//access the regions via their local references)
+		_chunks = null;
+	}
+
+	@Override
+	protected long capacityCompact() {
+		return (long)rlen * clen;
+	}
+
+	@Override
+	protected double getCompact(int r, int c) {
+		DoubleBuffer[] chunks = _chunks;
+		if( chunks == null )
+			return widen().get(r, c);
+		long ix = (long)r * clen + c;
+		return chunks[(int)(ix / _chunkSize)].get((int)(ix % _chunkSize));
+	}
+
+	@Override
+	protected void getCompact(int r, double[] dst, int off) {
+		DoubleBuffer[] chunks = _chunks;
+		if( chunks == null ) {
+			widen().get(r, dst, off);
+			return;
+		}
+		//bulk copy of row segments per region (duplicates for thread-safety)
+		long ix = (long)r * clen;
+		int len = clen;
+		while( len > 0 ) {
+			int cix = (int)(ix / _chunkSize);
+			int cpos = (int)(ix % _chunkSize);
+			int n = Math.min(len, _chunkSize - cpos);
+			DoubleBuffer buff = chunks[cix].duplicate();
+			buff.position(cpos);
+			buff.get(dst, off, n);
+			ix += n; off += n; len -= n;
+		}
+	}
+
+	@Override
+	protected long countNonZerosCompact(int rl, int ru, int cl, int cu) {
+		DoubleBuffer[] chunks = _chunks;
+		if( chunks == null )
+			return widen().countNonZeros(rl, ru, cl, cu);
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ )
+			for( long ix=(long)i*clen+cl; ix<(long)i*clen+cu; ix++ )
+				nnz += (chunks[(int)(ix / _chunkSize)]
+					.get((int)(ix % _chunkSize)) != 0) ? 1 : 0;
+		return nnz;
+	}
+}
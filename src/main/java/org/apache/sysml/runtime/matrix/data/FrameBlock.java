@@ -41,6 +41,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.transform.encode.EncoderRecode;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -54,6 +55,13 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	//internal configuration
 	private static final boolean REUSE_RECODE_MAPS = true;
 	
+	//dictionary encoding of string columns with low cardinality, i.e., 
+	//num distinct <= ratio * num rows, where we flag dictionary-encoded
+	//columns in the serialized value type
+	private static final int DICT_MIN_ROWS = 1024;
+	private static final double DICT_MAX_DISTINCT_RATIO = 0.1;
+	private static final int DICT_ENCODED = 0x40;
+	
 	/** The number of rows of the FrameBlock */
 	private int _numRows = -1;
 	
@@ -330,6 +338,19 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		return _coldata[c].get(r);
 	}
 	
+	/**
+	 * Gets the value in position (r,c) as an unboxed double, which avoids
+	 * object creation for numeric columns. Null and empty strings are 
+	 * converted to 0, consistent with {@link UtilFunctions#objectToDouble}.
+	 * 
+	 * @param r	row index, 0-based
+	 * @param c	column index, 0-based
+	 * @return double value at specified position
+	 */
+	public double getDouble(int r, int c) {
+		return _coldata[c].getAsDouble(r);
+	}
+	
 	/**
 	 * Sets the value in position (r,c), where the input is assumed
 	 * to be a boxed object consistent with the schema definition.
@@ -480,7 +501,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 
 	public Object getColumnData(int c) {
 		switch(_schema[c]) {
-			case STRING:  return ((StringArray)_coldata[c])._data; 
+			case STRING:  return ((StringArray)_coldata[c]).getStrings(); 
 			case BOOLEAN: return ((BooleanArray)_coldata[c])._data;
 			case INT:     return ((LongArray)_coldata[c])._data;
 			case DOUBLE:  return ((DoubleArray)_coldata[c])._data;
@@ -488,6 +509,122 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	 	}
 	}
 	
+	/**
+	 * Gets the values of a column of value type INT as a primitive 
+	 * array, which is the underlying data and hence not copied. Note that
+	 * the array might be larger than the number of rows.
+	 * 
+	 * @param c column index, 0-based
+	 * @return array of longs
+	 */
+	public long[] getLongColumn(int c) {
+		if( _schema[c] != ValueType.INT )
+			throw new DMLRuntimeException("Unsupported long column access "
+				+ "for column "+(c+1)+" of value type "+_schema[c]+".");
+		return ((LongArray)_coldata[c])._data;
+	}
+	
+	/**
+	 * Gets the values of a column of value type DOUBLE as a primitive 
+	 * array, which is the underlying data and hence not copied. Note that
+	 * the array might be larger than the number of rows.
+	 * 
+	 * @param c column index, 0-based
+	 * @return array of doubles
+	 */
+	public double[] getDoubleColumn(int c) {
+		if( _schema[c] != ValueType.DOUBLE )
+			throw new DMLRuntimeException("Unsupported double column access "
+				+ "for column "+(c+1)+" of value type "+_schema[c]+".");
+		return ((DoubleArray)_coldata[c])._data;
+	}
+	
+	/**
+	 * Copies the values of a row range of a column with arbitrary value 
+	 * type into the given double array, where values are converted as
+	 * in {@link #getDouble(int, int)}.
+	 * 
+	 * @param c column index, 0-based
+	 * @param rl row lower index, inclusive, 0-based
+	 * @param ru row upper index, exclusive, 0-based
+	 * @param ret output array
+	 * @param pos start position in output array
+	 */
+	public void getColumnAsDouble(int c, int rl, int ru, double[] ret, int pos) {
+		_coldata[c].getAsDouble(rl, ru, ret, pos);
+	}
+	
+	/**
+	 * Indicates if the given column is a string column in dictionary-encoded
+	 * representation of int codes and a dictionary of distinct values.
+	 * 
+	 * @param c column index, 0-based
+	 * @return true if dictionary-encoded
+	 */
+	public boolean isDictionaryEncoded(int c) {
+		return _schema[c] == ValueType.STRING
+			&& ((StringArray)_coldata[c]).isDictionaryEncoded();
+	}
+	
+	/**
+	 * Gets the codes of a dictionary-encoded string column, where 0 encodes
+	 * null values and codes &gt; 0 refer to tokens of the dictionary. The 
+	 * returned array is the underlying data and might be larger than the 
+	 * number of rows.
+	 * 
+	 * @param c column index, 0-based
+	 * @return array of codes
+	 */
+	public int[] getDictionaryCodes(int c) {
+		checkDictionaryEncoded(c);
+		return ((StringArray)_coldata[c])._codes;
+	}
+	
+	/**
+	 * Gets the dictionary of a dictionary-encoded string column, which must
+	 * not be modified. Note that the dictionary might contain tokens that are
+	 * no longer referenced due to updates (until compacted on updates).
+	 * 
+	 * @param c column index, 0-based
+	 * @return dictionary of distinct values
+	 */
+	public RecodeMap getDictionary(int c) {
+		checkDictionaryEncoded(c);
+		return ((StringArray)_coldata[c])._dict;
+	}
+	
+	private void checkDictionaryEncoded(int c) {
+		if( !isDictionaryEncoded(c) )
+			throw new DMLRuntimeException("Column "+(c+1)+" is not dictionary-encoded.");
+	}
+	
+	/**
+	 * Converts all string columns of low cardinality into a dictionary-encoded 
+	 * representation of int codes and a dictionary of distinct values, which 
+	 * avoids duplicate string objects and allows consumers like recode to
+	 * process each distinct value only once. This conversion is automatically
+	 * applied on read and row append. 
+	 * 
+	 * Updates re-check the cardinality, i.e., dictionary-encoded columns
+	 * fall back to the plain representation once the number of distinct
+	 * values exceeds this threshold.
+	 * 
+	 * NOTE: Updates of dictionary-encoded columns are not thread-safe, 
+	 * and the conversion should only be applied to unshared columns.
+	 */
+	public void dictionaryEncodeStringColumns() {
+		if( _coldata == null || _numRows < DICT_MIN_ROWS )
+			return;
+		int maxDistinct = getMaxDistinct(_numRows);
+		for( int j=0; j<_coldata.length; j++ )
+			if( _schema[j] == ValueType.STRING )
+				((StringArray)_coldata[j]).dictionaryEncode(maxDistinct);
+	}
+	
+	private static int getMaxDistinct(int nrow) {
+		return (int)(DICT_MAX_DISTINCT_RATIO * Math.max(nrow, DICT_MIN_ROWS));
+	}
+	
 	public Array getColumn(int c) {
 		return _coldata[c]; 
 	}
@@ -617,7 +754,8 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		out.writeBoolean(isDefaultMeta);
 		//write columns (value type, data)
 		for( int j=0; j<getNumColumns(); j++ ) {
-			out.writeByte(_schema[j].ordinal());
+			out.writeByte(_schema[j].ordinal() | 
+				(isDictionaryEncoded(j) ? DICT_ENCODED : 0));
 			if( !isDefaultMeta ) {
 				out.writeUTF(getColumnName(j));
 				out.writeLong(_colmeta[j].getNumDistinct());
@@ -645,13 +783,16 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				_coldata : new Array[numCols];
 		//read columns (value type, meta, data)
 		for( int j=0; j<numCols; j++ ) {
-			ValueType vt = ValueType.values()[in.readByte()];
+			byte type = in.readByte();
+			ValueType vt = ValueType.values()[type & ~DICT_ENCODED];
 			String name = isDefaultMeta ? createColName(j) : in.readUTF();
 			long ndistinct = isDefaultMeta ? 0 : in.readLong();
 			String mvvalue = isDefaultMeta ? null : in.readUTF();
 			Array arr = null;
 			switch( vt ) {
-				case STRING:  arr = new StringArray(new String[_numRows]); break;
+				case STRING:  arr = ((type & DICT_ENCODED) != 0) ?
+					new StringArray(new int[_numRows], new RecodeMap()) :
+					new StringArray(new String[_numRows]); break;
 				case BOOLEAN: arr = new BooleanArray(new boolean[_numRows]); break;
 				case INT:     arr = new LongArray(new long[_numRows]); break;
 				case DOUBLE:  arr = new DoubleArray(new double[_numRows]); break;
@@ -711,8 +852,18 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				case DOUBLE: size += 8*_numRows; break;
 				case STRING: 
 					StringArray arr = (StringArray)_coldata[j];
-					for( int i=0; i<_numRows; i++ )
-						size += getInMemoryStringSize(arr.get(i));
+					if( arr.isDictionaryEncoded() ) {
+						//codes and live dictionary entries (tokens, hashes, slots),
+						//where dictionaries of clones and slices are only accounted
+						//for the array that created them
+						size += 4*_numRows;
+						if( !arr._borrowed )
+							size += arr.getInMemoryDictionarySize();
+					}
+					else {
+						for( int i=0; i<_numRows; i++ )
+							size += getInMemoryStringSize(arr.get(i));
+					}
 					break;
 				default: //not applicable	
 			}
@@ -742,8 +893,17 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				case DOUBLE: size += 8*_numRows; break;
 				case STRING: 
 					StringArray arr = (StringArray)_coldata[j];
-					for( int i=0; i<_numRows; i++ )
-						size += IOUtilFunctions.getUTFSize(arr.get(i));
+					if( arr.isDictionaryEncoded() ) {
+						//dictionary and fixed-width codes
+						int ndict = arr._dict.getMaxCode();
+						size += 4 + (long)_numRows * StringArray.getCodeWidth(ndict);
+						for( int code=1; code<=ndict; code++ )
+							size += IOUtilFunctions.getUTFSize(arr._dict.getToken(code));
+					}
+					else {
+						for( int i=0; i<_numRows; i++ )
+							size += IOUtilFunctions.getUTFSize(arr.get(i));
+					}
 					break;
 				default: //not applicable	
 			}
@@ -927,25 +1087,22 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		
 		if(getNumRows() > 0)
 		{
-			int r=(int) range.rowStart;
-			
-			for(; r<Math.min(rowCut, range.rowEnd+1); r++)
-			{
-				Object[] row = new Object[(int) (range.colEnd-range.colStart+1)];
-				for(int c=(int) range.colStart; c<range.colEnd+1; c++)
-					row[(int) (c-range.colStart)] = get(r,c);
-				top.appendRow(row);
-			}
-
-			for(; r<=range.rowEnd; r++)
-			{
-				Object[] row = new Object[(int) (range.colEnd-range.colStart+1)];
-				for(int c=(int) range.colStart; c<range.colEnd+1; c++)
-					row[(int) (c-range.colStart)] = get(r,c);
-				bottom.appendRow(row);
-			}
+			int rl = (int) range.rowStart;
+			int rcut = (int) Math.max(Math.min(rowCut, range.rowEnd+1), rl);
+			if( rl < rcut )
+				sliceRows(rl, rcut, (int)range.colStart, (int)range.colEnd, top);
+			if( rcut <= range.rowEnd )
+				sliceRows(rcut, (int)range.rowEnd+1, (int)range.colStart, (int)range.colEnd, bottom);
 		}
 	}
+	
+	private void sliceRows(int rl, int ru, int cl, int cu, FrameBlock ret) {
+		//column-wise range copy (w/o boxed row objects) into the given
+		//empty frame block, whose schema matches the column range
+		ret.ensureAllocatedColumns(ru-rl);
+		for( int j=cl; j<=cu; j++ )
+			ret._coldata[j-cl].set(0, ru-rl-1, _coldata[j], rl);
+	}
 
 	/**
 	 * Appends the given argument frameblock 'that' to this frameblock by 
@@ -1009,6 +1166,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			Iterator<Object[]> iter = that.getObjectRowIterator(_schema);
 			while( iter.hasNext() )
 				ret.appendRow(iter.next());
+			ret.dictionaryEncodeStringColumns();
 		}
 		
 		return ret;
@@ -1049,31 +1207,42 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	 * @param col	is the column # from frame data which contains Recode map generated earlier.
 	 * @return map of token and code for every element in the input column of a frame containing Recode map
 	 */
-	public HashMap<String,Long> getRecodeMap(int col) {
+	public RecodeMap getRecodeMap(int col) {
 		//probe cache for existing map
 		if( REUSE_RECODE_MAPS ) {
-			SoftReference<HashMap<String,Long>> tmp = _coldata[col]._rcdMapCache;
-			HashMap<String,Long> map = (tmp!=null) ? tmp.get() : null;
+			SoftReference<RecodeMap> tmp = _coldata[col]._rcdMapCache;
+			RecodeMap map = (tmp!=null) ? tmp.get() : null;
 			if( map != null ) return map;
 		}
 		
 		//construct recode map
-		HashMap<String,Long> map = new HashMap<>();
+		RecodeMap map = new RecodeMap(getNumRows());
 		Array ldata = _coldata[col]; 
 		for( int i=0; i<getNumRows(); i++ ) {
 			Object val = ldata.get(i);
 			if( val != null ) {
 				String[] tmp = EncoderRecode.splitRecodeMapEntry(val.toString());
-				map.put(tmp[0], Long.parseLong(tmp[1]));
+				map.put(tmp[0], Integer.parseInt(tmp[1]));
 			}
 		}
 		
 		//put created map into cache
-		if( REUSE_RECODE_MAPS )
-			_coldata[col]._rcdMapCache = new SoftReference<>(map);
+		setRecodeMap(col, map);
 		
 		return map;
 	}
+	
+	/**
+	 * Sets the recode map of the given column, which is reused by subsequent
+	 * calls of {@link #getRecodeMap(int)} if the column is not modified.
+	 * 
+	 * @param col column index
+	 * @param map recode map of tokens and codes in the column
+	 */
+	public void setRecodeMap(int col, RecodeMap map) {
+		if( REUSE_RECODE_MAPS )
+			_coldata[col]._rcdMapCache = new SoftReference<>(map);
+	}
 
 	public void merge(CacheBlock that, boolean bDummy) {
 		merge((FrameBlock)that);
@@ -1272,13 +1441,14 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	 * in order to avoid unnecessary dependencies.
 	 */
 	private abstract static class Array<T> implements Writable {
-		protected SoftReference<HashMap<String,Long>> _rcdMapCache = null;
+		protected SoftReference<RecodeMap> _rcdMapCache = null;
 		
 		protected int _size = 0;
 		protected int newSize() {
 			return (int) Math.max(_size*2, 4); 
 		}
 		public abstract T get(int index);
+		public abstract double getAsDouble(int index);
 		public abstract void set(int index, T value);
 		public abstract void set(int rl, int ru, Array value);
 		public abstract void set(int rl, int ru, Array value, int rlSrc);
@@ -1289,22 +1459,69 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public abstract Array clone();
 		public abstract Array slice(int rl, int ru);
 		public abstract void reset(int size); 
+		
+		//range copy into double array, overwritten for memcopy
+		public void getAsDouble(int rl, int ru, double[] ret, int pos) {
+			for( int i=rl; i<ru; i++ )
+				ret[pos++] = getAsDouble(i);
+		}
 	}
 
+	/**
+	 * String array in either plain representation of string references 
+	 * or dictionary-encoded representation of int codes (0 for null) and
+	 * a dictionary of distinct values that maps tokens to codes and vice
+	 * versa. Reads and updates are supported for both representations, 
+	 * where dictionaries are shared by clones and slices until updates
+	 * with new tokens (copy on write). Updates with new tokens might leave
+	 * unreferenced tokens in the dictionary, which is therefore compacted
+	 * to the referenced tokens once it exceeds the maximum number of distinct
+	 * values on bulk updates (or twice the maximum on single-value updates
+	 * and appends, for amortized linear costs). If the referenced tokens
+	 * still exceed the maximum, the array falls back to plain strings.
+	 */
 	private static class StringArray extends Array<String> {
-		private String[] _data = null;
+		private String[] _data = null;  //plain strings, null if dictionary-encoded
+		private int[] _codes = null;    //dictionary codes, null if plain
+		private RecodeMap _dict = null; //dictionary of distinct values
+		private boolean _shared = false; //dictionary shared w/ other arrays
+		private boolean _borrowed = false; //dictionary obtained from other array
 		
 		public StringArray(String[] data) {
 			_data = data;
 			_size = _data.length;
 		}
+		public StringArray(int[] codes, RecodeMap dict) {
+			_codes = codes;
+			_dict = dict;
+			_size = _codes.length;
+		}
+		private StringArray(int[] codes, StringArray that) {
+			this(codes, that._dict);
+			_shared = that._shared = true;
+			_borrowed = true;
+		}
+		public boolean isDictionaryEncoded() {
+			return _codes != null;
+		}
 		@Override
 		public String get(int index) {
-			return _data[index];
+			return (_codes != null) ? 
+				_dict.getToken(_codes[index]) : _data[index];
+		}
+		@Override
+		public double getAsDouble(int index) {
+			String tmp = get(index);
+			return (tmp!=null && !tmp.isEmpty()) ? Double.parseDouble(tmp) : 0;
 		}
 		@Override
 		public void set(int index, String value) {
-			_data[index] = value;
+			if( _codes != null ) {
+				_codes[index] = getCode(value);
+				checkCardinality(false);
+			}
+			else
+				_data[index] = value;
 		}
 		@Override
 		public void set(int rl, int ru, Array value) {
@@ -1312,43 +1529,236 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 		@Override
 		public void set(int rl, int ru, Array value, int rlSrc) {
-			System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			StringArray src = (StringArray)value;
+			if( _codes == null && src._codes == null )
+				System.arraycopy(src._data, rlSrc, _data, rl, ru-rl+1);
+			else if( _codes != null && src._codes != null && _dict == src._dict )
+				System.arraycopy(src._codes, rlSrc, _codes, rl, ru-rl+1);
+			else if( _codes != null && src._codes != null 
+				&& ru-rl+1 >= src._dict.getMaxCode() ) {
+				//translate codes with one dictionary probe per distinct value
+				int[] cmap = new int[src._dict.getMaxCode()+1];
+				for( int i=rl, j=rlSrc; i<ru+1; i++, j++ ) {
+					int code = src._codes[j];
+					if( code > 0 && cmap[code] == 0 )
+						cmap[code] = getCode(src._dict.getToken(code));
+					_codes[i] = cmap[code];
+				}
+			}
+			else {
+				for( int i=rl, j=rlSrc; i<ru+1; i++, j++ )
+					set(i, src.get(j));
+			}
+			checkCardinality(true);
 		}
 		@Override
 		public void setNz(int rl, int ru, Array value) {
-			String[] data2 = ((StringArray)value)._data;
-			for( int i=rl; i<ru+1; i++ )
-				if( data2[i]!=null )
-					_data[i] = data2[i];
+			StringArray src = (StringArray)value;
+			for( int i=rl; i<ru+1; i++ ) {
+				String tmp = src.get(i);
+				if( tmp!=null )
+					set(i, tmp);
+			}
+			checkCardinality(true);
 		}
 		@Override
 		public void append(String value) {
-			if( _data.length <= _size )
-				_data = Arrays.copyOf(_data, newSize());
-			_data[_size++] = value;
+			if( _codes != null ) {
+				if( _codes.length <= _size )
+					_codes = Arrays.copyOf(_codes, newSize());
+				_codes[_size++] = getCode(value);
+				checkCardinality(false);
+			}
+			else {
+				if( _data.length <= _size )
+					_data = Arrays.copyOf(_data, newSize());
+				_data[_size++] = value;
+			}
 		}
 		public void write(DataOutput out) throws IOException {
+			if( _codes != null ) {
+				writeDictionaryEncoded(out);
+				return;
+			}
 			for( int i=0; i<_size; i++ )
 				out.writeUTF((_data[i]!=null)?_data[i]:"");
 		}
 		public void readFields(DataInput in) throws IOException {
+			if( _codes != null ) {
+				readFieldsDictionaryEncoded(in);
+				return;
+			}
 			_size = _data.length;
 			for( int i=0; i<_size; i++ ) {
 				String tmp = in.readUTF();
 				_data[i] = (!tmp.isEmpty()) ? tmp : null;
 			}
 		}
+		private void writeDictionaryEncoded(DataOutput out) throws IOException {
+			//write dictionary (in order of codes)
+			int ndict = _dict.getMaxCode();
+			out.writeInt(ndict);
+			for( int code=1; code<=ndict; code++ ) {
+				String tmp = _dict.getToken(code);
+				out.writeUTF((tmp!=null)?tmp:"");
+			}
+			//write codes w/ minimal fixed width
+			switch( getCodeWidth(ndict) ) {
+				case 1: 
+					for( int i=0; i<_size; i++ )
+						out.writeByte(_codes[i]);
+					break;
+				case 2:
+					for( int i=0; i<_size; i++ )
+						out.writeShort(_codes[i]);
+					break;
+				default:
+					for( int i=0; i<_size; i++ )
+						out.writeInt(_codes[i]);
+			}
+		}
+		private void readFieldsDictionaryEncoded(DataInput in) throws IOException {
+			//read dictionary, where empty tokens are mapped to null
+			//consistent with the plain representation
+			_size = _codes.length;
+			int ndict = in.readInt();
+			int[] cmap = new int[ndict+1];
+			for( int code=1; code<=ndict; code++ ) {
+				String tmp = in.readUTF();
+				cmap[code] = !tmp.isEmpty() ? _dict.putIfAbsent(tmp) : 0;
+			}
+			//read codes w/ minimal fixed width
+			switch( getCodeWidth(ndict) ) {
+				case 1: 
+					for( int i=0; i<_size; i++ )
+						_codes[i] = cmap[in.readUnsignedByte()];
+					break;
+				case 2:
+					for( int i=0; i<_size; i++ )
+						_codes[i] = cmap[in.readUnsignedShort()];
+					break;
+				default:
+					for( int i=0; i<_size; i++ )
+						_codes[i] = cmap[in.readInt()];
+			}
+		}
+		private int getCode(String value) {
+			if( value == null )
+				return 0;
+			int code = _dict.get(value);
+			if( code > 0 )
+				return code;
+			//copy shared dictionary before adding new tokens
+			if( _shared ) {
+				_dict = new RecodeMap(_dict);
+				_shared = _borrowed = false;
+			}
+			return _dict.putIfAbsent(value);
+		}
+		private void checkCardinality(boolean bulk) {
+			//compact dictionary once it exceeds the max number of distinct values
+			//(twice the max for single-value updates), or fall back to plain strings
+			int maxDistinct = getMaxDistinct(_size);
+			if( _codes == null || _dict.size() <= (bulk ? 1 : 2) * maxDistinct )
+				return;
+			//new codes of referenced tokens in order of first occurrence
+			int[] cmap = new int[_dict.getMaxCode()+1];
+			int ndistinct = 0;
+			for( int i=0; i<_size && ndistinct<=maxDistinct; i++ ) {
+				int code = _codes[i];
+				if( code > 0 && cmap[code] == 0 )
+					cmap[code] = ++ndistinct;
+			}
+			if( ndistinct > maxDistinct ) {
+				decode();
+				return;
+			}
+			RecodeMap dict = new RecodeMap(ndistinct);
+			for( int code=1; code<cmap.length; code++ )
+				if( cmap[code] > 0 )
+					dict.put(_dict.getToken(code), cmap[code]);
+			for( int i=0; i<_size; i++ )
+				_codes[i] = cmap[_codes[i]];
+			_dict = dict;
+			_shared = _borrowed = false;
+		}
+		private void decode() {
+			String[] data = new String[_codes.length];
+			for( int i=0; i<_size; i++ )
+				data[i] = _dict.getToken(_codes[i]);
+			_data = data;
+			_codes = null;
+			_dict = null;
+			_shared = _borrowed = false;
+		}
+		private long getInMemoryDictionarySize() {
+			//tokens referenced by codes (excl tokens of prior updates)
+			boolean[] live = new boolean[_dict.getMaxCode()+1];
+			long size = 0;
+			for( int i=0; i<_size; i++ ) {
+				int code = _codes[i];
+				if( code > 0 && !live[code] ) {
+					live[code] = true;
+					size += getInMemoryStringSize(_dict.getToken(code)) + 8 + 4 + 8;
+				}
+			}
+			return size;
+		}
+		private static int getCodeWidth(int ndict) {
+			return (ndict <= 0xFF) ? 1 : (ndict <= 0xFFFF) ? 2 : 4;
+		}
+		public String[] getStrings() {
+			if( _codes == null )
+				return _data;
+			//materialize dictionary-encoded strings
+			String[] ret = new String[_size];
+			for( int i=0; i<_size; i++ )
+				ret[i] = get(i);
+			return ret;
+		}
+		public boolean dictionaryEncode(int maxDistinct) {
+			if( _codes != null )
+				return true;
+			//build dictionary w/ early abort on high cardinality
+			RecodeMap dict = new RecodeMap();
+			int[] codes = new int[_size];
+			for( int i=0; i<_size; i++ ) {
+				if( _data[i] == null )
+					continue;
+				codes[i] = dict.putIfAbsent(_data[i]);
+				if( dict.size() > maxDistinct )
+					return false;
+			}
+			_codes = codes;
+			_dict = dict;
+			_data = null;
+			return true;
+		}
 		@Override
 		public Array clone() {
-			return new StringArray(Arrays.copyOf(_data, _size));
+			return (_codes != null) ?
+				new StringArray(Arrays.copyOf(_codes, _size), this) :
+				new StringArray(Arrays.copyOf(_data, _size));
 		}
 		@Override
 		public Array slice(int rl, int ru) {
-			return new StringArray(Arrays.copyOfRange(_data,rl,ru+1));
+			if( _codes == null )
+				return new StringArray(Arrays.copyOfRange(_data,rl,ru+1));
+			//share dictionary unless much larger than the slice (e.g., for
+			//blocking), in which case we create a compact dictionary
+			if( ru-rl+1 >= _dict.size() )
+				return new StringArray(Arrays.copyOfRange(_codes,rl,ru+1), this);
+			StringArray ret = new StringArray(new int[ru-rl+1], new RecodeMap());
+			ret.set(0, ru-rl, this, rl);
+			return ret;
 		}
 		@Override
 		public void reset(int size) {
-			if( _data.length < size )
+			if( _codes != null ) {
+				if( _codes.length < size )
+					_codes = new int[size];
+			}
+			else if( _data.length < size )
 				_data = new String[size];
 			_size = size;
 		}
@@ -1366,6 +1776,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			return _data[index];
 		}
 		@Override
+		public double getAsDouble(int index) {
+			return _data[index] ? 1 : 0;
+		}
+		@Override
 		public void set(int index, Boolean value) {
 			_data[index] = (value!=null) ? value : false;
 		}
@@ -1431,6 +1845,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			return _data[index];
 		}
 		@Override
+		public double getAsDouble(int index) {
+			return _data[index];
+		}
+		@Override
 		public void set(int index, Long value) {
 			_data[index] = (value!=null) ? value : 0L;
 		}
@@ -1496,6 +1914,14 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			return _data[index];
 		}
 		@Override
+		public double getAsDouble(int index) {
+			return _data[index];
+		}
+		@Override
+		public void getAsDouble(int rl, int ru, double[] ret, int pos) {
+			System.arraycopy(_data, rl, ret, pos, ru-rl);
+		}
+		@Override
 		public void set(int index, Double value) {
 			_data[index] = (value!=null) ? value : 0d;
 		}
@@ -1281,7 +1281,9 @@ public class LibMatrixAgg
 		{
 			case KAHAN_SUM: { //SUM/TRACE via k+, 
 				KahanObject kbuff = new KahanObject(0, 0);
-				if( ixFn instanceof ReduceAll ) // SUM
+				if( DenseBlockFP32.isCompact(a) && !(ixFn instanceof ReduceDiag) ) //SUM/ROWSUM/COLSUM
+					d_uakpFP32(a, c, n, kbuff, (KahanPlus)vFn, ixFn, rl, ru);
+				else if( ixFn instanceof ReduceAll ) // SUM
 					d_uakp(a, c, n, kbuff, (KahanPlus)vFn, rl, ru);
 				else if( ixFn instanceof ReduceCol ) //ROWSUM
 					d_uarkp(a, c, n, kbuff, (KahanPlus)vFn, rl, ru);
@@ -1651,6 +1653,56 @@ public class LibMatrixAgg
 		c.set(kbuff);
 	}
 	
+	/**
+	 * SUM/ROWSUM/COLSUM, opcodes: uak+/uark+/uack+, single-precision dense
+	 * input, which is read directly from the float arrays without widening
+	 * into double precision.
+	 * 
+	 * @param a single-precision dense block
+	 * @param c output dense block
+	 * @param n number of columns
+	 * @param kbuff kahan buffer
+	 * @param kplus kahan plus function
+	 * @param ixFn index function (ReduceAll, ReduceCol, or ReduceRow)
+	 * @param rl row lower index
+	 * @param ru row upper index
+	 */
+	private static void d_uakpFP32( DenseBlock a, DenseBlock c, int n, KahanObject kbuff, KahanPlus kplus, IndexFunction ixFn, int rl, int ru ) {
+		//obtain float arrays once (null if concurrently widened)
+		float[][] avals = ((DenseBlockFP32)a).valuesFP32();
+		if( avals == null ) {
+			if( ixFn instanceof ReduceAll ) //SUM
+				d_uakp(a, c, n, kbuff, kplus, rl, ru);
+			else if( ixFn instanceof ReduceCol ) //ROWSUM
+				d_uarkp(a, c, n, kbuff, kplus, rl, ru);
+			else //COLSUM
+				d_uackp(a, c, n, kbuff, kplus, rl, ru);
+			return;
+		}
+		
+		if( ixFn instanceof ReduceAll ) { //SUM
+			final int bil = a.index(rl);
+			final int biu = a.index(ru-1);
+			for(int bi=bil; bi<=biu; bi++) {
+				int lpos = (bi==bil) ? a.pos(rl) : 0;
+				int len = (bi==biu) ? a.pos(ru-1)-lpos+n : a.blockSize(bi)*n;
+				sumFP32(avals[bi], lpos, len, kbuff, kplus);
+			}
+			c.set(kbuff);
+		}
+		else if( ixFn instanceof ReduceCol ) { //ROWSUM
+			for( int i=rl; i<ru; i++ ) {
+				kbuff.set(0, 0); //reset buffer
+				sumFP32( avals[a.index(i)], a.pos(i), n, kbuff, kplus );
+				c.set(i, kbuff);
+			}
+		}
+		else { //COLSUM
+			for( int i=rl; i<ru; i++ )
+				sumAggFP32( avals[a.index(i)], c, a.pos(i), n, kbuff, kplus );
+		}
+	}
+	
 	/**
 	 * ROWSUM, opcode: uark+, dense input.
 	 * 
@@ -2947,6 +2999,25 @@ public class LibMatrixAgg
 			kplus.execute2(kbuff, a[i]);
 	}
 
+	private static void sumFP32(float[] a, int ai, final int len, KahanObject kbuff, KahanFunction kplus) {
+		for (int i=ai; i<ai+len; i++)
+			kplus.execute2(kbuff, a[i]);
+	}
+
+	private static void sumAggFP32(float[] a, DenseBlock c, int ai, final int len, KahanObject kbuff, KahanFunction kplus) {
+		//note: output might span multiple physical blocks
+		double[] sum = c.values(0);
+		double[] corr = c.values(1);
+		int pos0 = c.pos(0), pos1 = c.pos(1);
+		for (int i=0; i<len; i++) {
+			kbuff._sum = sum[pos0+i];
+			kbuff._correction = corr[pos1+i];
+			kplus.execute2(kbuff, a[ai+i]);
+			sum[pos0+i] = kbuff._sum;
+			corr[pos1+i] = kbuff._correction;
+		}
+	}
+
 	private static void sumAgg(double[] a, DenseBlock c, int ai, final int len, KahanObject kbuff, KahanFunction kplus) {
 		//note: output might span multiple physical blocks
 		double[] sum = c.values(0);
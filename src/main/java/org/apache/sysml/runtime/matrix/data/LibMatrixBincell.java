@@ -752,6 +752,12 @@ public class LibMatrixBincell
 		DenseBlock dc = ret.getDenseBlock();
 		ValueFunction fn = op.fn;
 		
+		//single-precision inputs (w/o widening)
+		if( DenseBlockFP32.isCompact(da) || DenseBlockFP32.isCompact(db) ) {
+			ret.setNonZeros(safeBinaryMMDenseDenseDenseFP32(da, db, dc, fn, m1.rlen, m1.clen));
+			return;
+		}
+		
 		//compute dense-dense binary, maintain nnz on-the-fly
 		long lnnz = 0;
 		for( int bi=0; bi<da.numBlocks(); bi++ ) {
@@ -767,6 +773,65 @@ public class LibMatrixBincell
 		ret.setNonZeros(lnnz);
 	}
 	
+	private static long safeBinaryMMDenseDenseDenseFP32(DenseBlock da, DenseBlock db, DenseBlock dc, ValueFunction fn, int rlen, int clen) {
+		//obtain float arrays once (null if double precision or concurrently widened)
+		float[][] fa = (da instanceof DenseBlockFP32) ? ((DenseBlockFP32)da).valuesFP32() : null;
+		float[][] fb = (db instanceof DenseBlockFP32) ? ((DenseBlockFP32)db).valuesFP32() : null;
+		//double-precision inputs w/o backing arrays are read via copied rows
+		double[] a = (fa == null && !da.isArrayBacked()) ? new double[clen] : null;
+		double[] b = (fb == null && !db.isArrayBacked()) ? new double[clen] : null;
+		
+		//compute row-wise over float arrays (w/o widening), maintain nnz on-the-fly
+		long lnnz = 0;
+		for( int i=0; i<rlen; i++ ) {
+			double[] c = dc.values(i);
+			int cix = dc.pos(i);
+			int aix = da.pos(i), bix = db.pos(i);
+			if( fa != null && fb != null ) {
+				float[] avals = fa[da.index(i)], bvals = fb[db.index(i)];
+				for( int j=0; j<clen; j++ ) {
+					c[cix+j] = fn.execute(avals[aix+j], bvals[bix+j]);
+					lnnz += (c[cix+j]!=0)? 1 : 0;
+				}
+			}
+			else if( fa != null ) {
+				float[] avals = fa[da.index(i)];
+				double[] bvals = getRow(db, i, b);
+				bix = (b != null) ? 0 : bix;
+				for( int j=0; j<clen; j++ ) {
+					c[cix+j] = fn.execute(avals[aix+j], bvals[bix+j]);
+					lnnz += (c[cix+j]!=0)? 1 : 0;
+				}
+			}
+			else if( fb != null ) {
+				double[] avals = getRow(da, i, a);
+				aix = (a != null) ? 0 : aix;
+				float[] bvals = fb[db.index(i)];
+				for( int j=0; j<clen; j++ ) {
+					c[cix+j] = fn.execute(avals[aix+j], bvals[bix+j]);
+					lnnz += (c[cix+j]!=0)? 1 : 0;
+				}
+			}
+			else { //both inputs concurrently widened
+				double[] avals = getRow(da, i, a), bvals = getRow(db, i, b);
+				aix = (a != null) ? 0 : aix;
+				bix = (b != null) ? 0 : bix;
+				for( int j=0; j<clen; j++ ) {
+					c[cix+j] = fn.execute(avals[aix+j], bvals[bix+j]);
+					lnnz += (c[cix+j]!=0)? 1 : 0;
+				}
+			}
+		}
+		return lnnz;
+	}
+	
+	private static double[] getRow(DenseBlock db, int r, double[] buff) {
+		if( buff == null )
+			return db.values(r);
+		db.get(r, buff, 0);
+		return buff;
+	}
+	
 	private static void safeBinaryMMSparseDenseSkip(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
 		SparseBlock a = m1.sparse ? m1.sparseBlock : m2.sparseBlock;
 		if( a == null )
@@ -887,6 +887,12 @@ public class LibMatrixMult
 		final int n = m2.clen;
 		final int cd = m1.clen;
 		
+		if( !tm2 && (DenseBlockFP32.isCompact(a) || DenseBlockFP32.isCompact(b)) ) {
+			//single-precision inputs (w/o widening)
+			matrixMultDenseDenseFP32(a, b, c, pm2, m, n, cd, rl, ru, cl, cu);
+			return;
+		}
+		
 		if( LOW_LEVEL_OPTIMIZATION ) {
 			if( m==1 && n==1 ) {            //DOT PRODUCT
 				double[] avals = a.valuesAt(0);
@@ -949,6 +955,65 @@ public class LibMatrixMult
 		}
 	}
 	
+	private static void matrixMultDenseDenseFP32(DenseBlock a, DenseBlock b, DenseBlock c, boolean pm2, int m, int n, int cd, int rl, int ru, int cl, int cu) {
+		//note: single-precision inputs are read in place (lhs via element or row
+		//accesses, rhs via float arrays), while the output is in double precision
+		final int il = pm2 ? 0 : rl, iu = pm2 ? m : ru;
+		final int kl = pm2 ? rl : 0, ku = pm2 ? ru : cd;
+		
+		if( n == 1 ) { //MATRIX-VECTOR
+			double[] avals = new double[cd];
+			double[] bvals = new double[cd];
+			for( int k=kl; k<ku; k++ )
+				bvals[k] = b.get(k, 0);
+			for( int i=il; i<iu; i++ ) {
+				a.get(i, avals, 0);
+				c.set(i, 0, c.get(i, 0) + dotProduct(avals, bvals, kl, kl, ku-kl));
+			}
+			return;
+		}
+		
+		final int blocksizeI = 32;
+		final int blocksizeK = 24;
+		final int blocksizeJ = 1024;
+		
+		//float arrays of rhs (snapshot, as concurrent widening releases them)
+		float[][] bvals32 = (b instanceof DenseBlockFP32) ?
+			((DenseBlockFP32)b).valuesFP32() : null;
+		double[] ta = new double[blocksizeI * blocksizeK];
+		
+		//blocked execution
+		for( int bi = il; bi < iu; bi+=blocksizeI ) {
+			int bimin = Math.min(iu, bi+blocksizeI);
+			for( int bk = kl; bk < ku; bk+=blocksizeK ) {
+				int bkmin = Math.min(ku, bk+blocksizeK);
+				int bklen = bkmin - bk;
+				
+				//copy lhs sub block (reused for all column blocks)
+				for( int i=bi, tix=0; i<bimin; i++ )
+					for( int k=bk; k<bkmin; k++, tix++ )
+						ta[tix] = a.get(i, k);
+				
+				//core sub block matrix multiplication
+				for( int bj = cl; bj < cu; bj+=blocksizeJ ) {
+					int bjlen = Math.min(cu, bj+blocksizeJ)-bj;
+					for( int i=bi; i<bimin; i++ ) {
+						double[] cvals = c.values(i);
+						int cix = c.pos(i, bj);
+						for( int k=bk, tix=(i-bi)*bklen; k<bkmin; k++, tix++ ) {
+							if( ta[tix] == 0 )
+								continue;
+							if( bvals32 != null )
+								vectMultiplyAdd(ta[tix], bvals32[b.index(k)], cvals, b.pos(k, bj), cix, bjlen);
+							else
+								vectMultiplyAdd(ta[tix], b.values(k), cvals, b.pos(k, bj), cix, bjlen);
+						}
+					}
+				}
+			}
+		}
+	}
+	
 	private static void matrixMultDenseDenseMVShortRHS(DenseBlock a, DenseBlock b, DenseBlock c, int cd, int rl, int ru) {
 		double[] bvals = b.valuesAt(0);
 		double[] cvals = c.valuesAt(0);
@@ -3174,6 +3239,28 @@ public class LibMatrixMult
 		}
 	}
 
+	public static void vectMultiplyAdd( final double aval, float[] b, double[] c, int bi, int ci, final int len )
+	{
+		final int bn = len%8;
+		
+		//rest, not aligned to 8-blocks
+		for( int j = 0; j < bn; j++, bi++, ci++)
+			c[ ci ] += aval * b[ bi ];
+		
+		//unrolled 8-block (for better instruction-level parallelism)
+		for( int j = bn; j < len; j+=8, bi+=8, ci+=8) 
+		{
+			c[ ci+0 ] += aval * b[ bi+0 ];
+			c[ ci+1 ] += aval * b[ bi+1 ];
+			c[ ci+2 ] += aval * b[ bi+2 ];
+			c[ ci+3 ] += aval * b[ bi+3 ];
+			c[ ci+4 ] += aval * b[ bi+4 ];
+			c[ ci+5 ] += aval * b[ bi+5 ];
+			c[ ci+6 ] += aval * b[ bi+6 ];
+			c[ ci+7 ] += aval * b[ bi+7 ];
+		}
+	}
+
     private static void vectMultiplyAdd2( final double aval1, final double aval2, double[] b, double[] c, int bi1, int bi2, int ci, final int len )
 	{
 		final int bn = len%8;	
@@ -3774,7 +3861,9 @@ public class LibMatrixMult
 	private static boolean checkPrepMatrixMultRightInput( MatrixBlock m1, MatrixBlock m2 ) {
 		//transpose if dense-dense, skinny rhs matrix (not vector), and memory guarded by output 
 		return (LOW_LEVEL_OPTIMIZATION && !m1.sparse && !m2.sparse 
-			&& isSkinnyRightHandSide(m1.rlen, m1.clen, m2.rlen, m2.clen, true));
+			&& isSkinnyRightHandSide(m1.rlen, m1.clen, m2.rlen, m2.clen, true)
+			&& !DenseBlockFP32.isCompact(m1.getDenseBlock())   //no widening of
+			&& !DenseBlockFP32.isCompact(m2.getDenseBlock())); //fp32 inputs
 	}
 	
 	//note: public for use by codegen for consistency
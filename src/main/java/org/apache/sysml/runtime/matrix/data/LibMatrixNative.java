@@ -78,19 +78,25 @@ public class LibMatrixNative
 			return;
 		}
 		
+		//single-precision inputs are passed w/o widening for single-precision
+		//native BLAS, but otherwise processed by the java fp32 kernels
+		boolean fp32 = DenseBlockFP32.isCompact(m1.getDenseBlock())
+			|| DenseBlockFP32.isCompact(m2.getDenseBlock());
+		
 		if( NativeHelper.isNativeLibraryLoaded()
 			&& !isMatMultMemoryBound(m1.rlen, m1.clen, m2.clen) 
 			&& !m1.isInSparseFormat() && !m2.isInSparseFormat()
 			&& m1.getDenseBlock().isContiguous() && m2.getDenseBlock().isContiguous()
-			&& 8L * ret.getLength() < Integer.MAX_VALUE ) //contiguous but not allocated
+			&& 8L * ret.getLength() < Integer.MAX_VALUE //contiguous but not allocated
+			&& (!fp32 || isSinglePrecision()) )
 		{
 			ret.sparse = false;
 			ret.allocateDenseBlock();
 			long start = ConfigurationManager.isStatistics() ? System.nanoTime() : 0;
 			boolean rccode = false;
 			if( isSinglePrecision() ) {
-				FloatBuffer fin1 = toFloatBuffer(m1.getDenseBlockValues(), inBuff, true);
-				FloatBuffer fin2 = toFloatBuffer(m2.getDenseBlockValues(), filterBuff, true);
+				FloatBuffer fin1 = toFloatBuffer(m1.getDenseBlock(), inBuff);
+				FloatBuffer fin2 = toFloatBuffer(m2.getDenseBlock(), filterBuff);
 				FloatBuffer fout = toFloatBuffer(ret.getDenseBlockValues(), outBuff, false);
 				rccode = NativeHelper.smmdd(fin1, fin2, fout, 
 					m1.getNumRows(), m1.getNumColumns(), m2.getNumColumns(), k);
@@ -297,6 +303,22 @@ public class LibMatrixNative
 			.getTextValue(DMLConfig.FLOATING_POINT_PRECISION).equals("single");
 	}
 	
+	private static FloatBuffer toFloatBuffer(DenseBlock input, ThreadLocal<FloatBuffer> buff) {
+		//bulk copy of contiguous single-precision blocks (w/o widening)
+		float[][] a = (input instanceof DenseBlockFP32) ?
+			((DenseBlockFP32)input).valuesFP32() : null;
+		if( a == null )
+			return toFloatBuffer(input.valuesAt(0), buff, true);
+		FloatBuffer ret = buff.get();
+		if( ret == null || ret.capacity() < a[0].length ) {
+			ret = ByteBuffer.allocateDirect(4*a[0].length)
+				.order(ByteOrder.nativeOrder()).asFloatBuffer();
+			buff.set(ret);
+		}
+		ret.duplicate().put(a[0]);
+		return ret;
+	}
+	
 	private static FloatBuffer toFloatBuffer(double[] input, ThreadLocal<FloatBuffer> buff, boolean copy) {
 		//maintain thread-local buffer (resized on demand)
 		FloatBuffer ret = buff.get();
@@ -186,6 +186,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		sparseBlock = sblock;
 	}
 	
+	/**
+	 * Constructs a dense {@link MatrixBlock} with a given instance of a {@link DenseBlock} 
+	 * @param rl number of rows
+	 * @param cl number of columns
+	 * @param nnz number of non zeroes
+	 * @param dblock dense block
+	 */
+	public MatrixBlock(int rl, int cl, long nnz, DenseBlock dblock) {
+		this(rl, cl, false, nnz);
+		nonZeros = nnz;
+		denseBlock = dblock;
+	}
+	
 	public MatrixBlock(MatrixBlock that, SparseBlock.Type stype, boolean deep) {
 		this(that.rlen, that.clen, that.sparse);
 		
@@ -2023,7 +2036,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		out.writeByte( BlockType.DENSE_BLOCK.ordinal() );
 		
 		DenseBlock a = getDenseBlock();
-		if( out instanceof MatrixBlockDataOutput ) { //fast serialize
+		if( !a.isArrayBacked() ) { //row-wise w/o widening (e.g., mapped blocks)
+			double[] tmp = new double[clen];
+			for(int i=0; i<rlen; i++) {
+				a.get(i, tmp, 0);
+				if( out instanceof MatrixBlockDataOutput )
+					((MatrixBlockDataOutput)out).writeDoubleArray(clen, tmp);
+				else
+					for(int j=0; j<clen; j++)
+						out.writeDouble(tmp[j]);
+			}
+		}
+		else if( out instanceof MatrixBlockDataOutput ) { //fast serialize
 			MatrixBlockDataOutput mout = (MatrixBlockDataOutput)out;
 			for(int i=0; i<a.numBlocks(); i++)
 				mout.writeDoubleArray(a.size(i), a.valuesAt(i));
@@ -2399,6 +2423,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		// robustness for long overflows
 		return (long) Math.min(size, Long.MAX_VALUE);
 	}
+	
+	public static long estimateSizeDenseInMemoryFP32(long nrows, long ncols)
+	{
+		// basic variables and references sizes
+		double size = 44;
+		
+		// core dense matrix block (float array)
+		size += 4d * nrows * ncols;
+		
+		// robustness for long overflows
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
 
 	public static long estimateSizeSparseInMemory(long nrows, long ncols, double sparsity) {
 		return estimateSizeSparseInMemory(nrows, ncols, sparsity, DEFAULT_SPARSEBLOCK);
@@ -2569,6 +2605,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( !isAllocated() ) 
 			return 44;
 		//in-memory size of dense/sparse representation
+		if( !sparse && DenseBlockFP32.isCompact(denseBlock) )
+			return estimateSizeDenseInMemoryFP32(rlen, clen);
 		return !sparse ? estimateSizeDenseInMemory(rlen, clen) :
 			estimateSizeSparseInMemory(rlen, clen, getSparsity(),
 			SparseBlockFactory.getSparseBlockType(sparseBlock));
@@ -2613,6 +2651,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			cleanupBlock(true, true);
 	}
 	
+	/**
+	 * Converts an allocated dense block into single precision (rounding all
+	 * values), or converts a widened single-precision block back. Sparse
+	 * blocks and memory-mapped dense blocks are left unchanged.
+	 */
+	public void compactDenseBlockFP32() {
+		if( sparse || denseBlock == null || denseBlock instanceof DenseBlockMapped )
+			return;
+		if( denseBlock instanceof DenseBlockFP32 )
+			((DenseBlockFP32)denseBlock).compact();
+		else
+			denseBlock = new DenseBlockFP32(rlen, clen, denseBlock);
+	}
+	
 	////////
 	// Core block operations (called from instructions)
 
@@ -24,6 +24,7 @@ import java.io.DataInput;
 import java.io.IOException;
 import java.util.Arrays;
 
+import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.util.SortUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -46,6 +47,9 @@ import org.apache.sysml.runtime.util.UtilFunctions;
 public class SparseBlockCSR extends SparseBlock 
 {
 	private static final long serialVersionUID = 1922673868466164244L;
+	
+	//number of jv-pairs per chunk on deserialization (48KB buffer)
+	private static final int INIT_READ_CHUNK = 4096;
 
 	private int[] _ptr = null;       //row pointer array (size: rlen+1)
 	private int[] _indexes = null;   //column index array (size: >=nnz)
@@ -240,13 +244,17 @@ public class SparseBlockCSR extends SparseBlock
 		if( _values.length < nnz )
 			resize(newCapacity(nnz));
 		
-		//read sparse rows, append and update pointers
+		//read sparse rows, append and update pointers, where jv-pairs
+		//are read in chunks and decoded directly into the CSR arrays
+		byte[] buff = new byte[Math.min(nnz, INIT_READ_CHUNK)*12];
 		_ptr[0] = 0;
 		for( int r=0, pos=0; r<rlen; r++ ) {
 			int lnnz = in.readInt();
-			for( int j=0; j<lnnz; j++, pos++ ) {
-				_indexes[pos] = in.readInt();
-				_values[pos] = in.readDouble();
+			for( int j=0; j<lnnz; j+=INIT_READ_CHUNK ) {
+				int lblen = Math.min(lnnz-j, INIT_READ_CHUNK);
+				in.readFully(buff, 0, lblen*12);
+				IOUtilFunctions.baToSparsePairs(buff, 0, _indexes, _values, pos, lblen);
+				pos += lblen;
 			}
 			_ptr[r+1] = pos;
 		}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Streaming transformapply over csv frame inputs that exceed the local
+ * memory budget. The input is read in chunks of input splits, the encoders
+ * (configured from the given meta data) are applied chunk by chunk, and the
+ * output is written incrementally as binary blocks, where encoded rows that
+ * do not fill an entire row block are carried over to the next chunk.
+ * Hence, the memory requirements are bounded by the chunk size instead
+ * of the size of the input and output.
+ */
+public class TfStreamingApply
+{
+	//stream csv inputs larger than this fraction of the local memory budget
+	//(in-memory frames of strings are usually multiple times larger than text)
+	private static final double MEM_BUDGET_RATIO = 0.25;
+
+	//chunk size as fraction of the local memory budget, with upper bound
+	private static final double CHUNK_MEM_RATIO = 0.02;
+	private static final long MAX_CHUNK_SIZE = 128L * 1024 * 1024;
+
+	/**
+	 * Indicates if transformapply over the given frame input should be
+	 * executed in streaming mode, which is the case for csv inputs that
+	 * are not in memory and exceed the local memory budget.
+	 *
+	 * @param fo frame object
+	 * @return true if streaming transformapply is applicable
+	 */
+	public static boolean isStreamingApplicable(FrameObject fo) {
+		if( fo.getFileName() == null || fo.isCached(true) || fo.isDirty() || fo.getRDDHandle() != null
+			|| !(fo.getMetaData() instanceof MetaDataFormat)
+			|| ((MetaDataFormat)fo.getMetaData()).getInputInfo() != InputInfo.CSVInputInfo )
+			return false;
+		try {
+			//single file status lookup for existence and size (except
+			//for directories of multi-part files)
+			Path path = new Path(fo.getFileName());
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			FileStatus fstat = fs.getFileStatus(path);
+			long size = fstat.isDirectory() ?
+				fs.getContentSummary(path).getLength() : fstat.getLen();
+			return size > MEM_BUDGET_RATIO * OptimizerUtils.getLocalMemBudget();
+		}
+		catch(FileNotFoundException ex) {
+			return false;
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Applies the transform specification with the given meta data over the
+	 * csv input of the given frame object, and writes the output as binary
+	 * blocks.
+	 *
+	 * @param fo frame object of csv input
+	 * @param spec transform specification as json string
+	 * @param meta transform meta data
+	 * @param fnameOut output file name
+	 * @param brlen number of rows per block
+	 * @param bclen number of columns per block
+	 * @param k degree of parallelism for encoder apply
+	 * @return matrix characteristics of output
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixCharacteristics transformApply(FrameObject fo, String spec,
+		FrameBlock meta, String fnameOut, int brlen, int bclen, int k)
+		throws IOException
+	{
+		FileFormatPropertiesCSV props = (fo.getFileFormatProperties() instanceof FileFormatPropertiesCSV) ?
+			(FileFormatPropertiesCSV)fo.getFileFormatProperties() : new FileFormatPropertiesCSV();
+		long chunkSize = Math.min(MAX_CHUNK_SIZE,
+			(long)(CHUNK_MEM_RATIO * OptimizerUtils.getLocalMemBudget()));
+		return transformApply(fo.getFileName(), props, fo.getSchema(), fo.getNumColumns(),
+			spec, meta, fnameOut, brlen, bclen, chunkSize, k);
+	}
+
+	/**
+	 * Applies the transform specification with the given meta data over the
+	 * given csv input file, and writes the output as binary blocks.
+	 *
+	 * @param fnameIn input file name
+	 * @param props csv file format properties
+	 * @param schema value types of input columns, or null for strings
+	 * @param clen number of input columns, or -1 if unknown
+	 * @param spec transform specification as json string
+	 * @param meta transform meta data
+	 * @param fnameOut output file name
+	 * @param brlen number of rows per block
+	 * @param bclen number of columns per block
+	 * @param chunkSize maximum chunk size in bytes
+	 * @param k degree of parallelism for encoder apply
+	 * @return matrix characteristics of output
+	 * @throws IOException if IOException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	public static MatrixCharacteristics transformApply(String fnameIn, FileFormatPropertiesCSV props,
+		ValueType[] schema, long clen, String spec, FrameBlock meta, String fnameOut,
+		int brlen, int bclen, long chunkSize, int k)
+		throws IOException
+	{
+		//prepare chunked input
+		FrameReaderTextCSV reader = new FrameReaderTextCSV(props);
+		Iterator<FrameBlock> iter = reader.readFrameChunksFromHDFS(fnameIn,
+			(schema != null) ? schema : reader.getDefSchema(clen),
+			reader.getDefColNames(clen), clen, chunkSize);
+
+		//prepare binary block output
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fnameOut );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		MapReduceTool.deleteFileIfExistOnHDFS(path, job);
+		SequenceFile.Writer writer = null;
+
+		long rlen = 0, nnz = 0;
+		int ncol = -1;
+		try {
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
+			Encoder encoder = null;
+			MatrixBlock carry = null; //encoded rows of last partial row block
+			while( iter.hasNext() ) {
+				FrameBlock chunk = iter.next();
+
+				//create encoder once (column names from header of first chunk)
+				if( encoder == null )
+					encoder = EncoderFactory.createEncoder(spec,
+						chunk.getColumnNames(), chunk.getNumColumns(), meta);
+				if( chunk.getNumRows() == 0 )
+					continue;
+
+				//apply encoders to chunk
+				MatrixBlock out = encoder.apply(chunk, new MatrixBlock(
+					chunk.getNumRows(), chunk.getNumColumns(), false), k);
+				if( ncol >= 0 && out.getNumColumns() != ncol )
+					throw new IOException("Mismatching number of columns of encoded "
+						+ "chunk: "+out.getNumColumns()+" (expected: "+ncol+").");
+				ncol = out.getNumColumns();
+				if( out.getNumRows() == 0 ) //all rows omitted
+					continue;
+				int rl = 0;
+
+				//complete carried rows with leading rows of the chunk (w/o
+				//copying the entire chunk), and write the first row block
+				if( carry != null ) {
+					rl = Math.min(brlen - carry.getNumRows(), out.getNumRows());
+					carry = carry.append(out.slice(0, rl-1), new MatrixBlock(), false);
+					if( carry.getNumRows() < brlen )
+						continue;
+					nnz += writeBlocks(writer, carry, 0, brlen, rlen, brlen, bclen);
+					rlen += brlen;
+					carry = null;
+				}
+
+				//write all full row blocks, and carry remaining rows
+				int ru = rl + (out.getNumRows() - rl) / brlen * brlen;
+				nnz += writeBlocks(writer, out, rl, ru, rlen, brlen, bclen);
+				rlen += ru - rl;
+				carry = (ru < out.getNumRows()) ?
+					out.slice(ru, out.getNumRows()-1) : null;
+			}
+
+			//write last partial row block
+			if( carry != null ) {
+				nnz += writeBlocks(writer, carry, 0, carry.getNumRows(), rlen, brlen, bclen);
+				rlen += carry.getNumRows();
+			}
+		}
+		catch(DMLRuntimeException ex) {
+			throw new IOException("Failed streaming transformapply over "+fnameIn+".", ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+		return new MatrixCharacteristics(rlen, Math.max(ncol, 0), brlen, bclen, nnz);
+	}
+
+	private static long writeBlocks(SequenceFile.Writer writer, MatrixBlock src,
+		int rl, int ru, long rix, int brlen, int bclen) throws IOException
+	{
+		//write row blocks of rows [rl,ru) of src, starting at global row rix
+		//(multiple of brlen), and return the number of non-zeros
+		long nnz = 0;
+		int clen = src.getNumColumns();
+		MatrixIndexes indexes = new MatrixIndexes();
+		for( int bi=rl; bi<ru; bi+=brlen ) {
+			int bimin = Math.min(bi+brlen, ru);
+			for( int bj=0; bj<clen; bj+=bclen ) {
+				int bjmin = Math.min(bj+bclen, clen);
+				MatrixBlock block = src.slice(bi, bimin-1, bj, bjmin-1, new MatrixBlock());
+				block.examSparsity();
+				indexes.setIndexes((rix+bi-rl)/brlen+1, bj/bclen+1);
+				writer.append(indexes, block);
+				nnz += block.getNonZeros();
+			}
+		}
+		return nnz;
+	}
+}
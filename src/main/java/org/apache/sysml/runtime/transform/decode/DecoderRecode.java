@@ -19,26 +19,25 @@
 
 package org.apache.sysml.runtime.transform.decode;
 
-import java.util.HashMap;
-
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.TfUtils;
-import org.apache.sysml.runtime.transform.encode.EncoderRecode;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
  * Simple atomic decoder for recoded columns. This decoder builds internally
- * inverted recode maps from the given frame meta data. 
+ * inverted recode maps from the given frame meta data, as arrays of decoded
+ * tokens indexed by code. 
  *  
  */
 public class DecoderRecode extends Decoder
 {
 	private static final long serialVersionUID = -3784249774608228805L;
 
-	private HashMap<Long, Object>[] _rcMaps = null;
+	private Object[][] _rcMaps = null;
 	private boolean _onOut = false;
 	
 	protected DecoderRecode(ValueType[] schema, boolean onOut, int[] rcCols) {
@@ -55,7 +54,7 @@ public class DecoderRecode extends Decoder
 					double val = UtilFunctions.objectToDouble(
 							out.getSchema()[colID-1], out.get(i, colID-1));
 					long key = UtilFunctions.toLong(val);
-					out.set(i, colID-1, _rcMaps[j].get(key));
+					out.set(i, colID-1, lookupRCMap(_rcMaps[j], key));
 				}
 			}
 		}
@@ -65,28 +64,30 @@ public class DecoderRecode extends Decoder
 				for( int j=0; j<_colList.length; j++ ) {
 					double val = in.quickGetValue(i, _colList[j]-1);
 					long key = UtilFunctions.toLong(val);
-					out.set(i, _colList[j]-1, _rcMaps[j].get(key));
+					out.set(i, _colList[j]-1, lookupRCMap(_rcMaps[j], key));
 				}
 			}
 		}
 		return out;
 	}
 
+	private static Object lookupRCMap(Object[] map, long code) {
+		return (code >= 1 && code <= map.length) ? map[(int)code-1] : null;
+	}
+
 	@Override
-	@SuppressWarnings("unchecked")
 	public void initMetaData(FrameBlock meta) {
-		//initialize recode maps according to schema
-		_rcMaps = new HashMap[_colList.length];
+		//initialize inverted recode maps according to schema
+		_rcMaps = new Object[_colList.length][];
 		for( int j=0; j<_colList.length; j++ ) {
-			HashMap<Long, Object> map = new HashMap<>();
-			for( int i=0; i<meta.getNumRows(); i++ ) {
-				if( meta.get(i, _colList[j]-1)==null )
-					break; //reached end of recode map
-				String[] tmp = EncoderRecode.splitRecodeMapEntry(meta.get(i, _colList[j]-1).toString());
-				Object obj = UtilFunctions.stringToObject(_schema[_colList[j]-1], tmp[0]);
-				map.put(Long.parseLong(tmp[1]), obj);
+			RecodeMap map = meta.getRecodeMap(_colList[j]-1);
+			Object[] rcMap = new Object[map.getMaxCode()];
+			for( int code=1; code<=rcMap.length; code++ ) {
+				String token = map.getToken(code);
+				if( token != null )
+					rcMap[code-1] = UtilFunctions.stringToObject(_schema[_colList[j]-1], token);
 			}
-			_rcMaps[j] = map;
+			_rcMaps[j] = rcMap;
 		}
 	}
 	
@@ -24,6 +24,8 @@ import java.util.Arrays;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -39,6 +41,9 @@ public abstract class Encoder implements Serializable
 	private static final long serialVersionUID = 2299156350718979064L;
 	protected static final Log LOG = LogFactory.getLog(Encoder.class.getName());
 	
+	//minimum number of rows for multi-threaded build and apply
+	protected static final int PAR_NUMROWS_THRESHOLD = 64*1024;
+	
 	protected int _clen = -1; 
 	protected int[] _colList = null;
 	
@@ -122,6 +127,73 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
 
+	/**
+	 * Block encode: build and apply (transform encode) with the given
+	 * degree of parallelism.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		//default: single-threaded encode
+		return encode(in, out);
+	}
+	
+	/**
+	 * Build the transform meta data for the given block input with the
+	 * given degree of parallelism, e.g., over row partitions of the input.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		//default: single-threaded build
+		build(in);
+	}
+	
+	/**
+	 * Encode input data blockwise according to existing transform meta
+	 * data (transform apply) with the given degree of parallelism.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//default: single-threaded apply
+		return apply(in, out);
+	}
+	
+	/**
+	 * Indicates if this encoder supports the row-partitioned apply via
+	 * {@link #apply(FrameBlock, DenseBlock, int, int)}, i.e., if every
+	 * output row only depends on the same row of input and output.
+	 * 
+	 * @return true if row-partitioned apply is supported
+	 */
+	public boolean isRowPartitionable() {
+		return false;
+	}
+	
+	/**
+	 * Encode the rows [rl,ru) of the input according to existing transform
+	 * meta data into the allocated dense output. Since this row-partitioned 
+	 * apply is used for multi-threaded apply over disjoint row ranges, it 
+	 * does not maintain the number of non-zeros of the output.
+	 * 
+	 * @param in input frame block
+	 * @param out dense output block
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 */
+	public void apply(FrameBlock in, DenseBlock out, int rl, int ru) {
+		throw new DMLRuntimeException("Row-partitioned apply "
+			+ "not supported by "+getClass().getSimpleName()+".");
+	}
+	
 	/**
 	 * Construct a frame block out of the transform meta data.
 	 * 
@@ -28,6 +28,7 @@ import org.apache.wink.json4j.JSONArray;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
@@ -123,8 +124,7 @@ public class EncoderBin extends Encoder
 		for(int j=0; j<_colList.length; j++) {
 			int colID = _colList[j];
 			for( int i=0; i<in.getNumRows(); i++ ) {
-				double inVal = UtilFunctions.objectToDouble(
-						in.getSchema()[colID-1], in.get(i, colID-1));
+				double inVal = in.getDouble(i, colID-1);
 				int ix = Arrays.binarySearch(_binMaxs[j], inVal);
 				int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;		
 				out.quickSetValue(i, colID-1, binID);
@@ -133,6 +133,24 @@ public class EncoderBin extends Encoder
 		return out;
 	}
 
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
+	
+	@Override
+	public void apply(FrameBlock in, DenseBlock out, int rl, int ru) {
+		for(int j=0; j<_colList.length; j++) {
+			int colID = _colList[j];
+			for( int i=rl; i<ru; i++ ) {
+				double inVal = in.getDouble(i, colID-1);
+				int ix = Arrays.binarySearch(_binMaxs[j], inVal);
+				int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;
+				out.set(i, colID-1, binID);
+			}
+		}
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		return meta;
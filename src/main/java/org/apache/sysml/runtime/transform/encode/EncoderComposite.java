@@ -19,12 +19,19 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
  * Simple composite encoder that applies a list of encoders 
@@ -82,12 +89,46 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		if( k <= 1 )
+			return encode(in, out);
+		
+		try {
+			//build meta data first (for all encoders)
+			for( Encoder encoder : _encoders )
+				encoder.build(in, k);
+			
+			//propagate meta data 
+			_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
+			for( Encoder encoder : _encoders )
+				_meta = encoder.getMetaData(_meta);
+			for( Encoder encoder : _encoders )
+				encoder.initMetaData(_meta);
+			
+			//apply meta data
+			out = apply(in, out, k);
+		}
+		catch(Exception ex) {
+			LOG.error("Failed transform-encode frame with \n" + this);
+			throw ex;
+		}
+		
+		return out;
+	}
+
 	@Override
 	public void build(FrameBlock in) {
 		for( Encoder encoder : _encoders )
 			encoder.build(in);
 	}
 	
+	@Override
+	public void build(FrameBlock in, int k) {
+		for( Encoder encoder : _encoders )
+			encoder.build(in, k);
+	}
+	
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
 		try {
@@ -101,6 +142,62 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		if( k <= 1 || in.getNumRows() < PAR_NUMROWS_THRESHOLD )
+			return apply(in, out);
+		
+		try {
+			//apply consecutive row-partitionable encoders (e.g., recode, pass-through,
+			//bin) together in one pass over row partitions of the dense output, and 
+			//all other encoders (e.g., dummycode, omit) via their multi-threaded apply
+			int pos = 0;
+			while( pos < _encoders.size() ) {
+				List<Encoder> encoders = new ArrayList<>();
+				while( pos < _encoders.size() && _encoders.get(pos).isRowPartitionable()
+					&& !out.isInSparseFormat() && out.getNumRows() == in.getNumRows() )
+					encoders.add(_encoders.get(pos++));
+				if( !encoders.isEmpty() )
+					out = applyRowPartitioned(encoders, in, out, k);
+				else
+					out = _encoders.get(pos++).apply(in, out, k);
+			}
+		}
+		catch(Exception ex) {
+			LOG.error("Failed to transform-apply frame with \n" + this);
+			throw ex;
+		}
+		return out;
+	}
+	
+	private static MatrixBlock applyRowPartitioned(List<Encoder> encoders, FrameBlock in, MatrixBlock out, int k) {
+		//allocate dense output w/o resetting existing values
+		if( !out.isAllocated() )
+			out.allocateDenseBlock();
+		
+		//apply encoders over disjoint row partitions
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<ApplyTask> tasks = new ArrayList<>();
+			int rlen = out.getNumRows();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new ApplyTask(encoders, in, out.getDenseBlock(),
+					i*blklen, Math.min((i+1)*blklen, rlen)));
+			List<Future<Object>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> task : taskret )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//post-processing (nnz not maintained by row-partitioned apply)
+		out.recomputeNonZeros();
+		return out;
+	}
+	
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		if( _meta != null )
@@ -153,4 +250,28 @@ public class EncoderComposite extends Encoder
 		}
 		return sb.toString();
 	}
+	
+	private static class ApplyTask implements Callable<Object>
+	{
+		private final List<Encoder> _encoders;
+		private final FrameBlock _in;
+		private final DenseBlock _out;
+		private final int _rl;
+		private final int _ru;
+		
+		protected ApplyTask(List<Encoder> encoders, FrameBlock in, DenseBlock out, int rl, int ru) {
+			_encoders = encoders;
+			_in = in;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			for( Encoder encoder : _encoders )
+				encoder.apply(_in, _out, _rl, _ru);
+			return null;
+		}
+	}
 }
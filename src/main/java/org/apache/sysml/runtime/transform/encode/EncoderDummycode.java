@@ -19,10 +19,20 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
@@ -84,6 +94,72 @@ public class EncoderDummycode extends Encoder
 		return ret;
 	}
 
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		final boolean sparse = MatrixBlock.evalSparseFormatInMemory(
+			out.getNumRows(), getNumCols(), out.getNonZeros());
+		if( k <= 1 || out.getNumRows() < PAR_NUMROWS_THRESHOLD 
+			|| out.isInSparseFormat() || !MatrixBlock.isThreadSafe(sparse) )
+			return apply(in, out);
+		
+		//allocate output in dense or sparse representation
+		MatrixBlock ret = new MatrixBlock(out.getNumRows(), getNumCols(), sparse);
+		ret.allocateBlock();
+		
+		//dummy code disjoint row partitions of the dense input
+		long nnz = 0;
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<DummycodeTask> tasks = new ArrayList<>();
+			int rlen = out.getNumRows();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new DummycodeTask(out, ret, i*blklen, Math.min((i+1)*blklen, rlen)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+	
+	private long apply(MatrixBlock in, MatrixBlock ret, int rl, int ru) {
+		//append dummy coded or unchanged values to output rows
+		//(w/ partial nnz for thread-safe row-partitioned output)
+		final int clen = in.getNumColumns();
+		DenseBlock a = in.getDenseBlock();
+		DenseBlock c = ret.getDenseBlock();
+		SparseBlock sc = ret.getSparseBlock();
+		long lnnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			for(int colID=1, idx=0, ncolID=1; colID <= clen; colID++) {
+				double val = (a != null) ? a.get(i, colID-1) : 0;
+				int pos = ncolID-1;
+				if( idx < _colList.length && colID==_colList[idx] ) {
+					pos = ncolID-1+(int)val-1;
+					val = 1;
+					ncolID += _domainSizes[idx];
+					idx ++;
+				}
+				else {
+					ncolID ++;
+				}
+				if( val != 0 ) {
+					if( sc != null )
+						sc.append(i, pos, val);
+					else
+						c.set(i, pos, val);
+					lnnz++;
+				}
+			}
+		}
+		return lnnz;
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		return out;
@@ -97,6 +173,9 @@ public class EncoderDummycode extends Encoder
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
 			_domainSizes[j] = (int)meta.getColumnMetadata()[colID-1].getNumDistinct();
+			//robustness for meta data frames w/o number of distinct values
+			if( _domainSizes[j] <= 0 && meta.getNumRows() > 0 )
+				_domainSizes[j] = meta.getRecodeMap(colID-1).getMaxCode();
 			_dummycodedLength += _domainSizes[j]-1;
 		}
 	}
@@ -120,4 +199,24 @@ public class EncoderDummycode extends Encoder
 		
 		return out;
 	}
+	
+	private class DummycodeTask implements Callable<Long>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final int _rl;
+		private final int _ru;
+		
+		protected DummycodeTask(MatrixBlock in, MatrixBlock out, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			return apply(_in, _out, _rl, _ru);
+		}
+	}
 }
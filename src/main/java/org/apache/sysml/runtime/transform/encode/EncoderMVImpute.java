@@ -20,23 +20,30 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.wink.json4j.JSONArray;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.CM;
 import org.apache.sysml.runtime.functionobjects.Mean;
 import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 public class EncoderMVImpute extends Encoder 
@@ -306,8 +313,7 @@ public class EncoderMVImpute extends Encoder
 					//compute global column mean (scale)
 					long off = _countList[j];
 					for( int i=0; i<in.getNumRows(); i++ )
-						_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
-							in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
+						_meanFn.execute2(_meanList[j], in.getDouble(i, colID-1), off+i+1);
 					_replacementList[j] = String.valueOf(_meanList[j]._sum);
 					_countList[j] += in.getNumRows();
 				}
@@ -323,12 +329,7 @@ public class EncoderMVImpute extends Encoder
 						}	
 					}
 					_hist.put(colID, hist);
-					long max = Long.MIN_VALUE; 
-					for( Entry<String, Long> e : hist.entrySet() ) 
-						if( e.getValue() > max  ) {
-							_replacementList[j] = e.getKey();
-							max = e.getValue();
-						}
+					_replacementList[j] = getMode(hist, _replacementList[j]);
 				}
 			}
 		}
@@ -337,6 +338,73 @@ public class EncoderMVImpute extends Encoder
 		}
 	}
 	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( k <= 1 || in.getNumRows() < PAR_NUMROWS_THRESHOLD ) {
+			build(in);
+			return;
+		}
+		
+		try {
+			//compute partial column means and histograms over row partitions
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<BuildPartialTask> tasks = new ArrayList<>();
+			int rlen = in.getNumRows();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new BuildPartialTask(in, i*blklen, Math.min((i+1)*blklen, rlen)));
+			List<Future<BuildPartialTask>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//merge partial means and histograms in partition order
+			for( Future<BuildPartialTask> rtask : rtasks ) {
+				BuildPartialTask task = rtask.get();
+				long n2 = task._ru - task._rl;
+				for( int j=0; j<_colList.length; j++ ) {
+					int colID = _colList[j];
+					if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+						//incremental mean over the combined count
+						long n1 = _countList[j];
+						_meanFn.execute2(_meanList[j], task._means[j]._sum, (double)(n1+n2)/n2);
+						_countList[j] += n2;
+					}
+					else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+						HashMap<String,Long> hist = _hist.containsKey(colID) ? 
+							_hist.get(colID) : new HashMap<>();
+						for( Entry<String, Long> e : task._hists.get(j).entrySet() ) {
+							Long val = hist.get(e.getKey());
+							hist.put(e.getKey(), (val!=null) ? val+e.getValue() : e.getValue());
+						}
+						_hist.put(colID, hist);
+					}
+				}
+			}
+			
+			//compute replacements from merged statistics
+			for( int j=0; j<_colList.length; j++ ) {
+				if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN )
+					_replacementList[j] = String.valueOf(_meanList[j]._sum);
+				else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE )
+					_replacementList[j] = getMode(_hist.get(_colList[j]), _replacementList[j]);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static String getMode(HashMap<String,Long> hist, String defaultMode) {
+		//most frequent category
+		String mode = defaultMode;
+		long max = Long.MIN_VALUE; 
+		for( Entry<String, Long> e : hist.entrySet() ) 
+			if( e.getValue() > max  ) {
+				mode = e.getKey();
+				max = e.getValue();
+			}
+		return mode;
+	}
+	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
 		for(int i=0; i<in.getNumRows(); i++) {
@@ -349,6 +417,22 @@ public class EncoderMVImpute extends Encoder
 		return out;
 	}
 	
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
+	
+	@Override
+	public void apply(FrameBlock in, DenseBlock out, int rl, int ru) {
+		for(int j=0; j<_colList.length; j++) {
+			int colID = _colList[j];
+			double replacement = Double.parseDouble(_replacementList[j]);
+			for(int i=rl; i<ru; i++)
+				if( Double.isNaN(out.get(i, colID-1)) )
+					out.set(i, colID-1, replacement);
+		}
+	}
+	
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		for( int j=0; j<_colList.length; j++ ) {
@@ -366,10 +450,10 @@ public class EncoderMVImpute extends Encoder
 			int colID = _colList[j];	
 			String mvVal = UtilFunctions.unquote(meta.getColumnMetadata(colID-1).getMvValue()); 
 			if( _rcList.contains(colID) ) {
-				Long mvVal2 = meta.getRecodeMap(colID-1).get(mvVal);
-				if( mvVal2 == null)
+				int mvVal2 = meta.getRecodeMap(colID-1).get(mvVal);
+				if( mvVal2 < 0 )
 					throw new RuntimeException("Missing recode value for impute value '"+mvVal+"' (colID="+colID+").");
-				_replacementList[j] = mvVal2.toString();
+				_replacementList[j] = String.valueOf(mvVal2);
 			}
 			else {
 				_replacementList[j] = mvVal;
@@ -390,4 +474,47 @@ public class EncoderMVImpute extends Encoder
 	public HashMap<String,Long> getHistogram( int colID ) {
 		return _hist.get(colID);
 	}
+	
+	private class BuildPartialTask implements Callable<BuildPartialTask>
+	{
+		private final FrameBlock _in;
+		private final int _rl;
+		private final int _ru;
+		
+		//partial column means and histograms (for global mean and mode)
+		private final KahanObject[] _means;
+		private final ArrayList<HashMap<String,Long>> _hists;
+		
+		protected BuildPartialTask(FrameBlock in, int rl, int ru) {
+			_in = in;
+			_rl = rl;
+			_ru = ru;
+			_means = new KahanObject[_colList.length];
+			_hists = new ArrayList<>();
+		}
+		
+		@Override
+		public BuildPartialTask call() {
+			for( int j=0; j<_colList.length; j++ ) {
+				int colID = _colList[j];
+				_means[j] = new KahanObject(0, 0);
+				HashMap<String,Long> hist = new HashMap<>();
+				if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+					for( int i=_rl; i<_ru; i++ )
+						_meanFn.execute2(_means[j], _in.getDouble(i, colID-1), i-_rl+1);
+				}
+				else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+					for( int i=_rl; i<_ru; i++ ) {
+						String key = String.valueOf(_in.get(i, colID-1));
+						if( key != null && !key.isEmpty() ) {
+							Long val = hist.get(key);
+							hist.put(key, (val!=null) ? val+1 : 1);
+						}
+					}
+				}
+				_hists.add(hist);
+			}
+			return this;
+		}
+	}
 }
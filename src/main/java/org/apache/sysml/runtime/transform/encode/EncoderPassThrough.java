@@ -21,9 +21,9 @@ package org.apache.sysml.runtime.transform.encode;
 
 
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
  * Simple composite encoder that applies a list of encoders 
@@ -55,16 +55,39 @@ public class EncoderPassThrough extends Encoder
 			int col = _colList[j]-1;
 			ValueType vt = in.getSchema()[col];
 			for( int i=0; i<in.getNumRows(); i++ ) {
-				Object val = in.get(i, col);
-				out.quickSetValue(i, col, (val==null||(vt==ValueType.STRING 
-						&& val.toString().isEmpty())) ? Double.NaN : 
-						UtilFunctions.objectToDouble(vt, val));
+				out.quickSetValue(i, col, getValue(in, i, col, vt));
 			}
 		}
 		
 		return out;
 	}
 
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
+	
+	@Override
+	public void apply(FrameBlock in, DenseBlock out, int rl, int ru) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int col = _colList[j]-1;
+			ValueType vt = in.getSchema()[col];
+			for( int i=rl; i<ru; i++ ) {
+				out.set(i, col, getValue(in, i, col, vt));
+			}
+		}
+	}
+
+	private static double getValue(FrameBlock in, int r, int c, ValueType vt) {
+		//missing strings (null, empty) as NaN, numeric values w/o boxing
+		if( vt == ValueType.STRING ) {
+			String val = (String) in.get(r, c);
+			if( val == null || val.isEmpty() )
+				return Double.NaN;
+		}
+		return in.getDouble(r, c);
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		//do nothing
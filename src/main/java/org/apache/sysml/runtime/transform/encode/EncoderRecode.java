@@ -19,16 +19,25 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
@@ -37,7 +46,7 @@ public class EncoderRecode extends Encoder
 	private static final long serialVersionUID = 8213163881283341874L;
 	
 	//recode maps and custom map for partial recode maps 
-	private HashMap<Integer, HashMap<String, Long>> _rcdMaps  = new HashMap<>();
+	private HashMap<Integer, RecodeMap> _rcdMaps  = new HashMap<>();
 	private HashMap<Integer, HashSet<Object>> _rcdMapsPart = null;
 	
 	public EncoderRecode(JSONObject parsedSpec, String[] colnames, int clen)
@@ -50,7 +59,7 @@ public class EncoderRecode extends Encoder
 		}
 	}
 	
-	public HashMap<Integer, HashMap<String,Long>> getCPRecodeMaps() { 
+	public HashMap<Integer, RecodeMap> getCPRecodeMaps() { 
 		return _rcdMaps; 
 	}
 	
@@ -58,11 +67,9 @@ public class EncoderRecode extends Encoder
 		return _rcdMapsPart; 
 	}
 	
-	private long lookupRCDMap(int colID, String key) {
-		if( !_rcdMaps.containsKey(colID) )
-			return -1; //empty recode map
-		Long tmp = _rcdMaps.get(colID).get(key);
-		return (tmp!=null) ? tmp : -1;
+	private int lookupRCDMap(int colID, String key) {
+		RecodeMap map = _rcdMaps.get(colID);
+		return (map!=null) ? map.get(key) : -1; //empty recode map
 	}
 	
 	@Override
@@ -82,20 +89,113 @@ public class EncoderRecode extends Encoder
 		if( !isApplicable() )
 			return;
 
-		Iterator<String[]> iter = in.getStringRowIterator(_colList);
-		while( iter.hasNext() ) {
-			String[] row = iter.next(); 
-			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j]; //1-based
-				//allocate column map if necessary
-				if( !_rcdMaps.containsKey(colID) ) 
-					_rcdMaps.put(colID, new HashMap<String,Long>());
-				//probe and build column map
-				HashMap<String,Long> map = _rcdMaps.get(colID);
-				String key = row[j];
-				if( key!=null && !key.isEmpty() && !map.containsKey(key) )
-					map.put(key, Long.valueOf(map.size()+1));
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j]; //1-based
+			//allocate column map if necessary
+			if( !_rcdMaps.containsKey(colID) ) 
+				_rcdMaps.put(colID, new RecodeMap());
+			RecodeMap map = _rcdMaps.get(colID);
+			//probe and build column map
+			if( in.isDictionaryEncoded(colID-1) ) {
+				for( String key : getDistinctTokens(in, colID, 0, in.getNumRows()) )
+					map.putIfAbsent(key);
 			}
+			else {
+				for( int i=0; i<in.getNumRows(); i++ ) {
+					Object okey = in.get(i, colID-1);
+					String key = (okey!=null) ? okey.toString() : null;
+					if( key!=null && !key.isEmpty() )
+						map.putIfAbsent(key);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isApplicable() )
+			return;
+		if( k <= 1 || in.getNumRows() < PAR_NUMROWS_THRESHOLD ) {
+			build(in);
+			return;
+		}
+		
+		try {
+			//build partial recode maps (distinct tokens in order of first occurrence)
+			//over row partitions, and merge them in partition order, which yields
+			//the same codes as the single-threaded build
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<DistinctTokensTask> tasks = new ArrayList<>();
+			int rlen = in.getNumRows();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new DistinctTokensTask(in, _colList,
+					i*blklen, Math.min((i+1)*blklen, rlen)));
+			List<Future<HashMap<Integer, LinkedHashSet<String>>>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<HashMap<Integer, LinkedHashSet<String>>> task : taskret )
+				mergePartial(task.get());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static HashMap<Integer, LinkedHashSet<String>> getDistinctTokens(FrameBlock in, int[] colList, int rl, int ru) {
+		HashMap<Integer, LinkedHashSet<String>> ret = new HashMap<>();
+		for( int colID : colList )
+			ret.put(colID, getDistinctTokens(in, colID, rl, ru));
+		return ret;
+	}
+	
+	private static LinkedHashSet<String> getDistinctTokens(FrameBlock in, int colID, int rl, int ru) {
+		LinkedHashSet<String> ret = new LinkedHashSet<>();
+		if( !in.isDictionaryEncoded(colID-1) ) {
+			for( int i=rl; i<ru; i++ ) {
+				Object okey = in.get(i, colID-1);
+				String key = (okey!=null) ? okey.toString() : null;
+				if( key!=null && !key.isEmpty() )
+					ret.add(key);
+			}
+			return ret;
+		}
+		
+		//distinct tokens of a dictionary-encoded column in order of first 
+		//occurrence, via the dictionary codes w/o hashing per row
+		int[] codes = in.getDictionaryCodes(colID-1);
+		RecodeMap dict = in.getDictionary(colID-1);
+		boolean[] seen = new boolean[dict.getMaxCode()+1];
+		for( int i=rl; i<ru; i++ ) {
+			int code = codes[i];
+			if( code > 0 && !seen[code] ) {
+				String key = dict.getToken(code);
+				if( !key.isEmpty() )
+					ret.add(key);
+				seen[code] = true;
+			}
+		}
+		return ret;
+	}
+	
+	private int[] getDictionaryCodeMap(FrameBlock in, int colID) {
+		//map the dictionary codes of the input column to recode codes
+		//via one lookup per distinct token (-1 for null or unknown tokens)
+		RecodeMap dict = in.getDictionary(colID-1);
+		int[] ret = new int[dict.getMaxCode()+1];
+		for( int code=0; code<ret.length; code++ )
+			ret[code] = lookupRCDMap(colID, dict.getToken(code));
+		return ret;
+	}
+	
+	private void mergePartial(HashMap<Integer, LinkedHashSet<String>> partial) {
+		for( Entry<Integer, LinkedHashSet<String>> e : partial.entrySet() ) {
+			//allocate column map if necessary
+			if( !_rcdMaps.containsKey(e.getKey()) )
+				_rcdMaps.put(e.getKey(), new RecodeMap(e.getValue().size()));
+			//probe and append distinct tokens
+			RecodeMap map = _rcdMaps.get(e.getKey());
+			for( String key : e.getValue() )
+				map.putIfAbsent(key);
 		}
 	}
 
@@ -129,10 +229,20 @@ public class EncoderRecode extends Encoder
 		//apply recode maps column wise
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
+			if( in.isDictionaryEncoded(colID-1) ) {
+				int[] codes = in.getDictionaryCodes(colID-1);
+				int[] cmap = getDictionaryCodeMap(in, colID);
+				for( int i=0; i<in.getNumRows(); i++ ) {
+					int code = cmap[codes[i]];
+					out.quickSetValue(i, colID-1,
+						(code >= 0) ? code : Double.NaN);
+				}
+				continue;
+			}
 			for( int i=0; i<in.getNumRows(); i++ ) {
 				Object okey = in.get(i, colID-1);
 				String key = (okey!=null) ? okey.toString() : null;
-				long code = lookupRCDMap(colID, key);
+				int code = lookupRCDMap(colID, key);
 				out.quickSetValue(i, colID-1,
 					(code >= 0) ? code : Double.NaN);
 			}
@@ -141,6 +251,34 @@ public class EncoderRecode extends Encoder
 		return out;
 	}
 
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
+	
+	@Override
+	public void apply(FrameBlock in, DenseBlock out, int rl, int ru) {
+		//apply recode maps column wise (read-only access)
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			if( in.isDictionaryEncoded(colID-1) ) {
+				int[] codes = in.getDictionaryCodes(colID-1);
+				int[] cmap = getDictionaryCodeMap(in, colID);
+				for( int i=rl; i<ru; i++ ) {
+					int code = cmap[codes[i]];
+					out.set(i, colID-1, (code >= 0) ? code : Double.NaN);
+				}
+				continue;
+			}
+			for( int i=rl; i<ru; i++ ) {
+				Object okey = in.get(i, colID-1);
+				String key = (okey!=null) ? okey.toString() : null;
+				int code = lookupRCDMap(colID, key);
+				out.set(i, colID-1, (code >= 0) ? code : Double.NaN);
+			}
+		}
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		if( !isApplicable() )
@@ -160,11 +298,16 @@ public class EncoderRecode extends Encoder
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
 			int rowID = 0;
-			if( _rcdMaps.containsKey(_colList[j]) )
-				for( Entry<String, Long> e : _rcdMaps.get(colID).entrySet() ) {
-					meta.set(rowID++, colID-1, 
-						constructRecodeMapEntry(e.getKey(), e.getValue(), sb)); 
+			if( _rcdMaps.containsKey(_colList[j]) ) {
+				//tokens in order of codes (reverse map)
+				RecodeMap map = _rcdMaps.get(colID);
+				for( int code=1; code<=map.getMaxCode(); code++ ) {
+					String token = map.getToken(code);
+					if( token != null )
+						meta.set(rowID++, colID-1, 
+							constructRecodeMapEntry(token, code, sb));
 				}
+			}
 			meta.getColumnMetadata(colID-1).setNumDistinct(
 					_rcdMaps.get(colID).size());
 		}
@@ -202,10 +345,10 @@ public class EncoderRecode extends Encoder
 		return constructRecodeMapEntry(token, code, sb);
 	}
 	
-	private static String constructRecodeMapEntry(String token, Long code, StringBuilder sb) {
+	private static String constructRecodeMapEntry(String token, long code, StringBuilder sb) {
 		sb.setLength(0); //reset reused string builder
 		return sb.append(token).append(Lop.DATATYPE_PREFIX)
-			.append(code.longValue()).toString();
+			.append(code).toString();
 	}
 	
 	/**
@@ -220,4 +363,24 @@ public class EncoderRecode extends Encoder
 		int pos = value.toString().lastIndexOf(Lop.DATATYPE_PREFIX);
 		return new String[] {value.substring(0, pos), value.substring(pos+1)};
 	}
+	
+	private static class DistinctTokensTask implements Callable<HashMap<Integer, LinkedHashSet<String>>>
+	{
+		private final FrameBlock _in;
+		private final int[] _colList;
+		private final int _rl;
+		private final int _ru;
+		
+		protected DistinctTokensTask(FrameBlock in, int[] colList, int rl, int ru) {
+			_in = in;
+			_colList = colList;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public HashMap<Integer, LinkedHashSet<String>> call() {
+			return getDistinctTokens(_in, _colList, _rl, _ru);
+		}
+	}
 }
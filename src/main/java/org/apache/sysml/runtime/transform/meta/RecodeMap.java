@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform.meta;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This native string - int dictionary is specifically designed for recode
+ * maps, which assign 1-based integer codes to distinct tokens and require
+ * lookups in both directions. In contrast to a HashMap&lt;String,Long&gt;,
+ * there are no entry objects and boxed codes: the hash table uses open
+ * addressing with linear probing over an int array of codes, while the
+ * tokens and their hashes are stored in arrays indexed by code, which
+ * also serve as the reverse map from codes to tokens.
+ */
+public class RecodeMap implements Serializable
+{
+	private static final long serialVersionUID = -4197563201624530481L;
+
+	private static final int INIT_CAPACITY = 16;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private int[] _slots;     //codes of hashed tokens, 0 for empty slots
+	private String[] _tokens; //tokens by code-1 (reverse map)
+	private int[] _hashes;    //token hashes by code-1 (for probing and resize)
+	private int _size = 0;    //number of tokens
+	private int _maxCode = 0; //max assigned code
+
+	public RecodeMap() {
+		this(INIT_CAPACITY);
+	}
+
+	public RecodeMap(int numTokens) {
+		int cap = Integer.highestOneBit(Math.max(
+			(int)(numTokens / LOAD_FACTOR), INIT_CAPACITY-1)) << 1;
+		_slots = new int[cap];
+		_tokens = new String[Math.max(numTokens, INIT_CAPACITY)];
+		_hashes = new int[_tokens.length];
+	}
+
+	/**
+	 * Copy constructor, which creates a deep copy of the given map.
+	 * 
+	 * @param that recode map
+	 */
+	public RecodeMap(RecodeMap that) {
+		_slots = that._slots.clone();
+		_tokens = that._tokens.clone();
+		_hashes = that._hashes.clone();
+		_size = that._size;
+		_maxCode = that._maxCode;
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public boolean isEmpty() {
+		return _size == 0;
+	}
+
+	/**
+	 * Returns the maximum assigned code, which equals the number
+	 * of tokens unless codes were assigned explicitly with gaps.
+	 *
+	 * @return max code
+	 */
+	public int getMaxCode() {
+		return _maxCode;
+	}
+
+	public boolean containsKey(String token) {
+		return get(token) > 0;
+	}
+
+	/**
+	 * Returns the code of the given token.
+	 *
+	 * @param token token
+	 * @return code (1-based), or -1 if the token does not exist
+	 */
+	public int get(String token) {
+		if( token == null )
+			return -1;
+		int code = _slots[findSlot(token, hash(token))];
+		return (code > 0) ? code : -1;
+	}
+
+	/**
+	 * Returns the token of the given code (reverse lookup).
+	 *
+	 * @param code code (1-based)
+	 * @return token, or null if the code does not exist
+	 */
+	public String getToken(long code) {
+		return (code >= 1 && code <= _maxCode) ? _tokens[(int)code-1] : null;
+	}
+
+	/**
+	 * Returns the code of the given token, and assigns the next
+	 * code (max code + 1) if the token does not exist yet.
+	 *
+	 * @param token non-null token
+	 * @return code (1-based)
+	 */
+	public int putIfAbsent(String token) {
+		int h = hash(token);
+		int ix = findSlot(token, h);
+		if( _slots[ix] > 0 )
+			return _slots[ix];
+		int code = _maxCode + 1;
+		insert(ix, token, h, code);
+		return code;
+	}
+
+	/**
+	 * Puts the given token with an explicitly assigned code,
+	 * which replaces the code of an existing token.
+	 *
+	 * @param token non-null token
+	 * @param code code (1-based)
+	 */
+	public void put(String token, int code) {
+		int h = hash(token);
+		int ix = findSlot(token, h);
+		int old = _slots[ix];
+		if( old > 0 ) {
+			_tokens[old-1] = null;
+			_size--;
+		}
+		insert(ix, token, h, code);
+	}
+
+	private void insert(int ix, String token, int h, int code) {
+		//append token to reverse map
+		if( code > _tokens.length ) {
+			int len = Math.max(code, _tokens.length*2);
+			_tokens = Arrays.copyOf(_tokens, len);
+			_hashes = Arrays.copyOf(_hashes, len);
+		}
+		_tokens[code-1] = token;
+		_hashes[code-1] = h;
+		_maxCode = Math.max(_maxCode, code);
+
+		//add code to hash table, and resize if necessary
+		_slots[ix] = code;
+		if( ++_size > LOAD_FACTOR * _slots.length )
+			resize();
+	}
+
+	private int findSlot(String token, int h) {
+		//linear probing until matching token or empty slot
+		int mask = _slots.length - 1;
+		int ix = h & mask;
+		while( true ) {
+			int code = _slots[ix];
+			if( code == 0 || (_hashes[code-1] == h && token.equals(_tokens[code-1])) )
+				return ix;
+			ix = (ix + 1) & mask;
+		}
+	}
+
+	private void resize() {
+		//rehash all codes via their stored hashes
+		_slots = new int[_slots.length * 2];
+		int mask = _slots.length - 1;
+		for( int code=1; code<=_maxCode; code++ ) {
+			if( _tokens[code-1] == null )
+				continue;
+			int ix = _hashes[code-1] & mask;
+			while( _slots[ix] != 0 )
+				ix = (ix + 1) & mask;
+			_slots[ix] = code;
+		}
+	}
+
+	private static int hash(String token) {
+		//spread string hash codes (e.g., for common prefixes)
+		int h = token.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
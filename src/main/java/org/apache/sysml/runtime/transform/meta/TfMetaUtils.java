@@ -288,13 +288,17 @@ public class TfMetaUtils
 			InputStream is = new ByteArrayInputStream(map.getBytes("UTF-8"));
 			BufferedReader br = new BufferedReader(new InputStreamReader(is));
 			Pair<String,String> pair = new Pair<>();
+			RecodeMap rcMap = new RecodeMap();
 			String line; int rpos = 0; 
 			while( (line = br.readLine()) != null ) {
 				DecoderRecode.parseRecodeMapEntry(line, pair);
 				String tmp = pair.getKey() + Lop.DATATYPE_PREFIX + pair.getValue();
 				ret.set(rpos++, colID-1, tmp);
+				rcMap.put(pair.getKey(), Integer.parseInt(pair.getValue()));
 			}
 			ret.getColumnMetadata(colID-1).setNumDistinct((long)rpos);
+			//keep parsed recode map for subsequent encoders and decoders
+			ret.setRecodeMap(colID-1, rcMap);
 		}
 		
 		//encode bin maps (binning) into frame
@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
 
 public class ByteBufferDataInput implements DataInput, MatrixBlockDataInput
 {
@@ -123,16 +124,23 @@ public class ByteBufferDataInput implements DataInput, MatrixBlockDataInput
 	
 	@Override
 	public long readDoubleArray(int len, double[] varr) throws IOException  {
-		long nnz = 0;
-		for( int i=0; i<len; i++ )
-			nnz += (varr[i] = _buff.getDouble()) != 0 ? 1 : 0;
-		return nnz;
+		//bulk copy via double view (w/ byte order of the underlying buffer)
+		int off = _buff.position();
+		_buff.asDoubleBuffer().get(varr, 0, len);
+		_buff.position(off + len*8);
+		return UtilFunctions.computeNnz(varr, 0, len);
 	}
 
 	@Override
 	public long readSparseRows(int rlen, long nnz, SparseBlock rows) 
 		throws IOException 
 	{
+		//check for CSR quick-path
+		if( rows instanceof SparseBlockCSR ) {
+			((SparseBlockCSR) rows).initSparse(rlen, (int)nnz, this);
+			return nnz;
+		}
+		
 		//counter for non-zero elements
 		long gnnz = 0;
 		
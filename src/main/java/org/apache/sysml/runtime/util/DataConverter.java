@@ -563,13 +563,14 @@ public class DataConverter
 				}
 		}
 		else { 
-			//general case
-			for( int i=0; i<frame.getNumRows(); i++ ) 
-				for( int j=0; j<frame.getNumColumns(); j++ ) {
-					mb.appendValue(i, j, UtilFunctions.objectToDouble(
-							schema[j], frame.get(i, j)));
-				}
+			//general case (without cell-object creation via unboxed
+			//conversion, e.g., of boolean, int, and string columns)
+			double[] c = mb.getDenseBlockValues();
+			for( int i=0, aix=0; i<m; i++, aix+=n ) 
+				for( int j=0; j<n; j++ )
+					c[aix+j] = frame.getDouble(i, j);
 		}
+		mb.recomputeNonZeros();
 		
 		//post-processing
 		mb.examSparsity();
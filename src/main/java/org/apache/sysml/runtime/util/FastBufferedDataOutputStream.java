@@ -218,14 +218,10 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 		int blen = _bufflen/8;
 		for( int i=0; i<len; i+=Math.min(len-i, blen) )
 		{
-			//write values of current block
+			//write values of current block (bulk copy via double view)
 			int lblen = Math.min(len-i, blen);
-			for( int j=0; j<lblen; j++ )
-			{
-				long tmp = Double.doubleToRawLongBits(varr[i+j]);
-				longToBa(tmp, _buff, _count);
-				_count += 8;
-			}	
+			IOUtilFunctions.doubleArrayToBa(varr, i, _buff, _count, lblen);
+			_count += lblen*8;
 			
 			//flush buffer for current block
 			flushBuffer(); //based on count
@@ -256,26 +252,21 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 					if (_count+alen2 > _bufflen) 
 					    flushBuffer();
 					
-					for( int j=apos; j<apos+alen; j++ )
-					{
-						long tmp2 = Double.doubleToRawLongBits(avals[j]);
-						intToBa(aix[j], _buff, _count);
-						longToBa(tmp2, _buff, _count+4);
-						_count += 12;
-					}
+					IOUtilFunctions.sparsePairsToBa(aix, avals, apos, _buff, _count, alen);
+					_count += alen2;
 				}
 				else
 				{
-					//row does not fit in buffer
-					for( int j=apos; j<apos+alen; j++ )
+					//row does not fit in buffer (write buffer-sized chunks)
+					int blen = _bufflen/12;
+					for( int j=apos; j<apos+alen; j+=blen )
 					{
-						if (_count+12 > _bufflen) 
+						int lblen = Math.min(apos+alen-j, blen);
+						if (_count+lblen*12 > _bufflen) 
 						    flushBuffer();
 						
-						long tmp2 = Double.doubleToRawLongBits(avals[j]);
-						intToBa(aix[j], _buff, _count);
-						longToBa(tmp2, _buff, _count+4);
-						_count += 12;
+						IOUtilFunctions.sparsePairsToBa(aix, avals, j, _buff, _count, lblen);
+						_count += lblen*12;
 					}
 				}	
 			}
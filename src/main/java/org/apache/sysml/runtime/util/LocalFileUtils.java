@@ -28,13 +28,24 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.hadoop.io.Writable;
 import org.apache.sysml.api.DMLScript;
@@ -43,8 +54,12 @@ import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysml.runtime.io.BlockCodec;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockMapped;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -66,6 +81,13 @@ public class LocalFileUtils
 	public static final String CATEGORY_WORK         = "work";
 	public static final String CATEGORY_CODEGEN      = "codegen";
 	
+	//memory-mapped format of dense matrix blocks: fixed-size header of magic number
+	//(negative to distinguish from the binary block format), rows, cols, and nnz,
+	//followed by the dense values in native byte order, aligned to the header size
+	public static final int MAPPED_MAGIC       = 0xDEC0DE64;
+	public static final int MAPPED_HEADER_SIZE = 64;
+	private static final int MAPPED_CHUNK_SIZE = 1 << 27; //max doubles per mapping (1GB)
+	
 	static {
 		_seq = new IDSequence();
 	}
@@ -109,9 +131,140 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static CacheBlock readCacheBlockFromLocal(String fname, boolean matrix) throws IOException {
+		//probe the header for memory-mapped or compressed formats only if the
+		//respective evictions are enabled (single read of the magic number)
+		boolean mmap = matrix && CacheableData.CACHING_EVICTION_MMAP;
+		if( mmap || CacheableData.CACHING_EVICTION_COMPRESS ) {
+			ByteBuffer magic = readMagicLocal(fname);
+			if( mmap && magic != null && magic.order(ByteOrder.nativeOrder()).getInt(0) == MAPPED_MAGIC )
+				return readMatrixBlockFromMappedLocal(fname);
+			if( magic != null && magic.order(ByteOrder.BIG_ENDIAN).getInt(0) == BlockCodec.COMPRESSED_MAGIC )
+				return readCacheBlockFromCompressedLocal(fname, matrix);
+		}
 		return (CacheBlock) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
 	}
 	
+	private static ByteBuffer readMagicLocal(String fname) throws IOException {
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			ByteBuffer magic = ByteBuffer.allocate(4);
+			while( magic.hasRemaining() && channel.read(magic) >= 0 );
+			return magic.hasRemaining() ? null : magic;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	/**
+	 * Reads a dense matrix block from a local file in memory-mapped format
+	 * without copying the values (zero-copy restore): the returned block
+	 * reads the mapped regions in place, and copies the values into a heap
+	 * dense block only on the first array access or update.
+	 * 
+	 * @param fname file name to read
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixBlock readMatrixBlockFromMappedLocal(String fname) throws IOException {
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			ByteBuffer header = ByteBuffer.allocate(MAPPED_HEADER_SIZE).order(ByteOrder.nativeOrder());
+			while( header.hasRemaining() && channel.read(header) >= 0 );
+			header.flip();
+			if( header.remaining() < MAPPED_HEADER_SIZE || header.getInt() != MAPPED_MAGIC )
+				throw new IOException("Invalid memory-mapped matrix block: "+fname);
+			int rlen = header.getInt();
+			int clen = header.getInt();
+			long nnz = header.getLong();
+			
+			//map values in regions of at most MAPPED_CHUNK_SIZE values
+			//(mappings remain valid after the channel is closed)
+			long len = (long)rlen * clen;
+			DoubleBuffer[] chunks = new DoubleBuffer[(int)Math.ceil((double)len/MAPPED_CHUNK_SIZE)];
+			for( int i=0; i<chunks.length; i++ ) {
+				long n = Math.min(MAPPED_CHUNK_SIZE, len - (long)i*MAPPED_CHUNK_SIZE);
+				chunks[i] = channel.map(MapMode.READ_ONLY, MAPPED_HEADER_SIZE + 8L*i*MAPPED_CHUNK_SIZE, 8L*n)
+					.order(ByteOrder.nativeOrder()).asDoubleBuffer();
+			}
+			return new MatrixBlock(rlen, clen, nnz,
+				new DenseBlockMapped(fname, chunks, MAPPED_CHUNK_SIZE, rlen, clen));
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	/**
+	 * Indicates if the given local file is in memory-mapped format.
+	 * 
+	 * @param fname file name
+	 * @return true if the file starts with the memory-mapped header
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isMappedLocal(String fname) throws IOException {
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			if( channel.size() < MAPPED_HEADER_SIZE )
+				return false;
+			ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.nativeOrder());
+			while( magic.hasRemaining() && channel.read(magic) >= 0 );
+			magic.flip();
+			return magic.getInt() == MAPPED_MAGIC;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	/**
+	 * Reads a matrix/frame block from a local file in compressed format,
+	 * i.e., a magic number header followed by the deflated serialized block.
+	 * 
+	 * @param fname file name to read
+	 * @param matrix if true, read matrix. if false, read frame.
+	 * @return cache block (common interface to MatrixBlock and FrameBlock)
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock readCacheBlockFromCompressedLocal(String fname, boolean matrix) throws IOException {
+		FileInputStream fis = new FileInputStream(fname);
+		Inflater inflater = new Inflater();
+		try {
+			if( new DataInputStream(fis).readInt() != BlockCodec.COMPRESSED_MAGIC )
+				throw new IOException("Invalid header of compressed local file: "+fname);
+			InputStream in = new InflaterInputStream(fis, inflater, BUFFER_SIZE);
+			return (CacheBlock) readWritableFromStream(in, matrix?new MatrixBlock():new FrameBlock());
+		}
+		finally {
+			IOUtilFunctions.closeSilently(fis);
+			inflater.end();
+		}
+	}
+	
+	/**
+	 * Indicates if the given local file is in compressed format.
+	 * 
+	 * @param fname file name
+	 * @return true if the file starts with the compressed header
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isCompressedLocal(String fname) throws IOException {
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			ByteBuffer magic = ByteBuffer.allocate(4);
+			while( magic.hasRemaining() && channel.read(magic) >= 0 );
+			magic.flip();
+			return magic.remaining() == 4 && magic.getInt() == BlockCodec.COMPRESSED_MAGIC;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
 	/**
 	 * Reads an arbitrary writable from local file system, using a fused buffered reader
 	 * with special support for matrix blocks.
@@ -219,6 +372,168 @@ public class LocalFileUtils
 		writeWritableToLocal(fname, cb);
 	}
 	
+	/**
+	 * Writes a matrix/frame block to local file system in compressed format,
+	 * i.e., a magic number header followed by the serialized block, deflated
+	 * at best speed.
+	 * 
+	 * @param fname file name to write
+	 * @param cb cache block (common interface to matrix block and frame block)
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeCacheBlockToCompressedLocal(String fname, CacheBlock cb) throws IOException {
+		FileOutputStream fos = new FileOutputStream(fname);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		FastBufferedDataOutputStream out = null;
+		try {
+			out = new FastBufferedDataOutputStream(
+				createCompressedOutputStream(fos, deflater), BUFFER_SIZE);
+			cb.write(out);
+			out.close(); //finish deflate stream w/ error propagation
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+			IOUtilFunctions.closeSilently(fos);
+			deflater.end();
+		}
+	}
+	
+	/**
+	 * Writes the remaining bytes of an already serialized block (heap or
+	 * direct buffer) to local file system in compressed format.
+	 * 
+	 * @param fname file name to write
+	 * @param data serialized block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeByteBufferToCompressedLocal(String fname, ByteBuffer data) throws IOException {
+		FileOutputStream fos = new FileOutputStream(fname);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		OutputStream out = null;
+		try {
+			out = createCompressedOutputStream(fos, deflater);
+			if( data.hasArray() )
+				out.write(data.array(), data.arrayOffset()+data.position(), data.remaining());
+			else {
+				byte[] buff = new byte[BUFFER_SIZE];
+				while( data.hasRemaining() ) {
+					int len = Math.min(buff.length, data.remaining());
+					data.get(buff, 0, len);
+					out.write(buff, 0, len);
+				}
+			}
+			out.close(); //finish deflate stream w/ error propagation
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+			IOUtilFunctions.closeSilently(fos);
+			deflater.end();
+		}
+	}
+	
+	private static OutputStream createCompressedOutputStream(FileOutputStream fos, Deflater deflater) 
+		throws IOException
+	{
+		byte[] header = new byte[4];
+		IOUtilFunctions.intToBa(BlockCodec.COMPRESSED_MAGIC, header, 0);
+		fos.write(header);
+		return new DeflaterOutputStream(fos, deflater, BUFFER_SIZE);
+	}
+	
+	/**
+	 * Writes a dense matrix block to local file system in memory-mapped
+	 * format, where the values are bulk-copied into mapped regions of the
+	 * file without serialization.
+	 * 
+	 * @param fname file name to write
+	 * @param mb dense matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeMatrixBlockToMappedLocal(String fname, MatrixBlock mb) throws IOException {
+		if( mb.isInSparseFormat() || mb.getDenseBlock() == null )
+			throw new IOException("Memory-mapped format requires an allocated dense block.");
+		
+		//skip unmodified blocks restored from the same file (which would
+		//otherwise truncate the file under its own mapping)
+		DenseBlock a = mb.getDenseBlock();
+		if( a instanceof DenseBlockMapped && ((DenseBlockMapped)a).isMappedFrom(fname) )
+			return;
+		
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			ByteBuffer header = ByteBuffer.allocate(MAPPED_HEADER_SIZE).order(ByteOrder.nativeOrder());
+			header.putInt(MAPPED_MAGIC);
+			header.putInt(mb.getNumRows());
+			header.putInt(mb.getNumColumns());
+			header.putLong(mb.getNonZeros());
+			header.rewind();
+			while( header.hasRemaining() )
+				channel.write(header, header.position());
+			
+			//copy values row-wise into mapped regions (w/o padding of the
+			//last block, and w/o widening of non-array-backed blocks), where
+			//each region is unmapped right after the copy
+			int rlen = mb.getNumRows(), clen = mb.getNumColumns();
+			double[] tmp = a.isArrayBacked() ? null : new double[clen];
+			long pos = MAPPED_HEADER_SIZE;
+			int rpc = Math.max(MAPPED_CHUNK_SIZE / Math.max(clen, 1), 1); //rows per region
+			for( int rl=0; rl<rlen; rl+=rpc ) {
+				int ru = Math.min(rl+rpc, rlen);
+				MappedByteBuffer region = channel.map(MapMode.READ_WRITE, pos, 8L*(ru-rl)*clen);
+				try {
+					DoubleBuffer dbuff = region.order(ByteOrder.nativeOrder()).asDoubleBuffer();
+					for( int i=rl; i<ru; i++ ) {
+						if( tmp == null )
+							dbuff.put(a.values(i), a.pos(i), clen);
+						else {
+							a.get(i, tmp, 0);
+							dbuff.put(tmp, 0, clen);
+						}
+					}
+				}
+				finally {
+					unmap(region);
+				}
+				pos += 8L*(ru-rl)*clen;
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	/**
+	 * Explicitly unmaps the given memory-mapped region, instead of waiting
+	 * for garbage collection to release the mapping and file handle. This
+	 * is a best-effort operation (on failure, the mapping is released on GC)
+	 * and must only be used if no other references to the region exist.
+	 * 
+	 * @param buff mapped region
+	 */
+	private static void unmap(MappedByteBuffer buff) {
+		try {
+			try { //JDK 9+
+				Class<?> clazz = Class.forName("sun.misc.Unsafe");
+				Field field = clazz.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				clazz.getMethod("invokeCleaner", ByteBuffer.class)
+					.invoke(field.get(null), buff);
+			}
+			catch(NoSuchMethodException ex) { //JDK 8
+				Method cleaner = buff.getClass().getMethod("cleaner");
+				cleaner.setAccessible(true);
+				Object cl = cleaner.invoke(buff);
+				if( cl != null )
+					cl.getClass().getMethod("clean").invoke(cl);
+			}
+		}
+		catch(Exception ex) {
+			//ignore, released on GC
+		}
+	}
+	
 	/**
 	 * Writes an arbitrary writable to local file system, using a fused buffered writer
 	 * with special support for matrix blocks.
@@ -244,14 +559,28 @@ public class LocalFileUtils
 
 	public static void writeByteArrayToLocal( String fname, byte[] data )
 		throws IOException
+	{	
+		writeByteArrayToLocal(fname, data, data.length);
+	}
+	
+	public static void writeByteArrayToLocal( String fname, byte[] data, int len )
+		throws IOException
 	{	
 		//byte array write via java.nio file channel ~10-15% faster than java.io
+		writeByteBufferToLocal(fname, ByteBuffer.wrap(data, 0, len));
+	}
+	
+	public static void writeByteBufferToLocal( String fname, ByteBuffer data )
+		throws IOException
+	{
+		//writes the remaining bytes of the given (heap or direct) buffer
 		FileChannel channel = null;
 		try {
 			Path path = Paths.get(fname);
 			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
 				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
-			channel.write(ByteBuffer.wrap(data));
+			while( data.hasRemaining() )
+				channel.write(data);
 		}
 		finally {
 			IOUtilFunctions.closeSilently(channel);
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -37,12 +38,14 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.MRJobInstruction;
 import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysml.runtime.instructions.spark.SPInstruction;
+import org.apache.sysml.runtime.lineage.LineageCache;
 import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
 
 /**
@@ -109,6 +112,14 @@ public class Statistics
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
 	private static final LongAdder funRecompiles = new LongAdder(); //count
 	
+	//Lineage cache stats
+	private static final LongAdder lineageCacheHitsMem = new LongAdder(); //count
+	private static final LongAdder lineageCacheHitsFS = new LongAdder(); //count
+	private static final LongAdder lineageCacheMisses = new LongAdder(); //count
+	private static final LongAdder lineageCacheDrops = new LongAdder(); //count
+	private static final LongAdder lineageCacheSpills = new LongAdder(); //count
+	private static final LongAdder lineageCacheSavedTime = new LongAdder(); //in nano sec
+	
 	//Spark-specific stats
 	private static long sparkCtxCreateTime = 0; 
 	private static final LongAdder sparkParallelize = new LongAdder();
@@ -127,6 +138,10 @@ public class Statistics
 	private static final LongAdder psModelBroadcastTime = new LongAdder();
 	private static final LongAdder psBatchIndexTime = new LongAdder();
 	private static final LongAdder psRpcRequestTime = new LongAdder();
+	private static final LongAdder psShardAccesses = new LongAdder();
+	private static final LongAdder psShardContended = new LongAdder();
+	private static final AtomicLong psShardMaxContended = new AtomicLong();
+	private static final LongAdder psShardWaitTime = new LongAdder(); //in nano sec
 
 	//PARFOR optimization stats (low frequency updates)
 	private static long parforOptTime = 0; //in milli sec
@@ -384,6 +399,42 @@ public class Statistics
 		funRecompiles.increment();
 	}
 	
+	public static void incrementLineageCacheHitsMem() {
+		lineageCacheHitsMem.increment();
+	}
+	
+	public static void incrementLineageCacheHitsFS() {
+		lineageCacheHitsFS.increment();
+	}
+	
+	public static void incrementLineageCacheMisses() {
+		lineageCacheMisses.increment();
+	}
+	
+	public static void incrementLineageCacheDrops() {
+		lineageCacheDrops.increment();
+	}
+	
+	public static void incrementLineageCacheSpills() {
+		lineageCacheSpills.increment();
+	}
+	
+	public static void incrementLineageCacheSavedTime(long delta) {
+		lineageCacheSavedTime.add(delta);
+	}
+	
+	public static long getLineageCacheHitsMem() {
+		return lineageCacheHitsMem.longValue();
+	}
+	
+	public static long getLineageCacheHitsFS() {
+		return lineageCacheHitsFS.longValue();
+	}
+	
+	public static long getLineageCacheMisses() {
+		return lineageCacheMisses.longValue();
+	}
+	
 	public static synchronized void incrementParForOptimCount(){
 		parforOptCount ++;
 	}
@@ -462,6 +513,13 @@ public class Statistics
 		codegenPlanCacheHits.reset();
 		codegenPlanCacheTotal.reset();
 		
+		lineageCacheHitsMem.reset();
+		lineageCacheHitsFS.reset();
+		lineageCacheMisses.reset();
+		lineageCacheDrops.reset();
+		lineageCacheSpills.reset();
+		lineageCacheSavedTime.reset();
+		
 		parforOptCount = 0;
 		parforOptTime = 0;
 		parforInitTime = 0;
@@ -574,6 +632,16 @@ public class Statistics
 		psRpcRequestTime.add(t);
 	}
 
+	public static void accPSShardAccesses(long accesses, long contended) {
+		psShardAccesses.add(accesses);
+		psShardContended.add(contended);
+		psShardMaxContended.accumulateAndGet(contended, Math::max);
+	}
+
+	public static void accPSShardWaitTime(long t) {
+		psShardWaitTime.add(t);
+	}
+
 	public static String getCPHeavyHitterCode( Instruction inst )
 	{
 		String opcode = null;
@@ -974,6 +1042,8 @@ public class Statistics
 
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
+			if( PageCache.isEnabled() )
+				sb.append("Cache page pool (hits, miss):\t" + CacheStatistics.displayPageHits() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
 			if (ConfigurationManager.isJMLCMemStatistics())
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
@@ -993,6 +1063,12 @@ public class Statistics
 				sb.append("Codegen enum plan cache hits:\t" + getCodegenPlanCacheHits() + "/" + getCodegenPlanCacheTotal() + ".\n");
 				sb.append("Codegen op plan cache hits:\t" + getCodegenOpCacheHits() + "/" + getCodegenOpCacheTotal() + ".\n");
 			}
+			if( LineageCache.isEnabled() ) {
+				sb.append("Lineage cache hits (Mem, FS):\t" + getLineageCacheHitsMem() + "/" + getLineageCacheHitsFS() + ".\n");
+				sb.append("Lineage cache misses:\t\t" + getLineageCacheMisses() + ".\n");
+				sb.append("Lineage cache evict (drop, spill):\t" + lineageCacheDrops.longValue() + "/" + lineageCacheSpills.longValue() + ".\n");
+				sb.append("Lineage cache saved time:\t" + String.format("%.3f", ((double)lineageCacheSavedTime.longValue())/1000000000) + " sec.\n");
+			}
 			if( OptimizerUtils.isSparkExecutionMode() ){
 				String lazy = SparkExecutionContext.isLazySparkContextCreation() ? "(lazy)" : "(eager)";
 				sb.append("Spark ctx create time "+lazy+":\t"+
@@ -1015,6 +1091,9 @@ public class Statistics
 				sb.append(String.format("Paramserv model broadcast time:\t%.3f secs.\n", psModelBroadcastTime.doubleValue() / 1000));
 				sb.append(String.format("Paramserv batch slice time:\t%.3f secs.\n", psBatchIndexTime.doubleValue() / 1000));
 				sb.append(String.format("Paramserv RPC request time:\t%.3f secs.\n", psRpcRequestTime.doubleValue() / 1000));
+				if (psShardAccesses.longValue() > 0)
+					sb.append(String.format("Paramserv shard contention:\t%d/%d/%d (%.3f secs).\n", psShardContended.longValue(),
+						psShardMaxContended.get(), psShardAccesses.longValue(), psShardWaitTime.doubleValue() * 1e-9));
 			}
 			if( parforOptCount>0 ){
 				sb.append("ParFor loops optimized:\t\t" + getParforOptCount() + ".\n");
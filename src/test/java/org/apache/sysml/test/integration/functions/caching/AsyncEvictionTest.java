@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class AsyncEvictionTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "AsyncEviction";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + AsyncEvictionTest.class.getSimpleName() + "/";
+	private final static File   TEST_CONF_FIFO = new File(SCRIPT_DIR + TEST_DIR, "SystemML-config-async.xml");
+	private final static File   TEST_CONF_REUSE = new File(SCRIPT_DIR + TEST_DIR, "SystemML-config-async-reuse.xml");
+	
+	private final static int rows = 300;
+	private final static int cols = 300;
+	private final static int iters = 10;
+	private final static double eps = 1e-8;
+	
+	private File _conf = null;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testAsyncEvictionFIFO() {
+		runAsyncEvictionTest(TEST_CONF_FIFO);
+	}
+	
+	@Test
+	public void testAsyncEvictionReuseDistance() {
+		runAsyncEvictionTest(TEST_CONF_REUSE);
+	}
+	
+	private void runAsyncEvictionTest(File conf) {
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try {
+			//run baseline with default buffer pool and with async eviction
+			HashMap<CellIndex, Double> R1 = runEvictionScript(null);
+			HashMap<CellIndex, Double> R2 = runEvictionScript(conf);
+			
+			//compare results and check for actual evictions
+			TestUtils.compareMatrices(R1, R2, eps, "Stat-Default", "Stat-Async");
+			Assert.assertTrue(CacheStatistics.getFSWrites() > 0);
+		}
+		finally {
+			rtplatform = platformOld;
+			_conf = null;
+		}
+	}
+	
+	private HashMap<CellIndex, Double> runEvictionScript(File conf) {
+		_conf = conf;
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-stats", "-args", input("X"),
+			String.valueOf(iters), output("R") };
+		double[][] X = getRandomMatrix(rows, cols, -1, 1, 1.0, 7);
+		writeInputMatrixWithMTD("X", X, true);
+		
+		runTest(true, false, null, -1);
+		return readDMLMatrixFromHDFS("R");
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		return (_conf != null) ? _conf : super.getConfigTemplateFile();
+	}
+}
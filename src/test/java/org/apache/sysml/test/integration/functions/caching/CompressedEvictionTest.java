@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.io.BlockCodec;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.io.MatrixWriterFactory;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompressedEvictionTest extends AutomatedTestBase
+{
+	private final static int rows = 1021;
+	private final static int cols = 397;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testCompressedEvictionSparse() {
+		runCompressedEvictionTest(getRandomMatrix(rows, cols, -1, 1, sparsity2, 7));
+	}
+	
+	@Test
+	public void testCompressedEvictionDenseLowCardinality() {
+		double[][] A = getRandomMatrix(rows, cols, 0, 4, sparsity1, 7);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				A[i][j] = Math.round(A[i][j]);
+		Assert.assertTrue(BlockCodec.isCompressible(DataConverter.convertToMatrixBlock(A)));
+		runCompressedEvictionTest(A);
+	}
+	
+	@Test
+	public void testCompressibleDenseRandom() {
+		double[][] A = getRandomMatrix(rows, cols, -1, 1, 1.0, 7);
+		Assert.assertFalse(BlockCodec.isCompressible(DataConverter.convertToMatrixBlock(A)));
+	}
+	
+	@Test
+	public void testCompressedBinaryBlockDeflate() {
+		runCompressedBinaryBlockTest(getRandomMatrix(rows, cols, -1, 1, sparsity2, 3));
+	}
+	
+	private void runCompressedEvictionTest(double[][] A) {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		boolean compressOld = CacheableData.CACHING_EVICTION_COMPRESS;
+		String fname = null;
+		try {
+			CacheableData.CACHING_EVICTION_COMPRESS = true;
+			fname = File.createTempFile("compressed_eviction", ".dat").getAbsolutePath();
+			LocalFileUtils.writeCacheBlockToCompressedLocal(fname, mb);
+			Assert.assertTrue(LocalFileUtils.isCompressedLocal(fname));
+			MatrixBlock mb2 = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname, true);
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb2), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.CACHING_EVICTION_COMPRESS = compressOld;
+			if( fname != null )
+				LocalFileUtils.deleteFileIfExists(fname);
+		}
+	}
+	
+	private void runCompressedBinaryBlockTest(double[][] A) {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		try {
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.IO_COMPRESSION_CODEC, BlockCodec.CODEC_DEFLATE);
+			ConfigurationManager.setLocalConfig(conf);
+			
+			String fname = File.createTempFile("compressed_binary", ".dat").getAbsolutePath();
+			MatrixWriterFactory.createMatrixWriter(OutputInfo.BinaryBlockOutputInfo)
+				.writeMatrixToHDFS(mb, fname, rows, cols, 1000, 1000, mb.getNonZeros());
+			Path path = new Path(fname);
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) {
+				SequenceFile.Reader reader = new SequenceFile.Reader(fs, lpath, ConfigurationManager.getCachedJobConf());
+				Assert.assertTrue(reader.isCompressed());
+				IOUtilFunctions.closeSilently(reader);
+			}
+			MatrixBlock mb2 = MatrixReaderFactory.createMatrixReader(InputInfo.BinaryBlockInputInfo)
+				.readMatrixFromHDFS(fname, rows, cols, 1000, 1000, mb.getNonZeros());
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb2), rows, cols, eps);
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+public class LineageReuseTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "LineageReuse1"; //for loop
+	private final static String TEST_NAME2 = "LineageReuse2"; //parfor loop
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LineageReuseTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-lineage.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	private final static int rows = 1500;
+	private final static int cols = 70;
+	private final static int iters = 10;
+	private final static double eps = 1e-8;
+	
+	private boolean _lineage = false;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testLineageReuseLoop() {
+		runLineageReuseTest(TEST_NAME1);
+	}
+	
+	@Test
+	public void testLineageReuseParFor() {
+		runLineageReuseTest(TEST_NAME2);
+	}
+	
+	private void runLineageReuseTest(String testname) {
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try {
+			//run baseline without reuse and with lineage-based reuse
+			HashMap<CellIndex, Double> R1 = runLineageScript(testname, false);
+			HashMap<CellIndex, Double> R2 = runLineageScript(testname, true);
+			
+			//compare results and check for actual reuse
+			TestUtils.compareMatrices(R1, R2, eps, "Stat-NoReuse", "Stat-Reuse");
+			Assert.assertTrue(Statistics.getLineageCacheHitsMem() > 0);
+		}
+		finally {
+			rtplatform = platformOld;
+			_lineage = false;
+		}
+	}
+	
+	private HashMap<CellIndex, Double> runLineageScript(String testname, boolean lineage) {
+		_lineage = lineage;
+		TestConfiguration config = getTestConfiguration(testname);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + testname + ".dml";
+		programArgs = new String[]{"-stats", "-args", input("X"),
+			String.valueOf(iters), output("R") };
+		double[][] X = getRandomMatrix(rows, cols, -1, 1, 1.0, 7);
+		writeInputMatrixWithMTD("X", X, true);
+		
+		runTest(true, false, null, -1);
+		return readDMLMatrixFromHDFS("R");
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		return _lineage ? TEST_CONF_FILE : super.getConfigTemplateFile();
+	}
+}
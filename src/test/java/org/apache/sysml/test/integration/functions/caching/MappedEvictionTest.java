@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.lang.reflect.Method;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.DenseBlockMapped;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappedEvictionTest extends AutomatedTestBase
+{
+	private final static int rows = 1021;
+	private final static int cols = 397;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testMappedEvictionDense() {
+		runMappedEvictionTest(sparsity1, true);
+	}
+	
+	@Test
+	public void testMappedEvictionSparse() {
+		runMappedEvictionTest(sparsity2, false);
+	}
+	
+	@Test
+	public void testMappedEvictionDenseDirect() {
+		double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		boolean mmapOld = CacheableData.CACHING_EVICTION_MMAP;
+		String fname = null;
+		try {
+			CacheableData.CACHING_EVICTION_MMAP = true;
+			fname = File.createTempFile("mapped_direct", ".dat").getAbsolutePath();
+			LocalFileUtils.writeMatrixBlockToMappedLocal(fname, mb);
+			Assert.assertTrue(LocalFileUtils.isMappedLocal(fname));
+			MatrixBlock mb2 = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname, true);
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			
+			//zero-copy restore: element and row accesses w/o widening
+			Assert.assertTrue(mb2.getDenseBlock() instanceof DenseBlockMapped);
+			DenseBlockMapped db = (DenseBlockMapped) mb2.getDenseBlock();
+			double[] row = new double[cols];
+			for( int i=0; i<rows; i++ ) {
+				db.get(i, row, 0);
+				for( int j=0; j<cols; j++ ) {
+					Assert.assertEquals(A[i][j], mb2.quickGetValue(i, j), eps);
+					Assert.assertEquals(A[i][j], row[j], eps);
+				}
+			}
+			Assert.assertEquals(mb.getNonZeros(), db.countNonZeros());
+			Assert.assertFalse(db.isArrayBacked());
+			
+			//re-eviction of unmodified block skips the write
+			long modified = new File(fname).lastModified();
+			LocalFileUtils.writeMatrixBlockToMappedLocal(fname, mb2);
+			Assert.assertEquals(modified, new File(fname).lastModified());
+			
+			//array access widens the block and drops the mapping
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb2), rows, cols, eps);
+			Assert.assertTrue(db.isWidened());
+			Assert.assertFalse(db.isMappedFrom(fname));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.CACHING_EVICTION_MMAP = mmapOld;
+			if( fname != null )
+				LocalFileUtils.deleteFileIfExists(fname);
+		}
+	}
+	
+	@Test
+	public void testMappedProbeDisabled() {
+		double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 11);
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		boolean mmapOld = CacheableData.CACHING_EVICTION_MMAP;
+		String fname = null;
+		try {
+			//w/o mapped evictions, restores use the regular format
+			CacheableData.CACHING_EVICTION_MMAP = false;
+			fname = File.createTempFile("mapped_disabled", ".dat").getAbsolutePath();
+			LocalFileUtils.writeCacheBlockToLocal(fname, mb);
+			MatrixBlock mb2 = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname, true);
+			Assert.assertFalse(mb2.getDenseBlock() instanceof DenseBlockMapped);
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb2), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.CACHING_EVICTION_MMAP = mmapOld;
+			if( fname != null )
+				LocalFileUtils.deleteFileIfExists(fname);
+		}
+	}
+	
+	private void runMappedEvictionTest(double sparsity, boolean mapped) {
+		boolean mmapOld = CacheableData.CACHING_EVICTION_MMAP;
+		
+		try {
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 3);
+			MatrixBlock mA = DataConverter.convertToMatrixBlock(A);
+			
+			//setup caching with memory-mapped eviction
+			CacheableData.CACHING_EVICTION_MMAP = true;
+			CacheableData.initCaching("tmp_mapped_eviction_test");
+			
+			//create matrix object, evict, and clear in-memory reference
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, -1);
+			MetaDataFormat meta = new MetaDataFormat(mc,
+				OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+			MatrixObject mo = new MatrixObject(ValueType.DOUBLE, "mA", meta);
+			mo.acquireModify(mA);
+			mo.release();
+			LazyWriteBuffer.forceEviction();
+			Method getfname = CacheableData.class.getDeclaredMethod("getCacheFilePathAndName", new Class[]{});
+			getfname.setAccessible(true);
+			Assert.assertEquals(mapped, LocalFileUtils.isMappedLocal((String)getfname.invoke(mo, new Object[]{})));
+			Method clearmo = CacheableData.class.getDeclaredMethod("clearCache", new Class[]{});
+			clearmo.setAccessible(true);
+			clearmo.invoke(mo, new Object[]{});
+			
+			//read matrix from local file system and compare
+			MatrixBlock mA2 = mo.acquireRead();
+			mo.release();
+			Assert.assertEquals(mA.getNonZeros(), mA2.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mA2), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_EVICTION_MMAP = mmapOld;
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.lang.reflect.Method;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PageCacheEvictionTest extends AutomatedTestBase
+{
+	private final static int rows = 1593;
+	private final static double sparsity = 0.7;
+	
+	private final static ValueType[] schemaStrings = new ValueType[]{ValueType.STRING, ValueType.STRING, ValueType.STRING};
+	private final static ValueType[] schemaMixed = new ValueType[]{ValueType.STRING, ValueType.DOUBLE, ValueType.INT, ValueType.BOOLEAN};
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testPageCacheStringsHeap() {
+		runPageCacheEvictionTest(schemaStrings, false);
+	}
+	
+	@Test
+	public void testPageCacheStringsOffHeap() {
+		runPageCacheEvictionTest(schemaStrings, true);
+	}
+	
+	@Test
+	public void testPageCacheMixedHeap() {
+		runPageCacheEvictionTest(schemaMixed, false);
+	}
+	
+	@Test
+	public void testPageCacheMixedOffHeap() {
+		runPageCacheEvictionTest(schemaMixed, true);
+	}
+	
+	private void runPageCacheEvictionTest(ValueType[] schema, boolean offHeap) {
+		double pagecacheOld = CacheableData.CACHING_PAGECACHE_SIZE;
+		boolean offHeapOld = CacheableData.CACHING_PAGECACHE_OFFHEAP;
+		
+		try {
+			//data generation (frames w/ strings are deep-serialized into pages)
+			FrameBlock fA = createFrame(schema, 7);
+			FrameBlock fB = createFrame(schema, 3);
+			
+			//setup caching with page pool
+			CacheableData.CACHING_PAGECACHE_SIZE = 0.01;
+			CacheableData.CACHING_PAGECACHE_OFFHEAP = offHeap;
+			CacheableData.initCaching("tmp_pagecache_eviction_test");
+			Assert.assertTrue(PageCache.isEnabled());
+			Assert.assertEquals(offHeap, PageCache.isOffHeap());
+			
+			//write, restore from write buffer, and evict first frame,
+			//which returns its serialization page to the pool
+			FrameObject foA = createFrameObject("fA", fA, schema);
+			compareFrames(fA, restoreFrame(foA));
+			LazyWriteBuffer.forceEviction();
+			Assert.assertTrue(PageCache.getSize() > 0);
+			
+			//write and restore second frame of equal size (reused page),
+			//and restore first frame from local file system
+			FrameObject foB = createFrameObject("fB", fB, schema);
+			Assert.assertEquals(0, PageCache.getSize());
+			compareFrames(fB, restoreFrame(foB));
+			compareFrames(fA, restoreFrame(foA));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_PAGECACHE_SIZE = pagecacheOld;
+			CacheableData.CACHING_PAGECACHE_OFFHEAP = offHeapOld;
+		}
+	}
+	
+	private FrameBlock createFrame(ValueType[] schema, long seed) {
+		double[][] A = getRandomMatrix(rows, schema.length, -10, 10, sparsity, seed);
+		MatrixBlock mA = DataConverter.convertToMatrixBlock(A);
+		return DataConverter.convertToFrameBlock(mA, schema);
+	}
+	
+	private static FrameObject createFrameObject(String name, FrameBlock fb, ValueType[] schema) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, schema.length, -1, -1, -1);
+		MetaDataFormat meta = new MetaDataFormat(mc,
+			OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+		FrameObject fo = new FrameObject(name, meta, schema);
+		fo.acquireModify(fb);
+		fo.release();
+		return fo;
+	}
+	
+	private static FrameBlock restoreFrame(FrameObject fo) throws Exception {
+		//clear in-memory reference and read through buffer pool
+		Method clearfo = CacheableData.class.getDeclaredMethod("clearCache", new Class[]{});
+		clearfo.setAccessible(true);
+		clearfo.invoke(fo, new Object[]{});
+		FrameBlock ret = fo.acquireRead();
+		fo.release();
+		return ret;
+	}
+	
+	private static void compareFrames(FrameBlock fb1, FrameBlock fb2) {
+		String[][] s1 = DataConverter.convertToStringFrame(fb1);
+		String[][] s2 = DataConverter.convertToStringFrame(fb2);
+		TestUtils.compareFrames(s1, s2, fb1.getNumRows(), fb1.getNumColumns());
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFP32;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFactory;
+import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense block component test for the single-precision dense block,
+ * which compares get, set, nnz, bulk copies, widening, and the specialized
+ * kernels with the default double-precision dense block.
+ */
+public class DenseBlockFP32Test extends AutomatedTestBase 
+{
+	private final static int rows = 732;
+	private final static int cols = 354;
+	private final static double sparsity1 = 0.1;
+	private final static double sparsity2 = 0.9;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testDenseBlockFP32Sparse() {
+		runDenseBlockFP32Test(sparsity1);
+	}
+	
+	@Test
+	public void testDenseBlockFP32Dense() {
+		runDenseBlockFP32Test(sparsity2);
+	}
+	
+	@Test
+	public void testDenseBlockFP32KernelsSparse() {
+		runDenseBlockFP32KernelTest(sparsity1, 1);
+	}
+	
+	@Test
+	public void testDenseBlockFP32KernelsDense() {
+		runDenseBlockFP32KernelTest(sparsity2, 1);
+	}
+	
+	@Test
+	public void testDenseBlockFP32KernelsDenseParallel() {
+		runDenseBlockFP32KernelTest(sparsity2, 4);
+	}
+	
+	private void runDenseBlockFP32Test(double sparsity) {
+		double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 1234);
+		DenseBlock heap = DenseBlockFactory.createDenseBlock(rows, cols);
+		for( int i=0; i<rows; i++ )
+			heap.set(i, A[i]);
+		
+		//bulk copy double to single precision and compare cells and nnz
+		DenseBlock fp32 = DenseBlockFactory.createDenseBlock(DenseBlock.Type.FP32, rows, cols);
+		Assert.assertTrue(DenseBlockFactory.isDenseBlockType(fp32, DenseBlock.Type.FP32));
+		fp32.set(heap);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals((float)A[i][j], fp32.get(i, j), 0);
+		Assert.assertEquals(heap.countNonZeros(), fp32.countNonZeros());
+		Assert.assertEquals(heap.countNonZeros(7, 300, 11, 101), fp32.countNonZeros(7, 300, 11, 101));
+		
+		//cell and range updates
+		fp32.set(3, 5, 7);
+		fp32.incr(3, 5, 2);
+		fp32.set(10, 20, 0, cols, 1);
+		Assert.assertEquals(9, fp32.get(3, 5), 0);
+		Assert.assertEquals(10 * cols, fp32.countNonZeros(10, 20, 0, cols));
+		
+		//bulk copy single to double precision and compare
+		DenseBlock heap2 = DenseBlockFactory.createDenseBlock(rows, cols);
+		heap2.set(fp32);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals(fp32.get(i, j), heap2.get(i, j), 0);
+		
+		//array access widens, and compact converts back
+		DenseBlockFP32 fp32b = (DenseBlockFP32) fp32;
+		Assert.assertTrue(DenseBlockFP32.isCompact(fp32b) && !fp32b.isArrayBacked());
+		double[] row = fp32b.values(3);
+		Assert.assertEquals(9, row[fp32b.pos(3, 5)], 0);
+		Assert.assertTrue(fp32b.isWidened() && fp32b.isArrayBacked());
+		row[fp32b.pos(3, 5)] = 11;
+		fp32b.compact();
+		Assert.assertTrue(DenseBlockFP32.isCompact(fp32b) && !fp32b.isWidened());
+		Assert.assertEquals(11, fp32b.get(3, 5), 0);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				if( i!=3 || j!=5 )
+					Assert.assertEquals(heap2.get(i, j), fp32b.get(i, j), 0);
+		
+		//reset and reuse arrays
+		fp32.reset(rows/2, cols, 3);
+		Assert.assertEquals((long)rows/2*cols, fp32.countNonZeros());
+	}
+	
+	private void runDenseBlockFP32KernelTest(double sparsity, int k) {
+		//inputs rounded to single precision, as reference in double precision
+		double[][] A = round(getRandomMatrix(rows, cols, -1, 1, sparsity, 7));
+		double[][] B = round(getRandomMatrix(cols, rows/2, -1, 1, sparsity, 3));
+		double[][] C = round(getRandomMatrix(rows, cols, -1, 1, sparsity, 9));
+		MatrixBlock mA = toFP32(A), mB = toFP32(B), mC = toFP32(C);
+		Assert.assertTrue(mA.getInMemorySize() < DataConverter.convertToMatrixBlock(A).getInMemorySize());
+		
+		//matrix multiplication (matrix-matrix, matrix-vector)
+		MatrixBlock ret1 = new MatrixBlock(), ret2 = new MatrixBlock();
+		if( k > 1 )
+			LibMatrixMult.matrixMult(mA, mB, ret1, k);
+		else
+			LibMatrixMult.matrixMult(mA, mB, ret1);
+		LibMatrixMult.matrixMult(DataConverter.convertToMatrixBlock(A),
+			DataConverter.convertToMatrixBlock(B), ret2);
+		compare(ret2, ret1);
+		MatrixBlock v = toFP32(round(getRandomMatrix(cols, 1, -1, 1, 1.0, 5)));
+		MatrixBlock ret3 = new MatrixBlock(), ret4 = new MatrixBlock();
+		LibMatrixMult.matrixMult(mA, v, ret3);
+		LibMatrixMult.matrixMult(DataConverter.convertToMatrixBlock(A),
+			DataConverter.convertToMatrixBlock(DataConverter.convertToDoubleMatrix(v)), ret4);
+		compare(ret4, ret3);
+		
+		//elementwise binary operations
+		for( BinaryOperator bop : new BinaryOperator[] {
+			new BinaryOperator(Plus.getPlusFnObject()), new BinaryOperator(Multiply.getMultiplyFnObject())} ) {
+			MatrixBlock ret5 = new MatrixBlock(), ret6 = new MatrixBlock();
+			LibMatrixBincell.bincellOp(mA, mC, ret5, bop);
+			LibMatrixBincell.bincellOp(DataConverter.convertToMatrixBlock(A),
+				DataConverter.convertToMatrixBlock(C), ret6, bop);
+			compare(ret6, ret5);
+			
+			//mixed single- and double-precision inputs
+			MatrixBlock ret9 = new MatrixBlock(), ret10 = new MatrixBlock();
+			LibMatrixBincell.bincellOp(mA, toFP64(C), ret9, bop);
+			LibMatrixBincell.bincellOp(toFP64(A), mC, ret10, bop);
+			compare(ret6, ret9);
+			compare(ret6, ret10);
+		}
+		
+		//sum, rowSums, colSums
+		for( String opcode : new String[] {"uak+", "uark+", "uack+"} ) {
+			AggregateUnaryOperator aop = InstructionUtils.parseBasicAggregateUnaryOperator(opcode, k);
+			MatrixBlock ret7 = (MatrixBlock) mA.aggregateUnaryOperations(
+				aop, new MatrixBlock(), rows, cols, null, true);
+			MatrixBlock ret8 = (MatrixBlock) DataConverter.convertToMatrixBlock(A)
+				.aggregateUnaryOperations(aop, new MatrixBlock(), rows, cols, null, true);
+			compare(ret8, ret7);
+		}
+		
+		//all kernels read the single-precision inputs in place
+		Assert.assertTrue(DenseBlockFP32.isCompact(mA.getDenseBlock()));
+		Assert.assertTrue(DenseBlockFP32.isCompact(mB.getDenseBlock()));
+		Assert.assertTrue(DenseBlockFP32.isCompact(mC.getDenseBlock()));
+	}
+	
+	private static double[][] round(double[][] A) {
+		for( double[] row : A )
+			for( int j=0; j<row.length; j++ )
+				row[j] = (float)row[j];
+		return A;
+	}
+	
+	private static MatrixBlock toFP32(double[][] A) {
+		//dense representation irrespective of sparsity
+		MatrixBlock ret = DataConverter.convertToMatrixBlock(A);
+		if( ret.isInSparseFormat() )
+			ret.sparseToDense();
+		ret.compactDenseBlockFP32();
+		return ret;
+	}
+	
+	private static MatrixBlock toFP64(double[][] A) {
+		//dense representation irrespective of sparsity
+		MatrixBlock ret = DataConverter.convertToMatrixBlock(A);
+		if( ret.isInSparseFormat() )
+			ret.sparseToDense();
+		return ret;
+	}
+	
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), 1e-8);
+	}
+}
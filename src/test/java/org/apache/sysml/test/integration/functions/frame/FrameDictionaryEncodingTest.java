@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.frame;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+public class FrameDictionaryEncodingTest extends AutomatedTestBase
+{
+	private final static int rows = 2000;
+	private final static int distinct = 50;
+	private final static int maxDistinct = 200; //10% of rows
+	private final static ValueType[] schemaStrings = new ValueType[]{ValueType.STRING, ValueType.STRING};
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSingleUpdatesCompactDictionary() {
+		FrameBlock frame = createEncodedFrame(rows, distinct);
+		String[][] expected = getStrings(frame);
+		
+		//many updates with new tokens on few rows (dead tokens)
+		for( int k=0; k<10*maxDistinct; k++ ) {
+			frame.set(k%10, 0, "t"+k);
+			expected[k%10][0] = "t"+k;
+		}
+		
+		checkEncoded(frame, 0, true);
+		if( frame.getDictionary(0).size() > 2*maxDistinct )
+			fail("Dictionary not compacted: "+frame.getDictionary(0).size());
+		checkStrings(frame, expected);
+	}
+	
+	@Test
+	public void testSingleUpdatesHighCardinality() {
+		FrameBlock frame = createEncodedFrame(rows, distinct);
+		String[][] expected = getStrings(frame);
+		
+		//updates with distinct new tokens on all rows
+		for( int i=0; i<rows; i++ ) {
+			frame.set(i, 1, "u"+i);
+			expected[i][1] = "u"+i;
+		}
+		
+		checkEncoded(frame, 0, true);
+		checkEncoded(frame, 1, false);
+		checkStrings(frame, expected);
+	}
+	
+	@Test
+	public void testBulkUpdatePlainHighCardinality() {
+		FrameBlock frame = createEncodedFrame(rows, distinct);
+		FrameBlock src = createFrame(rows, rows);
+		
+		frame.copy(0, rows-1, 0, 1, src);
+		
+		checkEncoded(frame, 0, false);
+		checkEncoded(frame, 1, false);
+		checkStrings(frame, getStrings(src));
+	}
+	
+	@Test
+	public void testBulkUpdateEncodedHighCardinality() {
+		//encoded source w/ more distinct values than the max of the target
+		FrameBlock frame = createEncodedFrame(rows, distinct);
+		FrameBlock src = createEncodedFrame(2*rows, 3*maxDistinct/2);
+		
+		frame.copy(0, rows-1, 0, 1, src);
+		
+		checkEncoded(frame, 0, false);
+		checkEncoded(frame, 1, false);
+		checkStrings(frame, getStrings(src.slice(0, rows-1, 0, 1, new FrameBlock())));
+	}
+	
+	@Test
+	public void testBulkUpdateCompactDictionary() {
+		FrameBlock frame = createEncodedFrame(rows, distinct);
+		String[][] expected = getStrings(frame);
+		
+		//repeated bulk updates of few rows with new tokens (dead tokens)
+		for( int k=0; k<10; k++ ) {
+			FrameBlock src = createFrame(100, 100);
+			for( int i=0; i<100; i++ )
+				for( int j=0; j<2; j++ )
+					src.set(i, j, expected[i][j] = k+"_"+src.get(i, j));
+			frame.copy(0, 99, 0, 1, src);
+		}
+		
+		checkEncoded(frame, 0, true);
+		checkEncoded(frame, 1, true);
+		if( frame.getDictionary(0).size() > maxDistinct )
+			fail("Dictionary not compacted: "+frame.getDictionary(0).size());
+		checkStrings(frame, expected);
+	}
+	
+	@Test
+	public void testInMemorySizeDeadTokens() {
+		FrameBlock frame = createEncodedFrame(rows, distinct);
+		long size = frame.getInMemorySize();
+		
+		//update w/ new token and revert (dead token in dictionary)
+		Object tmp = frame.get(0, 0);
+		frame.set(0, 0, "dead_token_value");
+		frame.set(0, 0, tmp);
+		
+		checkEncoded(frame, 0, true);
+		if( frame.getDictionary(0).size() != distinct+1 )
+			fail("Wrong dictionary size: "+frame.getDictionary(0).size());
+		if( frame.getInMemorySize() != size )
+			fail("Wrong in-memory size: "+frame.getInMemorySize()+", expected: "+size);
+	}
+	
+	@Test
+	public void testInMemorySizeSharedDictionary() {
+		FrameBlock frame = createEncodedFrame(rows, distinct);
+		FrameBlock slice = frame.slice(0, rows-2, 0, 1, new FrameBlock());
+		
+		checkEncoded(slice, 0, true);
+		if( slice.getDictionary(0) != frame.getDictionary(0) )
+			fail("Dictionary not shared by slice.");
+		
+		//shared dictionary only accounted for the original frame
+		long size1 = createEncodedFrame(rows-1, distinct).getInMemorySize();
+		long size2 = slice.getInMemorySize();
+		if( size2 >= size1 )
+			fail("Wrong in-memory size of slice w/ shared dictionary: "+size2+" (unshared: "+size1+").");
+		
+		//unshared dictionary on update w/ new token
+		slice.set(0, 0, "new_token_value");
+		if( slice.getDictionary(0) == frame.getDictionary(0) )
+			fail("Dictionary still shared after update.");
+		if( slice.getInMemorySize() <= size2 )
+			fail("Dictionary not accounted after copy on write.");
+		checkStrings(slice.slice(1, rows-2, 0, 1, new FrameBlock()),
+			getStrings(frame.slice(1, rows-2, 0, 1, new FrameBlock())));
+	}
+	
+	private static FrameBlock createFrame(int nrow, int ndistinct) {
+		FrameBlock frame = new FrameBlock(schemaStrings);
+		for( int i=0; i<nrow; i++ )
+			frame.appendRow(new String[]{"a"+(i%ndistinct), (i%7==0) ? null : "b"+((i*7)%ndistinct)});
+		return frame;
+	}
+	
+	private FrameBlock createEncodedFrame(int nrow, int ndistinct) {
+		FrameBlock frame = createFrame(nrow, ndistinct);
+		frame.dictionaryEncodeStringColumns();
+		checkEncoded(frame, 0, true);
+		checkEncoded(frame, 1, true);
+		return frame;
+	}
+	
+	private static String[][] getStrings(FrameBlock frame) {
+		String[][] ret = new String[frame.getNumRows()][frame.getNumColumns()];
+		for( int i=0; i<frame.getNumRows(); i++ )
+			for( int j=0; j<frame.getNumColumns(); j++ )
+				ret[i][j] = (String)frame.get(i, j);
+		return ret;
+	}
+	
+	private void checkEncoded(FrameBlock frame, int c, boolean expected) {
+		if( frame.isDictionaryEncoded(c) != expected )
+			fail("Column "+(c+1)+" is "+(expected?"not ":"")+"dictionary-encoded.");
+	}
+	
+	private void checkStrings(FrameBlock frame, String[][] expected) {
+		for( int i=0; i<expected.length; i++ )
+			for( int j=0; j<expected[i].length; j++ ) {
+				Object val = frame.get(i, j);
+				if( (val==null) ? expected[i][j]!=null : !val.equals(expected[i][j]) )
+					fail("Wrong value at ("+i+","+j+"): "+val+", expected: "+expected[i][j]);
+			}
+	}
+}
@@ -166,7 +166,16 @@ public class FrameGetSetTest extends AutomatedTestBase
 					double tmp = UtilFunctions.objectToDouble(schema[j], frame.get(i, j));
 					if( tmp != A[i][j] )
 						fail("Wrong get value for cell ("+i+","+j+"): "+tmp+", expected: "+A[i][j]);
-				}		
+				}
+
+			//check correct unboxed values (cell and column range access)
+			double[] col = new double[rows];
+			for( int j=0; j<schema.length; j++ ) {
+				frame.getColumnAsDouble(j, 0, rows, col, 0);
+				for( int i=0; i<rows; i++ )
+					if( frame.getDouble(i, j) != A[i][j] || col[i] != A[i][j] )
+						fail("Wrong unboxed value for cell ("+i+","+j+"): "+col[i]+", expected: "+A[i][j]);
+			}
 		}
 		catch(Exception ex) {
 			ex.printStackTrace();
@@ -68,6 +68,21 @@ public class FrameSerializationTest extends AutomatedTestBase
 	public void testFrameMixedJava()  {
 		runFrameSerializeTest(schemaMixed, SerType.JAVA_SER);
 	}
+	
+	@Test
+	public void testFrameStringsDictWritable()  {
+		runFrameSerializeTest(schemaStrings, SerType.WRITABLE_SER, true);
+	}
+	
+	@Test
+	public void testFrameMixedDictWritable()  {
+		runFrameSerializeTest(schemaMixed, SerType.WRITABLE_SER, true);
+	}
+	
+	@Test
+	public void testFrameStringsDictJava()  {
+		runFrameSerializeTest(schemaStrings, SerType.JAVA_SER, true);
+	}
 
 	
 	/**
@@ -76,15 +91,22 @@ public class FrameSerializationTest extends AutomatedTestBase
 	 * @param sparseM2
 	 * @param instType
 	 */
-	private void runFrameSerializeTest( ValueType[] schema, SerType stype)
+	private void runFrameSerializeTest( ValueType[] schema, SerType stype) {
+		runFrameSerializeTest(schema, stype, false);
+	}
+	
+	private void runFrameSerializeTest( ValueType[] schema, SerType stype, boolean dict)
 	{
 		if(shouldSkipTest())
 			return;
 		
 		try
 		{
-			//data generation
+			//data generation (w/ low cardinality for dictionary encoding)
 			double[][] A = getRandomMatrix(rows, schema.length, -10, 10, 0.9, 8234); 
+			for( int i=0; i<rows && dict; i++ )
+				for( int j=0; j<schema.length; j++ )
+					A[i][j] = Math.round(A[i][j]);
 			
 			//init data frame
 			FrameBlock frame = new FrameBlock(schema);
@@ -96,7 +118,11 @@ public class FrameSerializationTest extends AutomatedTestBase
 					A[i][j] = UtilFunctions.objectToDouble(schema[j], 
 							row[j] = UtilFunctions.doubleToObject(schema[j], A[i][j]));
 				frame.appendRow(row);
-			}			
+			}
+			if( dict ) {
+				frame.dictionaryEncodeStringColumns();
+				checkDictionaryEncoded(frame, schema);
+			}
 			
 			//core serialization and deserialization
 			if( stype == SerType.WRITABLE_SER ) {
@@ -104,6 +130,8 @@ public class FrameSerializationTest extends AutomatedTestBase
 				ByteArrayOutputStream bos = new ByteArrayOutputStream();
 				DataOutputStream dos = new DataOutputStream(bos);
 				frame.write(dos);
+				if( dict && bos.size() != frame.getExactSerializedSize() )
+					fail("Wrong serialized size: "+frame.getExactSerializedSize()+", expected: "+bos.size());
 				
 				//deserialization
 				ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
@@ -124,6 +152,8 @@ public class FrameSerializationTest extends AutomatedTestBase
 			}
 			
 			//check basic meta data
+			if( dict )
+				checkDictionaryEncoded(frame, schema);
 			if( frame.getNumRows() != rows )
 				fail("Wrong number of rows: "+frame.getNumRows()+", expected: "+rows);
 		
@@ -140,4 +170,10 @@ public class FrameSerializationTest extends AutomatedTestBase
 			throw new RuntimeException(ex);
 		}
 	}
+	
+	private void checkDictionaryEncoded(FrameBlock frame, ValueType[] schema) {
+		for( int j=0; j<schema.length; j++ )
+			if( schema[j] == ValueType.STRING && !frame.isDictionaryEncoded(j) )
+				fail("Column "+(j+1)+" is not dictionary-encoded.");
+	}
 }
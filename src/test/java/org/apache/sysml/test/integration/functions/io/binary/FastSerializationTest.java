@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.ByteBufferDataInput;
+import org.apache.sysml.runtime.util.ByteBufferDataOutput;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the bulk serialization of dense blocks
+ * and sparse rows via the fast buffered streams, cache buffers, and
+ * byte buffers, which checks that the serialized bytes are identical to
+ * the default DataOutput serialization, and that deserialization into
+ * MCSR and CSR blocks reproduces the original matrix.
+ */
+public class FastSerializationTest extends AutomatedTestBase 
+{
+	private final static int rows1 = 746;
+	private final static int cols1 = 586;
+	private final static int rows2 = 3;
+	private final static int cols2 = 20000;
+	
+	private final static double eps = 1e-14;
+	
+	private enum SerType {
+		STREAM,
+		CACHE,
+		BYTEBUFFER,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testDenseStream() {
+		runFastSerializationTest(rows1, cols1, 1.0, SerType.STREAM);
+	}
+	
+	@Test
+	public void testDenseCache() {
+		runFastSerializationTest(rows1, cols1, 1.0, SerType.CACHE);
+	}
+	
+	@Test
+	public void testDenseByteBuffer() {
+		runFastSerializationTest(rows1, cols1, 1.0, SerType.BYTEBUFFER);
+	}
+	
+	@Test
+	public void testSparseStream() {
+		runFastSerializationTest(rows1, cols1, 0.1, SerType.STREAM);
+	}
+	
+	@Test
+	public void testSparseCache() {
+		runFastSerializationTest(rows1, cols1, 0.1, SerType.CACHE);
+	}
+	
+	@Test
+	public void testSparseByteBuffer() {
+		runFastSerializationTest(rows1, cols1, 0.1, SerType.BYTEBUFFER);
+	}
+	
+	@Test
+	public void testSparseWideRowsStream() {
+		runFastSerializationTest(rows2, cols2, 0.3, SerType.STREAM);
+	}
+	
+	@Test
+	public void testSparseWideRowsCache() {
+		runFastSerializationTest(rows2, cols2, 0.3, SerType.CACHE);
+	}
+	
+	private void runFastSerializationTest(int rows, int cols, double sparsity, SerType type) {
+		try {
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, sparsity, 7));
+			Assert.assertEquals(sparsity < 0.4, mb.isInSparseFormat());
+			
+			//default serialization as baseline
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			try( DataOutputStream dos = new DataOutputStream(bos) ) {
+				mb.write(dos);
+			}
+			byte[] expected = bos.toByteArray();
+			
+			//fast serialization, w/ identical serialized bytes
+			byte[] actual = serialize(mb, type, expected.length);
+			Assert.assertArrayEquals(expected, actual);
+			
+			//fast deserialization into default block types
+			MatrixBlock mb2 = new MatrixBlock();
+			mb2.readFields(createInput(actual, type));
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+				DataConverter.convertToDoubleMatrix(mb2), rows, cols, eps);
+			
+			//fast deserialization of sparse rows into CSR
+			if( mb.isInSparseFormat() ) {
+				SparseBlockCSR csr = new SparseBlockCSR(rows, 16);
+				DataInput in = createInput(actual, type);
+				in.readFully(new byte[13]); //skip header (rlen, clen, type, nnz)
+				((MatrixBlockDataInput)in).readSparseRows(rows, mb.getNonZeros(), csr);
+				Assert.assertEquals(mb.getNonZeros(), csr.size());
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						Assert.assertEquals(mb.quickGetValue(i, j), csr.get(i, j), eps);
+			}
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static byte[] serialize(MatrixBlock mb, SerType type, int len) throws IOException {
+		switch( type ) {
+			case STREAM: {
+				ByteArrayOutputStream bos = new ByteArrayOutputStream();
+				try( FastBufferedDataOutputStream fos = new FastBufferedDataOutputStream(bos) ) {
+					mb.write(fos);
+				}
+				return bos.toByteArray();
+			}
+			case CACHE: {
+				CacheDataOutput cos = new CacheDataOutput(len);
+				mb.write(cos);
+				return cos.getBytes();
+			}
+			case BYTEBUFFER: {
+				ByteBuffer buff = ByteBuffer.allocate(len);
+				mb.write(new ByteBufferDataOutput(buff));
+				return buff.array();
+			}
+			default:
+				throw new RuntimeException("Unsupported serialization type: "+type);
+		}
+	}
+	
+	private static DataInput createInput(byte[] data, SerType type) {
+		switch( type ) {
+			case STREAM: return new FastBufferedDataInputStream(new ByteArrayInputStream(data));
+			case CACHE: return new CacheDataInput(data);
+			case BYTEBUFFER: return new ByteBufferDataInput(ByteBuffer.wrap(data));
+			default:
+				throw new RuntimeException("Unsupported serialization type: "+type);
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.io.CSVByteParser;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+
+/**
+ * This is a component test for the byte-level csv tokenizer and number
+ * parser, which checks that all parsed values are bitwise identical to
+ * Double.parseDouble (incl. failures for invalid numbers), and that the
+ * tokenization matches IOUtilFunctions.split over trimmed lines and cells.
+ */
+public class CSVByteParserTest 
+{
+	@Test
+	public void testParseIntegers() {
+		checkParse("0", "1", "7", "42", "100", "007", "123456789", "2147483648");
+	}
+	
+	@Test
+	public void testParseDecimals() {
+		checkParse("0.1", "0.2", "0.3", "1.", ".5", "3.14159", "1234.5678", 
+			"0.000000000000000000001", "1.00000000000000000000");
+	}
+	
+	@Test
+	public void testParseSigns() {
+		checkParse("-0", "+0", "-0.0", "+0.0", "-1", "+1", "-.5", "+.5", 
+			"-1e5", "+1e-5", "-1.5E+3", "+0e0", "-", "+", "--1", "+-1");
+	}
+	
+	@Test
+	public void testParseLongMantissas() {
+		checkParse("9007199254740991", "9007199254740992", "9007199254740993", 
+			"-9007199254740993", "9999999999999999", "999999999999999.9",
+			"12345678901234560", "1234567890123456000000", "12345678901234567890",
+			"123456789012345678901234567890", "3.14159265358979323846",
+			"0.30000000000000000555", "1234567890123456.7", "00000000000000000000001");
+	}
+	
+	@Test
+	public void testParseExponentEdges() {
+		checkParse("1e22", "1e23", "1e-22", "1e-23", "-1e22", "-1e-23", 
+			"9007199254740992e22", "9007199254740993e22", "9007199254740992e-22",
+			"1234567890123456e6", "1234567890123456e7", "100000000000000000000000e-10",
+			"0.0001e26", "1000e-25", "1e308", "1e309", "1e-324", "1e-400", "1e400",
+			"1.7976931348623157e308", "4.9e-324", "1E5", "1e+5", "1e05", "1e00000000000000000022");
+	}
+	
+	@Test
+	public void testParseSpecialValues() {
+		checkParse("NaN", "-NaN", "+NaN", "Infinity", "-Infinity", "+Infinity", 
+			"1d", "1f", "1D", "0x1p3");
+	}
+	
+	@Test
+	public void testParseInvalid() {
+		checkParse("", ".", "e5", "1e", "1e+", "1e-", "1..2", "1e5.5", "1,5", "a", "1_0", "nan", "inf");
+	}
+	
+	@Test
+	public void testParseQuoted() {
+		checkParse("\"1.5\"", "'1'", "\"\"", "\"-7e3\"");
+	}
+	
+	@Test
+	public void testParseRandom() {
+		Random rand = new Random(7);
+		for( int i=0; i<100000; i++ ) {
+			//random digit strings with signs, decimal points and exponents
+			StringBuilder sb = new StringBuilder();
+			int sign = rand.nextInt(4);
+			if( sign < 2 )
+				sb.append(sign==0 ? '-' : '+');
+			int ndigits = 1 + rand.nextInt(22);
+			int dot = rand.nextInt(ndigits + 2);
+			for( int j=0; j<ndigits; j++ ) {
+				if( j == dot )
+					sb.append('.');
+				sb.append((char)('0' + (rand.nextInt(3)==0 ? 0 : rand.nextInt(10))));
+			}
+			if( rand.nextBoolean() ) {
+				sb.append(rand.nextBoolean() ? 'e' : 'E');
+				int esign = rand.nextInt(4);
+				if( esign < 2 )
+					sb.append(esign==0 ? '-' : '+');
+				sb.append(rand.nextInt(rand.nextBoolean() ? 30 : 400));
+			}
+			checkParse(sb.toString());
+			
+			//string representations of random doubles
+			checkParse(Double.toString(Double.longBitsToDouble(rand.nextLong())));
+			checkParse(Double.toString(rand.nextDouble() * Math.pow(10, rand.nextInt(40)-20)));
+		}
+	}
+	
+	@Test
+	public void testTokenizeEmptyFields() {
+		checkTokenize(",", "1,,3", ",2,", ",,", ",", " , 1 ,  ", "1, ,2");
+	}
+	
+	@Test
+	public void testTokenizeEmptyLines() {
+		checkTokenize(",", "", "   ", "\t");
+	}
+	
+	@Test
+	public void testTokenizeWhitespace() {
+		checkTokenize(",", " 1 , 2.5 ,-3 ", "\t1\t,\t2\t", "1,2,3 ");
+		checkTokenize("\t", "1\t2\t3", "1\t\t3", " 1 \t 2 ");
+	}
+	
+	@Test
+	public void testTokenizeMultiCharDelim() {
+		checkTokenize("::", "1::2::3", "1::::3", "::1::", "1:2::3", "1:::2");
+	}
+	
+	@Test
+	public void testTokenizeQuoted() {
+		checkTokenize(",", "\"1\",2", "1,\"2,3\"", "\"\",1", "'1','2'");
+	}
+	
+	private static void checkParse(String... vals) {
+		for( String val : vals ) {
+			byte[] b = val.getBytes(StandardCharsets.UTF_8);
+			assertSameParse(val, b, 0, b.length);
+			
+			//parse from an offset into a larger buffer
+			byte[] b2 = ("#" + val + "#").getBytes(StandardCharsets.UTF_8);
+			assertSameParse(val, b2, 1, b2.length-1);
+		}
+	}
+	
+	private static void assertSameParse(String val, byte[] b, int beg, int end) {
+		Double expected = null, actual = null;
+		try {
+			expected = Double.parseDouble(val);
+		}
+		catch(NumberFormatException ex) {}
+		try {
+			actual = CSVByteParser.parseDouble(b, beg, end);
+		}
+		catch(NumberFormatException ex) {}
+		
+		if( expected == null )
+			Assert.assertNull("Expected parse failure for '"+val+"'", actual);
+		else {
+			Assert.assertNotNull("Unexpected parse failure for '"+val+"'", actual);
+			Assert.assertEquals("Wrong value for '"+val+"'", 
+				Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+		}
+	}
+	
+	private static void checkTokenize(String delim, String... lines) {
+		CSVByteParser parser = new CSVByteParser(delim);
+		for( String line : lines ) {
+			//reference tokenization (no tokens for empty lines)
+			String tline = line.trim();
+			String[] parts = tline.isEmpty() ? new String[0] :
+				IOUtilFunctions.split(tline, delim);
+			
+			//reused buffer larger than the line
+			byte[] tmp = line.getBytes(StandardCharsets.UTF_8);
+			byte[] buf = new byte[tmp.length + 8];
+			System.arraycopy(tmp, 0, buf, 0, tmp.length);
+			parser.reset(buf, tmp.length);
+			
+			int col = 0;
+			while( parser.next() ) {
+				Assert.assertTrue("Too many tokens for '"+line+"'", col < parts.length);
+				String part = parts[col++].trim();
+				Assert.assertEquals(part.isEmpty(), parser.isEmptyCell());
+				if( !part.isEmpty() ) {
+					Double expected = null, actual = null;
+					try {
+						expected = Double.parseDouble(part);
+					}
+					catch(NumberFormatException ex) {}
+					try {
+						actual = parser.parseDouble();
+					}
+					catch(NumberFormatException ex) {}
+					Assert.assertEquals("Wrong cell "+col+" of '"+line+"'", expected, actual);
+				}
+			}
+			Assert.assertEquals("Wrong number of tokens for '"+line+"'", parts.length, col);
+		}
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.api.jmlc.BatchedScript;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+
+public class JMLCBatchedScriptTest extends AutomatedTestBase 
+{
+	//row-wise scoring script with reused model
+	private static final String SCRIPT =
+		  "X = read('./tmp/X', rows=-1, cols=-1);"
+		+ "W = read('./tmp/W', rows=-1, cols=-1);"
+		+ "out = X %*% W + 1;"
+		+ "write(out, './tmp/out');";
+	
+	//row-wise scoring script that fails for batches above a row limit
+	private static final String SCRIPT_LIMIT =
+		  "X = read('./tmp/X', rows=-1, cols=-1);"
+		+ "W = read('./tmp/W', rows=-1, cols=-1);"
+		+ "if( nrow(X) > $MAX_ROWS ) stop('Batch exceeds row limit.');"
+		+ "out = X %*% W + 1;"
+		+ "write(out, './tmp/out');";
+	
+	private final static int rows = 203;
+	private final static int cols = 17;
+	private final static int ncls = 3;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testBatchedScriptSingleRows() {
+		runJMLCBatchedTest(1, 32, 5);
+	}
+	
+	@Test
+	public void testBatchedScriptMicroBatches() {
+		runJMLCBatchedTest(7, 64, 5);
+	}
+	
+	@Test
+	public void testBatchedScriptNoDelay() {
+		runJMLCBatchedTest(1, 16, 0);
+	}
+
+	@Test
+	public void testBatchedScriptRowLimit() {
+		//micro-batches that do not evenly divide the row limit
+		runJMLCBatchedTest(7, 30, 50);
+	}
+	
+	@Test
+	public void testBatchedScriptIncompatibleColumns() {
+		double[][] X = getRandomMatrix(rows, cols, -1, 1, 0.9, 7);
+		double[][] W = getRandomMatrix(cols, ncls, -1, 1, 1.0, 3);
+		
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(
+				SCRIPT, new String[]{"X","W"}, new String[]{"out"}, false);
+			pscript.setMatrix("W", W, true);
+			try( BatchedScript bscript = new BatchedScript(pscript, "X", "out", 16, 50) ) {
+				Future<MatrixBlock> ret1 = bscript.submit(X[0]);
+				try {
+					bscript.submit(new double[cols+1]);
+					Assert.fail("Request with incompatible number of columns accepted.");
+				}
+				catch(DMLException ex) {
+					//expected
+				}
+				Future<MatrixBlock> ret2 = bscript.submit(X[1]);
+				Assert.assertEquals(1, ret1.get().getNumRows());
+				Assert.assertEquals(1, ret2.get().getNumRows());
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	@Test
+	public void testBatchedScriptSubmitAfterClose() {
+		double[][] X = getRandomMatrix(rows, cols, -1, 1, 0.9, 7);
+		double[][] W = getRandomMatrix(cols, ncls, -1, 1, 1.0, 3);
+		
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(
+				SCRIPT, new String[]{"X","W"}, new String[]{"out"}, false);
+			pscript.setMatrix("W", W, true);
+			BatchedScript bscript = new BatchedScript(pscript, "X", "out", 16, 1000);
+			Future<MatrixBlock> ret = bscript.submit(X[0]);
+			bscript.close();
+			//requests accepted before close are executed on close
+			Assert.assertTrue(ret.isDone());
+			Assert.assertEquals(1, ret.get().getNumRows());
+			try {
+				bscript.submit(X[1]);
+				Assert.fail("Request accepted after close.");
+			}
+			catch(DMLException ex) {
+				//expected
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runJMLCBatchedTest(int reqRows, int maxBatchRows, long maxDelayMs) {
+		double[][] X = getRandomMatrix(rows, cols, -1, 1, 0.9, 7);
+		double[][] W = getRandomMatrix(cols, ncls, -1, 1, 1.0, 3);
+		
+		try( Connection conn = new Connection() ) {
+			//reference result of a single execution over all rows
+			PreparedScript rscript = conn.prepareScript(
+				SCRIPT, new String[]{"X","W"}, new String[]{"out"}, false);
+			rscript.setMatrix("W", W);
+			rscript.setMatrix("X", X);
+			double[][] R = rscript.executeScript().getMatrix("out");
+			
+			//batched script that fails if a batch exceeds the row limit
+			Map<String,String> args = new HashMap<>();
+			args.put("$MAX_ROWS", String.valueOf(maxBatchRows));
+			PreparedScript pscript = conn.prepareScript(
+				SCRIPT_LIMIT, args, new String[]{"X","W"}, new String[]{"out"}, false);
+			pscript.setMatrix("W", W, true);
+			
+			//submit requests and compare per-request results
+			MatrixBlock mX = DataConverter.convertToMatrixBlock(X);
+			List<Future<MatrixBlock>> rets = new ArrayList<>();
+			try( BatchedScript bscript = new BatchedScript(pscript, "X", "out", maxBatchRows, maxDelayMs) ) {
+				for( int i=0; i<rows; i+=reqRows ) {
+					int ru = Math.min(i+reqRows, rows)-1;
+					rets.add( (reqRows == 1) ? bscript.submit(X[i]) :
+						bscript.submit(mX.slice(i, ru)) );
+				}
+				int rl = 0;
+				for( Future<MatrixBlock> ret : rets ) {
+					double[][] out = DataConverter.convertToDoubleMatrix(ret.get());
+					for( int i=0; i<out.length; i++ )
+						for( int j=0; j<ncls; j++ )
+							Assert.assertEquals(R[rl+i][j], out[i][j], eps);
+					rl += out.length;
+				}
+				Assert.assertEquals(rows, rl);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
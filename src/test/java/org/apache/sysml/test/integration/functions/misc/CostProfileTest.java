@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.cost.CostProfile;
+import org.apache.sysml.runtime.controlprogram.parfor.opt.OptimizerRuleBased;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CostProfileTest 
+{
+	private static final double EPS = 1e-10;
+	
+	@Test
+	public void testDefaultProfile() {
+		CostProfile p = CostProfile.getDefault();
+		Assert.assertFalse(p.isCalibrated());
+		Assert.assertEquals(2L * 1024 * 1024 * 1024, p.getFlops(), EPS);
+		Assert.assertEquals(-1, p.getParallelism());
+		checkDefaultIO(p);
+	}
+	
+	@Test
+	public void testDefaultProfileWithoutConfig() {
+		DMLConfig conf = new DMLConfig();
+		ConfigurationManager.setLocalConfig(conf);
+		try {
+			Assert.assertSame(CostProfile.getDefault(), CostProfile.get());
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+	
+	@Test
+	public void testLoadPartialProfile() throws IOException {
+		File file = File.createTempFile("cost-profile", ".properties");
+		file.deleteOnExit();
+		try {
+			Properties prop = new Properties();
+			prop.setProperty("flops", "1e10");
+			prop.setProperty("parallelism", "6");
+			prop.setProperty("fsread.dense", " 500 ");
+			writeProperties(prop, file);
+			
+			CostProfile p = CostProfile.read(file.getAbsolutePath());
+			Assert.assertTrue(p.isCalibrated());
+			Assert.assertEquals(1e10, p.getFlops(), EPS);
+			Assert.assertEquals(6, p.getParallelism());
+			Assert.assertEquals(500, p.getFSReadThroughput(false), EPS);
+			
+			//missing properties fall back to defaults
+			CostProfile d = CostProfile.getDefault();
+			Assert.assertEquals(d.getFSReadThroughput(true), p.getFSReadThroughput(true), EPS);
+			Assert.assertEquals(d.getFSWriteThroughput(false), p.getFSWriteThroughput(false), EPS);
+			Assert.assertEquals(d.getFSWriteThroughput(true), p.getFSWriteThroughput(true), EPS);
+			Assert.assertEquals(d.getHDFSReadThroughput(false), p.getHDFSReadThroughput(false), EPS);
+			Assert.assertEquals(d.getHDFSWriteThroughput(true), p.getHDFSWriteThroughput(true), EPS);
+		}
+		finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testLoadProfileFromConfig() throws IOException {
+		File file = File.createTempFile("cost-profile", ".properties");
+		file.deleteOnExit();
+		try {
+			Properties prop = new Properties();
+			prop.setProperty("flops", "3e9");
+			writeProperties(prop, file);
+			
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.COST_PROFILE, file.getAbsolutePath());
+			ConfigurationManager.setLocalConfig(conf);
+			CostProfile p = CostProfile.get();
+			Assert.assertTrue(p.isCalibrated());
+			Assert.assertEquals(3e9, p.getFlops(), EPS);
+			Assert.assertSame(p, CostProfile.get());
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testLoadMissingProfileFromConfig() {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.COST_PROFILE, "./missing/cost-profile.properties");
+		ConfigurationManager.setLocalConfig(conf);
+		try {
+			Assert.assertSame(CostProfile.getDefault(), CostProfile.get());
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+	
+	@Test
+	public void testOptimizerLocalCompute() throws IOException {
+		//default profile retains the original rules
+		CostProfile d = CostProfile.getDefault();
+		Assert.assertEquals(1, OptimizerRuleBased.getLocalComputeFactor(d), EPS);
+		Assert.assertEquals(8, OptimizerRuleBased.getEffectiveLocalParallelism(d, 16), EPS);
+		
+		File file = File.createTempFile("cost-profile", ".properties");
+		file.deleteOnExit();
+		try {
+			Properties prop = new Properties();
+			prop.setProperty("flops", String.valueOf(4 * d.getFlops()));
+			prop.setProperty("parallelism", "12");
+			writeProperties(prop, file);
+			
+			CostProfile p = CostProfile.read(file.getAbsolutePath());
+			Assert.assertEquals(4, OptimizerRuleBased.getLocalComputeFactor(p), EPS);
+			Assert.assertEquals(12, OptimizerRuleBased.getEffectiveLocalParallelism(p, 16), EPS);
+			Assert.assertEquals(8, OptimizerRuleBased.getEffectiveLocalParallelism(p, 8), EPS);
+		}
+		finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testCalibrateWriteRead() throws IOException {
+		CostProfile p = CostProfile.calibrate();
+		Assert.assertTrue(p.isCalibrated());
+		Assert.assertTrue(p.getFlops() > 0 && !Double.isInfinite(p.getFlops()));
+		Assert.assertTrue(p.getParallelism() >= 1);
+		for( boolean sparse : new boolean[]{false, true} ) {
+			Assert.assertTrue(p.getFSReadThroughput(sparse) > 0);
+			Assert.assertTrue(p.getFSWriteThroughput(sparse) > 0);
+		}
+		//hdfs throughput is not measured
+		CostProfile d = CostProfile.getDefault();
+		Assert.assertEquals(d.getHDFSReadThroughput(false), p.getHDFSReadThroughput(false), EPS);
+		Assert.assertEquals(d.getHDFSWriteThroughput(false), p.getHDFSWriteThroughput(false), EPS);
+		
+		//round trip via properties file
+		File file = File.createTempFile("cost-profile", ".properties");
+		file.deleteOnExit();
+		try {
+			p.write(file.getAbsolutePath());
+			CostProfile p2 = CostProfile.read(file.getAbsolutePath());
+			Assert.assertEquals(p.toString(), p2.toString());
+		}
+		finally {
+			file.delete();
+		}
+	}
+	
+	private static void checkDefaultIO(CostProfile p) {
+		Assert.assertEquals(200, p.getFSReadThroughput(false), EPS);
+		Assert.assertEquals(100, p.getFSReadThroughput(true), EPS);
+		Assert.assertEquals(150, p.getFSWriteThroughput(false), EPS);
+		Assert.assertEquals(75, p.getFSWriteThroughput(true), EPS);
+		Assert.assertEquals(150, p.getHDFSReadThroughput(false), EPS);
+		Assert.assertEquals(75, p.getHDFSReadThroughput(true), EPS);
+		Assert.assertEquals(120, p.getHDFSWriteThroughput(false), EPS);
+		Assert.assertEquals(60, p.getHDFSWriteThroughput(true), EPS);
+	}
+	
+	private static void writeProperties(Properties prop, File file) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try {
+			prop.store(out, null);
+		}
+		finally {
+			out.close();
+		}
+	}
+}
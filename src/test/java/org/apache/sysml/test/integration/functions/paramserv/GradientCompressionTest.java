@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.paramserv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.sysml.parser.Statement.PSCompression;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.paramserv.GradientCompressor;
+import org.apache.sysml.runtime.controlprogram.paramserv.ModelDeltaEncoder;
+import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcCall;
+import org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcObject;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GradientCompressionTest {
+
+	private static final int ROWS = 50;
+	private static final int COLS = 40;
+	
+	@Test
+	public void testTopKErrorFeedback() {
+		GradientCompressor comp = new GradientCompressor(PSCompression.TOPK);
+		double[][] total = new double[ROWS][COLS];
+		double[][] sent = new double[ROWS][COLS];
+		int k = (int) Math.ceil(GradientCompressor.TOPK_RATIO * ROWS * COLS);
+		for( int it=0; it<3; it++ ) {
+			MatrixBlock g = MatrixBlock.randOperations(ROWS, COLS, 1.0, -1, 1, "uniform", 7+it);
+			addTo(total, g);
+			MatrixBlock c = getBlock(comp.compress(createList(g)));
+			//only top-k entries transferred in sparse format
+			Assert.assertTrue(c.isInSparseFormat());
+			Assert.assertEquals(k, c.getNonZeros());
+			addTo(sent, c);
+		}
+		//drain the residual via empty gradients
+		for( int it=0; it<ROWS*COLS/k; it++ )
+			addTo(sent, getBlock(comp.compress(createList(new MatrixBlock(ROWS, COLS, true)))));
+		
+		//all gradients are eventually transferred
+		for( int i=0; i<ROWS; i++ )
+			Assert.assertArrayEquals(total[i], sent[i], 1e-10);
+	}
+	
+	@Test
+	public void testQuantizedRpcCall() throws IOException {
+		GradientCompressor comp = new GradientCompressor(PSCompression.QUANTIZE);
+		MatrixBlock g = MatrixBlock.randOperations(ROWS, COLS, 0.7, -3, 5, "uniform", 3);
+		double[][] expected = DataConverter.convertToDoubleMatrix(g);
+		ListObject lo = comp.compress(createList(g));
+		double[][] quantized = DataConverter.convertToDoubleMatrix(getBlock(lo));
+		
+		//serialize as 8-bit values, which is lossless for quantized values
+		PSRpcCall call = new PSRpcCall(PSRpcObject.PUSH, 1, lo, comp);
+		int plainSize = new PSRpcCall(PSRpcObject.PUSH, 1, createList(g)).serialize().limit();
+		ByteBuffer buff = call.serialize();
+		Assert.assertTrue(buff.limit() < plainSize / 4);
+		double[][] actual = DataConverter.convertToDoubleMatrix(getBlock(new PSRpcCall(buff).getData()));
+		double tol = 8d / GradientCompressor.QUANTIZE_LEVELS;
+		for( int i=0; i<ROWS; i++ ) {
+			Assert.assertArrayEquals(quantized[i], actual[i], 1e-10);
+			Assert.assertArrayEquals(expected[i], actual[i], tol);
+		}
+	}
+	
+	@Test
+	public void testModelDeltaEncoding() {
+		ModelDeltaEncoder server = new ModelDeltaEncoder();
+		ModelDeltaEncoder worker = new ModelDeltaEncoder();
+		MatrixBlock model = MatrixBlock.randOperations(ROWS, COLS, 1.0, -1, 1, "uniform", 7);
+		for( int it=0; it<3; it++ ) {
+			//change a single parameter per iteration
+			model = new MatrixBlock(model);
+			model.quickSetValue(it, it, 7);
+			MatrixBlock delta = getBlock(server.encode(createList(new MatrixBlock(model))));
+			if( it > 0 )
+				Assert.assertEquals(1, delta.getNonZeros());
+			MatrixBlock decoded = getBlock(worker.decode(createList(delta)));
+			double[][] expected = DataConverter.convertToDoubleMatrix(model);
+			double[][] actual = DataConverter.convertToDoubleMatrix(decoded);
+			for( int i=0; i<ROWS; i++ )
+				Assert.assertArrayEquals(expected[i], actual[i], 1e-10);
+		}
+	}
+	
+	@Test
+	public void testModelDeltaEncodingNoDrift() {
+		ModelDeltaEncoder server = new ModelDeltaEncoder();
+		ModelDeltaEncoder worker = new ModelDeltaEncoder();
+		for( int it=0; it<50; it++ ) {
+			//models of alternating magnitudes, where differences are inexact
+			double mag = (it % 2 == 0) ? 1e8 : 1e-8;
+			MatrixBlock model = MatrixBlock.randOperations(ROWS, COLS, 1.0, -mag, mag, "uniform", it);
+			MatrixBlock delta = getBlock(server.encode(createList(new MatrixBlock(model))));
+			MatrixBlock decoded = getBlock(worker.decode(createList(delta)));
+			//rounding errors are bounded by a single difference (no accumulation)
+			double[][] expected = DataConverter.convertToDoubleMatrix(model);
+			double[][] actual = DataConverter.convertToDoubleMatrix(decoded);
+			for( int i=0; i<ROWS; i++ )
+				Assert.assertArrayEquals(expected[i], actual[i], 1e-7);
+		}
+	}
+	
+	private static ListObject createList(MatrixBlock mb) {
+		return new ListObject(Arrays.asList(ParamservUtils.newMatrixObject(mb, false)));
+	}
+	
+	private static MatrixBlock getBlock(ListObject lo) {
+		return ((MatrixObject) lo.getData().get(0)).acquireReadAndRelease();
+	}
+	
+	private static void addTo(double[][] total, MatrixBlock mb) {
+		for( int i=0; i<ROWS; i++ )
+			for( int j=0; j<COLS; j++ )
+				total[i][j] += mb.quickGetValue(i, j);
+	}
+}
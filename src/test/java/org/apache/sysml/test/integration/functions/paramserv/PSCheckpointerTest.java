@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.paramserv;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.apache.sysml.parser.Statement.PSCheckpointing;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.paramserv.PSCheckpointer;
+import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.DoubleObject;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PSCheckpointerTest {
+	
+	private static final int ROWS = 40;
+	private static final int COLS = 7;
+	
+	@Test
+	public void testCheckpointEpochs() {
+		PSCheckpointer ckpt = new PSCheckpointer("test_epochs", PSCheckpointing.EPOCH10);
+		Assert.assertFalse(ckpt.isCheckpointEpoch(0));
+		Assert.assertFalse(ckpt.isCheckpointEpoch(9));
+		Assert.assertTrue(ckpt.isCheckpointEpoch(10));
+		Assert.assertTrue(ckpt.isCheckpointEpoch(20));
+		ckpt.close(true);
+	}
+	
+	@Test
+	public void testCheckpointAndResume() {
+		PSCheckpointer ckpt = new PSCheckpointer("test_resume", PSCheckpointing.EPOCH);
+		ckpt.clear();
+		Assert.assertNull(ckpt.readLatest());
+		
+		ckpt.checkpoint(1, createModel(1));
+		ckpt.checkpoint(2, createModel(2));
+		ckpt.close(false);
+		
+		//only the latest checkpoint is retained
+		Assert.assertArrayEquals(new String[]{"epoch_2"}, new File(ckpt.getDirectory()).list());
+		
+		//resume from the latest checkpoint
+		PSCheckpointer ckpt2 = new PSCheckpointer("test_resume", PSCheckpointing.EPOCH);
+		PSCheckpointer.Checkpoint ret = ckpt2.readLatest();
+		Assert.assertEquals(2, ret.epoch);
+		ListObject expected = createModel(2);
+		Assert.assertEquals(expected.getNames(), ret.model.getNames());
+		for( int i=0; i<2; i++ )
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(getBlock(expected, i)),
+				DataConverter.convertToDoubleMatrix(getBlock(ret.model, i)), getBlock(expected, i).getNumRows(), COLS, 0);
+		Assert.assertEquals(0.9, ((DoubleObject)ret.model.slice(2)).getDoubleValue(), 0);
+		
+		//checkpoints are removed on successful completion
+		ckpt2.close(true);
+		Assert.assertFalse(new File(ckpt.getDirectory()).exists());
+	}
+	
+	@Test
+	public void testCheckpointQueued() {
+		PSCheckpointer ckpt = new PSCheckpointer("test_queued", PSCheckpointing.EPOCH);
+		ckpt.clear();
+		
+		//checkpoints do not wait for pending writes, but the latest is always written
+		for( int i=1; i<=10; i++ )
+			ckpt.checkpoint(ckpt.snapshot(i, createModel(i)));
+		ckpt.close(false);
+		Assert.assertArrayEquals(new String[]{"epoch_10"}, new File(ckpt.getDirectory()).list());
+		
+		PSCheckpointer ckpt2 = new PSCheckpointer("test_queued", PSCheckpointing.EPOCH);
+		PSCheckpointer.Checkpoint ret = ckpt2.readLatest();
+		Assert.assertEquals(10, ret.epoch);
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(getBlock(createModel(10), 0)),
+			DataConverter.convertToDoubleMatrix(getBlock(ret.model, 0)), ROWS, COLS, 0);
+		ckpt2.close(true);
+	}
+	
+	@Test
+	public void testCheckpointUnnamedModel() {
+		PSCheckpointer ckpt = new PSCheckpointer("test_unnamed", PSCheckpointing.EPOCH);
+		ckpt.clear();
+		ListObject model = createModel(3);
+		ckpt.checkpoint(1, new ListObject(model.getData()));
+		ckpt.close(false);
+		
+		//json meta data of unnamed list
+		Assert.assertTrue(new File(ckpt.getDirectory(), "epoch_1/_meta.json").exists());
+		PSCheckpointer ckpt2 = new PSCheckpointer("test_unnamed", PSCheckpointing.EPOCH);
+		PSCheckpointer.Checkpoint ret = ckpt2.readLatest();
+		Assert.assertEquals(1, ret.epoch);
+		Assert.assertFalse(ret.model.isNamedList());
+		Assert.assertEquals(3, ret.model.getLength());
+		Assert.assertEquals(0.9, ((DoubleObject)ret.model.slice(2)).getDoubleValue(), 0);
+		ckpt2.close(true);
+	}
+	
+	private static ListObject createModel(int seed) {
+		MatrixBlock W = MatrixBlock.randOperations(ROWS, COLS, 1.0, -1, 1, "uniform", seed);
+		MatrixBlock b = MatrixBlock.randOperations(1, COLS, 1.0, -1, 1, "uniform", seed+7);
+		return new ListObject(Arrays.asList(ParamservUtils.newMatrixObject(W),
+			ParamservUtils.newMatrixObject(b), (Data) new DoubleObject(0.9)), Arrays.asList("W", "b", "mu"));
+	}
+	
+	private static MatrixBlock getBlock(ListObject lo, int pos) {
+		return ((MatrixObject)lo.slice(pos)).acquireReadAndRelease();
+	}
+}
@@ -52,6 +52,11 @@ public class ParamservSparkNNTest extends AutomatedTestBase {
 		runDMLTest(2, 3, Statement.PSUpdateType.ASP, Statement.PSFrequency.BATCH, 16, Statement.PSScheme.DISJOINT_CONTIGUOUS);
 	}
 
+	@Test
+	public void testParamservSSPBatchDisjointContiguous() {
+		runDMLTest(2, 3, Statement.PSUpdateType.SSP, Statement.PSFrequency.BATCH, 16, Statement.PSScheme.DISJOINT_CONTIGUOUS);
+	}
+
 	@Test
 	public void testParamservBSPEpochDisjointContiguous() {
 		runDMLTest(5, 3, Statement.PSUpdateType.BSP, Statement.PSFrequency.EPOCH, 16, Statement.PSScheme.DISJOINT_CONTIGUOUS);
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysml.runtime.controlprogram.paramserv.ShardedGradientAccumulator;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShardedAccumulatorTest {
+	
+	private static final int NUM_ENTRIES = 5;
+	private static final int ROWS = 100;
+	private static final int COLS = 30;
+
+	@Test
+	public void testAccrueSingleWorker() {
+		runShardedAccumulatorTest(1, 3);
+	}
+	
+	@Test
+	public void testAccrueConcurrentWorkers() {
+		runShardedAccumulatorTest(32, 4);
+	}
+	
+	private void runShardedAccumulatorTest(int workers, int rounds) {
+		ShardedGradientAccumulator acc = new ShardedGradientAccumulator();
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(workers, 8));
+		try {
+			for( int r=0; r<rounds; r++ ) {
+				List<Future<?>> rets = new ArrayList<>();
+				for( int w=0; w<workers; w++ ) {
+					final int workerID = w;
+					rets.add(pool.submit(() -> acc.accrue(workerID, createGradients(workerID+1))));
+				}
+				for( Future<?> ret : rets )
+					ret.get();
+				
+				//check accrued gradients of the current round
+				ListObject lo = acc.drain();
+				Assert.assertEquals(NUM_ENTRIES, lo.getLength());
+				Assert.assertEquals(Arrays.asList("e0","e1","e2","e3","e4"), lo.getNames());
+				for( int i=0; i<NUM_ENTRIES; i++ ) {
+					MatrixBlock mb = ((MatrixObject)lo.slice(i)).acquireReadAndRelease();
+					double expected = (i+1) * LongStream.rangeClosed(1, workers).sum();
+					Assert.assertEquals(expected * ROWS * COLS, mb.sum(), 1e-6);
+				}
+				Assert.assertNull(acc.drain());
+			}
+			Assert.assertEquals(workers * rounds,
+				LongStream.of(acc.getAccessCounts()).max().getAsLong());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static ListObject createGradients(int scale) {
+		List<Data> data = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		for( int i=0; i<NUM_ENTRIES; i++ ) {
+			MatrixBlock mb = new MatrixBlock(ROWS, COLS, (double)scale * (i+1));
+			data.add(ParamservUtils.newMatrixObject(mb));
+			names.add("e"+i);
+		}
+		return new ListObject(data, names);
+	}
+}
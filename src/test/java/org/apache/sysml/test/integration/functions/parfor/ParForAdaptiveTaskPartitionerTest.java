@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PTaskPartitioner;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.Task;
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerAdaptive;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.StatisticMonitor;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+
+public class ParForAdaptiveTaskPartitionerTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_adaptive1";
+	private final static String TEST_NAME2 = "parfor_adaptive2";
+	private final static String TEST_NAME3 = "parfor_adaptive3";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForAdaptiveTaskPartitionerTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1000;
+	private final static long TIMEOUT = 60; //seconds
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testAdaptiveTaskCreation() throws Exception {
+		List<Task> tasks = runAdaptiveTaskCreation(rows, 2, true);
+		//increasing task sizes after the first feedback of cheap iterations
+		Assert.assertEquals(1, tasks.get(0).getNumIterations());
+		Assert.assertTrue(tasks.size() < rows);
+	}
+	
+	@Test
+	public void testAdaptiveFailedTasksReleaseSlots() throws Exception {
+		//failed tasks release their slots but do not update the estimates
+		List<Task> tasks = runAdaptiveTaskCreation(rows, 2, false);
+		for( Task t : tasks )
+			Assert.assertEquals(1, t.getNumIterations());
+	}
+	
+	@Test
+	public void testParForAdaptiveLocal() {
+		runParForAdaptiveTest(TEST_NAME1, false);
+	}
+	
+	@Test(timeout = 600000)
+	public void testParForAdaptiveLocalTaskFailure() {
+		runParForAdaptiveTest(TEST_NAME2, true);
+	}
+	
+	@Test
+	public void testParForAdaptiveLocalOptimizer() {
+		//adaptive task partitioner chosen for function call of varying costs
+		runParForAdaptiveTest(TEST_NAME3, false);
+		//(unique degree of parallelism to identify the parfor in the report)
+		Assert.assertTrue(Pattern.compile("Num Threads\\s*= 3\\n.*\\n\\s*Task Partitioner = "
+			+PTaskPartitioner.ADAPTIVE).matcher(StatisticMonitor.createReport()).find());
+	}
+	
+	private static List<Task> runAdaptiveTaskCreation(int numIters, int k, boolean success) 
+		throws Exception
+	{
+		TaskPartitionerAdaptive partitioner = new TaskPartitionerAdaptive(1, k, "i",
+			new IntObject(1), new IntObject(numIters), new IntObject(1));
+		LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<Long> numTasks = pool.submit(() -> partitioner.createTasks(queue));
+			
+			//consume all tasks and report (cheap) iterations or failures
+			List<Task> tasks = new ArrayList<>();
+			boolean[] seen = new boolean[numIters];
+			Task t = null;
+			while( (t = queue.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS ) {
+				List<IntObject> iters = t.getIterations();
+				long from = iters.get(0).getLongValue();
+				long to = (t.getType() == TaskType.RANGE) ? iters.get(1).getLongValue() : from;
+				if( t.getType() == TaskType.SET )
+					to = iters.get(iters.size()-1).getLongValue();
+				Assert.assertEquals(to - from + 1, t.getNumIterations());
+				for( long i=from; i<=to; i++ ) {
+					Assert.assertFalse(seen[(int)i-1]);
+					seen[(int)i-1] = true;
+				}
+				tasks.add(t);
+				partitioner.reportTask(success ? t.getNumIterations() : 0, 1000L * t.getNumIterations());
+			}
+			Assert.assertEquals(tasks.size(), (long)numTasks.get(TIMEOUT, TimeUnit.SECONDS));
+			for( int i=0; i<numIters; i++ )
+				Assert.assertTrue("Missing iteration "+(i+1)+".", seen[i]);
+			return tasks;
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	private void runParForAdaptiveTest( String testName, boolean failure )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.HYBRID;
+		
+		try {
+			TestConfiguration config = getTestConfiguration(testName);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testName + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(rows), output("R") };
+			
+			//run test (failed tasks are detected after all tasks completed)
+			runTest(true, failure, failure ? DMLException.class : null, -1);
+			
+			if( !failure ) {
+				HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+				for( int i=1; i<=rows; i++ ) {
+					int m = i % 17 + 1;
+					Assert.assertEquals(m*(m+1)/2 + i, dmlfile.get(new CellIndex(i, 1)), 0);
+				}
+			}
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysml.runtime.controlprogram.parfor.ResultMerge;
+import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeLocalMemory;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ParForLocalMemoryResultMergeTest 
+{
+	private final static int rows = 1021;
+	private final static int cols = 73;
+	private final static int workers = 4;
+	private final static int par = 3;
+	
+	@Test
+	public void testParallelMergeDisjointSparse() {
+		runLocalMemoryResultMergeTest(false, true);
+	}
+	
+	@Test
+	public void testParallelMergeDisjointDense() {
+		runLocalMemoryResultMergeTest(false, false);
+	}
+	
+	@Test
+	public void testParallelMergeCompareSparse() {
+		runLocalMemoryResultMergeTest(true, true);
+	}
+	
+	@Test
+	public void testParallelMergeCompareDense() {
+		runLocalMemoryResultMergeTest(true, false);
+	}
+	
+	@Test
+	public void testParallelMergeDisjointInPlaceSparse() {
+		runLocalMemoryResultMergeTest(false, true, true);
+	}
+	
+	@Test
+	public void testParallelMergeDisjointInPlaceDense() {
+		runLocalMemoryResultMergeTest(false, false, true);
+	}
+	
+	@Test
+	public void testParallelMergeCompareInPlaceDense() {
+		//in-place merge only applies to disjoint results
+		runLocalMemoryResultMergeTest(true, false, true);
+	}
+	
+	private static void runLocalMemoryResultMergeTest(boolean init, boolean sparse) {
+		runLocalMemoryResultMergeTest(init, sparse, false);
+	}
+	
+	private static void runLocalMemoryResultMergeTest(boolean init, boolean sparse, boolean inplace) {
+		//original output (empty output guarantees disjoint worker results)
+		MatrixBlock out = init ? new MatrixBlock(rows, cols, 7d) : new MatrixBlock(rows, cols, true);
+		
+		//worker results, where worker w updates the rows i with i%workers==w
+		//(one non-zero per row if sparse, entire rows otherwise)
+		MatrixBlock[] in = new MatrixBlock[workers];
+		MatrixBlock expected = new MatrixBlock(out);
+		for( int w=0; w<workers; w++ ) {
+			in[w] = new MatrixBlock(out);
+			for( int i=w; i<rows; i+=workers )
+				for( int j=0; j<cols; j++ )
+					if( !sparse || j == i % cols ) {
+						in[w].quickSetValue(i, j, i+j+1);
+						expected.quickSetValue(i, j, i+j+1);
+					}
+			in[w].examSparsity();
+		}
+		
+		//parallel merge, and serial merge as reference
+		MatrixBlock ret1 = merge(out, in, true, inplace);
+		MatrixBlock ret2 = merge(out, in, false, false);
+		
+		Assert.assertEquals(expected.getNonZeros(), ret1.getNonZeros());
+		Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+		if( sparse && !init )
+			Assert.assertTrue(ret1.isInSparseFormat());
+		double[][] E = DataConverter.convertToDoubleMatrix(expected);
+		TestUtils.compareMatrices(E, DataConverter.convertToDoubleMatrix(ret1), rows, cols, 0);
+		TestUtils.compareMatrices(E, DataConverter.convertToDoubleMatrix(ret2), rows, cols, 0);
+	}
+	
+	private static MatrixBlock merge(MatrixBlock out, MatrixBlock[] in, boolean parallel, boolean inplace) {
+		MatrixObject moOut = ParamservUtils.newMatrixObject(new MatrixBlock(out));
+		MatrixObject[] moIn = new MatrixObject[in.length];
+		for( int i=0; i<in.length; i++ )
+			moIn[i] = ParamservUtils.newMatrixObject(new MatrixBlock(in[i]));
+		ResultMerge rm = new ResultMergeLocalMemory(moOut, moIn, moOut.getFileName()+"_rm", false)
+			.setInPlace(inplace);
+		MatrixObject ret = parallel ? rm.executeParallelMerge(par) : rm.executeSerialMerge();
+		
+		//disjoint results are merged into the existing output if allowed
+		Assert.assertEquals(inplace && out.isEmptyBlock(false), ret == moOut);
+		Assert.assertEquals(ret.getNnz(), ret.acquireReadAndRelease().getNonZeros());
+		return ret.acquireReadAndRelease();
+	}
+}
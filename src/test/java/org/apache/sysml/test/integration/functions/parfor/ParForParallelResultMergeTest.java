@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+
+public class ParForParallelResultMergeTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_resultmerge_par";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForParallelResultMergeTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1021;
+	private final static int cols = 73;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1,
+			new String[] { "R", "R2", "S", "Y", "Z" }) );
+	}
+	
+	@Test
+	public void testParForParallelResultMergeEmptyOutputs() {
+		runParForParallelResultMergeTest(TEST_NAME1);
+	}
+	
+	private void runParForParallelResultMergeTest( String testName )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try {
+			TestConfiguration config = getTestConfiguration(testName);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testName + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(rows), String.valueOf(cols),
+				output("R"), output("R2"), output("S"), output("Y"), output("Z") };
+			
+			//empty outputs and par>1 always use the parallel result merge
+			runTest(true, false, null, -1);
+			
+			//check merged results
+			HashMap<CellIndex, Double> R = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> S = readDMLMatrixFromHDFS("S");
+			HashMap<CellIndex, Double> Y = readDMLMatrixFromHDFS("Y");
+			for( int i=1; i<=rows; i++ )
+				for( int j=1; j<=cols; j++ ) {
+					Assert.assertEquals(i, R.get(new CellIndex(i, j)), 0);
+					Assert.assertEquals(i+j, S.get(new CellIndex(i, j)), 0);
+					Assert.assertEquals(2*i, Y.get(new CellIndex(i, j)), 0);
+				}
+			
+			//check unmodified aliases and function inputs (no in-place merge)
+			for( Double v : readDMLMatrixFromHDFS("R2").values() )
+				Assert.assertEquals(0, v, 0);
+			for( Double v : readDMLMatrixFromHDFS("Z").values() )
+				Assert.assertEquals(0, v, 0);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalWorkStealingTaskQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParForWorkStealingTaskQueueTest 
+{
+	private static final int NUM_WORKERS = 4;
+	private static final long TIMEOUT = 60; //seconds
+	
+	@Test
+	public void testEmptyQueue() throws Exception {
+		runWorkStealingTest(0, false, false);
+	}
+	
+	@Test
+	public void testSingleTask() throws Exception {
+		runWorkStealingTest(1, false, false);
+	}
+	
+	@Test
+	public void testManyTasks() throws Exception {
+		runWorkStealingTest(10000, false, false);
+	}
+	
+	@Test
+	public void testManyTasksConcurrentEnqueue() throws Exception {
+		runWorkStealingTest(10000, true, false);
+	}
+	
+	@Test
+	public void testStealingFromSlowWorker() throws Exception {
+		int[] counts = runWorkStealingTest(400, false, true);
+		//the slow worker executes only a fraction of its round-robin share
+		Assert.assertTrue(counts[0] < 400 / NUM_WORKERS);
+	}
+	
+	private static int[] runWorkStealingTest(int numTasks, boolean concurrentEnqueue, boolean slowWorker) 
+		throws Exception
+	{
+		LocalWorkStealingTaskQueue<Integer> queue = new LocalWorkStealingTaskQueue<>(NUM_WORKERS);
+		if( !concurrentEnqueue )
+			enqueueTasks(queue, numTasks);
+		
+		//start workers, which collect their dequeued tasks until end of stream
+		ExecutorService pool = Executors.newFixedThreadPool(NUM_WORKERS + 1);
+		try {
+			List<Future<List<Integer>>> rets = new ArrayList<>();
+			for( int w=0; w<NUM_WORKERS; w++ ) {
+				final int ix = w;
+				rets.add(pool.submit(() -> {
+					List<Integer> tasks = new ArrayList<>();
+					Integer t = null;
+					while( (t = queue.dequeueTask(ix)) != LocalTaskQueue.NO_MORE_TASKS ) {
+						tasks.add(t);
+						if( slowWorker && ix == 0 )
+							Thread.sleep(10);
+					}
+					return tasks;
+				}));
+			}
+			if( concurrentEnqueue )
+				pool.submit(() -> { enqueueTasks(queue, numTasks); return null; });
+			
+			//check termination, and that every task is executed exactly once
+			boolean[] seen = new boolean[numTasks];
+			int[] counts = new int[NUM_WORKERS];
+			for( int w=0; w<NUM_WORKERS; w++ ) {
+				List<Integer> tasks = rets.get(w).get(TIMEOUT, TimeUnit.SECONDS);
+				for( Integer t : tasks ) {
+					Assert.assertFalse("Duplicate task "+t+".", seen[t]);
+					seen[t] = true;
+				}
+				counts[w] = tasks.size();
+			}
+			for( int i=0; i<numTasks; i++ )
+				Assert.assertTrue("Lost task "+i+".", seen[i]);
+			
+			//a drained queue keeps signaling end of stream
+			Assert.assertEquals(LocalTaskQueue.NO_MORE_TASKS, queue.dequeueTask(0));
+			return counts;
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	private static void enqueueTasks(LocalTaskQueue<Integer> queue, int numTasks) 
+		throws InterruptedException
+	{
+		for( int i=0; i<numTasks; i++ )
+			queue.enqueueTask(i);
+		queue.closeInput();
+	}
+}
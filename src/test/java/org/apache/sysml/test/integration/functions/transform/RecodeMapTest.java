@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RecodeMapTest
+{
+	private static final int numTokens = 100000;
+
+	@Test
+	public void testPutIfAbsent() {
+		RecodeMap map = new RecodeMap();
+		HashMap<String,Integer> expected = new HashMap<>();
+		Random rand = new Random(7);
+		for( int i=0; i<3*numTokens; i++ ) {
+			String token = "t" + rand.nextInt(numTokens);
+			int code = map.putIfAbsent(token);
+			if( !expected.containsKey(token) )
+				expected.put(token, expected.size()+1);
+			Assert.assertEquals((int)expected.get(token), code);
+		}
+		checkMap(map, expected);
+		Assert.assertEquals(-1, map.get("missing"));
+		Assert.assertEquals(-1, map.get(null));
+	}
+
+	@Test
+	public void testPutExplicitCodes() {
+		RecodeMap map = new RecodeMap(16);
+		HashMap<String,Integer> expected = new HashMap<>();
+		for( int i=numTokens; i>0; i-- ) {
+			map.put("t" + i, i);
+			expected.put("t" + i, i);
+		}
+		//replace existing code of a token
+		map.put("t7", numTokens+1);
+		expected.put("t7", numTokens+1);
+		checkMap(map, expected);
+		Assert.assertNull(map.getToken(7));
+		Assert.assertEquals(numTokens+1, map.getMaxCode());
+	}
+
+	private static void checkMap(RecodeMap map, HashMap<String,Integer> expected) {
+		Assert.assertEquals(expected.size(), map.size());
+		for( String token : expected.keySet() ) {
+			int code = expected.get(token);
+			Assert.assertEquals(code, map.get(token));
+			Assert.assertEquals(token, map.getToken(code));
+		}
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.FrameWriterFactory;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.transform.TfStreamingApply;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class TransformApplyStreamingTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME1 = "TransformApplyStreaming";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformApplyStreamingTest.class.getSimpleName() + "/";
+
+	//dataset and transform specs
+	private final static String DATASET = "homes3/homes.csv";
+	private final static String DATASET2 = "homes/homes.csv"; //w/ missing values
+	private final static String SPEC1 = "homes3/homes.tfspec_dummy.json";
+	private final static String SPEC2 = "homes3/homes.tfspec_recode_dummy.json";
+	private final static String SPEC3 = "homes3/homes.tfspec_omit.json";
+
+	//small chunks and blocks to exercise carried rows across chunks
+	private final static long chunkSize = 512;
+	private final static int brlen = 50;
+	private final static int bclen = 5;
+	
+	//rows w/ all values missing, spanning entire chunks that encode to zero rows
+	private final static int numMissingRows = 100;
+	
+	//replicated dataset and memory budget for streaming via dml
+	private final static int numReplicas = 100;
+	private final static long localMaxMem = 1*1024*1024; //1MB
+
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testStreamingApplyDummycode() {
+		runTransformApplyStreamingTest(DATASET, SPEC1, 1, 0);
+	}
+
+	@Test
+	public void testStreamingApplyRecodeDummycode() {
+		runTransformApplyStreamingTest(DATASET, SPEC2, 1, 0);
+	}
+
+	@Test
+	public void testStreamingApplyRecodeDummycodeParallel() {
+		runTransformApplyStreamingTest(DATASET, SPEC2, 3, 0);
+	}
+	
+	@Test
+	public void testStreamingApplyOmit() {
+		runTransformApplyStreamingTest(DATASET2, SPEC3, 1, numMissingRows);
+	}
+	
+	@Test
+	public void testStreamingApplyOmitParallel() {
+		runTransformApplyStreamingTest(DATASET2, SPEC3, 3, numMissingRows);
+	}
+	
+	@Test
+	public void testStreamingApplyDummycodeDML() {
+		runTransformApplyStreamingDMLTest(SPEC1);
+	}
+	
+	@Test
+	public void testStreamingApplyRecodeDummycodeDML() {
+		runTransformApplyStreamingDMLTest(SPEC2);
+	}
+
+	private void runTransformApplyStreamingTest(String dataset, String specFile, int k, int missingRows)
+	{
+		if(shouldSkipTest())
+			return;
+
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			String fname = HOME + "input/" + dataset;
+			String spec = MapReduceTool.readStringFromHDFSFile(HOME + "input/" + specFile);
+
+			//in-memory transformencode as reference
+			FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(true, ",", false);
+			FrameBlock data = new FrameReaderTextCSV(props).readFrameFromHDFS(fname, -1L, -1L);
+			if( missingRows > 0 ) {
+				//insert rows w/ all values missing after the first 100 rows
+				FrameBlock missing = new FrameBlock(data.getSchema(), data.getColumnNames());
+				missing.ensureAllocatedColumns(missingRows);
+				data = data.slice(0, 99, 0, data.getNumColumns()-1, new FrameBlock())
+					.append(missing, new FrameBlock(), false)
+					.append(data.slice(100, data.getNumRows()-1, 0, data.getNumColumns()-1,
+						new FrameBlock()), new FrameBlock(), false);
+				fname = input("F");
+				FrameWriterFactory.createFrameWriter(OutputInfo.CSVOutputInfo, props)
+					.writeFrameToHDFS(data, fname, data.getNumRows(), data.getNumColumns());
+			}
+			Encoder encoder = EncoderFactory.createEncoder(spec,
+				data.getColumnNames(), data.getNumColumns(), null);
+			MatrixBlock R1 = encoder.encode(data,
+				new MatrixBlock(data.getNumRows(), data.getNumColumns(), false));
+			FrameBlock meta = encoder.getMetaData(new FrameBlock(data.getNumColumns(), ValueType.STRING));
+
+			//streaming transformapply
+			MatrixCharacteristics mc = TfStreamingApply.transformApply(fname, props, null, -1,
+				spec, meta, output("R"), brlen, bclen, chunkSize, k);
+			MatrixBlock R2 = MatrixReaderFactory.createMatrixReader(InputInfo.BinaryBlockInputInfo)
+				.readMatrixFromHDFS(output("R"), mc.getRows(), mc.getCols(), brlen, bclen, mc.getNonZeros());
+
+			//compare outputs
+			assertEquals(R1.getNumRows(), mc.getRows());
+			assertEquals(R1.getNumColumns(), mc.getCols());
+			assertEquals(R1.getNonZeros(), mc.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(R1),
+				DataConverter.convertToDoubleMatrix(R2), R1.getNumRows(), R1.getNumColumns(), 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runTransformApplyStreamingDMLTest(String specFile)
+	{
+		if(shouldSkipTest())
+			return;
+		
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		long oldmem = InfrastructureAnalyzer.getLocalMaxMemory();
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			
+			//replicate dataset to exceed the streaming threshold of the memory budget
+			FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(true, ",", false);
+			FrameBlock data = new FrameReaderTextCSV(props).readFrameFromHDFS(HOME + "input/" + DATASET, -1L, -1L);
+			FrameBlock rdata = data;
+			for( int i=1; i<numReplicas; i++ )
+				rdata = rdata.append(data, new FrameBlock(), false);
+			FrameWriterFactory.createFrameWriter(OutputInfo.CSVOutputInfo, props)
+				.writeFrameToHDFS(rdata, input("F"), rdata.getNumRows(), rdata.getNumColumns());
+			
+			//modify memory budget to trigger streaming transformapply
+			InfrastructureAnalyzer.setLocalMaxMemory(localMaxMem);
+			MetaDataFormat mdf = new MetaDataFormat(new MatrixCharacteristics(),
+				OutputInfo.CSVOutputInfo, InputInfo.CSVInputInfo);
+			Assert.assertTrue(TfStreamingApply.isStreamingApplicable(new FrameObject(input("F"), mdf)));
+			Assert.assertFalse(TfStreamingApply.isStreamingApplicable(new FrameObject(input("F2"), mdf)));
+			
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-args", input("F"), HOME + "input/" + specFile,
+				output("R1"), output("R2"), output("S") };
+			runTest(true, false, null, -1);
+			
+			//compare transformencode and streaming transformapply outputs
+			HashMap<CellIndex, Double> R1 = readDMLMatrixFromHDFS("R1");
+			HashMap<CellIndex, Double> R2 = readDMLMatrixFromHDFS("R2");
+			TestUtils.compareMatrices(R1, R2, 0, "Encode", "Apply");
+			
+			//check output meta data of streaming transformapply (nrow, ncol)
+			HashMap<CellIndex, Double> S = readDMLMatrixFromHDFS("S");
+			double nrow = S.get(new CellIndex(1,1)), ncol = S.get(new CellIndex(1,2));
+			Assert.assertEquals(rdata.getNumRows(), nrow, 0);
+			Assert.assertEquals(nrow, S.get(new CellIndex(1,3)), 0);
+			Assert.assertEquals(ncol, S.get(new CellIndex(1,4)), 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			InfrastructureAnalyzer.setLocalMaxMemory(oldmem);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class TransformEncodeMultithreadedTest extends AutomatedTestBase
+{
+	private static final int rows = 150000; //above parallelization threshold
+	private static final int cols = 3;
+	private static final int threads = 4;
+
+	private static final String SPEC_DUMMY = "{ids:true, recode:[1,2], dummycode:[1]}";
+	private static final String SPEC_IMPUTE = "{ids:true, recode:[1,2], impute:["
+		+ "{id:2, method:global_mode}, {id:3, method:global_mean}]}";
+
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testTransformEncodeDummycode() {
+		runTransformEncodeTest(SPEC_DUMMY);
+	}
+
+	@Test
+	public void testTransformEncodeImpute() {
+		runTransformEncodeTest(SPEC_IMPUTE);
+	}
+
+	private void runTransformEncodeTest(String spec) {
+		if(shouldSkipTest())
+			return;
+
+		FrameBlock data = createFrame();
+
+		//single-threaded and multi-threaded transform encode
+		Encoder encoder1 = EncoderFactory.createEncoder(spec, data.getColumnNames(), cols, null);
+		MatrixBlock out1 = encoder1.encode(data, new MatrixBlock(rows, cols, false));
+		FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(cols, ValueType.STRING));
+		Encoder encoder2 = EncoderFactory.createEncoder(spec, data.getColumnNames(), cols, null);
+		MatrixBlock out2 = encoder2.encode(data, new MatrixBlock(rows, cols, false), threads);
+		FrameBlock meta2 = encoder2.getMetaData(new FrameBlock(cols, ValueType.STRING));
+
+		//check equivalent meta data and outputs
+		assertEquals(meta1.getNumRows(), meta2.getNumRows());
+		for(int i=0; i<meta1.getNumRows(); i++)
+			for(int j=0; j<cols; j++)
+				assertEquals(meta1.get(i, j), meta2.get(i, j));
+		compareOutputs(out1, out2);
+
+		//single-threaded and multi-threaded transform apply
+		Encoder encoder3 = EncoderFactory.createEncoder(spec, data.getColumnNames(), cols, meta1);
+		MatrixBlock out3 = encoder3.apply(data, new MatrixBlock(rows, cols, false), threads);
+		compareOutputs(out1, out3);
+	}
+
+	private static FrameBlock createFrame() {
+		FrameBlock data = new FrameBlock(new ValueType[]{
+			ValueType.STRING, ValueType.STRING, ValueType.DOUBLE});
+		data.ensureAllocatedColumns(rows);
+		Random rand = new Random(7);
+		for(int i=0; i<rows; i++) {
+			//skewed categories with late first occurrences
+			data.set(i, 0, "a" + rand.nextInt(1 + i/1000));
+			data.set(i, 1, (rand.nextDouble() < 0.03) ? null : "b" + rand.nextInt(17));
+			data.set(i, 2, (rand.nextDouble() < 0.1) ? null : rand.nextDouble());
+		}
+		return data;
+	}
+
+	private static void compareOutputs(MatrixBlock out1, MatrixBlock out2) {
+		assertEquals(out1.getNumRows(), out2.getNumRows());
+		assertEquals(out1.getNumColumns(), out2.getNumColumns());
+		assertEquals(out1.getNonZeros(), out2.getNonZeros());
+		for(int i=0; i<out1.getNumRows(); i++)
+			for(int j=0; j<out1.getNumColumns(); j++)
+				assertEquals(out1.quickGetValue(i, j), out2.quickGetValue(i, j), 1e-8);
+	}
+}